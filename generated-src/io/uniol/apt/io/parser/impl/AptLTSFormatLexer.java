@@ -0,0 +1,167 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/AptLTSFormat.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class AptLTSFormatLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, NAT=13, NEGNAT=14, DOUBLE=15, ID=16, COMMENT=17, 
+		WS=18, STR=19, STR_MULTI=20;
+	public static String[] modeNames = {
+		"DEFAULT_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
+		"T__9", "T__10", "T__11", "NAT", "NEGNAT", "DOUBLE", "ID", "COMMENT", 
+		"WS", "STR", "STR_MULTI"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'.name'", "'.type'", "'LTS'", "'.description'", "'.options'", "','", 
+		"'.states'", "'['", "']'", "'='", "'.labels'", "'.arcs'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, "NAT", "NEGNAT", "DOUBLE", "ID", "COMMENT", "WS", "STR", "STR_MULTI"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+		int descCount = 0;
+		int nameCount = 0;
+		int typeCount = 0;
+
+
+	public AptLTSFormatLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "AptLTSFormat.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2\26\u00bd\b\1\4\2"+
+		"\t\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4"+
+		"\13\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22"+
+		"\t\22\4\23\t\23\4\24\t\24\4\25\t\25\3\2\3\2\3\2\3\2\3\2\3\2\3\3\3\3\3"+
+		"\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5"+
+		"\3\5\3\5\3\5\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\7\3\7\3\b\3\b\3\b\3"+
+		"\b\3\b\3\b\3\b\3\b\3\t\3\t\3\n\3\n\3\13\3\13\3\f\3\f\3\f\3\f\3\f\3\f\3"+
+		"\f\3\f\3\r\3\r\3\r\3\r\3\r\3\r\3\16\6\16q\n\16\r\16\16\16r\3\17\3\17\6"+
+		"\17w\n\17\r\17\16\17x\3\20\5\20|\n\20\3\20\6\20\177\n\20\r\20\16\20\u0080"+
+		"\3\20\3\20\6\20\u0085\n\20\r\20\16\20\u0086\3\21\3\21\7\21\u008b\n\21"+
+		"\f\21\16\21\u008e\13\21\3\22\3\22\3\22\3\22\7\22\u0094\n\22\f\22\16\22"+
+		"\u0097\13\22\3\22\3\22\3\22\3\22\7\22\u009d\n\22\f\22\16\22\u00a0\13\22"+
+		"\3\22\3\22\5\22\u00a4\n\22\3\22\3\22\3\23\3\23\3\23\3\23\3\24\3\24\7\24"+
+		"\u00ae\n\24\f\24\16\24\u00b1\13\24\3\24\3\24\3\25\3\25\7\25\u00b7\n\25"+
+		"\f\25\16\25\u00ba\13\25\3\25\3\25\3\u009e\2\26\3\3\5\4\7\5\t\6\13\7\r"+
+		"\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20\37\21!\22#\23%\24\'\25"+
+		")\26\3\2\b\5\2C\\aac|\6\2\62;C\\aac|\4\2\f\f\17\17\5\2\13\f\17\17\"\""+
+		"\5\2\13\f\17\17$$\4\2\13\13$$\u00c7\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2\2"+
+		"\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2\2\23"+
+		"\3\2\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35\3\2"+
+		"\2\2\2\37\3\2\2\2\2!\3\2\2\2\2#\3\2\2\2\2%\3\2\2\2\2\'\3\2\2\2\2)\3\2"+
+		"\2\2\3+\3\2\2\2\5\61\3\2\2\2\7\67\3\2\2\2\t;\3\2\2\2\13H\3\2\2\2\rQ\3"+
+		"\2\2\2\17S\3\2\2\2\21[\3\2\2\2\23]\3\2\2\2\25_\3\2\2\2\27a\3\2\2\2\31"+
+		"i\3\2\2\2\33p\3\2\2\2\35t\3\2\2\2\37{\3\2\2\2!\u0088\3\2\2\2#\u00a3\3"+
+		"\2\2\2%\u00a7\3\2\2\2\'\u00ab\3\2\2\2)\u00b4\3\2\2\2+,\7\60\2\2,-\7p\2"+
+		"\2-.\7c\2\2./\7o\2\2/\60\7g\2\2\60\4\3\2\2\2\61\62\7\60\2\2\62\63\7v\2"+
+		"\2\63\64\7{\2\2\64\65\7r\2\2\65\66\7g\2\2\66\6\3\2\2\2\678\7N\2\289\7"+
+		"V\2\29:\7U\2\2:\b\3\2\2\2;<\7\60\2\2<=\7f\2\2=>\7g\2\2>?\7u\2\2?@\7e\2"+
+		"\2@A\7t\2\2AB\7k\2\2BC\7r\2\2CD\7v\2\2DE\7k\2\2EF\7q\2\2FG\7p\2\2G\n\3"+
+		"\2\2\2HI\7\60\2\2IJ\7q\2\2JK\7r\2\2KL\7v\2\2LM\7k\2\2MN\7q\2\2NO\7p\2"+
+		"\2OP\7u\2\2P\f\3\2\2\2QR\7.\2\2R\16\3\2\2\2ST\7\60\2\2TU\7u\2\2UV\7v\2"+
+		"\2VW\7c\2\2WX\7v\2\2XY\7g\2\2YZ\7u\2\2Z\20\3\2\2\2[\\\7]\2\2\\\22\3\2"+
+		"\2\2]^\7_\2\2^\24\3\2\2\2_`\7?\2\2`\26\3\2\2\2ab\7\60\2\2bc\7n\2\2cd\7"+
+		"c\2\2de\7d\2\2ef\7g\2\2fg\7n\2\2gh\7u\2\2h\30\3\2\2\2ij\7\60\2\2jk\7c"+
+		"\2\2kl\7t\2\2lm\7e\2\2mn\7u\2\2n\32\3\2\2\2oq\4\62;\2po\3\2\2\2qr\3\2"+
+		"\2\2rp\3\2\2\2rs\3\2\2\2s\34\3\2\2\2tv\7/\2\2uw\4\62;\2vu\3\2\2\2wx\3"+
+		"\2\2\2xv\3\2\2\2xy\3\2\2\2y\36\3\2\2\2z|\7/\2\2{z\3\2\2\2{|\3\2\2\2|~"+
+		"\3\2\2\2}\177\4\62;\2~}\3\2\2\2\177\u0080\3\2\2\2\u0080~\3\2\2\2\u0080"+
+		"\u0081\3\2\2\2\u0081\u0082\3\2\2\2\u0082\u0084\7\60\2\2\u0083\u0085\4"+
+		"\62;\2\u0084\u0083\3\2\2\2\u0085\u0086\3\2\2\2\u0086\u0084\3\2\2\2\u0086"+
+		"\u0087\3\2\2\2\u0087 \3\2\2\2\u0088\u008c\t\2\2\2\u0089\u008b\t\3\2\2"+
+		"\u008a\u0089\3\2\2\2\u008b\u008e\3\2\2\2\u008c\u008a\3\2\2\2\u008c\u008d"+
+		"\3\2\2\2\u008d\"\3\2\2\2\u008e\u008c\3\2\2\2\u008f\u0090\7\61\2\2\u0090"+
+		"\u0091\7\61\2\2\u0091\u0095\3\2\2\2\u0092\u0094\n\4\2\2\u0093\u0092\3"+
+		"\2\2\2\u0094\u0097\3\2\2\2\u0095\u0093\3\2\2\2\u0095\u0096\3\2\2\2\u0096"+
+		"\u00a4\3\2\2\2\u0097\u0095\3\2\2\2\u0098\u0099\7\61\2\2\u0099\u009a\7"+
+		",\2\2\u009a\u009e\3\2\2\2\u009b\u009d\13\2\2\2\u009c\u009b\3\2\2\2\u009d"+
+		"\u00a0\3\2\2\2\u009e\u009f\3\2\2\2\u009e\u009c\3\2\2\2\u009f\u00a1\3\2"+
+		"\2\2\u00a0\u009e\3\2\2\2\u00a1\u00a2\7,\2\2\u00a2\u00a4\7\61\2\2\u00a3"+
+		"\u008f\3\2\2\2\u00a3\u0098\3\2\2\2\u00a4\u00a5\3\2\2\2\u00a5\u00a6\b\22"+
+		"\2\2\u00a6$\3\2\2\2\u00a7\u00a8\t\5\2\2\u00a8\u00a9\3\2\2\2\u00a9\u00aa"+
+		"\b\23\2\2\u00aa&\3\2\2\2\u00ab\u00af\7$\2\2\u00ac\u00ae\n\6\2\2\u00ad"+
+		"\u00ac\3\2\2\2\u00ae\u00b1\3\2\2\2\u00af\u00ad\3\2\2\2\u00af\u00b0\3\2"+
+		"\2\2\u00b0\u00b2\3\2\2\2\u00b1\u00af\3\2\2\2\u00b2\u00b3\7$\2\2\u00b3"+
+		"(\3\2\2\2\u00b4\u00b8\7$\2\2\u00b5\u00b7\n\7\2\2\u00b6\u00b5\3\2\2\2\u00b7"+
+		"\u00ba\3\2\2\2\u00b8\u00b6\3\2\2\2\u00b8\u00b9\3\2\2\2\u00b9\u00bb\3\2"+
+		"\2\2\u00ba\u00b8\3\2\2\2\u00bb\u00bc\7$\2\2\u00bc*\3\2\2\2\16\2rx{\u0080"+
+		"\u0086\u008c\u0095\u009e\u00a3\u00af\u00b8\3\b\2\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
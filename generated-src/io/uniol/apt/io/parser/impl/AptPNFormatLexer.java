@@ -0,0 +1,198 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/AptPNFormat.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class AptPNFormatLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, NAT=21, NEGNAT=22, DOUBLE=23, ID=24, COMMENT=25, 
+		WS=26, STR=27, STR_MULTI=28;
+	public static String[] modeNames = {
+		"DEFAULT_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
+		"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
+		"T__17", "T__18", "T__19", "NAT", "NEGNAT", "DOUBLE", "ID", "COMMENT", 
+		"WS", "STR", "STR_MULTI"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'.name'", "'.type'", "'LPN'", "'PN'", "'.description'", "'.options'", 
+		"','", "'.places'", "'.transitions'", "'['", "']'", "'='", "'.flows'", 
+		"':'", "'->'", "'{'", "'}'", "'*'", "'.initial_marking'", "'.final_markings'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, "NAT", "NEGNAT", 
+		"DOUBLE", "ID", "COMMENT", "WS", "STR", "STR_MULTI"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+		int descCount = 0;
+		int markCount = 0;
+		int nameCount = 0;
+		int typeCount = 0;
+
+
+	public AptPNFormatLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "AptPNFormat.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2\36\u0102\b\1\4\2"+
+		"\t\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4"+
+		"\13\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22"+
+		"\t\22\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31"+
+		"\t\31\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\3\2\3\2\3\2\3\2\3\2\3\2"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\5\3\5\3\5\3\6\3\6\3\6\3\6\3"+
+		"\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7"+
+		"\3\b\3\b\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\n\3\n\3\n\3\n\3\n\3\n\3\n\3"+
+		"\n\3\n\3\n\3\n\3\n\3\n\3\13\3\13\3\f\3\f\3\r\3\r\3\16\3\16\3\16\3\16\3"+
+		"\16\3\16\3\16\3\17\3\17\3\20\3\20\3\20\3\21\3\21\3\22\3\22\3\23\3\23\3"+
+		"\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3"+
+		"\24\3\24\3\24\3\25\3\25\3\25\3\25\3\25\3\25\3\25\3\25\3\25\3\25\3\25\3"+
+		"\25\3\25\3\25\3\25\3\25\3\26\6\26\u00b6\n\26\r\26\16\26\u00b7\3\27\3\27"+
+		"\6\27\u00bc\n\27\r\27\16\27\u00bd\3\30\5\30\u00c1\n\30\3\30\6\30\u00c4"+
+		"\n\30\r\30\16\30\u00c5\3\30\3\30\6\30\u00ca\n\30\r\30\16\30\u00cb\3\31"+
+		"\3\31\7\31\u00d0\n\31\f\31\16\31\u00d3\13\31\3\32\3\32\3\32\3\32\7\32"+
+		"\u00d9\n\32\f\32\16\32\u00dc\13\32\3\32\3\32\3\32\3\32\7\32\u00e2\n\32"+
+		"\f\32\16\32\u00e5\13\32\3\32\3\32\5\32\u00e9\n\32\3\32\3\32\3\33\3\33"+
+		"\3\33\3\33\3\34\3\34\7\34\u00f3\n\34\f\34\16\34\u00f6\13\34\3\34\3\34"+
+		"\3\35\3\35\7\35\u00fc\n\35\f\35\16\35\u00ff\13\35\3\35\3\35\3\u00e3\2"+
+		"\36\3\3\5\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35"+
+		"\20\37\21!\22#\23%\24\'\25)\26+\27-\30/\31\61\32\63\33\65\34\67\359\36"+
+		"\3\2\b\5\2C\\aac|\6\2\62;C\\aac|\4\2\f\f\17\17\5\2\13\f\17\17\"\"\5\2"+
+		"\13\f\17\17$$\4\2\13\13$$\u010c\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2\2\2\2"+
+		"\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2\2\23\3\2"+
+		"\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35\3\2\2\2"+
+		"\2\37\3\2\2\2\2!\3\2\2\2\2#\3\2\2\2\2%\3\2\2\2\2\'\3\2\2\2\2)\3\2\2\2"+
+		"\2+\3\2\2\2\2-\3\2\2\2\2/\3\2\2\2\2\61\3\2\2\2\2\63\3\2\2\2\2\65\3\2\2"+
+		"\2\2\67\3\2\2\2\29\3\2\2\2\3;\3\2\2\2\5A\3\2\2\2\7G\3\2\2\2\tK\3\2\2\2"+
+		"\13N\3\2\2\2\r[\3\2\2\2\17d\3\2\2\2\21f\3\2\2\2\23n\3\2\2\2\25{\3\2\2"+
+		"\2\27}\3\2\2\2\31\177\3\2\2\2\33\u0081\3\2\2\2\35\u0088\3\2\2\2\37\u008a"+
+		"\3\2\2\2!\u008d\3\2\2\2#\u008f\3\2\2\2%\u0091\3\2\2\2\'\u0093\3\2\2\2"+
+		")\u00a4\3\2\2\2+\u00b5\3\2\2\2-\u00b9\3\2\2\2/\u00c0\3\2\2\2\61\u00cd"+
+		"\3\2\2\2\63\u00e8\3\2\2\2\65\u00ec\3\2\2\2\67\u00f0\3\2\2\29\u00f9\3\2"+
+		"\2\2;<\7\60\2\2<=\7p\2\2=>\7c\2\2>?\7o\2\2?@\7g\2\2@\4\3\2\2\2AB\7\60"+
+		"\2\2BC\7v\2\2CD\7{\2\2DE\7r\2\2EF\7g\2\2F\6\3\2\2\2GH\7N\2\2HI\7R\2\2"+
+		"IJ\7P\2\2J\b\3\2\2\2KL\7R\2\2LM\7P\2\2M\n\3\2\2\2NO\7\60\2\2OP\7f\2\2"+
+		"PQ\7g\2\2QR\7u\2\2RS\7e\2\2ST\7t\2\2TU\7k\2\2UV\7r\2\2VW\7v\2\2WX\7k\2"+
+		"\2XY\7q\2\2YZ\7p\2\2Z\f\3\2\2\2[\\\7\60\2\2\\]\7q\2\2]^\7r\2\2^_\7v\2"+
+		"\2_`\7k\2\2`a\7q\2\2ab\7p\2\2bc\7u\2\2c\16\3\2\2\2de\7.\2\2e\20\3\2\2"+
+		"\2fg\7\60\2\2gh\7r\2\2hi\7n\2\2ij\7c\2\2jk\7e\2\2kl\7g\2\2lm\7u\2\2m\22"+
+		"\3\2\2\2no\7\60\2\2op\7v\2\2pq\7t\2\2qr\7c\2\2rs\7p\2\2st\7u\2\2tu\7k"+
+		"\2\2uv\7v\2\2vw\7k\2\2wx\7q\2\2xy\7p\2\2yz\7u\2\2z\24\3\2\2\2{|\7]\2\2"+
+		"|\26\3\2\2\2}~\7_\2\2~\30\3\2\2\2\177\u0080\7?\2\2\u0080\32\3\2\2\2\u0081"+
+		"\u0082\7\60\2\2\u0082\u0083\7h\2\2\u0083\u0084\7n\2\2\u0084\u0085\7q\2"+
+		"\2\u0085\u0086\7y\2\2\u0086\u0087\7u\2\2\u0087\34\3\2\2\2\u0088\u0089"+
+		"\7<\2\2\u0089\36\3\2\2\2\u008a\u008b\7/\2\2\u008b\u008c\7@\2\2\u008c "+
+		"\3\2\2\2\u008d\u008e\7}\2\2\u008e\"\3\2\2\2\u008f\u0090\7\177\2\2\u0090"+
+		"$\3\2\2\2\u0091\u0092\7,\2\2\u0092&\3\2\2\2\u0093\u0094\7\60\2\2\u0094"+
+		"\u0095\7k\2\2\u0095\u0096\7p\2\2\u0096\u0097\7k\2\2\u0097\u0098\7v\2\2"+
+		"\u0098\u0099\7k\2\2\u0099\u009a\7c\2\2\u009a\u009b\7n\2\2\u009b\u009c"+
+		"\7a\2\2\u009c\u009d\7o\2\2\u009d\u009e\7c\2\2\u009e\u009f\7t\2\2\u009f"+
+		"\u00a0\7m\2\2\u00a0\u00a1\7k\2\2\u00a1\u00a2\7p\2\2\u00a2\u00a3\7i\2\2"+
+		"\u00a3(\3\2\2\2\u00a4\u00a5\7\60\2\2\u00a5\u00a6\7h\2\2\u00a6\u00a7\7"+
+		"k\2\2\u00a7\u00a8\7p\2\2\u00a8\u00a9\7c\2\2\u00a9\u00aa\7n\2\2\u00aa\u00ab"+
+		"\7a\2\2\u00ab\u00ac\7o\2\2\u00ac\u00ad\7c\2\2\u00ad\u00ae\7t\2\2\u00ae"+
+		"\u00af\7m\2\2\u00af\u00b0\7k\2\2\u00b0\u00b1\7p\2\2\u00b1\u00b2\7i\2\2"+
+		"\u00b2\u00b3\7u\2\2\u00b3*\3\2\2\2\u00b4\u00b6\4\62;\2\u00b5\u00b4\3\2"+
+		"\2\2\u00b6\u00b7\3\2\2\2\u00b7\u00b5\3\2\2\2\u00b7\u00b8\3\2\2\2\u00b8"+
+		",\3\2\2\2\u00b9\u00bb\7/\2\2\u00ba\u00bc\4\62;\2\u00bb\u00ba\3\2\2\2\u00bc"+
+		"\u00bd\3\2\2\2\u00bd\u00bb\3\2\2\2\u00bd\u00be\3\2\2\2\u00be.\3\2\2\2"+
+		"\u00bf\u00c1\7/\2\2\u00c0\u00bf\3\2\2\2\u00c0\u00c1\3\2\2\2\u00c1\u00c3"+
+		"\3\2\2\2\u00c2\u00c4\4\62;\2\u00c3\u00c2\3\2\2\2\u00c4\u00c5\3\2\2\2\u00c5"+
+		"\u00c3\3\2\2\2\u00c5\u00c6\3\2\2\2\u00c6\u00c7\3\2\2\2\u00c7\u00c9\7\60"+
+		"\2\2\u00c8\u00ca\4\62;\2\u00c9\u00c8\3\2\2\2\u00ca\u00cb\3\2\2\2\u00cb"+
+		"\u00c9\3\2\2\2\u00cb\u00cc\3\2\2\2\u00cc\60\3\2\2\2\u00cd\u00d1\t\2\2"+
+		"\2\u00ce\u00d0\t\3\2\2\u00cf\u00ce\3\2\2\2\u00d0\u00d3\3\2\2\2\u00d1\u00cf"+
+		"\3\2\2\2\u00d1\u00d2\3\2\2\2\u00d2\62\3\2\2\2\u00d3\u00d1\3\2\2\2\u00d4"+
+		"\u00d5\7\61\2\2\u00d5\u00d6\7\61\2\2\u00d6\u00da\3\2\2\2\u00d7\u00d9\n"+
+		"\4\2\2\u00d8\u00d7\3\2\2\2\u00d9\u00dc\3\2\2\2\u00da\u00d8\3\2\2\2\u00da"+
+		"\u00db\3\2\2\2\u00db\u00e9\3\2\2\2\u00dc\u00da\3\2\2\2\u00dd\u00de\7\61"+
+		"\2\2\u00de\u00df\7,\2\2\u00df\u00e3\3\2\2\2\u00e0\u00e2\13\2\2\2\u00e1"+
+		"\u00e0\3\2\2\2\u00e2\u00e5\3\2\2\2\u00e3\u00e4\3\2\2\2\u00e3\u00e1\3\2"+
+		"\2\2\u00e4\u00e6\3\2\2\2\u00e5\u00e3\3\2\2\2\u00e6\u00e7\7,\2\2\u00e7"+
+		"\u00e9\7\61\2\2\u00e8\u00d4\3\2\2\2\u00e8\u00dd\3\2\2\2\u00e9\u00ea\3"+
+		"\2\2\2\u00ea\u00eb\b\32\2\2\u00eb\64\3\2\2\2\u00ec\u00ed\t\5\2\2\u00ed"+
+		"\u00ee\3\2\2\2\u00ee\u00ef\b\33\2\2\u00ef\66\3\2\2\2\u00f0\u00f4\7$\2"+
+		"\2\u00f1\u00f3\n\6\2\2\u00f2\u00f1\3\2\2\2\u00f3\u00f6\3\2\2\2\u00f4\u00f2"+
+		"\3\2\2\2\u00f4\u00f5\3\2\2\2\u00f5\u00f7\3\2\2\2\u00f6\u00f4\3\2\2\2\u00f7"+
+		"\u00f8\7$\2\2\u00f88\3\2\2\2\u00f9\u00fd\7$\2\2\u00fa\u00fc\n\7\2\2\u00fb"+
+		"\u00fa\3\2\2\2\u00fc\u00ff\3\2\2\2\u00fd\u00fb\3\2\2\2\u00fd\u00fe\3\2"+
+		"\2\2\u00fe\u0100\3\2\2\2\u00ff\u00fd\3\2\2\2\u0100\u0101\7$\2\2\u0101"+
+		":\3\2\2\2\16\2\u00b7\u00bd\u00c0\u00c5\u00cb\u00d1\u00da\u00e3\u00e8\u00f4"+
+		"\u00fd\3\b\2\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
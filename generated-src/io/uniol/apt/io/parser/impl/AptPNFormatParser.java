@@ -0,0 +1,1418 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/AptPNFormat.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
+import org.antlr.v4.runtime.tree.*;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class AptPNFormatParser extends Parser {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, NAT=21, NEGNAT=22, DOUBLE=23, ID=24, COMMENT=25, 
+		WS=26, STR=27, STR_MULTI=28;
+	public static final int
+		RULE_pn = 0, RULE_name = 1, RULE_type = 2, RULE_description = 3, RULE_netOptions = 4, 
+		RULE_places = 5, RULE_place = 6, RULE_transitions = 7, RULE_transition = 8, 
+		RULE_opts = 9, RULE_option = 10, RULE_flows = 11, RULE_flow = 12, RULE_set = 13, 
+		RULE_obj = 14, RULE_initialMarking = 15, RULE_finalMarkings = 16;
+	public static final String[] ruleNames = {
+		"pn", "name", "type", "description", "netOptions", "places", "place", 
+		"transitions", "transition", "opts", "option", "flows", "flow", "set", 
+		"obj", "initialMarking", "finalMarkings"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'.name'", "'.type'", "'LPN'", "'PN'", "'.description'", "'.options'", 
+		"','", "'.places'", "'.transitions'", "'['", "']'", "'='", "'.flows'", 
+		"':'", "'->'", "'{'", "'}'", "'*'", "'.initial_marking'", "'.final_markings'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, "NAT", "NEGNAT", 
+		"DOUBLE", "ID", "COMMENT", "WS", "STR", "STR_MULTI"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+	@Override
+	public String getGrammarFileName() { return "AptPNFormat.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+
+		int descCount = 0;
+		int markCount = 0;
+		int nameCount = 0;
+		int typeCount = 0;
+
+	public AptPNFormatParser(TokenStream input) {
+		super(input);
+		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+	public static class PnContext extends ParserRuleContext {
+		public List<DescriptionContext> description() {
+			return getRuleContexts(DescriptionContext.class);
+		}
+		public DescriptionContext description(int i) {
+			return getRuleContext(DescriptionContext.class,i);
+		}
+		public List<FinalMarkingsContext> finalMarkings() {
+			return getRuleContexts(FinalMarkingsContext.class);
+		}
+		public FinalMarkingsContext finalMarkings(int i) {
+			return getRuleContext(FinalMarkingsContext.class,i);
+		}
+		public List<FlowsContext> flows() {
+			return getRuleContexts(FlowsContext.class);
+		}
+		public FlowsContext flows(int i) {
+			return getRuleContext(FlowsContext.class,i);
+		}
+		public List<InitialMarkingContext> initialMarking() {
+			return getRuleContexts(InitialMarkingContext.class);
+		}
+		public InitialMarkingContext initialMarking(int i) {
+			return getRuleContext(InitialMarkingContext.class,i);
+		}
+		public List<NameContext> name() {
+			return getRuleContexts(NameContext.class);
+		}
+		public NameContext name(int i) {
+			return getRuleContext(NameContext.class,i);
+		}
+		public List<NetOptionsContext> netOptions() {
+			return getRuleContexts(NetOptionsContext.class);
+		}
+		public NetOptionsContext netOptions(int i) {
+			return getRuleContext(NetOptionsContext.class,i);
+		}
+		public List<PlacesContext> places() {
+			return getRuleContexts(PlacesContext.class);
+		}
+		public PlacesContext places(int i) {
+			return getRuleContext(PlacesContext.class,i);
+		}
+		public List<TransitionsContext> transitions() {
+			return getRuleContexts(TransitionsContext.class);
+		}
+		public TransitionsContext transitions(int i) {
+			return getRuleContext(TransitionsContext.class,i);
+		}
+		public List<TypeContext> type() {
+			return getRuleContexts(TypeContext.class);
+		}
+		public TypeContext type(int i) {
+			return getRuleContext(TypeContext.class,i);
+		}
+		public PnContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_pn; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterPn(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitPn(this);
+		}
+	}
+
+	public final PnContext pn() throws RecognitionException {
+		PnContext _localctx = new PnContext(_ctx, getState());
+		enterRule(_localctx, 0, RULE_pn);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(45);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,1,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
+					setState(43);
+					switch ( getInterpreter().adaptivePredict(_input,0,_ctx) ) {
+					case 1:
+						{
+						setState(34);
+						description();
+						}
+						break;
+					case 2:
+						{
+						setState(35);
+						finalMarkings();
+						}
+						break;
+					case 3:
+						{
+						setState(36);
+						flows();
+						}
+						break;
+					case 4:
+						{
+						setState(37);
+						initialMarking();
+						}
+						break;
+					case 5:
+						{
+						setState(38);
+						name();
+						}
+						break;
+					case 6:
+						{
+						setState(39);
+						netOptions();
+						}
+						break;
+					case 7:
+						{
+						setState(40);
+						places();
+						}
+						break;
+					case 8:
+						{
+						setState(41);
+						transitions();
+						}
+						break;
+					case 9:
+						{
+						setState(42);
+						type();
+						}
+						break;
+					}
+					} 
+				}
+				setState(47);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,1,_ctx);
+			}
+			setState(48);
+			if (!(typeCount == 1)) throw new FailedPredicateException(this, "typeCount == 1");
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class NameContext extends ParserRuleContext {
+		public TerminalNode STR() { return getToken(AptPNFormatParser.STR, 0); }
+		public NameContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_name; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterName(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitName(this);
+		}
+	}
+
+	public final NameContext name() throws RecognitionException {
+		NameContext _localctx = new NameContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_name);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(50);
+			if (!(nameCount == 0)) throw new FailedPredicateException(this, "nameCount == 0");
+			setState(51);
+			match(T__0);
+			setState(52);
+			match(STR);
+			nameCount++;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TypeContext extends ParserRuleContext {
+		public TypeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_type; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterType(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitType(this);
+		}
+	}
+
+	public final TypeContext type() throws RecognitionException {
+		TypeContext _localctx = new TypeContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_type);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(55);
+			if (!(typeCount == 0)) throw new FailedPredicateException(this, "typeCount == 0");
+			setState(56);
+			match(T__1);
+			setState(57);
+			_la = _input.LA(1);
+			if ( !(_la==T__2 || _la==T__3) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			typeCount++;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class DescriptionContext extends ParserRuleContext {
+		public Token txt;
+		public TerminalNode STR() { return getToken(AptPNFormatParser.STR, 0); }
+		public TerminalNode STR_MULTI() { return getToken(AptPNFormatParser.STR_MULTI, 0); }
+		public DescriptionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_description; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterDescription(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitDescription(this);
+		}
+	}
+
+	public final DescriptionContext description() throws RecognitionException {
+		DescriptionContext _localctx = new DescriptionContext(_ctx, getState());
+		enterRule(_localctx, 6, RULE_description);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(60);
+			if (!(descCount == 0)) throw new FailedPredicateException(this, "descCount == 0");
+			setState(61);
+			match(T__4);
+			setState(64);
+			switch (_input.LA(1)) {
+			case STR:
+				{
+				setState(62);
+				((DescriptionContext)_localctx).txt = match(STR);
+				}
+				break;
+			case STR_MULTI:
+				{
+				setState(63);
+				((DescriptionContext)_localctx).txt = match(STR_MULTI);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			descCount++;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class NetOptionsContext extends ParserRuleContext {
+		public List<OptionContext> option() {
+			return getRuleContexts(OptionContext.class);
+		}
+		public OptionContext option(int i) {
+			return getRuleContext(OptionContext.class,i);
+		}
+		public NetOptionsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_netOptions; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterNetOptions(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitNetOptions(this);
+		}
+	}
+
+	public final NetOptionsContext netOptions() throws RecognitionException {
+		NetOptionsContext _localctx = new NetOptionsContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_netOptions);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(68);
+			match(T__5);
+			setState(77);
+			switch ( getInterpreter().adaptivePredict(_input,4,_ctx) ) {
+			case 1:
+				{
+				setState(69);
+				option();
+				setState(74);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(70);
+						match(T__6);
+						setState(71);
+						option();
+						}
+						} 
+					}
+					setState(76);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
+				}
+				}
+				break;
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class PlacesContext extends ParserRuleContext {
+		public List<PlaceContext> place() {
+			return getRuleContexts(PlaceContext.class);
+		}
+		public PlaceContext place(int i) {
+			return getRuleContext(PlaceContext.class,i);
+		}
+		public PlacesContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_places; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterPlaces(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitPlaces(this);
+		}
+	}
+
+	public final PlacesContext places() throws RecognitionException {
+		PlacesContext _localctx = new PlacesContext(_ctx, getState());
+		enterRule(_localctx, 10, RULE_places);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(79);
+			match(T__7);
+			setState(83);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
+					{
+					setState(80);
+					place();
+					}
+					} 
+				}
+				setState(85);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class PlaceContext extends ParserRuleContext {
+		public Token id;
+		public TerminalNode ID() { return getToken(AptPNFormatParser.ID, 0); }
+		public TerminalNode NAT() { return getToken(AptPNFormatParser.NAT, 0); }
+		public OptsContext opts() {
+			return getRuleContext(OptsContext.class,0);
+		}
+		public PlaceContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_place; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterPlace(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitPlace(this);
+		}
+	}
+
+	public final PlaceContext place() throws RecognitionException {
+		PlaceContext _localctx = new PlaceContext(_ctx, getState());
+		enterRule(_localctx, 12, RULE_place);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(88);
+			switch (_input.LA(1)) {
+			case ID:
+				{
+				setState(86);
+				((PlaceContext)_localctx).id = match(ID);
+				}
+				break;
+			case NAT:
+				{
+				setState(87);
+				((PlaceContext)_localctx).id = match(NAT);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			setState(91);
+			switch ( getInterpreter().adaptivePredict(_input,7,_ctx) ) {
+			case 1:
+				{
+				setState(90);
+				opts();
+				}
+				break;
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TransitionsContext extends ParserRuleContext {
+		public List<TransitionContext> transition() {
+			return getRuleContexts(TransitionContext.class);
+		}
+		public TransitionContext transition(int i) {
+			return getRuleContext(TransitionContext.class,i);
+		}
+		public TransitionsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_transitions; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterTransitions(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitTransitions(this);
+		}
+	}
+
+	public final TransitionsContext transitions() throws RecognitionException {
+		TransitionsContext _localctx = new TransitionsContext(_ctx, getState());
+		enterRule(_localctx, 14, RULE_transitions);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(93);
+			match(T__8);
+			setState(97);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,8,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
+					{
+					setState(94);
+					transition();
+					}
+					} 
+				}
+				setState(99);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,8,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TransitionContext extends ParserRuleContext {
+		public Token id;
+		public TerminalNode ID() { return getToken(AptPNFormatParser.ID, 0); }
+		public TerminalNode NAT() { return getToken(AptPNFormatParser.NAT, 0); }
+		public OptsContext opts() {
+			return getRuleContext(OptsContext.class,0);
+		}
+		public TransitionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_transition; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterTransition(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitTransition(this);
+		}
+	}
+
+	public final TransitionContext transition() throws RecognitionException {
+		TransitionContext _localctx = new TransitionContext(_ctx, getState());
+		enterRule(_localctx, 16, RULE_transition);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(102);
+			switch (_input.LA(1)) {
+			case ID:
+				{
+				setState(100);
+				((TransitionContext)_localctx).id = match(ID);
+				}
+				break;
+			case NAT:
+				{
+				setState(101);
+				((TransitionContext)_localctx).id = match(NAT);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			setState(105);
+			switch ( getInterpreter().adaptivePredict(_input,10,_ctx) ) {
+			case 1:
+				{
+				setState(104);
+				opts();
+				}
+				break;
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class OptsContext extends ParserRuleContext {
+		public List<OptionContext> option() {
+			return getRuleContexts(OptionContext.class);
+		}
+		public OptionContext option(int i) {
+			return getRuleContext(OptionContext.class,i);
+		}
+		public OptsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_opts; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterOpts(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitOpts(this);
+		}
+	}
+
+	public final OptsContext opts() throws RecognitionException {
+		OptsContext _localctx = new OptsContext(_ctx, getState());
+		enterRule(_localctx, 18, RULE_opts);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(107);
+			match(T__9);
+			setState(108);
+			option();
+			setState(113);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__6) {
+				{
+				{
+				setState(109);
+				match(T__6);
+				setState(110);
+				option();
+				}
+				}
+				setState(115);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(116);
+			match(T__10);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class OptionContext extends ParserRuleContext {
+		public TerminalNode ID() { return getToken(AptPNFormatParser.ID, 0); }
+		public TerminalNode STR() { return getToken(AptPNFormatParser.STR, 0); }
+		public TerminalNode NAT() { return getToken(AptPNFormatParser.NAT, 0); }
+		public TerminalNode NEGNAT() { return getToken(AptPNFormatParser.NEGNAT, 0); }
+		public TerminalNode DOUBLE() { return getToken(AptPNFormatParser.DOUBLE, 0); }
+		public OptionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_option; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterOption(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitOption(this);
+		}
+	}
+
+	public final OptionContext option() throws RecognitionException {
+		OptionContext _localctx = new OptionContext(_ctx, getState());
+		enterRule(_localctx, 20, RULE_option);
+		try {
+			setState(131);
+			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(118);
+				match(ID);
+				setState(119);
+				match(T__11);
+				setState(120);
+				match(STR);
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(121);
+				match(ID);
+				setState(122);
+				match(T__11);
+				setState(123);
+				match(NAT);
+				}
+				break;
+			case 3:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(124);
+				match(ID);
+				setState(125);
+				match(T__11);
+				setState(126);
+				match(NEGNAT);
+				}
+				break;
+			case 4:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(127);
+				match(ID);
+				setState(128);
+				match(T__11);
+				setState(129);
+				match(DOUBLE);
+				}
+				break;
+			case 5:
+				enterOuterAlt(_localctx, 5);
+				{
+				setState(130);
+				match(ID);
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class FlowsContext extends ParserRuleContext {
+		public List<FlowContext> flow() {
+			return getRuleContexts(FlowContext.class);
+		}
+		public FlowContext flow(int i) {
+			return getRuleContext(FlowContext.class,i);
+		}
+		public FlowsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_flows; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterFlows(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitFlows(this);
+		}
+	}
+
+	public final FlowsContext flows() throws RecognitionException {
+		FlowsContext _localctx = new FlowsContext(_ctx, getState());
+		enterRule(_localctx, 22, RULE_flows);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(133);
+			match(T__12);
+			setState(137);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,13,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
+					{
+					setState(134);
+					flow();
+					}
+					} 
+				}
+				setState(139);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,13,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class FlowContext extends ParserRuleContext {
+		public Token id;
+		public SetContext preset;
+		public SetContext postset;
+		public List<SetContext> set() {
+			return getRuleContexts(SetContext.class);
+		}
+		public SetContext set(int i) {
+			return getRuleContext(SetContext.class,i);
+		}
+		public TerminalNode ID() { return getToken(AptPNFormatParser.ID, 0); }
+		public TerminalNode NAT() { return getToken(AptPNFormatParser.NAT, 0); }
+		public OptsContext opts() {
+			return getRuleContext(OptsContext.class,0);
+		}
+		public FlowContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_flow; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterFlow(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitFlow(this);
+		}
+	}
+
+	public final FlowContext flow() throws RecognitionException {
+		FlowContext _localctx = new FlowContext(_ctx, getState());
+		enterRule(_localctx, 24, RULE_flow);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(142);
+			switch (_input.LA(1)) {
+			case ID:
+				{
+				setState(140);
+				((FlowContext)_localctx).id = match(ID);
+				}
+				break;
+			case NAT:
+				{
+				setState(141);
+				((FlowContext)_localctx).id = match(NAT);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			setState(144);
+			match(T__13);
+			setState(145);
+			((FlowContext)_localctx).preset = set();
+			setState(146);
+			match(T__14);
+			setState(147);
+			((FlowContext)_localctx).postset = set();
+			setState(149);
+			switch ( getInterpreter().adaptivePredict(_input,15,_ctx) ) {
+			case 1:
+				{
+				setState(148);
+				opts();
+				}
+				break;
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class SetContext extends ParserRuleContext {
+		public List<ObjContext> obj() {
+			return getRuleContexts(ObjContext.class);
+		}
+		public ObjContext obj(int i) {
+			return getRuleContext(ObjContext.class,i);
+		}
+		public SetContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_set; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterSet(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitSet(this);
+		}
+	}
+
+	public final SetContext set() throws RecognitionException {
+		SetContext _localctx = new SetContext(_ctx, getState());
+		enterRule(_localctx, 26, RULE_set);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(151);
+			match(T__15);
+			setState(161);
+			switch (_input.LA(1)) {
+			case T__16:
+				{
+				}
+				break;
+			case NAT:
+			case ID:
+				{
+				setState(153);
+				obj();
+				setState(158);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__6) {
+					{
+					{
+					setState(154);
+					match(T__6);
+					setState(155);
+					obj();
+					}
+					}
+					setState(160);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+			setState(163);
+			match(T__16);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ObjContext extends ParserRuleContext {
+		public Token mult;
+		public Token id;
+		public List<TerminalNode> NAT() { return getTokens(AptPNFormatParser.NAT); }
+		public TerminalNode NAT(int i) {
+			return getToken(AptPNFormatParser.NAT, i);
+		}
+		public TerminalNode ID() { return getToken(AptPNFormatParser.ID, 0); }
+		public ObjContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_obj; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterObj(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitObj(this);
+		}
+	}
+
+	public final ObjContext obj() throws RecognitionException {
+		ObjContext _localctx = new ObjContext(_ctx, getState());
+		enterRule(_localctx, 28, RULE_obj);
+		try {
+			setState(175);
+			switch ( getInterpreter().adaptivePredict(_input,20,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(165);
+				((ObjContext)_localctx).mult = match(NAT);
+				setState(166);
+				match(T__17);
+				setState(169);
+				switch (_input.LA(1)) {
+				case ID:
+					{
+					setState(167);
+					((ObjContext)_localctx).id = match(ID);
+					}
+					break;
+				case NAT:
+					{
+					setState(168);
+					((ObjContext)_localctx).id = match(NAT);
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(173);
+				switch (_input.LA(1)) {
+				case ID:
+					{
+					setState(171);
+					((ObjContext)_localctx).id = match(ID);
+					}
+					break;
+				case NAT:
+					{
+					setState(172);
+					((ObjContext)_localctx).id = match(NAT);
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class InitialMarkingContext extends ParserRuleContext {
+		public SetContext set() {
+			return getRuleContext(SetContext.class,0);
+		}
+		public InitialMarkingContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_initialMarking; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterInitialMarking(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitInitialMarking(this);
+		}
+	}
+
+	public final InitialMarkingContext initialMarking() throws RecognitionException {
+		InitialMarkingContext _localctx = new InitialMarkingContext(_ctx, getState());
+		enterRule(_localctx, 30, RULE_initialMarking);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(177);
+			if (!(markCount == 0)) throw new FailedPredicateException(this, "markCount == 0");
+			setState(178);
+			match(T__18);
+			setState(180);
+			switch ( getInterpreter().adaptivePredict(_input,21,_ctx) ) {
+			case 1:
+				{
+				setState(179);
+				set();
+				}
+				break;
+			}
+			markCount++;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class FinalMarkingsContext extends ParserRuleContext {
+		public List<SetContext> set() {
+			return getRuleContexts(SetContext.class);
+		}
+		public SetContext set(int i) {
+			return getRuleContext(SetContext.class,i);
+		}
+		public FinalMarkingsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_finalMarkings; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).enterFinalMarkings(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof AptPNFormatListener ) ((AptPNFormatListener)listener).exitFinalMarkings(this);
+		}
+	}
+
+	public final FinalMarkingsContext finalMarkings() throws RecognitionException {
+		FinalMarkingsContext _localctx = new FinalMarkingsContext(_ctx, getState());
+		enterRule(_localctx, 32, RULE_finalMarkings);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(184);
+			match(T__19);
+			setState(188);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,22,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					{
+					{
+					setState(185);
+					set();
+					}
+					} 
+				}
+				setState(190);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,22,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
+		switch (ruleIndex) {
+		case 0:
+			return pn_sempred((PnContext)_localctx, predIndex);
+		case 1:
+			return name_sempred((NameContext)_localctx, predIndex);
+		case 2:
+			return type_sempred((TypeContext)_localctx, predIndex);
+		case 3:
+			return description_sempred((DescriptionContext)_localctx, predIndex);
+		case 15:
+			return initialMarking_sempred((InitialMarkingContext)_localctx, predIndex);
+		}
+		return true;
+	}
+	private boolean pn_sempred(PnContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 0:
+			return typeCount == 1;
+		}
+		return true;
+	}
+	private boolean name_sempred(NameContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 1:
+			return nameCount == 0;
+		}
+		return true;
+	}
+	private boolean type_sempred(TypeContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 2:
+			return typeCount == 0;
+		}
+		return true;
+	}
+	private boolean description_sempred(DescriptionContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 3:
+			return descCount == 0;
+		}
+		return true;
+	}
+	private boolean initialMarking_sempred(InitialMarkingContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 4:
+			return markCount == 0;
+		}
+		return true;
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3\36\u00c2\4\2\t\2"+
+		"\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13"+
+		"\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
+		"\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\7\2.\n\2\f\2\16\2\61\13\2\3\2\3\2"+
+		"\3\3\3\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\4\3\5\3\5\3\5\3\5\5\5C\n\5\3\5"+
+		"\3\5\3\6\3\6\3\6\3\6\7\6K\n\6\f\6\16\6N\13\6\5\6P\n\6\3\7\3\7\7\7T\n\7"+
+		"\f\7\16\7W\13\7\3\b\3\b\5\b[\n\b\3\b\5\b^\n\b\3\t\3\t\7\tb\n\t\f\t\16"+
+		"\te\13\t\3\n\3\n\5\ni\n\n\3\n\5\nl\n\n\3\13\3\13\3\13\3\13\7\13r\n\13"+
+		"\f\13\16\13u\13\13\3\13\3\13\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3"+
+		"\f\3\f\3\f\5\f\u0086\n\f\3\r\3\r\7\r\u008a\n\r\f\r\16\r\u008d\13\r\3\16"+
+		"\3\16\5\16\u0091\n\16\3\16\3\16\3\16\3\16\3\16\5\16\u0098\n\16\3\17\3"+
+		"\17\3\17\3\17\3\17\7\17\u009f\n\17\f\17\16\17\u00a2\13\17\5\17\u00a4\n"+
+		"\17\3\17\3\17\3\20\3\20\3\20\3\20\5\20\u00ac\n\20\3\20\3\20\5\20\u00b0"+
+		"\n\20\5\20\u00b2\n\20\3\21\3\21\3\21\5\21\u00b7\n\21\3\21\3\21\3\22\3"+
+		"\22\7\22\u00bd\n\22\f\22\16\22\u00c0\13\22\3\22\2\2\23\2\4\6\b\n\f\16"+
+		"\20\22\24\26\30\32\34\36 \"\2\3\3\2\5\6\u00d1\2/\3\2\2\2\4\64\3\2\2\2"+
+		"\69\3\2\2\2\b>\3\2\2\2\nF\3\2\2\2\fQ\3\2\2\2\16Z\3\2\2\2\20_\3\2\2\2\22"+
+		"h\3\2\2\2\24m\3\2\2\2\26\u0085\3\2\2\2\30\u0087\3\2\2\2\32\u0090\3\2\2"+
+		"\2\34\u0099\3\2\2\2\36\u00b1\3\2\2\2 \u00b3\3\2\2\2\"\u00ba\3\2\2\2$."+
+		"\5\b\5\2%.\5\"\22\2&.\5\30\r\2\'.\5 \21\2(.\5\4\3\2).\5\n\6\2*.\5\f\7"+
+		"\2+.\5\20\t\2,.\5\6\4\2-$\3\2\2\2-%\3\2\2\2-&\3\2\2\2-\'\3\2\2\2-(\3\2"+
+		"\2\2-)\3\2\2\2-*\3\2\2\2-+\3\2\2\2-,\3\2\2\2.\61\3\2\2\2/-\3\2\2\2/\60"+
+		"\3\2\2\2\60\62\3\2\2\2\61/\3\2\2\2\62\63\6\2\2\2\63\3\3\2\2\2\64\65\6"+
+		"\3\3\2\65\66\7\3\2\2\66\67\7\35\2\2\678\b\3\1\28\5\3\2\2\29:\6\4\4\2:"+
+		";\7\4\2\2;<\t\2\2\2<=\b\4\1\2=\7\3\2\2\2>?\6\5\5\2?B\7\7\2\2@C\7\35\2"+
+		"\2AC\7\36\2\2B@\3\2\2\2BA\3\2\2\2CD\3\2\2\2DE\b\5\1\2E\t\3\2\2\2FO\7\b"+
+		"\2\2GL\5\26\f\2HI\7\t\2\2IK\5\26\f\2JH\3\2\2\2KN\3\2\2\2LJ\3\2\2\2LM\3"+
+		"\2\2\2MP\3\2\2\2NL\3\2\2\2OG\3\2\2\2OP\3\2\2\2P\13\3\2\2\2QU\7\n\2\2R"+
+		"T\5\16\b\2SR\3\2\2\2TW\3\2\2\2US\3\2\2\2UV\3\2\2\2V\r\3\2\2\2WU\3\2\2"+
+		"\2X[\7\32\2\2Y[\7\27\2\2ZX\3\2\2\2ZY\3\2\2\2[]\3\2\2\2\\^\5\24\13\2]\\"+
+		"\3\2\2\2]^\3\2\2\2^\17\3\2\2\2_c\7\13\2\2`b\5\22\n\2a`\3\2\2\2be\3\2\2"+
+		"\2ca\3\2\2\2cd\3\2\2\2d\21\3\2\2\2ec\3\2\2\2fi\7\32\2\2gi\7\27\2\2hf\3"+
+		"\2\2\2hg\3\2\2\2ik\3\2\2\2jl\5\24\13\2kj\3\2\2\2kl\3\2\2\2l\23\3\2\2\2"+
+		"mn\7\f\2\2ns\5\26\f\2op\7\t\2\2pr\5\26\f\2qo\3\2\2\2ru\3\2\2\2sq\3\2\2"+
+		"\2st\3\2\2\2tv\3\2\2\2us\3\2\2\2vw\7\r\2\2w\25\3\2\2\2xy\7\32\2\2yz\7"+
+		"\16\2\2z\u0086\7\35\2\2{|\7\32\2\2|}\7\16\2\2}\u0086\7\27\2\2~\177\7\32"+
+		"\2\2\177\u0080\7\16\2\2\u0080\u0086\7\30\2\2\u0081\u0082\7\32\2\2\u0082"+
+		"\u0083\7\16\2\2\u0083\u0086\7\31\2\2\u0084\u0086\7\32\2\2\u0085x\3\2\2"+
+		"\2\u0085{\3\2\2\2\u0085~\3\2\2\2\u0085\u0081\3\2\2\2\u0085\u0084\3\2\2"+
+		"\2\u0086\27\3\2\2\2\u0087\u008b\7\17\2\2\u0088\u008a\5\32\16\2\u0089\u0088"+
+		"\3\2\2\2\u008a\u008d\3\2\2\2\u008b\u0089\3\2\2\2\u008b\u008c\3\2\2\2\u008c"+
+		"\31\3\2\2\2\u008d\u008b\3\2\2\2\u008e\u0091\7\32\2\2\u008f\u0091\7\27"+
+		"\2\2\u0090\u008e\3\2\2\2\u0090\u008f\3\2\2\2\u0091\u0092\3\2\2\2\u0092"+
+		"\u0093\7\20\2\2\u0093\u0094\5\34\17\2\u0094\u0095\7\21\2\2\u0095\u0097"+
+		"\5\34\17\2\u0096\u0098\5\24\13\2\u0097\u0096\3\2\2\2\u0097\u0098\3\2\2"+
+		"\2\u0098\33\3\2\2\2\u0099\u00a3\7\22\2\2\u009a\u00a4\3\2\2\2\u009b\u00a0"+
+		"\5\36\20\2\u009c\u009d\7\t\2\2\u009d\u009f\5\36\20\2\u009e\u009c\3\2\2"+
+		"\2\u009f\u00a2\3\2\2\2\u00a0\u009e\3\2\2\2\u00a0\u00a1\3\2\2\2\u00a1\u00a4"+
+		"\3\2\2\2\u00a2\u00a0\3\2\2\2\u00a3\u009a\3\2\2\2\u00a3\u009b\3\2\2\2\u00a4"+
+		"\u00a5\3\2\2\2\u00a5\u00a6\7\23\2\2\u00a6\35\3\2\2\2\u00a7\u00a8\7\27"+
+		"\2\2\u00a8\u00ab\7\24\2\2\u00a9\u00ac\7\32\2\2\u00aa\u00ac\7\27\2\2\u00ab"+
+		"\u00a9\3\2\2\2\u00ab\u00aa\3\2\2\2\u00ac\u00b2\3\2\2\2\u00ad\u00b0\7\32"+
+		"\2\2\u00ae\u00b0\7\27\2\2\u00af\u00ad\3\2\2\2\u00af\u00ae\3\2\2\2\u00b0"+
+		"\u00b2\3\2\2\2\u00b1\u00a7\3\2\2\2\u00b1\u00af\3\2\2\2\u00b2\37\3\2\2"+
+		"\2\u00b3\u00b4\6\21\6\2\u00b4\u00b6\7\25\2\2\u00b5\u00b7\5\34\17\2\u00b6"+
+		"\u00b5\3\2\2\2\u00b6\u00b7\3\2\2\2\u00b7\u00b8\3\2\2\2\u00b8\u00b9\b\21"+
+		"\1\2\u00b9!\3\2\2\2\u00ba\u00be\7\26\2\2\u00bb\u00bd\5\34\17\2\u00bc\u00bb"+
+		"\3\2\2\2\u00bd\u00c0\3\2\2\2\u00be\u00bc\3\2\2\2\u00be\u00bf\3\2\2\2\u00bf"+
+		"#\3\2\2\2\u00c0\u00be\3\2\2\2\31-/BLOUZ]chks\u0085\u008b\u0090\u0097\u00a0"+
+		"\u00a3\u00ab\u00af\u00b1\u00b6\u00be";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,669 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/PetrifyLTSFormatParser.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
+import org.antlr.v4.runtime.tree.*;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class PetrifyLTSFormatParser extends Parser {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		MODEL=1, INPUTS=2, STATE=3, GRAPH=4, MARKING=5, END=6, CURLY_OPEN=7, CURLY_CLOSE=8, 
+		NL=9, ID=10, COMMENT=11, WS=12, NAME=13;
+	public static final int
+		RULE_ts = 0, RULE_model = 1, RULE_inputs = 2, RULE_type = 3, RULE_transitions = 4, 
+		RULE_transition = 5, RULE_target = 6, RULE_marking = 7, RULE_end = 8, 
+		RULE_nl = 9;
+	public static final String[] ruleNames = {
+		"ts", "model", "inputs", "type", "transitions", "transition", "target", 
+		"marking", "end", "nl"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'.model'", "'.inputs'", "'.state'", "'graph'", "'.marking'", "'.end'", 
+		"'{'", "'}'", "'\n'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, "MODEL", "INPUTS", "STATE", "GRAPH", "MARKING", "END", "CURLY_OPEN", 
+		"CURLY_CLOSE", "NL", "ID", "COMMENT", "WS", "NAME"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+	@Override
+	public String getGrammarFileName() { return "PetrifyLTSFormatParser.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public PetrifyLTSFormatParser(TokenStream input) {
+		super(input);
+		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+	public static class TsContext extends ParserRuleContext {
+		public TypeContext type() {
+			return getRuleContext(TypeContext.class,0);
+		}
+		public TransitionsContext transitions() {
+			return getRuleContext(TransitionsContext.class,0);
+		}
+		public MarkingContext marking() {
+			return getRuleContext(MarkingContext.class,0);
+		}
+		public EndContext end() {
+			return getRuleContext(EndContext.class,0);
+		}
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public ModelContext model() {
+			return getRuleContext(ModelContext.class,0);
+		}
+		public InputsContext inputs() {
+			return getRuleContext(InputsContext.class,0);
+		}
+		public TsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_ts; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterTs(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitTs(this);
+		}
+	}
+
+	public final TsContext ts() throws RecognitionException {
+		TsContext _localctx = new TsContext(_ctx, getState());
+		enterRule(_localctx, 0, RULE_ts);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(21);
+			_la = _input.LA(1);
+			if (_la==NL) {
+				{
+				setState(20);
+				nl();
+				}
+			}
+
+			setState(24);
+			_la = _input.LA(1);
+			if (_la==MODEL) {
+				{
+				setState(23);
+				model();
+				}
+			}
+
+			setState(27);
+			_la = _input.LA(1);
+			if (_la==INPUTS) {
+				{
+				setState(26);
+				inputs();
+				}
+			}
+
+			setState(29);
+			type();
+			setState(30);
+			transitions();
+			setState(31);
+			marking();
+			setState(32);
+			end();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ModelContext extends ParserRuleContext {
+		public TerminalNode MODEL() { return getToken(PetrifyLTSFormatParser.MODEL, 0); }
+		public TerminalNode NAME() { return getToken(PetrifyLTSFormatParser.NAME, 0); }
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public ModelContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_model; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterModel(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitModel(this);
+		}
+	}
+
+	public final ModelContext model() throws RecognitionException {
+		ModelContext _localctx = new ModelContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_model);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(34);
+			match(MODEL);
+			setState(35);
+			match(NAME);
+			setState(36);
+			nl();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class InputsContext extends ParserRuleContext {
+		public TerminalNode INPUTS() { return getToken(PetrifyLTSFormatParser.INPUTS, 0); }
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public List<TerminalNode> ID() { return getTokens(PetrifyLTSFormatParser.ID); }
+		public TerminalNode ID(int i) {
+			return getToken(PetrifyLTSFormatParser.ID, i);
+		}
+		public InputsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_inputs; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterInputs(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitInputs(this);
+		}
+	}
+
+	public final InputsContext inputs() throws RecognitionException {
+		InputsContext _localctx = new InputsContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_inputs);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(38);
+			match(INPUTS);
+			setState(42);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==ID) {
+				{
+				{
+				setState(39);
+				match(ID);
+				}
+				}
+				setState(44);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(45);
+			nl();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TypeContext extends ParserRuleContext {
+		public TerminalNode STATE() { return getToken(PetrifyLTSFormatParser.STATE, 0); }
+		public TerminalNode GRAPH() { return getToken(PetrifyLTSFormatParser.GRAPH, 0); }
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public TypeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_type; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterType(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitType(this);
+		}
+	}
+
+	public final TypeContext type() throws RecognitionException {
+		TypeContext _localctx = new TypeContext(_ctx, getState());
+		enterRule(_localctx, 6, RULE_type);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(47);
+			match(STATE);
+			setState(48);
+			match(GRAPH);
+			setState(49);
+			nl();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TransitionsContext extends ParserRuleContext {
+		public List<TransitionContext> transition() {
+			return getRuleContexts(TransitionContext.class);
+		}
+		public TransitionContext transition(int i) {
+			return getRuleContext(TransitionContext.class,i);
+		}
+		public TransitionsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_transitions; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterTransitions(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitTransitions(this);
+		}
+	}
+
+	public final TransitionsContext transitions() throws RecognitionException {
+		TransitionsContext _localctx = new TransitionsContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_transitions);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(54);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==ID) {
+				{
+				{
+				setState(51);
+				transition();
+				}
+				}
+				setState(56);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TransitionContext extends ParserRuleContext {
+		public Token first;
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public TerminalNode ID() { return getToken(PetrifyLTSFormatParser.ID, 0); }
+		public List<TargetContext> target() {
+			return getRuleContexts(TargetContext.class);
+		}
+		public TargetContext target(int i) {
+			return getRuleContext(TargetContext.class,i);
+		}
+		public TransitionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_transition; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterTransition(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitTransition(this);
+		}
+	}
+
+	public final TransitionContext transition() throws RecognitionException {
+		TransitionContext _localctx = new TransitionContext(_ctx, getState());
+		enterRule(_localctx, 10, RULE_transition);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(57);
+			((TransitionContext)_localctx).first = match(ID);
+			setState(61);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==ID) {
+				{
+				{
+				setState(58);
+				target();
+				}
+				}
+				setState(63);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(64);
+			nl();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class TargetContext extends ParserRuleContext {
+		public Token event;
+		public Token next;
+		public List<TerminalNode> ID() { return getTokens(PetrifyLTSFormatParser.ID); }
+		public TerminalNode ID(int i) {
+			return getToken(PetrifyLTSFormatParser.ID, i);
+		}
+		public TargetContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_target; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterTarget(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitTarget(this);
+		}
+	}
+
+	public final TargetContext target() throws RecognitionException {
+		TargetContext _localctx = new TargetContext(_ctx, getState());
+		enterRule(_localctx, 12, RULE_target);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(66);
+			((TargetContext)_localctx).event = match(ID);
+			setState(67);
+			((TargetContext)_localctx).next = match(ID);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class MarkingContext extends ParserRuleContext {
+		public TerminalNode MARKING() { return getToken(PetrifyLTSFormatParser.MARKING, 0); }
+		public TerminalNode CURLY_OPEN() { return getToken(PetrifyLTSFormatParser.CURLY_OPEN, 0); }
+		public TerminalNode ID() { return getToken(PetrifyLTSFormatParser.ID, 0); }
+		public TerminalNode CURLY_CLOSE() { return getToken(PetrifyLTSFormatParser.CURLY_CLOSE, 0); }
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public MarkingContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_marking; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterMarking(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitMarking(this);
+		}
+	}
+
+	public final MarkingContext marking() throws RecognitionException {
+		MarkingContext _localctx = new MarkingContext(_ctx, getState());
+		enterRule(_localctx, 14, RULE_marking);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(69);
+			match(MARKING);
+			setState(70);
+			match(CURLY_OPEN);
+			setState(71);
+			match(ID);
+			setState(72);
+			match(CURLY_CLOSE);
+			setState(73);
+			nl();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class EndContext extends ParserRuleContext {
+		public TerminalNode END() { return getToken(PetrifyLTSFormatParser.END, 0); }
+		public NlContext nl() {
+			return getRuleContext(NlContext.class,0);
+		}
+		public EndContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_end; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterEnd(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitEnd(this);
+		}
+	}
+
+	public final EndContext end() throws RecognitionException {
+		EndContext _localctx = new EndContext(_ctx, getState());
+		enterRule(_localctx, 16, RULE_end);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(75);
+			match(END);
+			setState(76);
+			nl();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class NlContext extends ParserRuleContext {
+		public List<TerminalNode> NL() { return getTokens(PetrifyLTSFormatParser.NL); }
+		public TerminalNode NL(int i) {
+			return getToken(PetrifyLTSFormatParser.NL, i);
+		}
+		public NlContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_nl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).enterNl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof PetrifyLTSFormatParserListener ) ((PetrifyLTSFormatParserListener)listener).exitNl(this);
+		}
+	}
+
+	public final NlContext nl() throws RecognitionException {
+		NlContext _localctx = new NlContext(_ctx, getState());
+		enterRule(_localctx, 18, RULE_nl);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(79); 
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			do {
+				{
+				{
+				setState(78);
+				match(NL);
+				}
+				}
+				setState(81); 
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			} while ( _la==NL );
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3\17V\4\2\t\2\4\3\t"+
+		"\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t\13\3"+
+		"\2\5\2\30\n\2\3\2\5\2\33\n\2\3\2\5\2\36\n\2\3\2\3\2\3\2\3\2\3\2\3\3\3"+
+		"\3\3\3\3\3\3\4\3\4\7\4+\n\4\f\4\16\4.\13\4\3\4\3\4\3\5\3\5\3\5\3\5\3\6"+
+		"\7\6\67\n\6\f\6\16\6:\13\6\3\7\3\7\7\7>\n\7\f\7\16\7A\13\7\3\7\3\7\3\b"+
+		"\3\b\3\b\3\t\3\t\3\t\3\t\3\t\3\t\3\n\3\n\3\n\3\13\6\13R\n\13\r\13\16\13"+
+		"S\3\13\2\2\f\2\4\6\b\n\f\16\20\22\24\2\2R\2\27\3\2\2\2\4$\3\2\2\2\6(\3"+
+		"\2\2\2\b\61\3\2\2\2\n8\3\2\2\2\f;\3\2\2\2\16D\3\2\2\2\20G\3\2\2\2\22M"+
+		"\3\2\2\2\24Q\3\2\2\2\26\30\5\24\13\2\27\26\3\2\2\2\27\30\3\2\2\2\30\32"+
+		"\3\2\2\2\31\33\5\4\3\2\32\31\3\2\2\2\32\33\3\2\2\2\33\35\3\2\2\2\34\36"+
+		"\5\6\4\2\35\34\3\2\2\2\35\36\3\2\2\2\36\37\3\2\2\2\37 \5\b\5\2 !\5\n\6"+
+		"\2!\"\5\20\t\2\"#\5\22\n\2#\3\3\2\2\2$%\7\3\2\2%&\7\17\2\2&\'\5\24\13"+
+		"\2\'\5\3\2\2\2(,\7\4\2\2)+\7\f\2\2*)\3\2\2\2+.\3\2\2\2,*\3\2\2\2,-\3\2"+
+		"\2\2-/\3\2\2\2.,\3\2\2\2/\60\5\24\13\2\60\7\3\2\2\2\61\62\7\5\2\2\62\63"+
+		"\7\6\2\2\63\64\5\24\13\2\64\t\3\2\2\2\65\67\5\f\7\2\66\65\3\2\2\2\67:"+
+		"\3\2\2\28\66\3\2\2\289\3\2\2\29\13\3\2\2\2:8\3\2\2\2;?\7\f\2\2<>\5\16"+
+		"\b\2=<\3\2\2\2>A\3\2\2\2?=\3\2\2\2?@\3\2\2\2@B\3\2\2\2A?\3\2\2\2BC\5\24"+
+		"\13\2C\r\3\2\2\2DE\7\f\2\2EF\7\f\2\2F\17\3\2\2\2GH\7\7\2\2HI\7\t\2\2I"+
+		"J\7\f\2\2JK\7\n\2\2KL\5\24\13\2L\21\3\2\2\2MN\7\b\2\2NO\5\24\13\2O\23"+
+		"\3\2\2\2PR\7\13\2\2QP\3\2\2\2RS\3\2\2\2SQ\3\2\2\2ST\3\2\2\2T\25\3\2\2"+
+		"\2\t\27\32\35,8?S";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/PetrifyPNFormatLexer.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class PetrifyPNFormatLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		MODEL=1, TRANSITIONS=2, GRAPH=3, MARKING=4, END=5, CAPACITY=6, PAREN_OPEN=7, 
+		PAREN_CLOSE=8, CURLY_OPEN=9, CURLY_CLOSE=10, ANGLE_OPEN=11, ANGLE_CLOSE=12, 
+		COMMA=13, EQUAL=14, NL=15, EVENT=16, ID=17, INT=18, COMMENT=19, WS=20, 
+		NAME=21;
+	public static final int MODEL_MODE = 1;
+	public static String[] modeNames = {
+		"DEFAULT_MODE", "MODEL_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"MODEL", "TRANSITIONS", "GRAPH", "MARKING", "END", "CAPACITY", "PAREN_OPEN", 
+		"PAREN_CLOSE", "CURLY_OPEN", "CURLY_CLOSE", "ANGLE_OPEN", "ANGLE_CLOSE", 
+		"COMMA", "EQUAL", "NL", "EVENT", "ID", "INT", "COMMENT", "WS", "NAME", 
+		"M_NL", "M_COMMENT", "M_WS"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'.model'", null, "'.graph'", "'.marking'", "'.end'", "'.capacity'", 
+		"'('", "')'", "'{'", "'}'", "'<'", "'>'", "','", "'='", "'\n'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, "MODEL", "TRANSITIONS", "GRAPH", "MARKING", "END", "CAPACITY", "PAREN_OPEN", 
+		"PAREN_CLOSE", "CURLY_OPEN", "CURLY_CLOSE", "ANGLE_OPEN", "ANGLE_CLOSE", 
+		"COMMA", "EQUAL", "NL", "EVENT", "ID", "INT", "COMMENT", "WS", "NAME"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+	public PetrifyPNFormatLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "PetrifyPNFormatLexer.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2\27\u00cd\b\1\b\1"+
+		"\4\2\t\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t"+
+		"\n\4\13\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4"+
+		"\22\t\22\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4"+
+		"\31\t\31\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\3\3\3\3\3\3\3\3\3\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\5\3\\\n\3\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\5\3\5"+
+		"\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\6\3\6\3\6\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3"+
+		"\7\3\7\3\7\3\7\3\7\3\b\3\b\3\t\3\t\3\n\3\n\3\13\3\13\3\f\3\f\3\r\3\r\3"+
+		"\16\3\16\3\17\3\17\3\20\3\20\3\21\3\21\7\21\u0091\n\21\f\21\16\21\u0094"+
+		"\13\21\3\21\3\21\6\21\u0098\n\21\r\21\16\21\u0099\3\22\3\22\7\22\u009e"+
+		"\n\22\f\22\16\22\u00a1\13\22\3\23\3\23\7\23\u00a5\n\23\f\23\16\23\u00a8"+
+		"\13\23\3\24\3\24\7\24\u00ac\n\24\f\24\16\24\u00af\13\24\3\24\3\24\3\25"+
+		"\6\25\u00b4\n\25\r\25\16\25\u00b5\3\25\3\25\3\26\6\26\u00bb\n\26\r\26"+
+		"\16\26\u00bc\3\27\3\27\3\27\3\27\3\27\3\30\3\30\3\30\3\30\3\30\3\31\3"+
+		"\31\3\31\3\31\3\31\2\2\32\4\3\6\4\b\5\n\6\f\7\16\b\20\t\22\n\24\13\26"+
+		"\f\30\r\32\16\34\17\36\20 \21\"\22$\23&\24(\25*\26,\27.\2\60\2\62\2\4"+
+		"\2\3\t\5\2C\\aac|\7\2//\62<C\\aac|\3\2\62;\3\2\63;\3\2\f\f\5\2\13\13\17"+
+		"\17\"\"\5\2\f\f\"\"%%\u00d5\2\4\3\2\2\2\2\6\3\2\2\2\2\b\3\2\2\2\2\n\3"+
+		"\2\2\2\2\f\3\2\2\2\2\16\3\2\2\2\2\20\3\2\2\2\2\22\3\2\2\2\2\24\3\2\2\2"+
+		"\2\26\3\2\2\2\2\30\3\2\2\2\2\32\3\2\2\2\2\34\3\2\2\2\2\36\3\2\2\2\2 \3"+
+		"\2\2\2\2\"\3\2\2\2\2$\3\2\2\2\2&\3\2\2\2\2(\3\2\2\2\2*\3\2\2\2\3,\3\2"+
+		"\2\2\3.\3\2\2\2\3\60\3\2\2\2\3\62\3\2\2\2\4\64\3\2\2\2\6[\3\2\2\2\b]\3"+
+		"\2\2\2\nd\3\2\2\2\fm\3\2\2\2\16r\3\2\2\2\20|\3\2\2\2\22~\3\2\2\2\24\u0080"+
+		"\3\2\2\2\26\u0082\3\2\2\2\30\u0084\3\2\2\2\32\u0086\3\2\2\2\34\u0088\3"+
+		"\2\2\2\36\u008a\3\2\2\2 \u008c\3\2\2\2\"\u008e\3\2\2\2$\u009b\3\2\2\2"+
+		"&\u00a2\3\2\2\2(\u00a9\3\2\2\2*\u00b3\3\2\2\2,\u00ba\3\2\2\2.\u00be\3"+
+		"\2\2\2\60\u00c3\3\2\2\2\62\u00c8\3\2\2\2\64\65\7\60\2\2\65\66\7o\2\2\66"+
+		"\67\7q\2\2\678\7f\2\289\7g\2\29:\7n\2\2:;\3\2\2\2;<\b\2\2\2<\5\3\2\2\2"+
+		"=>\7\60\2\2>?\7k\2\2?@\7p\2\2@A\7r\2\2AB\7w\2\2BC\7v\2\2C\\\7u\2\2DE\7"+
+		"\60\2\2EF\7q\2\2FG\7w\2\2GH\7v\2\2HI\7r\2\2IJ\7w\2\2JK\7v\2\2K\\\7u\2"+
+		"\2LM\7\60\2\2MN\7k\2\2NO\7p\2\2OP\7v\2\2PQ\7g\2\2QR\7t\2\2RS\7p\2\2ST"+
+		"\7c\2\2T\\\7n\2\2UV\7\60\2\2VW\7f\2\2WX\7w\2\2XY\7o\2\2YZ\7o\2\2Z\\\7"+
+		"{\2\2[=\3\2\2\2[D\3\2\2\2[L\3\2\2\2[U\3\2\2\2\\\7\3\2\2\2]^\7\60\2\2^"+
+		"_\7i\2\2_`\7t\2\2`a\7c\2\2ab\7r\2\2bc\7j\2\2c\t\3\2\2\2de\7\60\2\2ef\7"+
+		"o\2\2fg\7c\2\2gh\7t\2\2hi\7m\2\2ij\7k\2\2jk\7p\2\2kl\7i\2\2l\13\3\2\2"+
+		"\2mn\7\60\2\2no\7g\2\2op\7p\2\2pq\7f\2\2q\r\3\2\2\2rs\7\60\2\2st\7e\2"+
+		"\2tu\7c\2\2uv\7r\2\2vw\7c\2\2wx\7e\2\2xy\7k\2\2yz\7v\2\2z{\7{\2\2{\17"+
+		"\3\2\2\2|}\7*\2\2}\21\3\2\2\2~\177\7+\2\2\177\23\3\2\2\2\u0080\u0081\7"+
+		"}\2\2\u0081\25\3\2\2\2\u0082\u0083\7\177\2\2\u0083\27\3\2\2\2\u0084\u0085"+
+		"\7>\2\2\u0085\31\3\2\2\2\u0086\u0087\7@\2\2\u0087\33\3\2\2\2\u0088\u0089"+
+		"\7.\2\2\u0089\35\3\2\2\2\u008a\u008b\7?\2\2\u008b\37\3\2\2\2\u008c\u008d"+
+		"\7\f\2\2\u008d!\3\2\2\2\u008e\u0092\t\2\2\2\u008f\u0091\t\3\2\2\u0090"+
+		"\u008f\3\2\2\2\u0091\u0094\3\2\2\2\u0092\u0090\3\2\2\2\u0092\u0093\3\2"+
+		"\2\2\u0093\u0095\3\2\2\2\u0094\u0092\3\2\2\2\u0095\u0097\7\61\2\2\u0096"+
+		"\u0098\t\4\2\2\u0097\u0096\3\2\2\2\u0098\u0099\3\2\2\2\u0099\u0097\3\2"+
+		"\2\2\u0099\u009a\3\2\2\2\u009a#\3\2\2\2\u009b\u009f\t\2\2\2\u009c\u009e"+
+		"\t\3\2\2\u009d\u009c\3\2\2\2\u009e\u00a1\3\2\2\2\u009f\u009d\3\2\2\2\u009f"+
+		"\u00a0\3\2\2\2\u00a0%\3\2\2\2\u00a1\u009f\3\2\2\2\u00a2\u00a6\t\5\2\2"+
+		"\u00a3\u00a5\t\4\2\2\u00a4\u00a3\3\2\2\2\u00a5\u00a8\3\2\2\2\u00a6\u00a4"+
+		"\3\2\2\2\u00a6\u00a7\3\2\2\2\u00a7\'\3\2\2\2\u00a8\u00a6\3\2\2\2\u00a9"+
+		"\u00ad\7%\2\2\u00aa\u00ac\n\6\2\2\u00ab\u00aa\3\2\2\2\u00ac\u00af\3\2"+
+		"\2\2\u00ad\u00ab\3\2\2\2\u00ad\u00ae\3\2\2\2\u00ae\u00b0\3\2\2\2\u00af"+
+		"\u00ad\3\2\2\2\u00b0\u00b1\b\24\3\2\u00b1)\3\2\2\2\u00b2\u00b4\t\7\2\2"+
+		"\u00b3\u00b2\3\2\2\2\u00b4\u00b5\3\2\2\2\u00b5\u00b3\3\2\2\2\u00b5\u00b6"+
+		"\3\2\2\2\u00b6\u00b7\3\2\2\2\u00b7\u00b8\b\25\3\2\u00b8+\3\2\2\2\u00b9"+
+		"\u00bb\n\b\2\2\u00ba\u00b9\3\2\2\2\u00bb\u00bc\3\2\2\2\u00bc\u00ba\3\2"+
+		"\2\2\u00bc\u00bd\3\2\2\2\u00bd-\3\2\2\2\u00be\u00bf\5 \20\2\u00bf\u00c0"+
+		"\3\2\2\2\u00c0\u00c1\b\27\4\2\u00c1\u00c2\b\27\5\2\u00c2/\3\2\2\2\u00c3"+
+		"\u00c4\5(\24\2\u00c4\u00c5\3\2\2\2\u00c5\u00c6\b\30\6\2\u00c6\u00c7\b"+
+		"\30\3\2\u00c7\61\3\2\2\2\u00c8\u00c9\5*\25\2\u00c9\u00ca\3\2\2\2\u00ca"+
+		"\u00cb\b\31\7\2\u00cb\u00cc\b\31\3\2\u00cc\63\3\2\2\2\f\2\3[\u0092\u0099"+
+		"\u009f\u00a6\u00ad\u00b5\u00bc\b\4\3\2\b\2\2\t\21\2\4\2\2\t\25\2\t\26"+
+		"\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
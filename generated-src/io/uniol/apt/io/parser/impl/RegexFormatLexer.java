@@ -0,0 +1,142 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/RegexFormatLexer.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class RegexFormatLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		OR=1, AND=2, STAR=3, OPT=4, NEGATE=5, PREFIX=6, PLUS=7, EPSILON=8, EMPTY=9, 
+		REPEATOPEN=10, PAROPEN=11, PARCLOSE=12, ATOM=13, ID=14, COMMENT=15, WS=16, 
+		REPEATCLOSE=17, INT=18, COMMA=19;
+	public static final int REPEAT_MODE = 1;
+	public static String[] modeNames = {
+		"DEFAULT_MODE", "REPEAT_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"OR", "AND", "STAR", "OPT", "NEGATE", "PREFIX", "PLUS", "EPSILON", "EMPTY", 
+		"REPEATOPEN", "PAROPEN", "PARCLOSE", "ATOM", "ID", "COMMENT", "WS", "REPEATCLOSE", 
+		"INT", "COMMA", "SYMBOL", "DIGIT", "LETTER"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'|'", "'&'", "'*'", "'?'", "'!'", "'@'", "'+'", "'$'", "'~'", "'{'", 
+		"'('", "')'", null, null, null, null, "'}'", null, "','"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, "OR", "AND", "STAR", "OPT", "NEGATE", "PREFIX", "PLUS", "EPSILON", 
+		"EMPTY", "REPEATOPEN", "PAROPEN", "PARCLOSE", "ATOM", "ID", "COMMENT", 
+		"WS", "REPEATCLOSE", "INT", "COMMA"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+	public RegexFormatLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "RegexFormatLexer.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2\25\u0087\b\1\b\1"+
+		"\4\2\t\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t"+
+		"\n\4\13\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4"+
+		"\22\t\22\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\3\2\3\2\3\3"+
+		"\3\3\3\4\3\4\3\5\3\5\3\6\3\6\3\7\3\7\3\b\3\b\3\t\3\t\3\n\3\n\3\13\3\13"+
+		"\3\13\3\13\3\f\3\f\3\r\3\r\3\16\3\16\3\17\3\17\6\17O\n\17\r\17\16\17P"+
+		"\3\17\3\17\3\20\3\20\3\20\3\20\7\20Y\n\20\f\20\16\20\\\13\20\3\20\3\20"+
+		"\3\20\3\20\7\20b\n\20\f\20\16\20e\13\20\3\20\3\20\5\20i\n\20\3\20\3\20"+
+		"\3\21\6\21n\n\21\r\21\16\21o\3\21\3\21\3\22\3\22\3\22\3\22\3\23\6\23y"+
+		"\n\23\r\23\16\23z\3\24\3\24\3\25\3\25\3\25\5\25\u0082\n\25\3\26\3\26\3"+
+		"\27\3\27\3c\2\30\4\3\6\4\b\5\n\6\f\7\16\b\20\t\22\n\24\13\26\f\30\r\32"+
+		"\16\34\17\36\20 \21\"\22$\23&\24(\25*\2,\2.\2\4\2\3\5\4\2\f\f\17\17\5"+
+		"\2\13\f\17\17\"\"\4\2C\\c|\u008a\2\4\3\2\2\2\2\6\3\2\2\2\2\b\3\2\2\2\2"+
+		"\n\3\2\2\2\2\f\3\2\2\2\2\16\3\2\2\2\2\20\3\2\2\2\2\22\3\2\2\2\2\24\3\2"+
+		"\2\2\2\26\3\2\2\2\2\30\3\2\2\2\2\32\3\2\2\2\2\34\3\2\2\2\2\36\3\2\2\2"+
+		"\2 \3\2\2\2\2\"\3\2\2\2\3$\3\2\2\2\3&\3\2\2\2\3(\3\2\2\2\4\60\3\2\2\2"+
+		"\6\62\3\2\2\2\b\64\3\2\2\2\n\66\3\2\2\2\f8\3\2\2\2\16:\3\2\2\2\20<\3\2"+
+		"\2\2\22>\3\2\2\2\24@\3\2\2\2\26B\3\2\2\2\30F\3\2\2\2\32H\3\2\2\2\34J\3"+
+		"\2\2\2\36L\3\2\2\2 h\3\2\2\2\"m\3\2\2\2$s\3\2\2\2&x\3\2\2\2(|\3\2\2\2"+
+		"*\u0081\3\2\2\2,\u0083\3\2\2\2.\u0085\3\2\2\2\60\61\7~\2\2\61\5\3\2\2"+
+		"\2\62\63\7(\2\2\63\7\3\2\2\2\64\65\7,\2\2\65\t\3\2\2\2\66\67\7A\2\2\67"+
+		"\13\3\2\2\289\7#\2\29\r\3\2\2\2:;\7B\2\2;\17\3\2\2\2<=\7-\2\2=\21\3\2"+
+		"\2\2>?\7&\2\2?\23\3\2\2\2@A\7\u0080\2\2A\25\3\2\2\2BC\7}\2\2CD\3\2\2\2"+
+		"DE\b\13\2\2E\27\3\2\2\2FG\7*\2\2G\31\3\2\2\2HI\7+\2\2I\33\3\2\2\2JK\5"+
+		"*\25\2K\35\3\2\2\2LN\7>\2\2MO\5*\25\2NM\3\2\2\2OP\3\2\2\2PN\3\2\2\2PQ"+
+		"\3\2\2\2QR\3\2\2\2RS\7@\2\2S\37\3\2\2\2TU\7\61\2\2UV\7\61\2\2VZ\3\2\2"+
+		"\2WY\n\2\2\2XW\3\2\2\2Y\\\3\2\2\2ZX\3\2\2\2Z[\3\2\2\2[i\3\2\2\2\\Z\3\2"+
+		"\2\2]^\7\61\2\2^_\7,\2\2_c\3\2\2\2`b\13\2\2\2a`\3\2\2\2be\3\2\2\2cd\3"+
+		"\2\2\2ca\3\2\2\2df\3\2\2\2ec\3\2\2\2fg\7,\2\2gi\7\61\2\2hT\3\2\2\2h]\3"+
+		"\2\2\2ij\3\2\2\2jk\b\20\3\2k!\3\2\2\2ln\t\3\2\2ml\3\2\2\2no\3\2\2\2om"+
+		"\3\2\2\2op\3\2\2\2pq\3\2\2\2qr\b\21\3\2r#\3\2\2\2st\7\177\2\2tu\3\2\2"+
+		"\2uv\b\22\4\2v%\3\2\2\2wy\5,\26\2xw\3\2\2\2yz\3\2\2\2zx\3\2\2\2z{\3\2"+
+		"\2\2{\'\3\2\2\2|}\7.\2\2})\3\2\2\2~\u0082\5,\26\2\177\u0082\5.\27\2\u0080"+
+		"\u0082\7a\2\2\u0081~\3\2\2\2\u0081\177\3\2\2\2\u0081\u0080\3\2\2\2\u0082"+
+		"+\3\2\2\2\u0083\u0084\4\62;\2\u0084-\3\2\2\2\u0085\u0086\t\4\2\2\u0086"+
+		"/\3\2\2\2\13\2\3PZchoz\u0081\5\4\3\2\b\2\2\4\2\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
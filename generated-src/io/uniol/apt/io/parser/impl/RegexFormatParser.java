@@ -0,0 +1,855 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/RegexFormatParser.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
+import org.antlr.v4.runtime.tree.*;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class RegexFormatParser extends Parser {
+	static { RuntimeMetaData.checkVersion("4.5.1", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		OR=1, AND=2, STAR=3, OPT=4, NEGATE=5, PREFIX=6, PLUS=7, EPSILON=8, EMPTY=9, 
+		REPEATOPEN=10, PAROPEN=11, PARCLOSE=12, ATOM=13, ID=14, COMMENT=15, WS=16, 
+		REPEATCLOSE=17, INT=18, COMMA=19;
+	public static final int
+		RULE_start = 0, RULE_expr = 1, RULE_exprOr = 2, RULE_exprAnd = 3, RULE_exprConcat = 4, 
+		RULE_exprRepeat = 5, RULE_exprNegatePrefix = 6, RULE_exprId = 7;
+	public static final String[] ruleNames = {
+		"start", "expr", "exprOr", "exprAnd", "exprConcat", "exprRepeat", "exprNegatePrefix", 
+		"exprId"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'|'", "'&'", "'*'", "'?'", "'!'", "'@'", "'+'", "'$'", "'~'", "'{'", 
+		"'('", "')'", null, null, null, null, "'}'", null, "','"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, "OR", "AND", "STAR", "OPT", "NEGATE", "PREFIX", "PLUS", "EPSILON", 
+		"EMPTY", "REPEATOPEN", "PAROPEN", "PARCLOSE", "ATOM", "ID", "COMMENT", 
+		"WS", "REPEATCLOSE", "INT", "COMMA"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+	@Override
+	public String getGrammarFileName() { return "RegexFormatParser.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public RegexFormatParser(TokenStream input) {
+		super(input);
+		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+	public static class StartContext extends ParserRuleContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public TerminalNode EOF() { return getToken(RegexFormatParser.EOF, 0); }
+		public StartContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_start; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterStart(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitStart(this);
+		}
+	}
+
+	public final StartContext start() throws RecognitionException {
+		StartContext _localctx = new StartContext(_ctx, getState());
+		enterRule(_localctx, 0, RULE_start);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(16);
+			expr();
+			setState(17);
+			match(EOF);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprContext extends ParserRuleContext {
+		public ExprOrContext exprOr() {
+			return getRuleContext(ExprOrContext.class,0);
+		}
+		public ExprContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expr; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExpr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExpr(this);
+		}
+	}
+
+	public final ExprContext expr() throws RecognitionException {
+		ExprContext _localctx = new ExprContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_expr);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(19);
+			exprOr();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprOrContext extends ParserRuleContext {
+		public ExprAndContext ex1;
+		public ExprOrContext ex2;
+		public ExprAndContext exprAnd() {
+			return getRuleContext(ExprAndContext.class,0);
+		}
+		public TerminalNode OR() { return getToken(RegexFormatParser.OR, 0); }
+		public ExprOrContext exprOr() {
+			return getRuleContext(ExprOrContext.class,0);
+		}
+		public ExprOrContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_exprOr; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprOr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprOr(this);
+		}
+	}
+
+	public final ExprOrContext exprOr() throws RecognitionException {
+		ExprOrContext _localctx = new ExprOrContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_exprOr);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(21);
+			((ExprOrContext)_localctx).ex1 = exprAnd();
+			setState(24);
+			_la = _input.LA(1);
+			if (_la==OR) {
+				{
+				setState(22);
+				match(OR);
+				setState(23);
+				((ExprOrContext)_localctx).ex2 = exprOr();
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprAndContext extends ParserRuleContext {
+		public ExprConcatContext ex1;
+		public ExprAndContext ex2;
+		public ExprConcatContext exprConcat() {
+			return getRuleContext(ExprConcatContext.class,0);
+		}
+		public TerminalNode AND() { return getToken(RegexFormatParser.AND, 0); }
+		public ExprAndContext exprAnd() {
+			return getRuleContext(ExprAndContext.class,0);
+		}
+		public ExprAndContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_exprAnd; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprAnd(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprAnd(this);
+		}
+	}
+
+	public final ExprAndContext exprAnd() throws RecognitionException {
+		ExprAndContext _localctx = new ExprAndContext(_ctx, getState());
+		enterRule(_localctx, 6, RULE_exprAnd);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(26);
+			((ExprAndContext)_localctx).ex1 = exprConcat();
+			setState(29);
+			_la = _input.LA(1);
+			if (_la==AND) {
+				{
+				setState(27);
+				match(AND);
+				setState(28);
+				((ExprAndContext)_localctx).ex2 = exprAnd();
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprConcatContext extends ParserRuleContext {
+		public ExprRepeatContext ex1;
+		public ExprConcatContext ex2;
+		public ExprRepeatContext exprRepeat() {
+			return getRuleContext(ExprRepeatContext.class,0);
+		}
+		public ExprConcatContext exprConcat() {
+			return getRuleContext(ExprConcatContext.class,0);
+		}
+		public ExprConcatContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_exprConcat; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprConcat(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprConcat(this);
+		}
+	}
+
+	public final ExprConcatContext exprConcat() throws RecognitionException {
+		ExprConcatContext _localctx = new ExprConcatContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_exprConcat);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(31);
+			((ExprConcatContext)_localctx).ex1 = exprRepeat();
+			setState(33);
+			_la = _input.LA(1);
+			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << NEGATE) | (1L << PREFIX) | (1L << EPSILON) | (1L << EMPTY) | (1L << PAROPEN) | (1L << ATOM) | (1L << ID))) != 0)) {
+				{
+				setState(32);
+				((ExprConcatContext)_localctx).ex2 = exprConcat();
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprRepeatContext extends ParserRuleContext {
+		public ExprRepeatContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_exprRepeat; }
+	 
+		public ExprRepeatContext() { }
+		public void copyFrom(ExprRepeatContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	public static class ExprRepeatPlusContext extends ExprRepeatContext {
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public TerminalNode PLUS() { return getToken(RegexFormatParser.PLUS, 0); }
+		public ExprRepeatPlusContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatPlus(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatPlus(this);
+		}
+	}
+	public static class ExprRepeatExactContext extends ExprRepeatContext {
+		public Token x;
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public TerminalNode REPEATOPEN() { return getToken(RegexFormatParser.REPEATOPEN, 0); }
+		public TerminalNode REPEATCLOSE() { return getToken(RegexFormatParser.REPEATCLOSE, 0); }
+		public TerminalNode INT() { return getToken(RegexFormatParser.INT, 0); }
+		public ExprRepeatExactContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatExact(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatExact(this);
+		}
+	}
+	public static class ExprRepeatStarContext extends ExprRepeatContext {
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public TerminalNode STAR() { return getToken(RegexFormatParser.STAR, 0); }
+		public ExprRepeatStarContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatStar(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatStar(this);
+		}
+	}
+	public static class ExprRepeatNothingContext extends ExprRepeatContext {
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public ExprRepeatNothingContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatNothing(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatNothing(this);
+		}
+	}
+	public static class ExprRepeatLeastContext extends ExprRepeatContext {
+		public Token x;
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public TerminalNode REPEATOPEN() { return getToken(RegexFormatParser.REPEATOPEN, 0); }
+		public TerminalNode COMMA() { return getToken(RegexFormatParser.COMMA, 0); }
+		public TerminalNode REPEATCLOSE() { return getToken(RegexFormatParser.REPEATCLOSE, 0); }
+		public TerminalNode INT() { return getToken(RegexFormatParser.INT, 0); }
+		public ExprRepeatLeastContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatLeast(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatLeast(this);
+		}
+	}
+	public static class ExprRepeatMinmaxContext extends ExprRepeatContext {
+		public Token x;
+		public Token y;
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public TerminalNode REPEATOPEN() { return getToken(RegexFormatParser.REPEATOPEN, 0); }
+		public TerminalNode COMMA() { return getToken(RegexFormatParser.COMMA, 0); }
+		public TerminalNode REPEATCLOSE() { return getToken(RegexFormatParser.REPEATCLOSE, 0); }
+		public List<TerminalNode> INT() { return getTokens(RegexFormatParser.INT); }
+		public TerminalNode INT(int i) {
+			return getToken(RegexFormatParser.INT, i);
+		}
+		public ExprRepeatMinmaxContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatMinmax(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatMinmax(this);
+		}
+	}
+	public static class ExprRepeatOptContext extends ExprRepeatContext {
+		public ExprNegatePrefixContext exprNegatePrefix() {
+			return getRuleContext(ExprNegatePrefixContext.class,0);
+		}
+		public TerminalNode OPT() { return getToken(RegexFormatParser.OPT, 0); }
+		public ExprRepeatOptContext(ExprRepeatContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprRepeatOpt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprRepeatOpt(this);
+		}
+	}
+
+	public final ExprRepeatContext exprRepeat() throws RecognitionException {
+		ExprRepeatContext _localctx = new ExprRepeatContext(_ctx, getState());
+		enterRule(_localctx, 10, RULE_exprRepeat);
+		try {
+			setState(63);
+			switch ( getInterpreter().adaptivePredict(_input,3,_ctx) ) {
+			case 1:
+				_localctx = new ExprRepeatStarContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(35);
+				exprNegatePrefix();
+				setState(36);
+				match(STAR);
+				}
+				break;
+			case 2:
+				_localctx = new ExprRepeatOptContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(38);
+				exprNegatePrefix();
+				setState(39);
+				match(OPT);
+				}
+				break;
+			case 3:
+				_localctx = new ExprRepeatPlusContext(_localctx);
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(41);
+				exprNegatePrefix();
+				setState(42);
+				match(PLUS);
+				}
+				break;
+			case 4:
+				_localctx = new ExprRepeatExactContext(_localctx);
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(44);
+				exprNegatePrefix();
+				setState(45);
+				match(REPEATOPEN);
+				setState(46);
+				((ExprRepeatExactContext)_localctx).x = match(INT);
+				setState(47);
+				match(REPEATCLOSE);
+				}
+				break;
+			case 5:
+				_localctx = new ExprRepeatLeastContext(_localctx);
+				enterOuterAlt(_localctx, 5);
+				{
+				setState(49);
+				exprNegatePrefix();
+				setState(50);
+				match(REPEATOPEN);
+				setState(51);
+				((ExprRepeatLeastContext)_localctx).x = match(INT);
+				setState(52);
+				match(COMMA);
+				setState(53);
+				match(REPEATCLOSE);
+				}
+				break;
+			case 6:
+				_localctx = new ExprRepeatMinmaxContext(_localctx);
+				enterOuterAlt(_localctx, 6);
+				{
+				setState(55);
+				exprNegatePrefix();
+				setState(56);
+				match(REPEATOPEN);
+				setState(57);
+				((ExprRepeatMinmaxContext)_localctx).x = match(INT);
+				setState(58);
+				match(COMMA);
+				setState(59);
+				((ExprRepeatMinmaxContext)_localctx).y = match(INT);
+				setState(60);
+				match(REPEATCLOSE);
+				}
+				break;
+			case 7:
+				_localctx = new ExprRepeatNothingContext(_localctx);
+				enterOuterAlt(_localctx, 7);
+				{
+				setState(62);
+				exprNegatePrefix();
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprNegatePrefixContext extends ParserRuleContext {
+		public ExprNegatePrefixContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_exprNegatePrefix; }
+	 
+		public ExprNegatePrefixContext() { }
+		public void copyFrom(ExprNegatePrefixContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	public static class ExprNPNegateContext extends ExprNegatePrefixContext {
+		public TerminalNode NEGATE() { return getToken(RegexFormatParser.NEGATE, 0); }
+		public ExprIdContext exprId() {
+			return getRuleContext(ExprIdContext.class,0);
+		}
+		public ExprNPNegateContext(ExprNegatePrefixContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprNPNegate(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprNPNegate(this);
+		}
+	}
+	public static class ExprNPPrefixContext extends ExprNegatePrefixContext {
+		public TerminalNode PREFIX() { return getToken(RegexFormatParser.PREFIX, 0); }
+		public ExprIdContext exprId() {
+			return getRuleContext(ExprIdContext.class,0);
+		}
+		public ExprNPPrefixContext(ExprNegatePrefixContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprNPPrefix(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprNPPrefix(this);
+		}
+	}
+	public static class ExprNPDirectContext extends ExprNegatePrefixContext {
+		public ExprIdContext exprId() {
+			return getRuleContext(ExprIdContext.class,0);
+		}
+		public ExprNPDirectContext(ExprNegatePrefixContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprNPDirect(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprNPDirect(this);
+		}
+	}
+
+	public final ExprNegatePrefixContext exprNegatePrefix() throws RecognitionException {
+		ExprNegatePrefixContext _localctx = new ExprNegatePrefixContext(_ctx, getState());
+		enterRule(_localctx, 12, RULE_exprNegatePrefix);
+		try {
+			setState(70);
+			switch (_input.LA(1)) {
+			case EPSILON:
+			case EMPTY:
+			case PAROPEN:
+			case ATOM:
+			case ID:
+				_localctx = new ExprNPDirectContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(65);
+				exprId();
+				}
+				break;
+			case NEGATE:
+				_localctx = new ExprNPNegateContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(66);
+				match(NEGATE);
+				setState(67);
+				exprId();
+				}
+				break;
+			case PREFIX:
+				_localctx = new ExprNPPrefixContext(_localctx);
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(68);
+				match(PREFIX);
+				setState(69);
+				exprId();
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprIdContext extends ParserRuleContext {
+		public ExprIdContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_exprId; }
+	 
+		public ExprIdContext() { }
+		public void copyFrom(ExprIdContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	public static class ExprIdIdContext extends ExprIdContext {
+		public TerminalNode ID() { return getToken(RegexFormatParser.ID, 0); }
+		public ExprIdIdContext(ExprIdContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprIdId(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprIdId(this);
+		}
+	}
+	public static class ExprIdEmptyContext extends ExprIdContext {
+		public TerminalNode EMPTY() { return getToken(RegexFormatParser.EMPTY, 0); }
+		public ExprIdEmptyContext(ExprIdContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprIdEmpty(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprIdEmpty(this);
+		}
+	}
+	public static class ExprIdParenthesesContext extends ExprIdContext {
+		public TerminalNode PAROPEN() { return getToken(RegexFormatParser.PAROPEN, 0); }
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public TerminalNode PARCLOSE() { return getToken(RegexFormatParser.PARCLOSE, 0); }
+		public ExprIdParenthesesContext(ExprIdContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprIdParentheses(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprIdParentheses(this);
+		}
+	}
+	public static class ExprIdAtomContext extends ExprIdContext {
+		public TerminalNode ATOM() { return getToken(RegexFormatParser.ATOM, 0); }
+		public ExprIdAtomContext(ExprIdContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprIdAtom(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprIdAtom(this);
+		}
+	}
+	public static class ExprIdEpsilonContext extends ExprIdContext {
+		public TerminalNode EPSILON() { return getToken(RegexFormatParser.EPSILON, 0); }
+		public ExprIdEpsilonContext(ExprIdContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).enterExprIdEpsilon(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof RegexFormatParserListener ) ((RegexFormatParserListener)listener).exitExprIdEpsilon(this);
+		}
+	}
+
+	public final ExprIdContext exprId() throws RecognitionException {
+		ExprIdContext _localctx = new ExprIdContext(_ctx, getState());
+		enterRule(_localctx, 14, RULE_exprId);
+		try {
+			setState(80);
+			switch (_input.LA(1)) {
+			case PAROPEN:
+				_localctx = new ExprIdParenthesesContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(72);
+				match(PAROPEN);
+				setState(73);
+				expr();
+				setState(74);
+				match(PARCLOSE);
+				}
+				break;
+			case ATOM:
+				_localctx = new ExprIdAtomContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(76);
+				match(ATOM);
+				}
+				break;
+			case ID:
+				_localctx = new ExprIdIdContext(_localctx);
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(77);
+				match(ID);
+				}
+				break;
+			case EMPTY:
+				_localctx = new ExprIdEmptyContext(_localctx);
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(78);
+				match(EMPTY);
+				}
+				break;
+			case EPSILON:
+				_localctx = new ExprIdEpsilonContext(_localctx);
+				enterOuterAlt(_localctx, 5);
+				{
+				setState(79);
+				match(EPSILON);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3\25U\4\2\t\2\4\3\t"+
+		"\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\3\2\3\2\3\2\3\3\3\3"+
+		"\3\4\3\4\3\4\5\4\33\n\4\3\5\3\5\3\5\5\5 \n\5\3\6\3\6\5\6$\n\6\3\7\3\7"+
+		"\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3"+
+		"\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\5\7B\n\7\3\b\3\b\3\b\3\b\3\b\5\bI\n"+
+		"\b\3\t\3\t\3\t\3\t\3\t\3\t\3\t\3\t\5\tS\n\t\3\t\2\2\n\2\4\6\b\n\f\16\20"+
+		"\2\2[\2\22\3\2\2\2\4\25\3\2\2\2\6\27\3\2\2\2\b\34\3\2\2\2\n!\3\2\2\2\f"+
+		"A\3\2\2\2\16H\3\2\2\2\20R\3\2\2\2\22\23\5\4\3\2\23\24\7\2\2\3\24\3\3\2"+
+		"\2\2\25\26\5\6\4\2\26\5\3\2\2\2\27\32\5\b\5\2\30\31\7\3\2\2\31\33\5\6"+
+		"\4\2\32\30\3\2\2\2\32\33\3\2\2\2\33\7\3\2\2\2\34\37\5\n\6\2\35\36\7\4"+
+		"\2\2\36 \5\b\5\2\37\35\3\2\2\2\37 \3\2\2\2 \t\3\2\2\2!#\5\f\7\2\"$\5\n"+
+		"\6\2#\"\3\2\2\2#$\3\2\2\2$\13\3\2\2\2%&\5\16\b\2&\'\7\5\2\2\'B\3\2\2\2"+
+		"()\5\16\b\2)*\7\6\2\2*B\3\2\2\2+,\5\16\b\2,-\7\t\2\2-B\3\2\2\2./\5\16"+
+		"\b\2/\60\7\f\2\2\60\61\7\24\2\2\61\62\7\23\2\2\62B\3\2\2\2\63\64\5\16"+
+		"\b\2\64\65\7\f\2\2\65\66\7\24\2\2\66\67\7\25\2\2\678\7\23\2\28B\3\2\2"+
+		"\29:\5\16\b\2:;\7\f\2\2;<\7\24\2\2<=\7\25\2\2=>\7\24\2\2>?\7\23\2\2?B"+
+		"\3\2\2\2@B\5\16\b\2A%\3\2\2\2A(\3\2\2\2A+\3\2\2\2A.\3\2\2\2A\63\3\2\2"+
+		"\2A9\3\2\2\2A@\3\2\2\2B\r\3\2\2\2CI\5\20\t\2DE\7\7\2\2EI\5\20\t\2FG\7"+
+		"\b\2\2GI\5\20\t\2HC\3\2\2\2HD\3\2\2\2HF\3\2\2\2I\17\3\2\2\2JK\7\r\2\2"+
+		"KL\5\4\3\2LM\7\16\2\2MS\3\2\2\2NS\7\17\2\2OS\7\20\2\2PS\7\13\2\2QS\7\n"+
+		"\2\2RJ\3\2\2\2RN\3\2\2\2RO\3\2\2\2RP\3\2\2\2RQ\3\2\2\2S\21\3\2\2\2\b\32"+
+		"\37#AHR";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,240 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/RegexFormatParser.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+
+/**
+ * This interface defines a complete listener for a parse tree produced by
+ * {@link RegexFormatParser}.
+ */
+public interface RegexFormatParserListener extends ParseTreeListener {
+	/**
+	 * Enter a parse tree produced by {@link RegexFormatParser#start}.
+	 * @param ctx the parse tree
+	 */
+	void enterStart(RegexFormatParser.StartContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link RegexFormatParser#start}.
+	 * @param ctx the parse tree
+	 */
+	void exitStart(RegexFormatParser.StartContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link RegexFormatParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void enterExpr(RegexFormatParser.ExprContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link RegexFormatParser#expr}.
+	 * @param ctx the parse tree
+	 */
+	void exitExpr(RegexFormatParser.ExprContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link RegexFormatParser#exprOr}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprOr(RegexFormatParser.ExprOrContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link RegexFormatParser#exprOr}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprOr(RegexFormatParser.ExprOrContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link RegexFormatParser#exprAnd}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprAnd(RegexFormatParser.ExprAndContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link RegexFormatParser#exprAnd}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprAnd(RegexFormatParser.ExprAndContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link RegexFormatParser#exprConcat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprConcat(RegexFormatParser.ExprConcatContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link RegexFormatParser#exprConcat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprConcat(RegexFormatParser.ExprConcatContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatStar}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatStar(RegexFormatParser.ExprRepeatStarContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatStar}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatStar(RegexFormatParser.ExprRepeatStarContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatOpt}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatOpt(RegexFormatParser.ExprRepeatOptContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatOpt}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatOpt(RegexFormatParser.ExprRepeatOptContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatPlus}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatPlus(RegexFormatParser.ExprRepeatPlusContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatPlus}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatPlus(RegexFormatParser.ExprRepeatPlusContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatExact}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatExact(RegexFormatParser.ExprRepeatExactContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatExact}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatExact(RegexFormatParser.ExprRepeatExactContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatLeast}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatLeast(RegexFormatParser.ExprRepeatLeastContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatLeast}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatLeast(RegexFormatParser.ExprRepeatLeastContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatMinmax}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatMinmax(RegexFormatParser.ExprRepeatMinmaxContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatMinmax}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatMinmax(RegexFormatParser.ExprRepeatMinmaxContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprRepeatNothing}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprRepeatNothing(RegexFormatParser.ExprRepeatNothingContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprRepeatNothing}
+	 * labeled alternative in {@link RegexFormatParser#exprRepeat}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprRepeatNothing(RegexFormatParser.ExprRepeatNothingContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprNPDirect}
+	 * labeled alternative in {@link RegexFormatParser#exprNegatePrefix}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprNPDirect(RegexFormatParser.ExprNPDirectContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprNPDirect}
+	 * labeled alternative in {@link RegexFormatParser#exprNegatePrefix}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprNPDirect(RegexFormatParser.ExprNPDirectContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprNPNegate}
+	 * labeled alternative in {@link RegexFormatParser#exprNegatePrefix}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprNPNegate(RegexFormatParser.ExprNPNegateContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprNPNegate}
+	 * labeled alternative in {@link RegexFormatParser#exprNegatePrefix}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprNPNegate(RegexFormatParser.ExprNPNegateContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprNPPrefix}
+	 * labeled alternative in {@link RegexFormatParser#exprNegatePrefix}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprNPPrefix(RegexFormatParser.ExprNPPrefixContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprNPPrefix}
+	 * labeled alternative in {@link RegexFormatParser#exprNegatePrefix}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprNPPrefix(RegexFormatParser.ExprNPPrefixContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprIdParentheses}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprIdParentheses(RegexFormatParser.ExprIdParenthesesContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprIdParentheses}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprIdParentheses(RegexFormatParser.ExprIdParenthesesContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprIdAtom}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprIdAtom(RegexFormatParser.ExprIdAtomContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprIdAtom}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprIdAtom(RegexFormatParser.ExprIdAtomContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprIdId}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprIdId(RegexFormatParser.ExprIdIdContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprIdId}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprIdId(RegexFormatParser.ExprIdIdContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprIdEmpty}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprIdEmpty(RegexFormatParser.ExprIdEmptyContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprIdEmpty}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprIdEmpty(RegexFormatParser.ExprIdEmptyContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code exprIdEpsilon}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void enterExprIdEpsilon(RegexFormatParser.ExprIdEpsilonContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code exprIdEpsilon}
+	 * labeled alternative in {@link RegexFormatParser#exprId}.
+	 * @param ctx the parse tree
+	 */
+	void exitExprIdEpsilon(RegexFormatParser.ExprIdEpsilonContext ctx);
+}
\ No newline at end of file
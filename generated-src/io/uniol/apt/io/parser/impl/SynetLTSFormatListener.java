@@ -0,0 +1,40 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/SynetLTSFormat.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+
+/**
+ * This interface defines a complete listener for a parse tree produced by
+ * {@link SynetLTSFormatParser}.
+ */
+public interface SynetLTSFormatListener extends ParseTreeListener {
+	/**
+	 * Enter a parse tree produced by {@link SynetLTSFormatParser#ts}.
+	 * @param ctx the parse tree
+	 */
+	void enterTs(SynetLTSFormatParser.TsContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetLTSFormatParser#ts}.
+	 * @param ctx the parse tree
+	 */
+	void exitTs(SynetLTSFormatParser.TsContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetLTSFormatParser#trans}.
+	 * @param ctx the parse tree
+	 */
+	void enterTrans(SynetLTSFormatParser.TransContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetLTSFormatParser#trans}.
+	 * @param ctx the parse tree
+	 */
+	void exitTrans(SynetLTSFormatParser.TransContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetLTSFormatParser#id}.
+	 * @param ctx the parse tree
+	 */
+	void enterId(SynetLTSFormatParser.IdContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetLTSFormatParser#id}.
+	 * @param ctx the parse tree
+	 */
+	void exitId(SynetLTSFormatParser.IdContext ctx);
+}
\ No newline at end of file
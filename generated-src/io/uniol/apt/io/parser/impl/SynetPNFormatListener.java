@@ -0,0 +1,94 @@
+// Generated from /root/project/src/io/uniol/apt/io/parser/impl/SynetPNFormat.g4 by ANTLR 4.5.1
+package uniol.apt.io.parser.impl;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+
+/**
+ * This interface defines a complete listener for a parse tree produced by
+ * {@link SynetPNFormatParser}.
+ */
+public interface SynetPNFormatListener extends ParseTreeListener {
+	/**
+	 * Enter a parse tree produced by {@link SynetPNFormatParser#pn}.
+	 * @param ctx the parse tree
+	 */
+	void enterPn(SynetPNFormatParser.PnContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetPNFormatParser#pn}.
+	 * @param ctx the parse tree
+	 */
+	void exitPn(SynetPNFormatParser.PnContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetPNFormatParser#statement}.
+	 * @param ctx the parse tree
+	 */
+	void enterStatement(SynetPNFormatParser.StatementContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetPNFormatParser#statement}.
+	 * @param ctx the parse tree
+	 */
+	void exitStatement(SynetPNFormatParser.StatementContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetPNFormatParser#location}.
+	 * @param ctx the parse tree
+	 */
+	void enterLocation(SynetPNFormatParser.LocationContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetPNFormatParser#location}.
+	 * @param ctx the parse tree
+	 */
+	void exitLocation(SynetPNFormatParser.LocationContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetPNFormatParser#transition}.
+	 * @param ctx the parse tree
+	 */
+	void enterTransition(SynetPNFormatParser.TransitionContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetPNFormatParser#transition}.
+	 * @param ctx the parse tree
+	 */
+	void exitTransition(SynetPNFormatParser.TransitionContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetPNFormatParser#place}.
+	 * @param ctx the parse tree
+	 */
+	void enterPlace(SynetPNFormatParser.PlaceContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetPNFormatParser#place}.
+	 * @param ctx the parse tree
+	 */
+	void exitPlace(SynetPNFormatParser.PlaceContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code flowPreset}
+	 * labeled alternative in {@link SynetPNFormatParser#flow}.
+	 * @param ctx the parse tree
+	 */
+	void enterFlowPreset(SynetPNFormatParser.FlowPresetContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code flowPreset}
+	 * labeled alternative in {@link SynetPNFormatParser#flow}.
+	 * @param ctx the parse tree
+	 */
+	void exitFlowPreset(SynetPNFormatParser.FlowPresetContext ctx);
+	/**
+	 * Enter a parse tree produced by the {@code flowPostset}
+	 * labeled alternative in {@link SynetPNFormatParser#flow}.
+	 * @param ctx the parse tree
+	 */
+	void enterFlowPostset(SynetPNFormatParser.FlowPostsetContext ctx);
+	/**
+	 * Exit a parse tree produced by the {@code flowPostset}
+	 * labeled alternative in {@link SynetPNFormatParser#flow}.
+	 * @param ctx the parse tree
+	 */
+	void exitFlowPostset(SynetPNFormatParser.FlowPostsetContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link SynetPNFormatParser#id}.
+	 * @param ctx the parse tree
+	 */
+	void enterId(SynetPNFormatParser.IdContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link SynetPNFormatParser#id}.
+	 * @param ctx the parse tree
+	 */
+	void exitId(SynetPNFormatParser.IdContext ctx);
+}
\ No newline at end of file
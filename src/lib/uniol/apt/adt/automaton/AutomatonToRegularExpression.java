@@ -21,18 +21,22 @@ package uniol.apt.adt.automaton;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 import uniol.apt.util.interrupt.InterrupterRegistry;
-import uniol.apt.util.Pair;
 
 import static uniol.apt.adt.automaton.FiniteAutomatonUtility.minimize;
 import static uniol.apt.adt.automaton.FiniteAutomatonUtility.statesIterable;
@@ -40,14 +44,31 @@ import static uniol.apt.adt.automaton.FiniteAutomatonUtility.statesIterable;
 /**
  * Convert a finite automaton to a language-equivalent regular expression.
  *
- * Define L^k_{i,j} to be all words that go from state i to state j and
- * in-between only visit states whose number is at most k. Then the language of
- * a finite automaton is the union of all L^n_{1,j} where n is the number of
- * states and j is some final state. All of these languages are regular. This
- * code computes this construction.
+ * Small automatons are translated with Kleene's construction: Define
+ * L^k_{i,j} to be all words that go from state i to state j and in-between
+ * only visit states whose number is at most k. Then the language of a finite
+ * automaton is the union of all L^n_{1,j} where n is the number of states and
+ * j is some final state. This produces unions of simple paths, which are easy
+ * to read. Only non-empty languages are stored, so handling state k only
+ * touches the pairs of states that have a path through k.
+ *
+ * Larger automatons use state elimination instead, because Kleene's
+ * construction calculates the languages between all pairs of states: The
+ * states of the minimal automaton are nodes of a graph whose edges are
+ * labelled with regular expressions. An additional start node leads to the
+ * initial state and an additional end node is reached from each final state.
+ * Eliminating a state k replaces each path p -> k -> q with an edge p -> q
+ * labelled R(p,k) R(k,k)* R(k,q). When all states are eliminated, the edge
+ * from the start to the end node describes the language of the automaton.
+ * Only non-empty edges are stored, so eliminating a state only touches its
+ * predecessors and successors. States with few neighbours are eliminated
+ * first.
  * @author Uli Schlachter
  */
 public class AutomatonToRegularExpression {
+	// Automatons with more states are translated with state elimination instead of Kleene's construction
+	private static final int MAX_STATES_FOR_KLEENE = 32;
+
 	private AutomatonToRegularExpression() { /* hide */ }
 
 	/**
@@ -64,10 +85,18 @@ public class AutomatonToRegularExpression {
 			states.add(state);
 		}
 
-		// Try with two different orders
-		String regex1 = automatonToRegularExpression(dfa, states);
-		Collections.reverse(states);
-		String regex2 = automatonToRegularExpression(dfa, states);
+		String regex1;
+		String regex2;
+		if (states.size() <= MAX_STATES_FOR_KLEENE) {
+			// Try with two different orders
+			regex1 = new KleeneConstruction(dfa, states).calculate().toString();
+			Collections.reverse(states);
+			regex2 = new KleeneConstruction(dfa, states).calculate().toString();
+		} else {
+			// Try with two different orders for states of the same weight
+			regex1 = new StateElimination(dfa, states).eliminate(false).toString();
+			regex2 = new StateElimination(dfa, states).eliminate(true).toString();
+		}
 
 		// And pick the shorter of the two results
 		if (regex1.length() > regex2.length())
@@ -75,76 +104,242 @@ public class AutomatonToRegularExpression {
 		return regex1;
 	}
 
-	// Convert a DFA to a regex, iterating over states in the given order
-	private static String automatonToRegularExpression(DeterministicFiniteAutomaton dfa,
-			Collection<DFAState> states) {
-		// Mapping contains regexes to get from one state to another
-		Map<Pair<DFAState, DFAState>, RegEx> mapping = getInitialMapping(dfa);
-		for (DFAState state : states)
-			mapping = handleNextState(dfa, mapping, state);
+	// Kleene's construction, handling the states in the order of the given list. States are identified by their
+	// index in the list.
+	private static class KleeneConstruction {
+		private final List<DFAState> states;
+		private final int initialState;
+		// The regexes to get from one state to another; missing entries are the empty regex
+		private final List<Map<Integer, RegEx>> successors = new ArrayList<>();
+		private final List<Set<Integer>> predecessors = new ArrayList<>();
+
+		// A state can be reached from itself via epsilon. If there is an arc between two states (may also be
+		// twice the same state!), then the symbol on that arc gets from one state to the other.
+		private KleeneConstruction(DeterministicFiniteAutomaton dfa, List<DFAState> states) {
+			this.states = states;
+			Map<DFAState, Integer> index = new HashMap<>();
+			for (int i = 0; i < states.size(); i++) {
+				index.put(states.get(i), i);
+				successors.add(new HashMap<Integer, RegEx>());
+				predecessors.add(new HashSet<Integer>());
+			}
+			this.initialState = index.get(dfa.getInitialState());
 
-		RegEx result = EMPTY_REGEX;
-		for (DFAState state : states) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			if (!state.isFinalState())
-				continue;
-			Pair<DFAState, DFAState> pair = new Pair<>(dfa.getInitialState(), state);
-			result = UnionRegEx.union(result, mapping.get(pair));
+			for (int i = 0; i < states.size(); i++)
+				put(i, i, EPSILON_REGEX);
+			for (int i = 0; i < states.size(); i++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				for (Symbol symbol : dfa.getAlphabet()) {
+					int next = index.get(states.get(i).getFollowingState(symbol));
+					put(i, next, UnionRegEx.union(get(i, next), SymbolRegEx.symbol(symbol)));
+				}
+			}
 		}
 
-		return result.toString();
-	}
+		private RegEx get(int from, int to) {
+			RegEx result = successors.get(from).get(to);
+			return result == null ? EMPTY_REGEX : result;
+		}
+
+		private void put(int from, int to, RegEx regex) {
+			successors.get(from).put(to, regex);
+			predecessors.get(to).add(from);
+		}
+
+		private RegEx calculate() {
+			for (int state = 0; state < states.size(); state++)
+				handleNextState(state);
 
-	// Get the initial mapping for the algorithm
-	// A state can be reached from itself via epsilon. If there is an arc between two states (may also be twice the
-	// same state!), then the symbol on that arc gets from one state to the other. In all other cases, the empty
-	// regex (=nothing) does the job.
-	private static Map<Pair<DFAState, DFAState>, RegEx> getInitialMapping(DeterministicFiniteAutomaton dfa) {
-		Map<Pair<DFAState, DFAState>, RegEx> result = new HashMap<>();
-		for (DFAState state1 : statesIterable(dfa)) {
-			for (DFAState state2 : statesIterable(dfa)) {
+			RegEx result = EMPTY_REGEX;
+			for (int state = 0; state < states.size(); state++) {
 				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-				RegEx regex;
-				if (state1.equals(state2))
-					regex = EPSILON_REGEX;
-				else
-					regex = EMPTY_REGEX;
-				result.put(new Pair<>(state1, state2), regex);
+				if (states.get(state).isFinalState())
+					result = UnionRegEx.union(result, get(initialState, state));
 			}
-		}
-		for (DFAState state : statesIterable(dfa)) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			for (Symbol symbol : dfa.getAlphabet()) {
-				Pair<DFAState, DFAState> pair = new Pair<>(state, state.getFollowingState(symbol));
-				RegEx regex = UnionRegEx.union(result.get(pair), SymbolRegEx.symbol(symbol));
-				result.put(pair, regex);
+			return result;
+		}
+
+		// Extend the regexes to get from state a to state b by also considering paths going through newState.
+		// This constructs regexes aToNew (newToNew)* newToB and adds them. The new regexes are calculated from
+		// the old ones before any of them is replaced. Pairs without a path through newState do not change.
+		private void handleNextState(int newState) {
+			RegEx newToNew = RepetitionRegEx.kleeneStar(get(newState, newState));
+			Map<Integer, RegEx> fromNew = new HashMap<>(successors.get(newState));
+			List<Integer> toNew = new ArrayList<>(predecessors.get(newState));
+			List<Map<Integer, RegEx>> updates = new ArrayList<>();
+			for (int state1 : toNew) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				RegEx state1ToNew = get(state1, newState);
+				Map<Integer, RegEx> update = new HashMap<>();
+				for (Map.Entry<Integer, RegEx> entry : fromNew.entrySet()) {
+					int state2 = entry.getKey();
+					update.put(state2, UnionRegEx.union(get(state1, state2),
+								ConcatenationRegEx.concatenate(state1ToNew, newToNew,
+									entry.getValue())));
+				}
+				updates.add(update);
 			}
+			for (int i = 0; i < toNew.size(); i++)
+				for (Map.Entry<Integer, RegEx> entry : updates.get(i).entrySet())
+					put(toNew.get(i), entry.getKey(), entry.getValue());
 		}
-		return result;
 	}
 
-	// Extend the given mapping to get from state a to state b by also considering paths going through newState.
-	// This constructs regexes aToNew (newToNew)* newToB and adds it to each mapping
-	private static Map<Pair<DFAState, DFAState>, RegEx> handleNextState(DeterministicFiniteAutomaton dfa,
-			Map<Pair<DFAState, DFAState>, RegEx> mapping, DFAState newState) {
-		Map<Pair<DFAState, DFAState>, RegEx> result = new HashMap<>(mapping);
-		for (DFAState state1 : statesIterable(dfa)) {
-			for (DFAState state2 : statesIterable(dfa)) {
+	// The graph on which states are eliminated. States are identified by their index in the list of states, the
+	// start and end nodes come after all states.
+	private static class StateElimination {
+		private final int start;
+		private final int end;
+		private final List<Map<Integer, RegEx>> successors = new ArrayList<>();
+		private final List<Set<Integer>> predecessors = new ArrayList<>();
+		private final boolean[] eliminated;
+		// Canonical instances of regexes so that equal subexpressions are shared
+		private final Map<RegEx, RegEx> canonicalRegexes = new HashMap<>();
+
+		private StateElimination(DeterministicFiniteAutomaton dfa, List<DFAState> states) {
+			int numStates = states.size();
+			start = numStates;
+			end = numStates + 1;
+			eliminated = new boolean[numStates];
+			for (int i = 0; i < numStates + 2; i++) {
+				successors.add(new LinkedHashMap<Integer, RegEx>());
+				predecessors.add(new LinkedHashSet<Integer>());
+			}
+
+			Map<DFAState, Integer> index = new HashMap<>();
+			for (int i = 0; i < numStates; i++)
+				index.put(states.get(i), i);
+
+			addEdge(start, index.get(dfa.getInitialState()), EPSILON_REGEX);
+			for (int i = 0; i < numStates; i++) {
 				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				DFAState state = states.get(i);
+				if (state.isFinalState())
+					addEdge(i, end, EPSILON_REGEX);
+				for (Symbol symbol : dfa.getAlphabet()) {
+					int next = index.get(state.getFollowingState(symbol));
+					addEdge(i, next, SymbolRegEx.symbol(symbol));
+				}
+			}
 
-				RegEx state1ToNew = mapping.get(new Pair<>(state1, newState));
-				RegEx newToNew = mapping.get(new Pair<>(newState, newState));
-				RegEx newToState2 = mapping.get(new Pair<>(newState, state2));
-				Pair<DFAState, DFAState> pair = new Pair<>(state1, state2);
-				RegEx state1ToState2 = mapping.get(pair);
+			// States from which no final state can be reached do not contribute anything
+			boolean[] useful = new boolean[numStates + 2];
+			Deque<Integer> unhandled = new LinkedList<>();
+			useful[end] = true;
+			unhandled.add(end);
+			while (!unhandled.isEmpty()) {
+				for (int pred : predecessors.get(unhandled.removeFirst())) {
+					if (!useful[pred]) {
+						useful[pred] = true;
+						unhandled.add(pred);
+					}
+				}
+			}
+			for (int i = 0; i < numStates; i++) {
+				if (!useful[i]) {
+					removeNode(i);
+					eliminated[i] = true;
+				}
+			}
+		}
 
-				state1ToState2 = UnionRegEx.union(state1ToState2, ConcatenationRegEx.concatenate(
-							state1ToNew, RepetitionRegEx.kleeneStar(newToNew),
-							newToState2));
-				result.put(pair, state1ToState2);
+		private RegEx canonicalize(RegEx regex) {
+			RegEx result = canonicalRegexes.get(regex);
+			if (result != null)
+				return result;
+			canonicalRegexes.put(regex, regex);
+			return regex;
+		}
+
+		// Add the given regex as an alternative to the edge from one node to another
+		private void addEdge(int from, int to, RegEx regex) {
+			RegEx old = successors.get(from).get(to);
+			if (old != null)
+				regex = UnionRegEx.union(old, regex);
+			if (EMPTY_REGEX.equals(regex))
+				return;
+			successors.get(from).put(to, canonicalize(regex));
+			predecessors.get(to).add(from);
+		}
+
+		private void removeNode(int node) {
+			for (int succ : successors.get(node).keySet())
+				predecessors.get(succ).remove(node);
+			for (int pred : predecessors.get(node))
+				successors.get(pred).remove(node);
+			successors.get(node).clear();
+			predecessors.get(node).clear();
+		}
+
+		// The number of edges that eliminating the node produces
+		private long getWeight(int node) {
+			long in = predecessors.get(node).size();
+			long out = successors.get(node).size();
+			if (successors.get(node).containsKey(node)) {
+				in--;
+				out--;
+			}
+			return in * out;
+		}
+
+		// Eliminate all states and return the regex for the language of the automaton
+		private RegEx eliminate(final boolean preferLaterStates) {
+			// Entries are pairs of weight and state. Entries whose weight is outdated are skipped.
+			Comparator<long[]> comparator = new Comparator<long[]>() {
+				@Override
+				public int compare(long[] entry1, long[] entry2) {
+					if (entry1[0] != entry2[0])
+						return entry1[0] < entry2[0] ? -1 : 1;
+					int result = Long.compare(entry1[1], entry2[1]);
+					return preferLaterStates ? -result : result;
+				}
+			};
+			PriorityQueue<long[]> queue = new PriorityQueue<>(eliminated.length + 1, comparator);
+			for (int state = 0; state < eliminated.length; state++)
+				if (!eliminated[state])
+					queue.add(new long[] { getWeight(state), state });
+
+			while (!queue.isEmpty()) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				long[] entry = queue.poll();
+				int state = (int) entry[1];
+				if (eliminated[state] || entry[0] != getWeight(state))
+					continue;
+
+				Set<Integer> neighbours = eliminateState(state);
+				for (int neighbour : neighbours)
+					if (neighbour < eliminated.length && !eliminated[neighbour])
+						queue.add(new long[] { getWeight(neighbour), neighbour });
 			}
+
+			RegEx result = successors.get(start).get(end);
+			if (result == null)
+				return EMPTY_REGEX;
+			return result;
+		}
+
+		// Eliminate a state and return its former neighbours
+		private Set<Integer> eliminateState(int state) {
+			Map<Integer, RegEx> outgoing = new LinkedHashMap<>(successors.get(state));
+			RegEx loop = outgoing.remove(state);
+			RegEx star = loop == null ? EPSILON_REGEX : canonicalize(RepetitionRegEx.kleeneStar(loop));
+			Set<Integer> incoming = new LinkedHashSet<>(predecessors.get(state));
+			incoming.remove(state);
+
+			for (int pred : incoming) {
+				RegEx predToState = successors.get(pred).get(state);
+				for (Map.Entry<Integer, RegEx> entry : outgoing.entrySet())
+					addEdge(pred, entry.getKey(), ConcatenationRegEx.concatenate(predToState, star,
+								entry.getValue()));
+			}
+
+			removeNode(state);
+			eliminated[state] = true;
+
+			Set<Integer> neighbours = incoming;
+			neighbours.addAll(outgoing.keySet());
+			return neighbours;
 		}
-		return result;
 	}
 
 	// Precedence order inside a regex, earlier items bind weaker than following ones
@@ -229,9 +424,11 @@ public class AutomatonToRegularExpression {
 	// A regex representing a concatenation of some regexes
 	private static class ConcatenationRegEx implements RegEx {
 		private final List<RegEx> regexes;
+		private final int hashCode;
 
 		private ConcatenationRegEx(List<RegEx> regexes) {
 			this.regexes = regexes;
+			this.hashCode = regexes.hashCode();
 		}
 
 		@Override
@@ -251,7 +448,7 @@ public class AutomatonToRegularExpression {
 
 		@Override
 		public int hashCode() {
-			return regexes.hashCode();
+			return hashCode;
 		}
 
 		@Override
@@ -260,7 +457,8 @@ public class AutomatonToRegularExpression {
 				return true;
 			if (!(o instanceof ConcatenationRegEx))
 				return false;
-			return regexes.equals(((ConcatenationRegEx) o).regexes);
+			ConcatenationRegEx other = (ConcatenationRegEx) o;
+			return hashCode == other.hashCode && regexes.equals(other.regexes);
 		}
 
 		public static RegEx concatenate(RegEx... regexes) {
@@ -311,7 +509,7 @@ public class AutomatonToRegularExpression {
 				previous = current;
 			}
 			if (list.isEmpty())
-				return EMPTY_REGEX;
+				return EPSILON_REGEX;
 			if (list.size() == 1)
 				return list.get(0);
 
@@ -322,9 +520,11 @@ public class AutomatonToRegularExpression {
 	// A regex representing several alternatives
 	private static class UnionRegEx implements RegEx {
 		private final List<RegEx> regexes;
+		private final int hashCode;
 
 		private UnionRegEx(List<RegEx> regexes) {
 			this.regexes = regexes;
+			this.hashCode = 31 * regexes.hashCode();
 		}
 
 		@Override
@@ -347,6 +547,21 @@ public class AutomatonToRegularExpression {
 			return toString();
 		}
 
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this)
+				return true;
+			if (!(o instanceof UnionRegEx))
+				return false;
+			UnionRegEx other = (UnionRegEx) o;
+			return hashCode == other.hashCode && regexes.equals(other.regexes);
+		}
+
 		public RegEx unionWithoutEpsilon() {
 			if (!regexes.contains(EPSILON_REGEX))
 				return this;
@@ -426,11 +641,13 @@ public class AutomatonToRegularExpression {
 		private final RegEx regex;
 		private final int min;
 		private final int max;
+		private final int hashCode;
 
 		private RepetitionRegEx(RegEx regex, int min, int max) {
 			this.regex = regex;
 			this.min = min;
 			this.max = max;
+			this.hashCode = (31 * regex.hashCode() + min) * 31 + max;
 		}
 
 		public boolean containsEpsilon() {
@@ -445,6 +662,9 @@ public class AutomatonToRegularExpression {
 		@Override
 		public String toString() {
 			String str = regex.toStringInsideOfPrecendence(Precedence.REPETITION);
+			// Nested repetitions need parentheses, e.g. a{2}? is not the same as (a{2})?
+			if (regex instanceof RepetitionRegEx)
+				str = "(" + str + ")";
 			if (max == UNLIMITED) {
 				switch (min) {
 					case 0:
@@ -479,7 +699,7 @@ public class AutomatonToRegularExpression {
 
 		@Override
 		public int hashCode() {
-			return regex.hashCode() + min << 16 + max << 24;
+			return hashCode;
 		}
 
 		@Override
@@ -0,0 +1,342 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * A complete deterministic finite automaton in an array-based encoding. States are numbered from zero, state zero is
+ * the initial state, and the transitions are stored in a table indexed by state and symbol number. Instances are
+ * immutable.
+ */
+class CompactDFA {
+	private final Symbol[] symbols;
+	private final Map<Symbol, Integer> symbolIndex;
+	private final int numStates;
+	// The state reached from state s by symbol a is transitions[s * symbols.length + a]
+	private final int[] transitions;
+	private final boolean[] finalStates;
+
+	private CompactDFA(Symbol[] symbols, Map<Symbol, Integer> symbolIndex, int[] transitions,
+			boolean[] finalStates) {
+		this.symbols = symbols;
+		this.symbolIndex = symbolIndex;
+		this.numStates = finalStates.length;
+		this.transitions = transitions;
+		this.finalStates = finalStates;
+	}
+
+	/**
+	 * Encode the reachable part of a deterministic finite automaton. Transitions which are not defined by the
+	 * automaton lead to an additional non-accepting sink state.
+	 * @param dfa The automaton to encode.
+	 * @param alphabet The alphabet of the result. This must contain the alphabet of the automaton.
+	 * @return The encoded automaton.
+	 */
+	static public CompactDFA fromDFA(DeterministicFiniteAutomaton dfa, Collection<Symbol> alphabet) {
+		Symbol[] symbols = alphabet.toArray(new Symbol[alphabet.size()]);
+		Map<Symbol, Integer> symbolIndex = new HashMap<>();
+		for (int i = 0; i < symbols.length; i++)
+			symbolIndex.put(symbols[i], i);
+		if (!symbolIndex.keySet().containsAll(dfa.getAlphabet()))
+			throw new IllegalArgumentException(
+					"Alphabet of the automaton isn't subset of the given alphabet.");
+
+		Map<DFAState, Integer> stateIndex = new HashMap<>();
+		List<DFAState> states = new ArrayList<>();
+		int[] transitions = new int[symbols.length * 16];
+		int sinkState = -1;
+
+		stateIndex.put(dfa.getInitialState(), 0);
+		states.add(dfa.getInitialState());
+		for (int current = 0; current < states.size(); current++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			DFAState state = states.get(current);
+			if (transitions.length < states.size() * symbols.length)
+				transitions = Arrays.copyOf(transitions, 2 * states.size() * symbols.length);
+
+			for (int symbol = 0; symbol < symbols.length; symbol++) {
+				DFAState next = null;
+				if (state != null)
+					next = state.getFollowingState(symbols[symbol]);
+
+				Integer index;
+				if (next == null) {
+					if (sinkState < 0) {
+						sinkState = states.size();
+						states.add(null);
+					}
+					index = sinkState;
+				} else {
+					index = stateIndex.get(next);
+					if (index == null) {
+						index = states.size();
+						stateIndex.put(next, index);
+						states.add(next);
+					}
+				}
+				transitions[current * symbols.length + symbol] = index;
+			}
+		}
+
+		boolean[] finalStates = new boolean[states.size()];
+		for (int i = 0; i < finalStates.length; i++)
+			finalStates[i] = states.get(i) != null && states.get(i).isFinalState();
+		return new CompactDFA(symbols, symbolIndex, Arrays.copyOf(transitions, states.size() * symbols.length),
+				finalStates);
+	}
+
+	/**
+	 * Get the number of states.
+	 * @return The number of states.
+	 */
+	public int getNumberOfStates() {
+		return numStates;
+	}
+
+	/**
+	 * Get the alphabet. The position of a symbol in this list is its number.
+	 * @return The alphabet.
+	 */
+	public List<Symbol> getAlphabet() {
+		return Collections.unmodifiableList(Arrays.asList(symbols));
+	}
+
+	/**
+	 * Get the number of a symbol.
+	 * @param symbol The symbol.
+	 * @return The number of the symbol or -1 if it is not in the alphabet.
+	 */
+	public int getSymbolIndex(Symbol symbol) {
+		Integer index = symbolIndex.get(symbol);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the state that is reached by a symbol.
+	 * @param state The state number.
+	 * @param symbol The symbol number.
+	 * @return The number of the reached state.
+	 */
+	public int getFollowingState(int state, int symbol) {
+		return transitions[state * symbols.length + symbol];
+	}
+
+	/**
+	 * Check if a state is accepting.
+	 * @param state The state number.
+	 * @return true if the state is accepting.
+	 */
+	public boolean isFinalState(int state) {
+		return finalStates[state];
+	}
+
+	/**
+	 * Find a non-accepting state which cannot be left. A minimal automaton has at most one such state.
+	 * @return The number of such a state or -1 if there is none.
+	 */
+	public int findSinkState() {
+		for (int state = 0; state < numStates; state++) {
+			if (finalStates[state])
+				continue;
+			boolean sink = true;
+			for (int symbol = 0; sink && symbol < symbols.length; symbol++)
+				sink = getFollowingState(state, symbol) == state;
+			if (sink)
+				return state;
+		}
+		return -1;
+	}
+
+	/**
+	 * Calculate the minimal automaton accepting the same language with Hopcroft's partition refinement algorithm.
+	 * This needs O(n * k * log n) time for n states and k symbols. The states of the result are numbered in
+	 * breadth-first order from the initial state.
+	 * @return The minimal automaton.
+	 */
+	public CompactDFA minimize() {
+		int k = symbols.length;
+
+		// For each symbol, the states that reach a given state with this symbol. With base = a * (n + 1), the
+		// predecessors of state s by symbol a are the entries a * n + predecessorStart[base + s] up to
+		// (excluding) a * n + predecessorStart[base + s + 1] of the predecessors array.
+		int[] predecessorStart = new int[k * (numStates + 1)];
+		int[] predecessors = new int[k * numStates];
+		for (int state = 0; state < numStates; state++)
+			for (int symbol = 0; symbol < k; symbol++)
+				predecessorStart[symbol * (numStates + 1) + getFollowingState(state, symbol) + 1]++;
+		for (int symbol = 0; symbol < k; symbol++) {
+			int base = symbol * (numStates + 1);
+			for (int state = 0; state < numStates; state++)
+				predecessorStart[base + state + 1] += predecessorStart[base + state];
+		}
+		int[] fill = new int[numStates];
+		for (int symbol = 0; symbol < k; symbol++) {
+			int base = symbol * (numStates + 1);
+			Arrays.fill(fill, 0);
+			for (int state = 0; state < numStates; state++) {
+				int target = getFollowingState(state, symbol);
+				int offset = predecessorStart[base + target] + fill[target]++;
+				predecessors[symbol * numStates + offset] = state;
+			}
+		}
+
+		// The partition: The states of block b are elements[blockStart[b] ... blockEnd[b]-1]
+		int[] elements = new int[numStates];
+		int[] location = new int[numStates];
+		int[] blockOf = new int[numStates];
+		int[] blockStart = new int[numStates];
+		int[] blockEnd = new int[numStates];
+		int[] marked = new int[numStates];
+		int numBlocks = 0;
+
+		int position = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			boolean accepting = pass == 0;
+			int start = position;
+			for (int state = 0; state < numStates; state++) {
+				if (finalStates[state] != accepting)
+					continue;
+				elements[position] = state;
+				location[state] = position++;
+				blockOf[state] = numBlocks;
+			}
+			if (position > start) {
+				blockStart[numBlocks] = start;
+				blockEnd[numBlocks] = position;
+				numBlocks++;
+			}
+		}
+
+		// Pairs of block and symbol that still have to be used as splitters
+		Deque<Integer> worklist = new ArrayDeque<>();
+		boolean[] inWorklist = new boolean[numStates * k];
+		if (numBlocks == 2) {
+			int smaller = blockEnd[0] - blockStart[0] <= blockEnd[1] - blockStart[1] ? 0 : 1;
+			for (int symbol = 0; symbol < k; symbol++) {
+				worklist.add(smaller * k + symbol);
+				inWorklist[smaller * k + symbol] = true;
+			}
+		}
+
+		int[] splitterPredecessors = new int[numStates];
+		int[] touchedBlocks = new int[numStates];
+		while (!worklist.isEmpty()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			int splitter = worklist.removeFirst();
+			inWorklist[splitter] = false;
+			int splitterBlock = splitter / k;
+			int symbol = splitter % k;
+			int base = symbol * (numStates + 1);
+
+			// Collect all states that reach the splitter block with the symbol. Each state has only one
+			// successor, so no state is found twice.
+			int numPredecessors = 0;
+			for (int i = blockStart[splitterBlock]; i < blockEnd[splitterBlock]; i++) {
+				int target = elements[i];
+				int end = predecessorStart[base + target + 1];
+				for (int j = predecessorStart[base + target]; j < end; j++)
+					splitterPredecessors[numPredecessors++] = predecessors[symbol * numStates + j];
+			}
+
+			// Move the found states to the front of their blocks
+			int numTouched = 0;
+			for (int i = 0; i < numPredecessors; i++) {
+				int state = splitterPredecessors[i];
+				int block = blockOf[state];
+				if (marked[block] == 0)
+					touchedBlocks[numTouched++] = block;
+				int swapPosition = blockStart[block] + marked[block]++;
+				int other = elements[swapPosition];
+				elements[location[state]] = other;
+				location[other] = location[state];
+				elements[swapPosition] = state;
+				location[state] = swapPosition;
+			}
+
+			// Split the blocks which were only partly found
+			for (int i = 0; i < numTouched; i++) {
+				int block = touchedBlocks[i];
+				int split = blockStart[block] + marked[block];
+				marked[block] = 0;
+				if (split == blockEnd[block])
+					continue;
+
+				int newBlock = numBlocks++;
+				blockStart[newBlock] = blockStart[block];
+				blockEnd[newBlock] = split;
+				blockStart[block] = split;
+				for (int j = blockStart[newBlock]; j < blockEnd[newBlock]; j++)
+					blockOf[elements[j]] = newBlock;
+
+				boolean newIsSmaller = blockEnd[newBlock] - blockStart[newBlock]
+					<= blockEnd[block] - blockStart[block];
+				for (int a = 0; a < k; a++) {
+					int add;
+					if (inWorklist[block * k + a] || newIsSmaller)
+						add = newBlock * k + a;
+					else
+						add = block * k + a;
+					if (!inWorklist[add]) {
+						worklist.add(add);
+						inWorklist[add] = true;
+					}
+				}
+			}
+		}
+
+		// Number the blocks in breadth-first order from the initial state and construct the result
+		int[] blockIndex = new int[numBlocks];
+		Arrays.fill(blockIndex, -1);
+		int[] representative = new int[numBlocks];
+		blockIndex[blockOf[0]] = 0;
+		representative[0] = 0;
+		int numResultStates = 1;
+		int[] resultTransitions = new int[numBlocks * k];
+		for (int current = 0; current < numResultStates; current++) {
+			for (int a = 0; a < k; a++) {
+				int next = blockOf[getFollowingState(representative[current], a)];
+				if (blockIndex[next] < 0) {
+					blockIndex[next] = numResultStates;
+					representative[numResultStates++] = elements[blockStart[next]];
+				}
+				resultTransitions[current * k + a] = blockIndex[next];
+			}
+		}
+
+		boolean[] resultFinalStates = new boolean[numResultStates];
+		for (int i = 0; i < numResultStates; i++)
+			resultFinalStates[i] = finalStates[representative[i]];
+		return new CompactDFA(symbols, symbolIndex, Arrays.copyOf(resultTransitions, numResultStates * k),
+				resultFinalStates);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,243 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * A finite automaton compiled into arrays for matching many words. The states of the automaton are numbered and the
+ * transitions are stored in a compressed array indexed by state and symbol. The epsilon closure of each state is
+ * computed once, so that reading a symbol just combines precomputed closures. Sets of states are represented as bit
+ * sets. The sets that are reached while matching words are remembered as states of a lazily constructed
+ * deterministic automaton, so that words with common parts are matched by simple table lookups. This cache is
+ * bounded in size and is cleared when it gets too large. Instances of this class are not thread-safe.
+ *
+ * Compiling visits every reachable state of the automaton. For automatons whose states are constructed lazily, for
+ * example by {@link FiniteAutomatonUtility#constructDFA(FiniteAutomaton)}, this can be much more expensive than
+ * checking a single word on the fly. {@link FiniteAutomatonUtility#isWordInLanguage(FiniteAutomaton, List)} thus only
+ * uses this class for automatons which are not deterministic.
+ */
+public class CompiledNFA {
+	/**
+	 * The default number of states of the lazily constructed deterministic automaton.
+	 */
+	static public final int DEFAULT_CACHE_SIZE = 1024;
+
+	// Marker for transitions of the deterministic automaton which were not computed yet
+	static private final int UNKNOWN = -1;
+
+	private final Map<String, Integer> symbols;
+	private final int numStates;
+	// The targets of state s and symbol i are targets[offsets[s * symbols.size() + i]...offsets[... + 1]]
+	private final int[] offsets;
+	private final int[] targets;
+	private final BitSet[] closures;
+	private final BitSet finalStates;
+
+	private final int cacheSize;
+	private final Map<BitSet, Integer> cachedStateIds = new HashMap<>();
+	private final List<BitSet> cachedStates = new ArrayList<>();
+	private final List<int[]> cachedTransitions = new ArrayList<>();
+
+	private CompiledNFA(Map<String, Integer> symbols, int numStates, int[] offsets, int[] targets,
+			BitSet[] closures, BitSet finalStates, int cacheSize) {
+		this.symbols = symbols;
+		this.numStates = numStates;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.closures = closures;
+		this.finalStates = finalStates;
+		this.cacheSize = cacheSize;
+	}
+
+	/**
+	 * Compile the given automaton with the default cache size.
+	 * @param automaton The automaton to compile.
+	 * @return The compiled automaton.
+	 */
+	static public CompiledNFA compile(FiniteAutomaton automaton) {
+		return compile(automaton, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Compile the given automaton.
+	 * @param automaton The automaton to compile.
+	 * @param cacheSize The maximum number of states of the lazily constructed deterministic automaton.
+	 * @return The compiled automaton.
+	 */
+	static public CompiledNFA compile(FiniteAutomaton automaton, int cacheSize) {
+		if (cacheSize < 1)
+			throw new IllegalArgumentException("The cache size must be positive, but is " + cacheSize);
+
+		// Number all reachable states and symbols
+		Map<State, Integer> stateIds = new HashMap<>();
+		List<State> states = new ArrayList<>();
+		Map<String, Integer> symbols = new LinkedHashMap<>();
+		stateIds.put(automaton.getInitialState(), 0);
+		states.add(automaton.getInitialState());
+		for (int i = 0; i < states.size(); i++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			State state = states.get(i);
+			for (Symbol symbol : state.getDefinedSymbols()) {
+				if (!symbols.containsKey(symbol.getEvent()))
+					symbols.put(symbol.getEvent(), symbols.size());
+				addStates(stateIds, states, state.getFollowingStates(symbol));
+			}
+			addStates(stateIds, states, state.getFollowingStates(Symbol.EPSILON));
+		}
+
+		int numStates = states.size();
+		int numSymbols = symbols.size();
+		int[] offsets = new int[numStates * numSymbols + 1];
+		List<Integer> targetList = new ArrayList<>();
+		BitSet[] epsilonTargets = new BitSet[numStates];
+		BitSet finalStates = new BitSet(numStates);
+		for (int s = 0; s < numStates; s++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			State state = states.get(s);
+			if (state.isFinalState())
+				finalStates.set(s);
+			for (Map.Entry<String, Integer> entry : symbols.entrySet()) {
+				offsets[s * numSymbols + entry.getValue()] = targetList.size();
+				for (State target : state.getFollowingStates(new Symbol(entry.getKey())))
+					targetList.add(stateIds.get(target));
+			}
+			epsilonTargets[s] = new BitSet(numStates);
+			for (State target : state.getFollowingStates(Symbol.EPSILON))
+				epsilonTargets[s].set(stateIds.get(target));
+		}
+		offsets[numStates * numSymbols] = targetList.size();
+		int[] targets = new int[targetList.size()];
+		for (int i = 0; i < targets.length; i++)
+			targets[i] = targetList.get(i);
+
+		return new CompiledNFA(symbols, numStates, offsets, targets, computeClosures(epsilonTargets),
+				finalStates, cacheSize);
+	}
+
+	static private void addStates(Map<State, Integer> stateIds, List<State> states, Iterable<State> newStates) {
+		for (State state : newStates) {
+			if (!stateIds.containsKey(state)) {
+				stateIds.put(state, states.size());
+				states.add(state);
+			}
+		}
+	}
+
+	// Compute the reflexive and transitive closure of the epsilon transitions
+	static private BitSet[] computeClosures(BitSet[] epsilonTargets) {
+		BitSet[] closures = new BitSet[epsilonTargets.length];
+		for (int s = 0; s < epsilonTargets.length; s++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			BitSet closure = new BitSet(epsilonTargets.length);
+			closure.set(s);
+			int[] unhandled = new int[epsilonTargets.length];
+			int numUnhandled = 0;
+			unhandled[numUnhandled++] = s;
+			while (numUnhandled > 0) {
+				int state = unhandled[--numUnhandled];
+				BitSet next = epsilonTargets[state];
+				for (int t = next.nextSetBit(0); t >= 0; t = next.nextSetBit(t + 1)) {
+					if (!closure.get(t)) {
+						closure.set(t);
+						unhandled[numUnhandled++] = t;
+					}
+				}
+			}
+			closures[s] = closure;
+		}
+		return closures;
+	}
+
+	/**
+	 * Get the number of states of the compiled automaton.
+	 * @return The number of states.
+	 */
+	public int getNumberOfStates() {
+		return numStates;
+	}
+
+	/**
+	 * Test if a given word is accepted by this automaton.
+	 * @param word The word to check.
+	 * @return true if and only if the word is accepted.
+	 */
+	public boolean isWordInLanguage(List<String> word) {
+		int current = getCachedState(closures[0]);
+		for (String event : word) {
+			Integer symbol = symbols.get(event);
+			if (symbol == null)
+				return false;
+
+			int[] transitions = cachedTransitions.get(current);
+			int next = transitions[symbol];
+			if (next == UNKNOWN) {
+				next = getCachedState(step(cachedStates.get(current), symbol));
+				// The cache might have been cleared, only remember the transition if it is still valid
+				if (cachedTransitions.size() > current && cachedTransitions.get(current) == transitions)
+					transitions[symbol] = next;
+			}
+			current = next;
+			if (cachedStates.get(current).isEmpty())
+				return false;
+		}
+		return cachedStates.get(current).intersects(finalStates);
+	}
+
+	// Calculate the states that are reached from the given states by the given symbol
+	private BitSet step(BitSet states, int symbol) {
+		BitSet result = new BitSet(numStates);
+		int numSymbols = symbols.size();
+		for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+			int index = s * numSymbols + symbol;
+			for (int i = offsets[index]; i < offsets[index + 1]; i++)
+				result.or(closures[targets[i]]);
+		}
+		return result;
+	}
+
+	// Get the id of the given set of states in the lazily constructed deterministic automaton
+	private int getCachedState(BitSet states) {
+		Integer id = cachedStateIds.get(states);
+		if (id != null)
+			return id;
+		if (cachedStates.size() >= cacheSize) {
+			cachedStateIds.clear();
+			cachedStates.clear();
+			cachedTransitions.clear();
+		}
+		int[] transitions = new int[symbols.size()];
+		for (int i = 0; i < transitions.length; i++)
+			transitions[i] = UNKNOWN;
+		cachedStateIds.put(states, cachedStates.size());
+		cachedStates.add(states);
+		cachedTransitions.add(transitions);
+		return cachedStates.size() - 1;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
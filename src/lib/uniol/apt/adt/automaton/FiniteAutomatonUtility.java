@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.Predicate;
@@ -40,8 +41,6 @@ import org.apache.commons.collections4.Predicate;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.util.interrupt.InterrupterRegistry;
-import uniol.apt.util.EquivalenceRelation;
-import uniol.apt.util.IEquivalenceRelation;
 import uniol.apt.util.Pair;
 
 /**
@@ -49,6 +48,10 @@ import uniol.apt.util.Pair;
  * @author Uli Schlachter
  */
 public class FiniteAutomatonUtility {
+	// Compiled forms of the automatons that were checked by isWordInLanguage(). The compiled form does not refer
+	// to the automaton, so an entry is removed when its automaton is garbage collected.
+	static private final Map<FiniteAutomaton, CompiledNFA> COMPILED_AUTOMATONS = new WeakHashMap<>();
+
 	private FiniteAutomatonUtility() {
 	}
 
@@ -366,12 +369,45 @@ public class FiniteAutomatonUtility {
 	}
 
 	/**
-	 * Test if a given word is accepted by a given finite automaton.
+	 * Test if a given word is accepted by a given finite automaton. Deterministic automatons are simulated on the
+	 * fly, because they might be constructed lazily and checking a word only needs the states that it reaches.
+	 * Other automatons are compiled into a {@link CompiledNFA} once and the compiled form is remembered for
+	 * further calls with the same automaton.
 	 * @param a The automaton to use.
 	 * @param word The word to check
 	 * @return true if and only if the word is accepted by the automaton.
 	 */
 	static public boolean isWordInLanguage(FiniteAutomaton a, List<String> word) {
+		if (a instanceof DeterministicFiniteAutomaton)
+			return isWordInLanguageOnTheFly(a, word);
+
+		CompiledNFA compiled = getCompiledAutomaton(a);
+		synchronized (compiled) {
+			return compiled.isWordInLanguage(word);
+		}
+	}
+
+	// Get the compiled form of the given automaton, compiling it if this was not done yet
+	static private CompiledNFA getCompiledAutomaton(FiniteAutomaton a) {
+		synchronized (COMPILED_AUTOMATONS) {
+			CompiledNFA compiled = COMPILED_AUTOMATONS.get(a);
+			if (compiled == null) {
+				compiled = CompiledNFA.compile(a);
+				COMPILED_AUTOMATONS.put(a, compiled);
+			}
+			return compiled;
+		}
+	}
+
+	// Check if the given automaton was compiled by isWordInLanguage()
+	static boolean isCompiled(FiniteAutomaton a) {
+		synchronized (COMPILED_AUTOMATONS) {
+			return COMPILED_AUTOMATONS.containsKey(a);
+		}
+	}
+
+	// Simulate the automaton on the given word and only visit the states that are reached
+	static private boolean isWordInLanguageOnTheFly(FiniteAutomaton a, List<String> word) {
 		Set<State> states = followEpsilons(Collections.singleton(a.getInitialState()));
 		int position = 0;
 
@@ -477,39 +513,8 @@ public class FiniteAutomatonUtility {
 	 * @return A word that is only accepted by one of the automatons
 	 */
 	static public List<String> findWordDifference(FiniteAutomaton a1, FiniteAutomaton a2) {
-		return findAcceptedWord(minimize(getDifferenceAutomaton(a1, a2)));
-	}
-
-	// Find a word that the given automaton accepts
-	static private List<String> findAcceptedWord(DeterministicFiniteAutomaton dfa) {
-		Set<DFAState> statesSeen = new HashSet<>();
-		LinkedList<String> word = new LinkedList<>();
-		Deque<Pair<DFAState, Iterator<Symbol>>> trace = new LinkedList<>();
-		DFAState initial = dfa.getInitialState();
-		trace.add(new Pair<>(initial, initial.getDefinedSymbols().iterator()));
-
-		while (!trace.isEmpty()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			Pair<DFAState, Iterator<Symbol>> pair = trace.peekLast();
-			if (!pair.getSecond().hasNext()) {
-				trace.removeLast();
-				word.pollLast();
-			} else {
-				Symbol symbol = pair.getSecond().next();
-				DFAState nextState = pair.getFirst().getFollowingState(symbol);
-
-				// Only follow this state if we haven't followed it yet before
-				if (statesSeen.add(nextState)) {
-					trace.add(new Pair<>(nextState, nextState.getDefinedSymbols().iterator()));
-					word.add(symbol.getEvent());
-
-					if (nextState.isFinalState())
-						return word;
-				}
-			}
-		}
-
-		return null;
+		// The power set construction is lazy, so only the part of both DFAs that is needed is constructed
+		return HopcroftKarpEquivalence.findWordDifference(constructDFA(a1), constructDFA(a2));
 	}
 
 	/**
@@ -564,24 +569,8 @@ public class FiniteAutomatonUtility {
 	// find the sink state of an DFA if it exists
 	static private DFAState findSinkState(MinimalDeterministicFiniteAutomaton dfa) {
 		// A minimal DFA can have at most one "sink state". All words which cannot be extended into words of the
-		// language will reach that sink state. Let's find that sink state and skip it in our translation.
-		for (DFAState state : statesIterable(dfa)) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-			// The sink state is not a final state and all arcs go back to itself
-			if (state.isFinalState())
-				continue;
-			boolean sink = true;
-			for (Symbol sym : dfa.getAlphabet())
-				if (!state.getFollowingState(sym).equals(state)) {
-					sink = false;
-					break;
-				}
-			if (sink) {
-				return state;
-			}
-		}
-		return null;
+		// language will reach that sink state.
+		return dfa.getSinkState();
 	}
 
 	/**
@@ -631,7 +620,8 @@ public class FiniteAutomatonUtility {
 	 * @return A finite automaton for the LTS' prefix language.
 	 */
 	static public FiniteAutomaton fromPrefixLanguageLTS(TransitionSystem lts) {
-		return getAutomaton(new LTSAdaptorState(lts.getInitialState()));
+		return getAutomaton(LTSAdaptorState.getState(lts.getInitialState(), null,
+					new HashMap<uniol.apt.adt.ts.State, LTSAdaptorState>()));
 	}
 
 	/**
@@ -643,7 +633,8 @@ public class FiniteAutomatonUtility {
 	 */
 	static public FiniteAutomaton fromLTS(TransitionSystem lts, Collection<uniol.apt.adt.ts.State> finalStates) {
 		finalStates = new HashSet<>(finalStates);
-		return getAutomaton(new LTSAdaptorState(lts.getInitialState(), finalStates));
+		return getAutomaton(LTSAdaptorState.getState(lts.getInitialState(), finalStates,
+					new HashMap<uniol.apt.adt.ts.State, LTSAdaptorState>()));
 	}
 
 	/**
@@ -901,14 +892,26 @@ public class FiniteAutomatonUtility {
 		final private Map<Symbol, Set<uniol.apt.adt.ts.State>> transitions;
 		final private Collection<uniol.apt.adt.ts.State> finalStates;
 		final private uniol.apt.adt.ts.State currentState;
-
-		public LTSAdaptorState(uniol.apt.adt.ts.State state) {
-			this(state, null);
+		// Adaptors for the other states of the same LTS, so that each state is only wrapped once
+		final private Map<uniol.apt.adt.ts.State, LTSAdaptorState> adaptors;
+
+		static public LTSAdaptorState getState(uniol.apt.adt.ts.State state,
+				Collection<uniol.apt.adt.ts.State> finalStates,
+				Map<uniol.apt.adt.ts.State, LTSAdaptorState> adaptors) {
+			LTSAdaptorState result = adaptors.get(state);
+			if (result == null) {
+				result = new LTSAdaptorState(state, finalStates, adaptors);
+				adaptors.put(state, result);
+			}
+			return result;
 		}
 
-		public LTSAdaptorState(uniol.apt.adt.ts.State state, Collection<uniol.apt.adt.ts.State> finalStates) {
+		// Use getState() instead of this constructor
+		private LTSAdaptorState(uniol.apt.adt.ts.State state, Collection<uniol.apt.adt.ts.State> finalStates,
+				Map<uniol.apt.adt.ts.State, LTSAdaptorState> adaptors) {
 			this.finalStates = finalStates;
 			this.currentState = state;
+			this.adaptors = adaptors;
 
 			Map<Symbol, Set<uniol.apt.adt.ts.State>> trans = new HashMap<>();
 			for (Arc arc : state.getPostsetEdges()) {
@@ -938,7 +941,7 @@ public class FiniteAutomatonUtility {
 			Set<State> result = new HashSet<>();
 			if (transitions.containsKey(atom))
 				for (uniol.apt.adt.ts.State state : transitions.get(atom))
-					result.add(new LTSAdaptorState(state, finalStates));
+					result.add(getState(state, finalStates, adaptors));
 			return result;
 		}
 
@@ -1061,19 +1064,20 @@ public class FiniteAutomatonUtility {
 		}
 	}
 
-	// Implementation of the table filing algorithm used by minimize().
+	// Implementation of minimize(). The minimal automaton is calculated with Hopcroft's algorithm on an array-based
+	// encoding of the automaton.
 	static private class MinimalDeterministicFiniteAutomaton implements DeterministicFiniteAutomaton {
 		private final Set<Symbol> alphabet;
+		private final CompactDFA dfa;
 		private final MinimalState[] states;
 
 		public MinimalDeterministicFiniteAutomaton(FiniteAutomaton a) {
 			DeterministicFiniteAutomaton dfa = constructDFA(a);
 			this.alphabet = Collections.unmodifiableSet(dfa.getAlphabet());
-
-			// Calculate equivalent states via the table filling algorithm
-			EquivalenceRelation<DFAState> partition = getInitialPartitionForMinimize(dfa);
-			partition = refinePartition(partition, alphabet);
-			this.states = constructStates(partition, dfa.getInitialState());
+			this.dfa = CompactDFA.fromDFA(dfa, alphabet).minimize();
+			this.states = new MinimalState[this.dfa.getNumberOfStates()];
+			for (int i = 0; i < states.length; i++)
+				states[i] = new MinimalState(this, i);
 		}
 
 		@Override
@@ -1086,21 +1090,26 @@ public class FiniteAutomatonUtility {
 			return alphabet;
 		}
 
+		// Get the unique sink state of this automaton or null
+		public DFAState getSinkState() {
+			int sinkState = dfa.findSinkState();
+			if (sinkState < 0)
+				return null;
+			return states[sinkState];
+		}
+
 		static private class MinimalState extends DFAState {
 			private final MinimalDeterministicFiniteAutomaton automaton;
-			private final Map<Symbol, Integer> postset;
-			private final boolean isFinalState;
+			private final int index;
 
-			public MinimalState(MinimalDeterministicFiniteAutomaton automaton, Map<Symbol, Integer> postset,
-					boolean isFinalState) {
+			public MinimalState(MinimalDeterministicFiniteAutomaton automaton, int index) {
 				this.automaton = automaton;
-				this.isFinalState = isFinalState;
-				this.postset = postset;
+				this.index = index;
 			}
 
 			@Override
 			public boolean isFinalState() {
-				return isFinalState;
+				return automaton.dfa.isFinalState(index);
 			}
 
 			@Override
@@ -1110,95 +1119,11 @@ public class FiniteAutomatonUtility {
 
 			@Override
 			public DFAState getFollowingState(Symbol atom) {
-				if (!automaton.getAlphabet().contains(atom))
+				int symbol = automaton.dfa.getSymbolIndex(atom);
+				if (symbol < 0)
 					return null;
-				return automaton.states[postset.get(atom)];
-			}
-		}
-
-		static private EquivalenceRelation<DFAState> getInitialPartitionForMinimize(
-				DeterministicFiniteAutomaton a) {
-			DFAState finalState = null;
-			DFAState nonFinalState = null;
-			EquivalenceRelation<DFAState> relation = new EquivalenceRelation<>();
-			for (DFAState state : statesIterable(a)) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-				if (state.isFinalState()) {
-					if (finalState == null)
-						finalState = state;
-					relation.joinClasses(finalState, state);
-				} else {
-					if (nonFinalState == null)
-						nonFinalState = state;
-					relation.joinClasses(nonFinalState, state);
-				}
-			}
-
-			return relation;
-		}
-
-		static private EquivalenceRelation<DFAState> refinePartition(EquivalenceRelation<DFAState> partition,
-				Set<Symbol> alphabet) {
-			EquivalenceRelation<DFAState> lastPartition;
-			do {
-				lastPartition = partition;
-				for (final Symbol symbol : alphabet) {
-					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-					// If there are two states in the same equivalence class and they have a
-					// transition with symbol 'symbol' going to different classes, then this class
-					// must be split.
-					final IEquivalenceRelation<DFAState> current = partition;
-					IEquivalenceRelation<DFAState> predicate
-						= new IEquivalenceRelation<DFAState>() {
-						@Override
-						public boolean isEquivalent(DFAState state1, DFAState state2) {
-							DFAState follow1 = state1.getFollowingState(symbol);
-							DFAState follow2 = state2.getFollowingState(symbol);
-							return current.isEquivalent(follow1, follow2);
-						}
-					};
-					partition = partition.refine(predicate);
-				}
-			} while (lastPartition != partition);
-			return partition;
-		}
-
-		private MinimalState[] constructStates(EquivalenceRelation<DFAState> partition, DFAState initialState) {
-			Map<Set<DFAState>, Integer> stateIndex = new HashMap<>();
-			Map<Integer, Boolean> isFinalState = new HashMap<>();
-			stateIndex.put(partition.getClass(initialState), 0);
-			isFinalState.put(0, initialState.isFinalState());
-			int nextIndex = 1;
-			Map<Integer, Map<Symbol, Integer>> transitions = new HashMap<>();
-			Deque<Set<DFAState>> unhandled = new LinkedList<>();
-
-			unhandled.add(partition.getClass(initialState));
-			while (!unhandled.isEmpty()) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-				Set<DFAState> state = unhandled.removeFirst();
-
-				DFAState representingState = state.iterator().next();
-				Map<Symbol, Integer> postset = new HashMap<>();
-				for (Symbol symbol : getAlphabet()) {
-					DFAState followingState = representingState.getFollowingState(symbol);
-					Set<DFAState> next = partition.getClass(followingState);
-					if (!stateIndex.containsKey(next)) {
-						isFinalState.put(nextIndex, followingState.isFinalState());
-						stateIndex.put(next, nextIndex++);
-						unhandled.add(next);
-					}
-
-					postset.put(symbol, stateIndex.get(next));
-				}
-				transitions.put(stateIndex.get(state), postset);
+				return automaton.states[automaton.dfa.getFollowingState(index, symbol)];
 			}
-
-			int numStates = nextIndex;
-			MinimalState[] result = new MinimalState[numStates];
-			for (int i = 0; i < numStates; i++)
-				result[i] = new MinimalState(this, transitions.get(i), isFinalState.get(i));
-
-			return result;
 		}
 	}
 
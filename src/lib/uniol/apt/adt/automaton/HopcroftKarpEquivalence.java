@@ -0,0 +1,170 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Language equivalence check of two deterministic finite automatons with the algorithm of Hopcroft and Karp. The
+ * synchronous product of the automatons is explored on the fly and only as far as needed: Pairs of states which are
+ * already known to be equivalent via a union-find structure are not explored again, and the search stops at the
+ * first pair of states that disagree on acceptance. Since the automatons are only queried state by state, lazily
+ * determinized automatons (see {@link FiniteAutomatonUtility#constructDFA}) are only constructed as far as needed.
+ */
+class HopcroftKarpEquivalence {
+	// Id of the state reached by symbols that an automaton does not define. Both automatons share this state.
+	static private final int DEAD_STATE = 0;
+
+	private final List<Symbol> alphabet;
+	private final Map<DFAState, Integer> ids1 = new HashMap<>();
+	private final Map<DFAState, Integer> ids2 = new HashMap<>();
+	private int[] parent = new int[16];
+	private int[] size = new int[16];
+	private int numIds = 0;
+
+	private HopcroftKarpEquivalence(Set<Symbol> alphabet) {
+		this.alphabet = new ArrayList<>(alphabet);
+		int dead = newId();
+		assert dead == DEAD_STATE;
+	}
+
+	/**
+	 * Find a non-empty word that is accepted by exactly one of the two automatons. Like the other functions
+	 * comparing languages, this ignores whether the empty word is accepted.
+	 * @param dfa1 The first automaton.
+	 * @param dfa2 The second automaton.
+	 * @return A word accepted by only one of the automatons or null if there is no such non-empty word.
+	 */
+	static public List<String> findWordDifference(DeterministicFiniteAutomaton dfa1,
+			DeterministicFiniteAutomaton dfa2) {
+		Set<Symbol> alphabet = new HashSet<>(dfa1.getAlphabet());
+		alphabet.addAll(dfa2.getAlphabet());
+		return new HopcroftKarpEquivalence(alphabet).search(dfa1.getInitialState(), dfa2.getInitialState());
+	}
+
+	// A pair of states that was reached by the word described by the predecessor chain
+	static private class StatePair {
+		private final DFAState state1;
+		private final DFAState state2;
+		private final StatePair predecessor;
+		private final Symbol symbol;
+
+		private StatePair(DFAState state1, DFAState state2, StatePair predecessor, Symbol symbol) {
+			this.state1 = state1;
+			this.state2 = state2;
+			this.predecessor = predecessor;
+			this.symbol = symbol;
+		}
+
+		private List<String> getWord() {
+			LinkedList<String> word = new LinkedList<>();
+			for (StatePair pair = this; pair.predecessor != null; pair = pair.predecessor)
+				word.addFirst(pair.symbol.getEvent());
+			return word;
+		}
+	}
+
+	private List<String> search(DFAState initial1, DFAState initial2) {
+		// The initial states are not joined: They may only differ in the empty word, which is ignored, and then
+		// they must not be considered equivalent when they are reached again via a non-empty word.
+		LinkedList<StatePair> unhandled = new LinkedList<>();
+		unhandled.add(new StatePair(initial1, initial2, null, null));
+		while (!unhandled.isEmpty()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			StatePair pair = unhandled.removeFirst();
+			if (pair.predecessor != null && isFinal(pair.state1) != isFinal(pair.state2))
+				return pair.getWord();
+
+			for (Symbol symbol : alphabet) {
+				DFAState next1 = follow(pair.state1, symbol);
+				DFAState next2 = follow(pair.state2, symbol);
+				if (union(getId(ids1, next1), getId(ids2, next2)))
+					unhandled.add(new StatePair(next1, next2, pair, symbol));
+			}
+		}
+		return null;
+	}
+
+	static private DFAState follow(DFAState state, Symbol symbol) {
+		if (state == null)
+			return null;
+		return state.getFollowingState(symbol);
+	}
+
+	static private boolean isFinal(DFAState state) {
+		return state != null && state.isFinalState();
+	}
+
+	private int newId() {
+		if (numIds == parent.length) {
+			parent = Arrays.copyOf(parent, 2 * numIds);
+			size = Arrays.copyOf(size, 2 * numIds);
+		}
+		parent[numIds] = numIds;
+		size[numIds] = 1;
+		return numIds++;
+	}
+
+	private int getId(Map<DFAState, Integer> ids, DFAState state) {
+		if (state == null)
+			return DEAD_STATE;
+		Integer id = ids.get(state);
+		if (id == null) {
+			id = newId();
+			ids.put(state, id);
+		}
+		return id;
+	}
+
+	private int find(int id) {
+		while (parent[id] != id) {
+			parent[id] = parent[parent[id]];
+			id = parent[id];
+		}
+		return id;
+	}
+
+	// Join the classes of the two ids and return false if they already were in the same class
+	private boolean union(int id1, int id2) {
+		int root1 = find(id1);
+		int root2 = find(id2);
+		if (root1 == root2)
+			return false;
+		if (size[root1] < size[root2]) {
+			int tmp = root1;
+			root1 = root2;
+			root2 = tmp;
+		}
+		parent[root2] = root1;
+		size[root1] += size[root2];
+		return true;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,503 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.pn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.adt.StructuralExtensionRemover;
+import uniol.apt.adt.exception.NoSuchNodeException;
+import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.exception.TransitionFireException;
+import uniol.apt.adt.extension.ExtensionProperty;
+
+/**
+ * An immutable, index-based snapshot of the structure of a {@link PetriNet}. Places and transitions are numbered
+ * densely and the flows are stored as sparse arrays of place indices and weights. Markings are represented as
+ * <code>long[]</code> vectors indexed by place index, where {@link #OMEGA} represents an unbounded place.
+ *
+ * Instances should be obtained via {@link #get(PetriNet)}, which caches the snapshot on the Petri net. Any structural
+ * change to the Petri net invalidates the cached instance, so that a fresh snapshot is created on the next call.
+ * Holding on to an old snapshot after the net was changed is possible, but the snapshot no longer describes the net.
+ */
+public final class CompiledPetriNet {
+	/**
+	 * The value that represents OMEGA in a marking vector.
+	 */
+	public static final long OMEGA = Marking.OMEGA_VALUE;
+
+	private static final String KEY = CompiledPetriNet.class.getName();
+
+	private final PetriNet pn;
+	private final List<Place> places;
+	private final List<Place> placesView;
+	private final List<Transition> transitions;
+	private final Map<String, Integer> placeIndices = new HashMap<>();
+	private final Map<String, Integer> transitionIndices = new HashMap<>();
+	private final int[][] prePlaces;
+	private final int[][] preWeights;
+	private final int[][] postPlaces;
+	private final int[][] postWeights;
+	private final int[][] consumers;
+	private final int[][] producers;
+
+	/**
+	 * Get the compiled version of the given Petri net. If the net was already compiled and did not change since
+	 * then, the existing instance is returned.
+	 * @param pn The Petri net to compile.
+	 * @return The compiled net.
+	 */
+	static public CompiledPetriNet get(PetriNet pn) {
+		if (pn.hasExtension(KEY)) {
+			Object extension = pn.getExtension(KEY);
+			if (extension instanceof CompiledPetriNet)
+				return (CompiledPetriNet) extension;
+		}
+
+		CompiledPetriNet result = new CompiledPetriNet(pn);
+		// Make sure that the snapshot is thrown away if the structure of the Petri net changes in any way.
+		pn.putExtension(KEY, result, ExtensionProperty.NOCOPY);
+		pn.addListener(new StructuralExtensionRemover<PetriNet, Flow, Node>(KEY));
+		return result;
+	}
+
+	private CompiledPetriNet(PetriNet pn) {
+		this.pn = pn;
+		this.places = pn.getPlacesList();
+		this.placesView = Collections.unmodifiableList(places);
+		this.transitions = Collections.unmodifiableList(new ArrayList<>(pn.getTransitions()));
+		for (int i = 0; i < places.size(); i++)
+			placeIndices.put(places.get(i).getId(), i);
+		for (int i = 0; i < transitions.size(); i++)
+			transitionIndices.put(transitions.get(i).getId(), i);
+
+		int numTransitions = transitions.size();
+		this.prePlaces = new int[numTransitions][];
+		this.preWeights = new int[numTransitions][];
+		this.postPlaces = new int[numTransitions][];
+		this.postWeights = new int[numTransitions][];
+		for (int t = 0; t < numTransitions; t++) {
+			String id = transitions.get(t).getId();
+			Set<Flow> preset = pn.getPresetEdges(id);
+			Set<Flow> postset = pn.getPostsetEdges(id);
+			prePlaces[t] = new int[preset.size()];
+			preWeights[t] = new int[preset.size()];
+			postPlaces[t] = new int[postset.size()];
+			postWeights[t] = new int[postset.size()];
+			fill(preset, prePlaces[t], preWeights[t], true);
+			fill(postset, postPlaces[t], postWeights[t], false);
+		}
+
+		this.consumers = invert(prePlaces, places.size());
+		this.producers = invert(postPlaces, places.size());
+	}
+
+	private void fill(Set<Flow> flows, int[] indices, int[] weights, boolean preset) {
+		// Sort the flows by place index so that markings are accessed in order
+		int[][] pairs = new int[flows.size()][];
+		int i = 0;
+		for (Flow f : flows) {
+			String placeId = preset ? f.getSourceId() : f.getTargetId();
+			pairs[i++] = new int[] { placeIndices.get(placeId), f.getWeight() };
+		}
+		Arrays.sort(pairs, new Comparator<int[]>() {
+			@Override
+			public int compare(int[] a, int[] b) {
+				return Integer.compare(a[0], b[0]);
+			}
+		});
+		for (i = 0; i < pairs.length; i++) {
+			indices[i] = pairs[i][0];
+			weights[i] = pairs[i][1];
+		}
+	}
+
+	static private int[][] invert(int[][] transitionToPlaces, int numPlaces) {
+		int[] counts = new int[numPlaces];
+		for (int[] indices : transitionToPlaces)
+			for (int p : indices)
+				counts[p]++;
+		int[][] result = new int[numPlaces][];
+		for (int p = 0; p < numPlaces; p++)
+			result[p] = new int[counts[p]];
+		int[] fill = new int[numPlaces];
+		for (int t = 0; t < transitionToPlaces.length; t++)
+			for (int p : transitionToPlaces[t])
+				result[p][fill[p]++] = t;
+		return result;
+	}
+
+	/**
+	 * Get the Petri net that this snapshot was created from.
+	 * @return the Petri net.
+	 */
+	public PetriNet getNet() {
+		return pn;
+	}
+
+	/**
+	 * Get the number of places.
+	 * @return the number of places.
+	 */
+	public int getPlaceCount() {
+		return places.size();
+	}
+
+	/**
+	 * Get the number of transitions.
+	 * @return the number of transitions.
+	 */
+	public int getTransitionCount() {
+		return transitions.size();
+	}
+
+	/**
+	 * Get the place with the given index.
+	 * @param index the index of the place.
+	 * @return the place.
+	 */
+	public Place getPlace(int index) {
+		return places.get(index);
+	}
+
+	/**
+	 * Get the transition with the given index.
+	 * @param index the index of the transition.
+	 * @return the transition.
+	 */
+	public Transition getTransition(int index) {
+		return transitions.get(index);
+	}
+
+	/**
+	 * Get all places, ordered by their index.
+	 * @return an unmodifiable list of places.
+	 */
+	public List<Place> getPlaces() {
+		return placesView;
+	}
+
+	/**
+	 * Get all transitions, ordered by their index.
+	 * @return an unmodifiable list of transitions.
+	 */
+	public List<Transition> getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Get the index of the place with the given id.
+	 * @param id the id of the place.
+	 * @return the index of the place.
+	 * @throws NoSuchNodeException if there is no such place.
+	 */
+	public int getPlaceIndex(String id) {
+		Integer result = placeIndices.get(id);
+		if (result == null)
+			throw new NoSuchNodeException(pn, id);
+		return result;
+	}
+
+	/**
+	 * Get the index of the given place.
+	 * @param place the place.
+	 * @return the index of the place.
+	 * @throws NoSuchNodeException if there is no such place.
+	 */
+	public int getPlaceIndex(Place place) {
+		checkNet(place);
+		return getPlaceIndex(place.getId());
+	}
+
+	/**
+	 * Get the index of the transition with the given id.
+	 * @param id the id of the transition.
+	 * @return the index of the transition.
+	 * @throws NoSuchNodeException if there is no such transition.
+	 */
+	public int getTransitionIndex(String id) {
+		Integer result = transitionIndices.get(id);
+		if (result == null)
+			throw new NoSuchNodeException(pn, id);
+		return result;
+	}
+
+	/**
+	 * Get the index of the given transition.
+	 * @param transition the transition.
+	 * @return the index of the transition.
+	 * @throws NoSuchNodeException if there is no such transition.
+	 */
+	public int getTransitionIndex(Transition transition) {
+		checkNet(transition);
+		return getTransitionIndex(transition.getId());
+	}
+
+	private void checkNet(Node node) {
+		if (node.getGraph() != pn)
+			throw new StructureException("node '" + node.getId() + "' does not belong to net '"
+					+ pn.getName() + "'.");
+	}
+
+	/**
+	 * Get the indices of the places in the preset of a transition. The array is sorted and must not be modified.
+	 * @param transition the index of the transition.
+	 * @return the place indices.
+	 */
+	public int[] getPresetPlaces(int transition) {
+		return prePlaces[transition];
+	}
+
+	/**
+	 * Get the weights of the flows in the preset of a transition. The array is ordered like {@link
+	 * #getPresetPlaces(int)} and must not be modified.
+	 * @param transition the index of the transition.
+	 * @return the weights.
+	 */
+	public int[] getPresetWeights(int transition) {
+		return preWeights[transition];
+	}
+
+	/**
+	 * Get the indices of the places in the postset of a transition. The array is sorted and must not be modified.
+	 * @param transition the index of the transition.
+	 * @return the place indices.
+	 */
+	public int[] getPostsetPlaces(int transition) {
+		return postPlaces[transition];
+	}
+
+	/**
+	 * Get the weights of the flows in the postset of a transition. The array is ordered like {@link
+	 * #getPostsetPlaces(int)} and must not be modified.
+	 * @param transition the index of the transition.
+	 * @return the weights.
+	 */
+	public int[] getPostsetWeights(int transition) {
+		return postWeights[transition];
+	}
+
+	/**
+	 * Get the transitions that consume token from a place, that is the postset of the place. The array is sorted
+	 * and must not be modified.
+	 * @param place the index of the place.
+	 * @return the transition indices.
+	 */
+	public int[] getConsumers(int place) {
+		return consumers[place];
+	}
+
+	/**
+	 * Get the transitions that produce token on a place, that is the preset of the place. The array is sorted and
+	 * must not be modified.
+	 * @param place the index of the place.
+	 * @return the transition indices.
+	 */
+	public int[] getProducers(int place) {
+		return producers[place];
+	}
+
+	/**
+	 * Get the weight with which a transition consumes token from a place.
+	 * @param transition the index of the transition.
+	 * @param place the index of the place.
+	 * @return the weight of the flow from the place to the transition, or zero if no such flow exists.
+	 */
+	public int getPresetWeight(int transition, int place) {
+		int idx = Arrays.binarySearch(prePlaces[transition], place);
+		return idx < 0 ? 0 : preWeights[transition][idx];
+	}
+
+	/**
+	 * Get the weight with which a transition produces token on a place.
+	 * @param transition the index of the transition.
+	 * @param place the index of the place.
+	 * @return the weight of the flow from the transition to the place, or zero if no such flow exists.
+	 */
+	public int getPostsetWeight(int transition, int place) {
+		int idx = Arrays.binarySearch(postPlaces[transition], place);
+		return idx < 0 ? 0 : postWeights[transition][idx];
+	}
+
+	/**
+	 * Check if a transition is activated in a marking.
+	 * @param transition the index of the transition.
+	 * @param marking the marking vector.
+	 * @return true if the transition can fire.
+	 */
+	public boolean isFireable(int transition, long[] marking) {
+		int[] indices = prePlaces[transition];
+		int[] weights = preWeights[transition];
+		for (int i = 0; i < indices.length; i++) {
+			long value = marking[indices[i]];
+			if (value != OMEGA && value < weights[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Fire a transition in a marking. The given marking vector is not modified.
+	 * @param transition the index of the transition.
+	 * @param marking the marking vector.
+	 * @return the marking vector that is reached.
+	 * @throws TransitionFireException if the transition is not activated.
+	 */
+	public long[] fire(int transition, long[] marking) {
+		if (!isFireable(transition, marking))
+			throw new TransitionFireException("transition '" + transitions.get(transition).getId()
+				+ "' is not fireable in marking '" + toString(marking) + "'.");
+		long[] result = marking.clone();
+		int[] indices = prePlaces[transition];
+		int[] weights = preWeights[transition];
+		for (int i = 0; i < indices.length; i++) {
+			if (result[indices[i]] != OMEGA)
+				result[indices[i]] -= weights[i];
+		}
+		indices = postPlaces[transition];
+		weights = postWeights[transition];
+		for (int i = 0; i < indices.length; i++) {
+			if (result[indices[i]] != OMEGA)
+				result[indices[i]] += weights[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Check if a transition is activated in a marking.
+	 * @param transition the index of the transition.
+	 * @param marking the marking.
+	 * @return true if the transition can fire.
+	 */
+	public boolean isFireable(int transition, Marking marking) {
+		return isFireable(transition, tokensOf(marking));
+	}
+
+	/**
+	 * Fire a transition in a marking.
+	 * @param transition the index of the transition.
+	 * @param marking the marking.
+	 * @return the marking that is reached.
+	 * @throws TransitionFireException if the transition is not activated.
+	 */
+	public Marking fire(int transition, Marking marking) {
+		return new Marking(pn, places, fire(transition, tokensOf(marking)));
+	}
+
+	/**
+	 * Check if a marking vector covers another marking vector. If it does, a new marking vector is returned in which
+	 * every place that has more token than in the covered marking is set to {@link #OMEGA}.
+	 * @param own The covering marking vector.
+	 * @param other The marking vector that should be covered.
+	 * @return A marking vector with added omegas, or null if own does not cover other or both are equal.
+	 * @see Marking#cover(Marking)
+	 */
+	public static long[] cover(long[] own, long[] other) {
+		return Marking.coverTokens(own, other);
+	}
+
+	/**
+	 * Check if a marking vector contains OMEGA.
+	 * @param vector The marking vector.
+	 * @return true if some place is marked with {@link #OMEGA}.
+	 */
+	public static boolean hasOmega(long[] vector) {
+		for (long value : vector)
+			if (value == OMEGA)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Get the initial marking of the Petri net as a vector.
+	 * @return the initial marking vector.
+	 */
+	public long[] getInitialMarkingVector() {
+		return toVector(pn.getInitialMarking());
+	}
+
+	/**
+	 * Turn a marking into a marking vector.
+	 * @param marking the marking.
+	 * @return a new marking vector which can freely be modified.
+	 */
+	public long[] toVector(Marking marking) {
+		return tokensOf(marking).clone();
+	}
+
+	/**
+	 * Get the number of token on a place in a marking without creating any {@link Token} instances.
+	 * @param marking the marking.
+	 * @param place the index of the place.
+	 * @return the number of token, or {@link #OMEGA}.
+	 */
+	public long getTokenCount(Marking marking, int place) {
+		return tokensOf(marking)[place];
+	}
+
+	/**
+	 * Turn a marking vector into a marking.
+	 * @param vector the marking vector. It is copied.
+	 * @return the marking.
+	 */
+	public Marking toMarking(long[] vector) {
+		if (vector.length != places.size())
+			throw new StructureException("Marking vector has length " + vector.length + ", but net '"
+					+ pn.getName() + "' has " + places.size() + " places.");
+		for (long value : vector)
+			if (value < 0 && value != OMEGA)
+				throw new IllegalArgumentException("Marking vector contains the negative token count "
+						+ value + ".");
+		return new Marking(pn, places, vector.clone());
+	}
+
+	private long[] tokensOf(Marking marking) {
+		if (marking.getNet() != pn)
+			throw new StructureException("marking does not belong to net '" + pn.getName() + "'.");
+		long[] tokens = marking.getTokensArray();
+		if (marking.getPlacesListForTokens() != places)
+			throw new StructureException("The structure of net '" + pn.getName()
+					+ "' changed since it was compiled.");
+		return tokens;
+	}
+
+	/**
+	 * Create a string representation of a marking vector.
+	 * @param vector the marking vector.
+	 * @return the string representation.
+	 */
+	public String toString(long[] vector) {
+		StringBuilder result = new StringBuilder("[ ");
+		for (int i = 0; i < vector.length; i++) {
+			result.append("[").append(places.get(i).getId()).append(":");
+			result.append(Marking.toToken(vector[i])).append("] ");
+		}
+		result.append("]");
+		return result.toString();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
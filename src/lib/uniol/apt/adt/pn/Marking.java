@@ -19,28 +19,32 @@
 
 package uniol.apt.adt.pn;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 import uniol.apt.adt.exception.NoSuchNodeException;
 import uniol.apt.adt.exception.StructureException;
 
 /**
  * The Marking class represents the marking of a petri net. It stores the places of the net and the count of tokens on
- * the places in a hashmap.
+ * the places in a primitive array which is indexed like the places list of the net. OMEGA is represented by
+ * {@link #OMEGA_VALUE}. The {@link Token} instances handed out by this class are just a view on this array.
  * At each access the consistency of the places of the marking is checked with the petri net.
  * @author Manuel Gieseking
  */
 public class Marking {
 
+	/**
+	 * The value that is used in the token array to represent OMEGA. This is the same as {@link Token#getValue()}
+	 * of {@link Token#OMEGA}.
+	 */
+	static final long OMEGA_VALUE = -1;
+
 	private final PetriNet net;
 	private List<Place> placesList;
-	private List<Token> tokenList = new ArrayList<>();
+	private long[] tokens;
 
 	/**
 	 * Constructor. Sets the tokencount of every place of the given petri net to zero.
@@ -49,9 +53,7 @@ public class Marking {
 	public Marking(PetriNet net) {
 		this.net = net;
 		this.placesList = net.getPlacesList();
-		for (Place place : placesList) {
-			tokenList.add(Token.ZERO);
-		}
+		this.tokens = new long[placesList.size()];
 	}
 
 	/**
@@ -61,7 +63,20 @@ public class Marking {
 	public Marking(Marking m) {
 		this.net = m.net;
 		this.placesList = m.placesList;
-		this.tokenList = new ArrayList<>(m.tokenList);
+		this.tokens = m.tokens.clone();
+	}
+
+	/**
+	 * Internal constructor which takes ownership of the given token array.
+	 * @param net The net for which the marking instance gets created.
+	 * @param placesList The places list of the net that the token array is indexed with.
+	 * @param tokens The token counts. The array must not be modified by the caller afterwards.
+	 */
+	Marking(PetriNet net, List<Place> placesList, long[] tokens) {
+		assert placesList.size() == tokens.length;
+		this.net = net;
+		this.placesList = placesList;
+		this.tokens = tokens;
 	}
 
 	/**
@@ -74,14 +89,14 @@ public class Marking {
 		this.net = net;
 		if (this.net == m.net) {
 			this.placesList = m.placesList;
-			this.tokenList = new ArrayList<>(m.tokenList);
+			this.tokens = m.tokens.clone();
 		} else {
 			m.ensureConsistency();
 			this.placesList = this.net.getPlacesList();
-			this.tokenList = new ArrayList<>(Collections.nCopies(this.placesList.size(), Token.ZERO));
+			this.tokens = new long[this.placesList.size()];
 			for (int idx = 0; idx < m.placesList.size(); idx++) {
 				int ownIdx = placesList.indexOf(net.getPlace(m.placesList.get(idx).getId()));
-				this.tokenList.set(ownIdx, m.tokenList.get(idx));
+				this.tokens[ownIdx] = m.tokens[idx];
 			}
 		}
 	}
@@ -95,14 +110,14 @@ public class Marking {
 	public Marking(PetriNet net, Map<String, Integer> m) {
 		this.net = net;
 		this.placesList = net.getPlacesList();
-		this.tokenList = new ArrayList<>(Collections.nCopies(this.placesList.size(), Token.ZERO));
+		this.tokens = new long[this.placesList.size()];
 		for (Map.Entry<String, Integer> entry : m.entrySet()) {
 			int idx = this.placesList.indexOf(this.net.getPlace(entry.getKey()));
 			if (idx == -1) {
 				throw new StructureException("place '" + entry.getKey() + "' does not belong to net '"
 					+ this.net.getName() + "'.");
 			}
-			this.tokenList.set(idx, Token.valueOf(entry.getValue()));
+			this.tokens[idx] = Token.valueOf(entry.getValue()).getValue();
 		}
 		ensureConsistency();
 	}
@@ -122,8 +137,9 @@ public class Marking {
 			throw new StructureException("Count of tokencounts does not match the count of"
 				+ "places in graph '" + this.net.getName() + "'.");
 		}
+		this.tokens = new long[orderedTokenCounts.length];
 		for (int i = 0; i < orderedTokenCounts.length; i++)
-			this.tokenList.add(Token.valueOf(orderedTokenCounts[i]));
+			this.tokens[i] = Token.valueOf(orderedTokenCounts[i]).getValue();
 	}
 
 	/**
@@ -159,7 +175,7 @@ public class Marking {
 		ensureConsistency();
 		Marking result = fireTransitions(t);
 		this.placesList = result.placesList;
-		this.tokenList = result.tokenList;
+		this.tokens = result.tokens;
 		return this;
 	}
 
@@ -227,7 +243,7 @@ public class Marking {
 		}
 		Marking result = new Marking(this);
 		int idx = result.placesList.indexOf(p);
-		result.tokenList.set(idx, m);
+		result.tokens[idx] = m.getValue();
 		return result;
 	}
 
@@ -247,7 +263,7 @@ public class Marking {
 				+ this.net.getName() + "'.");
 		}
 		int idx = this.placesList.indexOf(p);
-		this.tokenList.set(idx, m);
+		this.tokens[idx] = m.getValue();
 	}
 
 	/**
@@ -312,7 +328,7 @@ public class Marking {
 		Token val = getToken(p);
 		Marking result = new Marking(this);
 		int idx = result.placesList.indexOf(p);
-		result.tokenList.set(idx, val.add(m));
+		result.tokens[idx] = val.add(m).getValue();
 		return result;
 	}
 
@@ -329,7 +345,7 @@ public class Marking {
 		ensureConsistency();
 		Token val = getToken(p);
 		int idx = this.placesList.indexOf(p);
-		this.tokenList.set(idx, val.add(m));
+		this.tokens[idx] = val.add(m).getValue();
 	}
 
 	/**
@@ -373,7 +389,7 @@ public class Marking {
 		Token val = getToken(p);
 		Marking result = new Marking(this);
 		int idx = result.placesList.indexOf(p);
-		result.tokenList.set(idx, val.add(m));
+		result.tokens[idx] = val.add(m).getValue();
 		return result;
 	}
 
@@ -391,7 +407,7 @@ public class Marking {
 		ensureConsistency();
 		Token val = getToken(p);
 		int idx = this.placesList.indexOf(p);
-		this.tokenList.set(idx, val.add(m));
+		this.tokens[idx] = val.add(m).getValue();
 	}
 
 	/**
@@ -423,7 +439,7 @@ public class Marking {
 		if (idx == -1) {
 			throw new NoSuchNodeException(net, p.getId());
 		}
-		return this.tokenList.get(idx);
+		return toToken(this.tokens[idx]);
 	}
 
 	/**
@@ -432,7 +448,47 @@ public class Marking {
 	 */
 	public Collection<Token> values() {
 		ensureConsistency();
-		return Collections.unmodifiableList(tokenList);
+		final long[] values = this.tokens;
+		return new AbstractList<Token>() {
+			@Override
+			public Token get(int index) {
+				return toToken(values[index]);
+			}
+
+			@Override
+			public int size() {
+				return values.length;
+			}
+		};
+	}
+
+	/**
+	 * Get the list of places that the token array of this marking is indexed with.
+	 * @return the list of places.
+	 */
+	List<Place> getPlacesListForTokens() {
+		ensureConsistency();
+		return this.placesList;
+	}
+
+	/**
+	 * Get the token array of this marking. The array is shared and must not be modified.
+	 * @return the token array, indexed like {@link #getPlacesListForTokens()}.
+	 */
+	long[] getTokensArray() {
+		ensureConsistency();
+		return this.tokens;
+	}
+
+	/**
+	 * Turn a value from the token array into a {@link Token} instance.
+	 * @param value the value.
+	 * @return the token.
+	 */
+	static Token toToken(long value) {
+		if (value == OMEGA_VALUE)
+			return Token.OMEGA;
+		return Token.valueOf(value);
 	}
 
 	/**
@@ -442,16 +498,16 @@ public class Marking {
 	final void ensureConsistency() {
 		if (placesList != net.getPlacesList()) {
 			List<Place> oldPlacesList = placesList;
-			List<Token> oldTokenList = tokenList;
-			this.placesList = this.net.getPlacesList();
-			this.tokenList = new ArrayList<>(this.placesList.size());
-			for (Place place : this.placesList) {
-				int idx = oldPlacesList.indexOf(place);
-				if (idx == -1)
-					this.tokenList.add(Token.ZERO);
-				else
-					this.tokenList.add(oldTokenList.get(idx));
+			long[] oldTokens = tokens;
+			List<Place> newPlacesList = this.net.getPlacesList();
+			long[] newTokens = new long[newPlacesList.size()];
+			for (int newIdx = 0; newIdx < newTokens.length; newIdx++) {
+				int idx = oldPlacesList.indexOf(newPlacesList.get(newIdx));
+				if (idx != -1)
+					newTokens[newIdx] = oldTokens[idx];
 			}
+			this.placesList = newPlacesList;
+			this.tokens = newTokens;
 		}
 	}
 
@@ -467,30 +523,10 @@ public class Marking {
 		o.ensureConsistency();
 		assert this.placesList == o.placesList;
 
-		Set<Integer> covered = new HashSet<>();
-		for (int idx = 0; idx < placesList.size(); idx++) {
-			Token own = this.tokenList.get(idx);
-			Token other = o.tokenList.get(idx);
-
-			int comp = own.compareTo(other);
-			if (comp < 0) {
-				return null;
-			} else if (comp > 0 && !own.isOmega()) {
-				covered.add(idx);
-			}
-		}
-		if (covered.isEmpty()) {
-			// Both markings are equal and thus we don't cover anything
+		long[] result = coverTokens(this.tokens, o.tokens);
+		if (result == null)
 			return null;
-		}
-
-		// We are covering the other marking, add the suitable omegas
-		Marking result = new Marking(this);
-		for (int idx : covered) {
-			result.tokenList.set(idx, Token.OMEGA);
-		}
-
-		return result;
+		return new Marking(net, placesList, result);
 	}
 
 	/**
@@ -507,29 +543,58 @@ public class Marking {
 		o.ensureConsistency();
 		assert this.placesList == o.placesList;
 
-		Set<Integer> covered = new HashSet<>();
-		for (int idx = 0; idx < placesList.size(); idx++) {
-			Token own = this.tokenList.get(idx);
-			Token other = o.tokenList.get(idx);
+		long[] result = coverTokens(this.tokens, o.tokens);
+		if (result == null)
+			return false;
+		this.tokens = result;
+		return true;
+	}
 
-			int comp = own.compareTo(other);
+	/**
+	 * Check if the first token array covers the second one. The token arrays are compared with OMEGA being larger
+	 * than any other value.
+	 * @param own The covering token array.
+	 * @param other The token array that should be covered.
+	 * @return A new token array with added omegas, or null if own does not cover other or both are equal.
+	 */
+	static long[] coverTokens(long[] own, long[] other) {
+		assert own.length == other.length;
+		boolean coveredAny = false;
+		for (int idx = 0; idx < own.length; idx++) {
+			int comp = compareTokens(own[idx], other[idx]);
 			if (comp < 0) {
-				return false;
-			} else if (comp > 0 && !own.isOmega()) {
-				covered.add(idx);
+				return null;
+			} else if (comp > 0 && own[idx] != OMEGA_VALUE) {
+				coveredAny = true;
 			}
 		}
-		if (covered.isEmpty()) {
+		if (!coveredAny) {
 			// Both markings are equal and thus we don't cover anything
-			return false;
+			return null;
 		}
 
 		// We are covering the other marking, add the suitable omegas
-		for (int index : covered) {
-			this.tokenList.set(index, Token.OMEGA);
+		long[] result = own.clone();
+		for (int idx = 0; idx < own.length; idx++) {
+			if (own[idx] != OMEGA_VALUE && own[idx] > other[idx] && other[idx] != OMEGA_VALUE)
+				result[idx] = OMEGA_VALUE;
 		}
+		return result;
+	}
 
-		return true;
+	/**
+	 * Compare two values from a token array like {@link Token#compareTo(Token)} does.
+	 * @param a The first value.
+	 * @param b The second value.
+	 * @return A negative number, zero or a positive number if the first value is less than, equal to or greater
+	 * than the second value.
+	 */
+	static int compareTokens(long a, long b) {
+		if (a == OMEGA_VALUE)
+			return (b == OMEGA_VALUE) ? 0 : 1;
+		if (b == OMEGA_VALUE)
+			return -1;
+		return (a < b) ? -1 : (a > b) ? 1 : 0;
 	}
 
 	/**
@@ -538,8 +603,8 @@ public class Marking {
 	 */
 	public boolean hasOmega() {
 		ensureConsistency();
-		for (Token val : tokenList) {
-			if (val.isOmega()) {
+		for (long val : tokens) {
+			if (val == OMEGA_VALUE) {
 				return true;
 			}
 		}
@@ -562,7 +627,7 @@ public class Marking {
 		for (int idx = 0; idx < placesList.size(); idx++) {
 			// Mix the hash codes more so that hopefully all bits of the resulting hash code are influenced.
 			int keyCode = placesList.get(idx).hashCode();
-			int valCode = tokenList.get(idx).hashCode();
+			int valCode = (int) tokens[idx];
 			hashCode += Integer.rotateLeft(valCode, keyCode);
 			hashCode += Integer.rotateLeft(keyCode, valCode);
 		}
@@ -587,7 +652,7 @@ public class Marking {
 			return false;
 		}
 		assert this.placesList == other.placesList;
-		return Objects.equals(this.tokenList, other.tokenList);
+		return Arrays.equals(this.tokens, other.tokens);
 	}
 
 	@Override
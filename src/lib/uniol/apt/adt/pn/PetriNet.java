@@ -1094,12 +1094,8 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	 * @return true if the transition can be fired under the given marking.
 	 */
 	boolean getTransitionIsFireable(String id, Marking m) {
-		for (Flow f : this.getPresetEdges(id)) {
-			if (m.getToken(f.getPlace()).compareTo(Token.valueOf(f.getWeight())) < 0) {
-				return false;
-			}
-		}
-		return true;
+		CompiledPetriNet compiled = CompiledPetriNet.get(this);
+		return compiled.isFireable(compiled.getTransitionIndex(id), m);
 	}
 
 	/**
@@ -1110,14 +1106,10 @@ public class PetriNet extends AbstractGraph<PetriNet, Flow, Node> implements IGr
 	 * @throws TransitionFireException thrown if the transition is not fireable under the given marking.
 	 */
 	Marking fireTransition(String id, Marking m) {
-		if (getTransitionIsFireable(id, m)) {
-			for (Flow f : this.getPresetEdges(id)) {
-				m = m.addTokenCount(f.getPlace(), -f.getWeight());
-			}
-			for (Flow f : this.getPostsetEdges(id)) {
-				m = m.addTokenCount(f.getPlace(), +f.getWeight());
-			}
-			return m;
+		CompiledPetriNet compiled = CompiledPetriNet.get(this);
+		int index = compiled.getTransitionIndex(id);
+		if (compiled.isFireable(index, m)) {
+			return compiled.fire(index, m);
 		} else {
 			throw new TransitionFireException("transition '" + id
 				+ "' is not fireable in marking '" + m.toString() + "'.");
@@ -0,0 +1,225 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.ts;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The arcs of a frozen {@link TransitionSystem}. For each state, its outgoing and incoming arcs are stored in a
+ * segment of an array (compressed sparse row form). Inside of a segment, arcs are sorted by the index of their event
+ * and then by the index of the other state, so that arcs with a given label are found by binary search.
+ */
+final class FrozenArcs {
+	private final Map<String, Integer> eventIndices;
+	private final int[] postOffsets;
+	private final Arc[] postArcs;
+	private final int[] postEvents;
+	private final int[] preOffsets;
+	private final Arc[] preArcs;
+	private final int[] preEvents;
+
+	/**
+	 * Construct the arcs of a transition system.
+	 * @param states The states of the transition system. The index of each state must be its position in this list.
+	 * @param eventIndices The index of each label of the transition system.
+	 * @param arcs All arcs of the transition system.
+	 */
+	FrozenArcs(List<State> states, Map<String, Integer> eventIndices, Collection<Arc> arcs) {
+		this.eventIndices = eventIndices;
+		int numStates = states.size();
+		postOffsets = new int[numStates + 1];
+		preOffsets = new int[numStates + 1];
+		for (Arc arc : arcs) {
+			postOffsets[arc.getSource().index + 1]++;
+			preOffsets[arc.getTarget().index + 1]++;
+		}
+		for (int i = 0; i < numStates; i++) {
+			postOffsets[i + 1] += postOffsets[i];
+			preOffsets[i + 1] += preOffsets[i];
+		}
+
+		postArcs = new Arc[arcs.size()];
+		preArcs = new Arc[arcs.size()];
+		int[] nextPost = Arrays.copyOf(postOffsets, numStates);
+		int[] nextPre = Arrays.copyOf(preOffsets, numStates);
+		for (Arc arc : arcs) {
+			postArcs[nextPost[arc.getSource().index]++] = arc;
+			preArcs[nextPre[arc.getTarget().index]++] = arc;
+		}
+
+		postEvents = sortSegments(postOffsets, postArcs, true);
+		preEvents = sortSegments(preOffsets, preArcs, false);
+	}
+
+	// Sort each segment by event and then by the other state and return the event index of each arc
+	private int[] sortSegments(int[] offsets, Arc[] arcs, final boolean outgoing) {
+		Comparator<Arc> comparator = new Comparator<Arc>() {
+			@Override
+			public int compare(Arc arc1, Arc arc2) {
+				int result = Integer.compare(eventIndices.get(arc1.getLabel()),
+						eventIndices.get(arc2.getLabel()));
+				if (result != 0)
+					return result;
+				if (outgoing)
+					return Integer.compare(arc1.getTarget().index, arc2.getTarget().index);
+				return Integer.compare(arc1.getSource().index, arc2.getSource().index);
+			}
+		};
+		for (int i = 0; i + 1 < offsets.length; i++)
+			Arrays.sort(arcs, offsets[i], offsets[i + 1], comparator);
+
+		int[] events = new int[arcs.length];
+		for (int i = 0; i < arcs.length; i++)
+			events[i] = eventIndices.get(arcs[i].getLabel());
+		return events;
+	}
+
+	Set<Arc> getPostsetEdges(State state) {
+		return new ArcSegment(postArcs, postOffsets[state.index], postOffsets[state.index + 1]);
+	}
+
+	Set<Arc> getPresetEdges(State state) {
+		return new ArcSegment(preArcs, preOffsets[state.index], preOffsets[state.index + 1]);
+	}
+
+	Set<Arc> getPostsetEdgesByLabel(State state, String label) {
+		return getSegmentByLabel(postOffsets, postArcs, postEvents, state, label);
+	}
+
+	Set<Arc> getPresetEdgesByLabel(State state, String label) {
+		return getSegmentByLabel(preOffsets, preArcs, preEvents, state, label);
+	}
+
+	private Set<Arc> getSegmentByLabel(int[] offsets, Arc[] arcs, int[] events, State state, String label) {
+		Integer event = eventIndices.get(label);
+		if (event == null)
+			return new ArcSegment(arcs, 0, 0);
+		int from = offsets[state.index];
+		int to = offsets[state.index + 1];
+		from = lowerBound(events, from, to, event);
+		return new ArcSegment(arcs, from, lowerBound(events, from, to, event + 1));
+	}
+
+	/**
+	 * Find the arc with the given source, target and label.
+	 * @param source The source state.
+	 * @param target The target state.
+	 * @param label The label.
+	 * @return The arc or null if there is no such arc.
+	 */
+	Arc getArc(State source, State target, String label) {
+		Integer event = eventIndices.get(label);
+		if (event == null)
+			return null;
+		int from = lowerBound(postEvents, postOffsets[source.index], postOffsets[source.index + 1], event);
+		int to = lowerBound(postEvents, from, postOffsets[source.index + 1], event + 1);
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			int index = postArcs[middle].getTarget().index;
+			if (index == target.index)
+				return postArcs[middle];
+			if (index < target.index)
+				from = middle + 1;
+			else
+				to = middle;
+		}
+		return null;
+	}
+
+	/**
+	 * Get all arcs, sorted by their source state.
+	 * @return All arcs.
+	 */
+	Set<Arc> getArcs() {
+		return new ArcSegment(postArcs, 0, postArcs.length);
+	}
+
+	// Find the first index in [from, to) whose value is at least the given key
+	static private int lowerBound(int[] values, int from, int to, int key) {
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			if (values[middle] < key)
+				from = middle + 1;
+			else
+				to = middle;
+		}
+		return from;
+	}
+
+	// An unmodifiable view of a segment of an array of arcs
+	static private class ArcSegment extends AbstractSet<Arc> {
+		private final Arc[] arcs;
+		private final int from;
+		private final int to;
+
+		private ArcSegment(Arc[] arcs, int from, int to) {
+			this.arcs = arcs;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			for (int i = from; i < to; i++)
+				if (arcs[i] == o)
+					return true;
+			return false;
+		}
+
+		@Override
+		public Iterator<Arc> iterator() {
+			return new Iterator<Arc>() {
+				private int next = from;
+
+				@Override
+				public boolean hasNext() {
+					return next < to;
+				}
+
+				@Override
+				public Arc next() {
+					if (next >= to)
+						throw new NoSuchElementException();
+					return arcs[next++];
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
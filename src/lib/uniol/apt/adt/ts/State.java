@@ -32,11 +32,15 @@ import uniol.apt.adt.Node;
  * @author Dennis-Michael Borde, Manuel Gieseking
  */
 public class State extends Node<TransitionSystem, Arc, State> {
-	final Map<ArcKey, Arc> presetEdges = new HashMap<>();
-	final Map<ArcKey, Arc> postsetEdges = new HashMap<>();
+	// These maps are dropped when the transition system is frozen
+	Map<ArcKey, Arc> presetEdges = new HashMap<>();
+	Map<ArcKey, Arc> postsetEdges = new HashMap<>();
 
-	final Map<String, Set<Arc>> postsetEdgesByLabel = new HashMap<>();
-	final Map<String, Set<Arc>> presetEdgesByLabel = new HashMap<>();
+	Map<String, Set<Arc>> postsetEdgesByLabel = new HashMap<>();
+	Map<String, Set<Arc>> presetEdgesByLabel = new HashMap<>();
+
+	// The index of this state in a frozen transition system
+	int index = -1;
 
 	/**
 	 * Constructor.
@@ -80,6 +84,9 @@ public class State extends Node<TransitionSystem, Arc, State> {
 	 *         have the given label
 	 */
 	public Set<Arc> getPresetEdgesByLabel(String label) {
+		FrozenArcs frozen = graph.getFrozenArcs();
+		if (frozen != null)
+			return frozen.getPresetEdgesByLabel(this, label);
 		Set<Arc> result = presetEdgesByLabel.get(label);
 		if (result == null)
 			return Collections.emptySet();
@@ -109,6 +116,9 @@ public class State extends Node<TransitionSystem, Arc, State> {
 	 *         label
 	 */
 	public Set<Arc> getPostsetEdgesByLabel(String label) {
+		FrozenArcs frozen = graph.getFrozenArcs();
+		if (frozen != null)
+			return frozen.getPostsetEdgesByLabel(this, label);
 		Set<Arc> result = postsetEdgesByLabel.get(label);
 		if (result == null)
 			return Collections.emptySet();
@@ -127,12 +137,18 @@ public class State extends Node<TransitionSystem, Arc, State> {
 
 	@Override
 	public Set<Arc> getPresetEdges() {
+		FrozenArcs frozen = graph.getFrozenArcs();
+		if (frozen != null)
+			return frozen.getPresetEdges(this);
 		// This really behaves like a Set, but the Map doesn't know that its values are unique
 		return new CollectionToUnmodifiableSetAdapter<>(presetEdges.values());
 	}
 
 	@Override
 	public Set<Arc> getPostsetEdges() {
+		FrozenArcs frozen = graph.getFrozenArcs();
+		if (frozen != null)
+			return frozen.getPostsetEdges(this);
 		// This really behaves like a Set, but the Map doesn't know that its values are unique
 		return new CollectionToUnmodifiableSetAdapter<>(postsetEdges.values());
 	}
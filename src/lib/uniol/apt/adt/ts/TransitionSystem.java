@@ -22,11 +22,13 @@ package uniol.apt.adt.ts;
 import static org.apache.commons.collections4.iterators.EmptyIterator.emptyIterator;
 
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -63,6 +65,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	private final Map<String, Bag<State>> postsetNodes = new SoftMap<>();
 	private int numArcs = 0;
 	private State initialState = null;
+	private FrozenArcs frozenArcs = null;
 
 	/**
 	 * Creates a new TransitionSystem with no name (e.g. "").
@@ -89,12 +92,9 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		for (Map.Entry<String, State> entry : ts.states.entrySet()) {
 			addState(entry.getKey(), new State(this, entry.getValue()));
 		}
-		// Iterate over all ArcKey instances
-		for (State source : ts.states.values()) {
-			for (Map.Entry<ArcKey, Arc> entry : source.postsetEdges.entrySet()) {
-				addEvent(entry.getValue().getEvent().getLabel());
-				addArc(entry.getKey(), new Arc(this, entry.getValue()));
-			}
+		for (Arc arc : ts.getEdges()) {
+			addEvent(arc.getLabel());
+			addArc(new ArcKey(arc.getSourceId(), arc.getTargetId(), arc.getLabel()), new Arc(this, arc));
 		}
 		// Copy extensions on the alphabet
 		for (Event event : alphabetSet)
@@ -103,6 +103,64 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		copyExtensions(ts);
 	}
 
+	/**
+	 * Freeze this transition system. Afterwards, no states or arcs can be added, removed or relabeled, but all
+	 * other operations work as before and extensions can still be modified. States are numbered, events are
+	 * indexed and the arcs of each state are stored in arrays sorted by label instead of the hash maps which are
+	 * needed for modifications. This saves lots of memory for large transition systems and makes queries by label
+	 * cheap. Use the copy constructor to get a modifiable copy of a frozen transition system.
+	 * @return this transition system.
+	 */
+	public TransitionSystem freeze() {
+		if (frozenArcs != null)
+			return this;
+
+		List<State> stateList = new ArrayList<>(states.values());
+		for (int i = 0; i < stateList.size(); i++)
+			stateList.get(i).index = i;
+		Map<String, Integer> eventIndices = new HashMap<>();
+		for (Event event : alphabetSet)
+			eventIndices.put(event.getLabel(), eventIndices.size());
+		List<Arc> arcs = new ArrayList<>(getEdges());
+		frozenArcs = new FrozenArcs(stateList, eventIndices, arcs);
+
+		for (State state : stateList) {
+			state.presetEdges = null;
+			state.postsetEdges = null;
+			state.presetEdgesByLabel = null;
+			state.postsetEdgesByLabel = null;
+		}
+		presetNodes.clear();
+		postsetNodes.clear();
+		return this;
+	}
+
+	/**
+	 * Check if this transition system was frozen.
+	 * @return true if {@link #freeze} was called.
+	 */
+	public boolean isFrozen() {
+		return frozenArcs != null;
+	}
+
+	/**
+	 * Get the arcs of this transition system if it is frozen.
+	 * @return The arcs or null if this transition system is not frozen.
+	 */
+	FrozenArcs getFrozenArcs() {
+		return frozenArcs;
+	}
+
+	/**
+	 * Throw an exception if this transition system is frozen.
+	 * @throws StructureException if this transition system is frozen.
+	 */
+	private void checkNotFrozen() {
+		if (frozenArcs != null)
+			throw new StructureException("Transition system '" + getName() + "' is frozen and cannot be "
+					+ "modified.");
+	}
+
 	/**
 	 * Sets the initial state of the TransitionSystem.
 	 * @param state the state which should get inital.
@@ -209,6 +267,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		if (label == null) {
 			throw new IllegalArgumentException("label == null");
 		}
+		checkNotFrozen();
 		ArcKey key = createArcKey(sourceId, targetId, label);
 		if (states.get(sourceId).postsetEdges.containsKey(key)) {
 			throw new ArcExistsException(this, key);
@@ -265,6 +324,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 	 * @return the state
 	 */
 	private State addState(String id, State state) {
+		checkNotFrozen();
 		states.put(id, state);
 		// update pre- and postsets
 		presetNodes.put(id, new HashBag<State>());
@@ -393,6 +453,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		if (label == null) {
 			throw new IllegalArgumentException("label == null");
 		}
+		checkNotFrozen();
 		// createArcKey() makes sure the node exists
 		ArcKey key = createArcKey(sourceId, targetId, label);
 		Arc a = states.get(sourceId).postsetEdges.get(key);
@@ -459,6 +520,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		if (state == null) {
 			throw new NoSuchNodeException(this, id);
 		}
+		checkNotFrozen();
 
 		// update arcs
 		Collection<Arc> pe = new HashSet<>(getPresetEdges(id));
@@ -529,7 +591,12 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 			throw new IllegalArgumentException("label == null");
 		}
 		// createArcKey() makes sure the node exists
-		Arc a = states.get(sourceId).postsetEdges.get(createArcKey(sourceId, targetId, label));
+		ArcKey key = createArcKey(sourceId, targetId, label);
+		Arc a;
+		if (frozenArcs != null)
+			a = frozenArcs.getArc(states.get(sourceId), states.get(targetId), label);
+		else
+			a = states.get(sourceId).postsetEdges.get(key);
 		if (a == null) {
 			throw new NoSuchEdgeException(this, sourceId, targetId, label);
 		}
@@ -651,6 +718,7 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 		if (newLabel == null) {
 			throw new IllegalArgumentException("label == null");
 		}
+		checkNotFrozen();
 		Event newEvent = addEvent(newLabel);
 		if (!oldEvent.equals(newEvent)) {
 			// createArcKey() makes sure the node exists
@@ -724,6 +792,8 @@ public class TransitionSystem extends AbstractGraph<TransitionSystem, Arc, State
 
 	@Override
 	public Set<Arc> getEdges() {
+		if (frozenArcs != null)
+			return frozenArcs.getArcs();
 		return new AbstractSet<Arc>() {
 			@Override
 			public int size() {
@@ -0,0 +1,636 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.util.equations;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.equations.InequalitySystem.Inequality;
+
+import static uniol.apt.util.DebugUtil.debug;
+
+/**
+ * Solve an inequality system over the integers without an SMT solver. This is an alternative to {@link
+ * InequalitySystemSolver} with the same interface. The linear relaxation is solved with an exact dual simplex that
+ * works on integers only (fraction-free pivoting). Integer solutions are found via branch and bound. If all
+ * constraints are of the form <pre>sum(a[i] * x[i]) &lt;= b</pre> with b not positive, every rational solution can
+ * be scaled to an integer solution and no branching is needed.
+ *
+ * Constraints that are asserted outside of a real disjunction are kept in a tableau which stays feasible between
+ * calls to {@link #findSolution()}. Thus, after {@link #push()} and {@link #pop()}, the next call only has to work
+ * on the constraints that were added since.
+ */
+public class BranchAndBoundSolver {
+	public static final int DEFAULT_NODE_LIMIT = 1000;
+	public static final int DEFAULT_PIVOT_LIMIT = 100000;
+	// Number of pivots without progress after which the simplex uses Bland's rule to avoid cycling
+	private static final int MAX_DEGENERATE_PIVOTS = 20;
+
+	private final int nodeLimit;
+	private final int pivotLimit;
+	private final List<InequalitySystem[]> systems = new LinkedList<>();
+	private final List<List<List<Row>>> disjunctions = new LinkedList<>();
+	private final Deque<Integer> systemsLengthStack = new LinkedList<>();
+	private final Deque<Integer> disjunctionsLengthStack = new LinkedList<>();
+	private final Deque<Tableau> tableauStack = new LinkedList<>();
+	private Tableau tableau = new Tableau();
+
+	/**
+	 * Exception that is thrown when the solver gives up before it knows whether a solution exists.
+	 */
+	static public class LimitExceededException extends Exception {
+		public static final long serialVersionUID = 0L;
+
+		/**
+		 * Constructor creates a new LimitExceededException with message @message.
+		 * @param message A string containing a describing message.
+		 */
+		public LimitExceededException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * Construct a new solver with the default limits.
+	 */
+	public BranchAndBoundSolver() {
+		this(DEFAULT_NODE_LIMIT, DEFAULT_PIVOT_LIMIT);
+	}
+
+	/**
+	 * Construct a new solver.
+	 * @param nodeLimit The maximal number of branches that a call to {@link #findSolution()} may explore.
+	 * @param pivotLimit The maximal number of simplex steps that a call to {@link #findSolution()} may do.
+	 */
+	public BranchAndBoundSolver(int nodeLimit, int pivotLimit) {
+		this.nodeLimit = nodeLimit;
+		this.pivotLimit = pivotLimit;
+	}
+
+	/**
+	 * Assert a new set of inequality systems.
+	 * When called with a parameter like <pre>{ A, B }</pre> where A and B are inequality systems, this adds the
+	 * requirement that either A or B have to be satisfied to solutions.
+	 * @param disjunction Contains a disjunction of inequality systems.
+	 * @return This solver instance
+	 */
+	public BranchAndBoundSolver assertDisjunction(InequalitySystem... disjunction) {
+		systems.add(disjunction);
+		if (disjunction.length == 0)
+			return this;
+
+		List<List<Row>> alternatives = new ArrayList<>();
+		for (InequalitySystem system : disjunction)
+			alternatives.addAll(toRows(system));
+		if (alternatives.size() == 1) {
+			// No choice to make, so this is added to the tableau directly
+			for (Row row : alternatives.get(0))
+				tableau.addRow(row);
+		} else if (alternatives.isEmpty()) {
+			tableau.setInfeasible();
+		} else {
+			disjunctions.add(alternatives);
+		}
+		return this;
+	}
+
+	/**
+	 * Push the current solver state onto a stack. All following modifications can be undone via {@link #pop()}.
+	 * @return This solver instance
+	 */
+	public BranchAndBoundSolver push() {
+		systemsLengthStack.addLast(systems.size());
+		disjunctionsLengthStack.addLast(disjunctions.size());
+		try {
+			// Make the tableau feasible before copying it, so that this work is not repeated after pop()
+			tableau.restoreFeasibility(new Search());
+		} catch (LimitExceededException e) {
+			// The following call to findSolution() will run into this limit again
+		}
+		tableauStack.addLast(tableau);
+		tableau = new Tableau(tableau);
+		return this;
+	}
+
+	/**
+	 * Pop the last disjunction that was added from the solver context.
+	 * This undoes the effects of the last call to {@link #push()}.
+	 * @return This solver instance
+	 */
+	public BranchAndBoundSolver pop() {
+		systems.subList(systemsLengthStack.removeLast(), systems.size()).clear();
+		disjunctions.subList(disjunctionsLengthStack.removeLast(), disjunctions.size()).clear();
+		tableau = tableauStack.removeLast();
+		return this;
+	}
+
+	/**
+	 * Calculate a solution to the conjunction of disjunctions that were added to this solver.
+	 * @return A solution to the systems or an empty list if unsolvable
+	 * @throws LimitExceededException if the solver gave up
+	 */
+	public List<BigInteger> findSolution() throws LimitExceededException {
+		int numVariables = 0;
+		for (InequalitySystem[] disjunction : systems)
+			for (InequalitySystem system : disjunction)
+				numVariables = Math.max(numVariables, system.getNumberOfVariables());
+
+		Search search = new Search();
+		BigInteger[] result = search.search(tableau, 0);
+		List<BigInteger> solution;
+		if (result == null) {
+			solution = Collections.emptyList();
+			debug("No solution found for:");
+			for (InequalitySystem[] disjunction : systems) {
+				debug("at least one of:");
+				for (int i = 0; i < disjunction.length; i++)
+					debug(disjunction[i]);
+			}
+		} else {
+			solution = new ArrayList<>(numVariables);
+			for (int i = 0; i < numVariables; i++)
+				solution.add(i < result.length ? result[i] : BigInteger.ZERO);
+			debug("Solution after ", search.nodes, " nodes and ", search.pivots, " pivots:");
+			debug(solution);
+			assert isSolution(solution) : solution + " should solve this system but does not";
+		}
+		return Collections.unmodifiableList(solution);
+	}
+
+	private boolean isSolution(List<BigInteger> solution) {
+		int index = 0;
+		for (InequalitySystem[] disjunction : systems) {
+			boolean foundSolution = false;
+			for (int i = 0; i < disjunction.length; i++) {
+				foundSolution = disjunction[i].fulfilledBy(solution);
+				if (foundSolution)
+					break;
+			}
+			if (!foundSolution && disjunction.length > 0) {
+				debug("Not a valid solution for sub-system with index ", index);
+				return false;
+			}
+			index++;
+		}
+		return true;
+	}
+
+	/**
+	 * Translate an inequality system into constraints of the form <pre>sum(a[i] * x[i]) &lt;= b</pre>. Since an
+	 * inequality with comparator "!=" is a disjunction of two such constraints, this can produce several
+	 * alternatives. An empty system has no alternatives, because {@link InequalitySystemSolver} treats it as
+	 * unsatisfiable.
+	 * @param system The system to translate.
+	 * @return A list of alternatives, each being a list of constraints that must hold together.
+	 */
+	static private List<List<Row>> toRows(InequalitySystem system) {
+		List<List<Row>> result = new ArrayList<>();
+		if (system.isEmpty())
+			return result;
+
+		result.add(new ArrayList<Row>());
+		for (Inequality inequality : system) {
+			BigInteger[] coefficients = inequality.getCoefficients().toArray(new BigInteger[0]);
+			BigInteger[] negated = new BigInteger[coefficients.length];
+			for (int i = 0; i < coefficients.length; i++)
+				negated[i] = coefficients[i].negate();
+			BigInteger lhs = inequality.getLeftHandSide();
+
+			// The inequality is "lhs [comparator] sum", all rows are "sum <= bound"
+			switch (inequality.getComparator()) {
+				case LESS_THAN_OR_EQUAL:
+					addToAll(result, new Row(negated, lhs.negate()));
+					break;
+				case LESS_THAN:
+					addToAll(result, new Row(negated, lhs.negate().subtract(BigInteger.ONE)));
+					break;
+				case EQUAL:
+					addToAll(result, new Row(negated, lhs.negate()));
+					addToAll(result, new Row(coefficients, lhs));
+					break;
+				case GREATER_THAN:
+					addToAll(result, new Row(coefficients, lhs.subtract(BigInteger.ONE)));
+					break;
+				case GREATER_THAN_OR_EQUAL:
+					addToAll(result, new Row(coefficients, lhs));
+					break;
+				case UNEQUAL:
+					List<List<Row>> greater = new ArrayList<>();
+					for (List<Row> alternative : result)
+						greater.add(new ArrayList<>(alternative));
+					addToAll(result, new Row(coefficients, lhs.subtract(BigInteger.ONE)));
+					addToAll(greater, new Row(negated, lhs.negate().subtract(BigInteger.ONE)));
+					result.addAll(greater);
+					break;
+				default:
+					throw new AssertionError("Came across a Comparator with an invalid value: "
+							+ inequality.getComparator());
+			}
+		}
+		return result;
+	}
+
+	static private void addToAll(List<List<Row>> alternatives, Row row) {
+		for (List<Row> alternative : alternatives)
+			alternative.add(row);
+	}
+
+	/**
+	 * A constraint of the form <pre>sum(coefficients[i] * x[i]) &lt;= bound</pre>.
+	 */
+	static private class Row {
+		private final BigInteger[] coefficients;
+		private final BigInteger bound;
+
+		private Row(BigInteger[] coefficients, BigInteger bound) {
+			this.coefficients = coefficients;
+			this.bound = bound;
+		}
+	}
+
+	/**
+	 * State of a single call to {@link #findSolution()}.
+	 */
+	private class Search {
+		private int nodes;
+		private int pivots;
+
+		private BigInteger[] search(Tableau current, int disjunction) throws LimitExceededException {
+			if (!current.restoreFeasibility(this))
+				return null;
+
+			// First pick an alternative for each disjunction
+			if (disjunction < disjunctions.size()) {
+				for (List<Row> alternative : disjunctions.get(disjunction)) {
+					Tableau next = new Tableau(current);
+					for (Row row : alternative)
+						next.addRow(row);
+					BigInteger[] result = search(next, disjunction + 1);
+					if (result != null)
+						return result;
+				}
+				return null;
+			}
+
+			// Then do branch and bound
+			BigInteger denominator = current.denominator;
+			BigInteger[] values = current.getValueNumerators();
+			int fractional = -1;
+			for (int i = 0; i < values.length; i++) {
+				if (values[i].mod(denominator).signum() != 0) {
+					fractional = i;
+					break;
+				}
+			}
+			if (fractional == -1) {
+				for (int i = 0; i < values.length; i++)
+					values[i] = values[i].divide(denominator);
+				return values;
+			}
+			if (current.homogeneous) {
+				// Scale the rational solution to an integer solution
+				BigInteger gcd = denominator;
+				for (BigInteger value : values)
+					gcd = gcd.gcd(value);
+				for (int i = 0; i < values.length; i++)
+					values[i] = values[i].divide(gcd);
+				return values;
+			}
+
+			if (++nodes > nodeLimit)
+				throw new LimitExceededException("Branch and bound needs more than " + nodeLimit
+						+ " nodes");
+			BigInteger[] qr = values[fractional].divideAndRemainder(denominator);
+			BigInteger floor = qr[0];
+			if (qr[1].signum() < 0)
+				floor = floor.subtract(BigInteger.ONE);
+
+			// x <= floor
+			BigInteger[] unit = new BigInteger[fractional + 1];
+			Arrays.fill(unit, BigInteger.ZERO);
+			unit[fractional] = BigInteger.ONE;
+			Tableau lower = new Tableau(current);
+			lower.addRow(new Row(unit, floor));
+			BigInteger[] result = search(lower, disjunction);
+			if (result != null)
+				return result;
+
+			// -x <= -floor - 1
+			BigInteger[] negatedUnit = new BigInteger[fractional + 1];
+			Arrays.fill(negatedUnit, BigInteger.ZERO);
+			negatedUnit[fractional] = BigInteger.ONE.negate();
+			Tableau upper = new Tableau(current);
+			upper.addRow(new Row(negatedUnit, floor.add(BigInteger.ONE).negate()));
+			return search(upper, disjunction);
+		}
+
+		private void countPivot() throws LimitExceededException {
+			if (++pivots > pivotLimit)
+				throw new LimitExceededException("The simplex needs more than " + pivotLimit + " steps");
+		}
+	}
+
+	/**
+	 * Simplex tableau for a system of constraints <pre>sum(a[i] * x[i]) &lt;= b</pre> with variables that may be
+	 * negative. Each constraint gets a non-negative slack variable. The tableau only has columns for the non-basic
+	 * variables; a row describes its basic variable as <pre>D * basic + sum(row[j] * nonbasic[j]) = rhs</pre>.
+	 * All entries are integers with the common denominator D. Pivoting follows Edmonds: After a pivot, all entries
+	 * outside of the pivot row and column are divided by the previous denominator, which is always exact, and the
+	 * pivot element becomes the new denominator. The original variables may be negative, so they are moved into
+	 * the basis as soon as possible and never leave it again.
+	 */
+	static private class Tableau {
+		private final List<BigInteger[]> rows;
+		private final List<BigInteger> rhs;
+		// Variables are numbered in the order in which they are created, this order is used for Bland's rule
+		private final List<Integer> rowVariables;
+		private final List<Integer> columnVariables;
+		// For each variable: The index of the original variable or -1 for slack variables
+		private final List<Integer> originalVariables;
+		// For each original variable: Its number
+		private final List<Integer> variableNumbers;
+		private BigInteger denominator;
+		// Are all bounds non-positive?
+		private boolean homogeneous;
+		private boolean infeasible;
+
+		private Tableau() {
+			rows = new ArrayList<>();
+			rhs = new ArrayList<>();
+			rowVariables = new ArrayList<>();
+			columnVariables = new ArrayList<>();
+			originalVariables = new ArrayList<>();
+			variableNumbers = new ArrayList<>();
+			denominator = BigInteger.ONE;
+			homogeneous = true;
+		}
+
+		private Tableau(Tableau other) {
+			rows = new ArrayList<>(other.rows.size() + 1);
+			for (BigInteger[] row : other.rows)
+				rows.add(row.clone());
+			rhs = new ArrayList<>(other.rhs);
+			rowVariables = new ArrayList<>(other.rowVariables);
+			columnVariables = new ArrayList<>(other.columnVariables);
+			originalVariables = new ArrayList<>(other.originalVariables);
+			variableNumbers = new ArrayList<>(other.variableNumbers);
+			denominator = other.denominator;
+			homogeneous = other.homogeneous;
+			infeasible = other.infeasible;
+		}
+
+		private void setInfeasible() {
+			infeasible = true;
+		}
+
+		private boolean isOriginal(int variable) {
+			return originalVariables.get(variable) >= 0;
+		}
+
+		private int newVariable(int original) {
+			originalVariables.add(original);
+			return originalVariables.size() - 1;
+		}
+
+		private void addColumn(int variable) {
+			int numColumns = columnVariables.size();
+			for (int i = 0; i < rows.size(); i++) {
+				BigInteger[] row = Arrays.copyOf(rows.get(i), numColumns + 1);
+				row[numColumns] = BigInteger.ZERO;
+				rows.set(i, row);
+			}
+			columnVariables.add(variable);
+		}
+
+		private void addRow(Row constraint) {
+			if (infeasible)
+				return;
+			if (constraint.bound.signum() > 0)
+				homogeneous = false;
+
+			// New original variables are non-basic and do not appear in any existing row
+			while (variableNumbers.size() < constraint.coefficients.length) {
+				int variable = newVariable(variableNumbers.size());
+				variableNumbers.add(variable);
+				addColumn(variable);
+			}
+
+			// Coefficient of each variable in the new constraint
+			BigInteger[] coefficients = new BigInteger[originalVariables.size()];
+			Arrays.fill(coefficients, BigInteger.ZERO);
+			for (int i = 0; i < constraint.coefficients.length; i++)
+				coefficients[variableNumbers.get(i)] = constraint.coefficients[i];
+
+			// Express the constraint in terms of the non-basic variables by substituting the basic variables:
+			// row := D * constraint - sum(constraint[basic[i]] * rows[i])
+			int numColumns = columnVariables.size();
+			BigInteger[] row = new BigInteger[numColumns];
+			for (int column = 0; column < numColumns; column++)
+				row[column] = coefficients[columnVariables.get(column)].multiply(denominator);
+			BigInteger bound = constraint.bound.multiply(denominator);
+			for (int i = 0; i < rows.size(); i++) {
+				BigInteger factor = coefficients[rowVariables.get(i)];
+				if (factor.signum() == 0)
+					continue;
+				BigInteger[] other = rows.get(i);
+				for (int column = 0; column < numColumns; column++)
+					if (other[column].signum() != 0)
+						row[column] = row[column].subtract(factor.multiply(other[column]));
+				bound = bound.subtract(factor.multiply(rhs.get(i)));
+			}
+
+			rows.add(row);
+			rhs.add(bound);
+			rowVariables.add(newVariable(-1));
+		}
+
+		/**
+		 * Move original variables into the basis. Afterwards, every non-basic original variable has a zero
+		 * coefficient in all rows of slack variables, so it does not matter that it may be negative.
+		 */
+		private void enterOriginalVariables(Search search) throws LimitExceededException {
+			for (int column = 0; column < columnVariables.size(); column++) {
+				if (!isOriginal(columnVariables.get(column)))
+					continue;
+				for (int i = 0; i < rows.size(); i++) {
+					if (!isOriginal(rowVariables.get(i)) && rows.get(i)[column].signum() != 0) {
+						search.countPivot();
+						pivot(i, column);
+						break;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Make all basic slack variables non-negative. Each negative slack variable is handled in turn by the
+		 * primal simplex: Its value is maximised while all slack variables that are already non-negative stay
+		 * non-negative. This stops as soon as the variable can leave the basis at value zero. If its maximum is
+		 * still negative, the constraints are unsatisfiable. Bland's rule guarantees termination. When only a
+		 * few constraints were added to a feasible tableau, this only needs a few steps.
+		 * @param search The search to which pivots are counted.
+		 * @return true if the constraints are satisfiable over the rationals.
+		 */
+		private boolean restoreFeasibility(Search search) throws LimitExceededException {
+			if (infeasible)
+				return false;
+			enterOriginalVariables(search);
+			while (true) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+
+				// Pick the negative slack variable with the smallest number
+				int target = -1;
+				for (int i = 0; i < rows.size(); i++) {
+					int variable = rowVariables.get(i);
+					if (rhs.get(i).signum() < 0 && !isOriginal(variable)
+							&& (target == -1 || variable < rowVariables.get(target)))
+						target = i;
+				}
+				if (target == -1)
+					return true;
+
+				int degeneratePivots = 0;
+				while (true) {
+					int targetVariable = rowVariables.get(target);
+
+					// The entering variable is the one that increases the target the most per unit. After
+					// too many pivots without progress, switch to the one with the smallest number.
+					boolean bland = degeneratePivots > MAX_DEGENERATE_PIVOTS;
+					BigInteger[] row = rows.get(target);
+					int entering = -1;
+					for (int column = 0; column < row.length; column++) {
+						int variable = columnVariables.get(column);
+						if (row[column].signum() >= 0 || isOriginal(variable))
+							continue;
+						if (entering == -1)
+							entering = column;
+						else if (bland ? variable < columnVariables.get(entering)
+								: row[column].compareTo(row[entering]) < 0)
+							entering = column;
+					}
+					if (entering == -1) {
+						// A sum of non-negative variables with non-negative coefficients cannot be
+						// negative
+						infeasible = true;
+						return false;
+					}
+
+					// Ratio test over the target and all non-negative slack variables. On ties, the
+					// target is preferred and then the variable with the smallest number.
+					int leaving = target;
+					BigInteger ratioNumerator = rhs.get(target).negate();
+					BigInteger ratioDenominator = row[entering].negate();
+					for (int i = 0; i < rows.size(); i++) {
+						BigInteger coefficient = rows.get(i)[entering];
+						if (i == target || coefficient.signum() <= 0 || rhs.get(i).signum() < 0
+								|| isOriginal(rowVariables.get(i)))
+							continue;
+						int cmp = rhs.get(i).multiply(ratioDenominator)
+							.compareTo(ratioNumerator.multiply(coefficient));
+						if (cmp < 0 || (cmp == 0 && leaving != target && (bland
+									? rowVariables.get(i) < rowVariables.get(leaving)
+									: coefficient.compareTo(ratioDenominator) > 0))) {
+							leaving = i;
+							ratioNumerator = rhs.get(i);
+							ratioDenominator = coefficient;
+						}
+					}
+					if (leaving != target && ratioNumerator.signum() == 0)
+						degeneratePivots++;
+					search.countPivot();
+					pivot(leaving, entering);
+					if (leaving == target)
+						break;
+					// The target is still negative, otherwise it would have been the leaving variable
+					assert rowVariables.get(target) == targetVariable && rhs.get(target).signum() < 0;
+				}
+			}
+		}
+
+		private void pivot(int pivotRow, int pivotColumn) {
+			BigInteger[] prow = rows.get(pivotRow);
+			BigInteger prhs = rhs.get(pivotRow);
+			BigInteger pivot = prow[pivotColumn];
+			for (int i = 0; i < rows.size(); i++) {
+				if (i == pivotRow)
+					continue;
+				BigInteger[] row = rows.get(i);
+				BigInteger factor = row[pivotColumn];
+				for (int column = 0; column < row.length; column++)
+					row[column] = update(row[column], pivot, factor, prow[column]);
+				rhs.set(i, update(rhs.get(i), pivot, factor, prhs));
+				// The column now belongs to the leaving variable
+				row[pivotColumn] = factor.negate();
+			}
+			prow[pivotColumn] = denominator;
+
+			int entering = columnVariables.get(pivotColumn);
+			columnVariables.set(pivotColumn, rowVariables.get(pivotRow));
+			rowVariables.set(pivotRow, entering);
+			denominator = pivot;
+
+			// Keep the denominator positive, so that signs of entries are the signs of the values
+			if (denominator.signum() < 0) {
+				denominator = denominator.negate();
+				for (int i = 0; i < rows.size(); i++) {
+					BigInteger[] row = rows.get(i);
+					for (int column = 0; column < row.length; column++)
+						row[column] = row[column].negate();
+					rhs.set(i, rhs.get(i).negate());
+				}
+			}
+		}
+
+		// Calculate (value * pivot - factor * pivotRowValue) / denominator, which is an exact division
+		private BigInteger update(BigInteger value, BigInteger pivot, BigInteger factor, BigInteger pivotRowValue) {
+			BigInteger result = value.multiply(pivot);
+			if (factor.signum() != 0 && pivotRowValue.signum() != 0)
+				result = result.subtract(factor.multiply(pivotRowValue));
+			if (result.signum() == 0 || denominator.equals(BigInteger.ONE))
+				return result;
+			BigInteger[] qr = result.divideAndRemainder(denominator);
+			assert qr[1].signum() == 0 : result + " is not divisible by " + denominator;
+			return qr[0];
+		}
+
+		/**
+		 * Get the values of the original variables in the current basic solution.
+		 * @return The numerators of the values. The denominator is {@link #denominator}.
+		 */
+		private BigInteger[] getValueNumerators() {
+			BigInteger[] result = new BigInteger[variableNumbers.size()];
+			Arrays.fill(result, BigInteger.ZERO);
+			for (int i = 0; i < rows.size(); i++) {
+				int original = originalVariables.get(rowVariables.get(i));
+				if (original >= 0)
+					result[original] = rhs.get(i);
+			}
+			return result;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
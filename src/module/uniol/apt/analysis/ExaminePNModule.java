@@ -36,6 +36,7 @@ import uniol.apt.analysis.fc.WeightedFreeChoice;
 import uniol.apt.analysis.fcnet.FCNet;
 import uniol.apt.analysis.homogeneous.Homogeneous;
 import uniol.apt.analysis.live.Live;
+import uniol.apt.analysis.live.LivenessAnalysis;
 import uniol.apt.analysis.mf.MergeFree;
 import uniol.apt.analysis.on.OutputNonBranching;
 import uniol.apt.analysis.persistent.PersistentNet;
@@ -167,10 +168,11 @@ public class ExaminePNModule extends AbstractModule implements InterruptibleModu
 			reversible.check();
 			output.setReturnValue("bcf", Boolean.class, new BCF().check(pn) == null);
 			output.setReturnValue("bicf", Boolean.class, new BiCF().check(pn) == null);
+			LivenessAnalysis liveness = LivenessAnalysis.get(pn);
 			output.setReturnValue("strongly_live", Boolean.class,
-				Live.findNonStronglyLiveTransition(pn) == null);
+				liveness.findNonStronglyLiveTransition() == null);
 			output.setReturnValue("weakly_live", Boolean.class,
-				Live.findNonWeaklyLiveTransition(pn) == null);
+				liveness.findNonWeaklyLiveTransition() == null);
 			output.setReturnValue("persistent", Boolean.class, persistent.isPersistent());
 			output.setReturnValue("backwards_persistent", Boolean.class,
 					backwardsPersistent.isPersistent());
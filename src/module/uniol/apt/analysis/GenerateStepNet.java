@@ -27,12 +27,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Formatter;
 import java.util.LinkedList;
+import java.util.List;
 
+import uniol.apt.adt.pn.CompiledPetriNet;
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Place;
-import uniol.apt.adt.pn.Flow;
-import uniol.apt.adt.pn.Token;
 import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
 import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
@@ -59,8 +59,9 @@ public class GenerateStepNet {
 	static final public String TS_EDGE_TEMPLATE = "%1$s -> %2$s[label=\"%3$s\"];%n";
 
 	final private PetriNet pn;
+	final private CompiledPetriNet compiled;
 	final private PetriNet stepNet;
-	final private Collection<Marking> maximalReachableMarkings;
+	final private List<long[]> maximalReachableMarkings = new ArrayList<>();
 	final private Collection<Collection<Transition>> disabledSteps = new LinkedList<>();
 
 	/**
@@ -69,7 +70,9 @@ public class GenerateStepNet {
 	 */
 	public GenerateStepNet(PetriNet pn) {
 		this.pn = pn;
-		this.maximalReachableMarkings = getMaximalReachableMarkings(pn);
+		this.compiled = CompiledPetriNet.get(pn);
+		for (Marking mark : getMaximalReachableMarkings(pn))
+			this.maximalReachableMarkings.add(compiled.toVector(mark));
 		this.stepNet = generateStepNet();
 	}
 
@@ -106,14 +109,28 @@ public class GenerateStepNet {
 	 * @return true iff for every place p: mark1.getToken(p) &lt;= mark2.getToken(p)
 	 */
 	static public boolean isMarkingLessOrEqual(Marking mark1, Marking mark2) {
-		for (Place p : mark1.getNet().getPlaces()) {
-			int cmp = mark1.getToken(p).compareTo(mark2.getToken(p));
-			if (cmp > 0)
+		CompiledPetriNet compiled = CompiledPetriNet.get(mark1.getNet());
+		for (int p = 0; p < compiled.getPlaceCount(); p++) {
+			if (!isLessOrEqual(compiled.getTokenCount(mark1, p), compiled.getTokenCount(mark2, p)))
 				return false;
 		}
 		return true;
 	}
 
+	/**
+	 * Compare two entries of marking vectors.
+	 * @param value1 The first value.
+	 * @param value2 The second value.
+	 * @return true iff value1 &lt;= value2 where {@link CompiledPetriNet#OMEGA} is larger than everything else.
+	 */
+	static private boolean isLessOrEqual(long value1, long value2) {
+		if (value2 == CompiledPetriNet.OMEGA)
+			return true;
+		if (value1 == CompiledPetriNet.OMEGA)
+			return false;
+		return value1 <= value2;
+	}
+
 	/**
 	 * Get all pairwise uncomparable reachable markings of a Petri net.
 	 * @param pn The Petri net whose markings should be computed
@@ -173,21 +190,13 @@ public class GenerateStepNet {
 		}
 
 		// How many token does this step need to fire?
-		Map<Place, Token> requiredToken = new HashMap<>();
-		for (Place place : pn.getPlaces()) {
-			int requiredOnPlace = 0;
-			for (Flow flow : place.getPostsetEdges()) {
-				if (transitions.contains(flow.getTarget()))
-					requiredOnPlace += flow.getWeight();
-			}
-			requiredToken.put(place, Token.valueOf(requiredOnPlace));
-		}
+		long[] requiredToken = getStepVector(transitions, true);
 
 		// Is there any reachable marking which has enough token for this step to fire?
-		for (Marking mark : maximalReachableMarkings) {
+		for (long[] mark : maximalReachableMarkings) {
 			boolean enabled = true;
-			for (Map.Entry<Place, Token> entry : requiredToken.entrySet()) {
-				if (mark.getToken(entry.getKey()).compareTo(entry.getValue()) < 0) {
+			for (int p = 0; p < requiredToken.length; p++) {
+				if (!isLessOrEqual(requiredToken[p], mark[p])) {
 					enabled = false;
 					break;
 				}
@@ -202,6 +211,24 @@ public class GenerateStepNet {
 		return false;
 	}
 
+	/**
+	 * Sum up the pre- or postset weights of all transitions of a step.
+	 * @param transitions The transitions that are part of the step.
+	 * @param preset Should the preset weights or the postset weights be summed up?
+	 * @return A vector indexed like the places of the compiled net.
+	 */
+	private long[] getStepVector(Collection<Transition> transitions, boolean preset) {
+		long[] result = new long[compiled.getPlaceCount()];
+		for (Transition t : transitions) {
+			int index = compiled.getTransitionIndex(t);
+			int[] places = preset ? compiled.getPresetPlaces(index) : compiled.getPostsetPlaces(index);
+			int[] weights = preset ? compiled.getPresetWeights(index) : compiled.getPostsetWeights(index);
+			for (int i = 0; i < places.length; i++)
+				result[places[i]] += weights[i];
+		}
+		return result;
+	}
+
 	// Create and return the step net of our Petri net
 	private PetriNet generateStepNet() {
 		PetriNet result = new PetriNet("Step net of " + pn.getName());
@@ -226,19 +253,12 @@ public class GenerateStepNet {
 			// Create the step
 			Transition t = result.createTransition();
 			t.putExtension(TRANSITIONS_KEY, getStepLabel(transitions));
+			long[] forwardWeights = getStepVector(transitions, true);
+			long[] backwardWeights = getStepVector(transitions, false);
 			for (Place place : pn.getPlaces()) {
-				int backwardWeight = 0;
-				int forwardWeight = 0;
-				for (Flow flow : place.getPostsetEdges()) {
-					if (transitions.contains(flow.getTarget()))
-						forwardWeight += flow.getWeight();
-				}
-				for (Flow flow : place.getPresetEdges()) {
-					if (transitions.contains(flow.getSource()))
-						backwardWeight += flow.getWeight();
-				}
-				result.createFlow(placeMap.get(place), t, forwardWeight);
-				result.createFlow(t, placeMap.get(place), backwardWeight);
+				int index = compiled.getPlaceIndex(place);
+				result.createFlow(placeMap.get(place), t, (int) forwardWeights[index]);
+				result.createFlow(t, placeMap.get(place), (int) backwardWeights[index]);
 			}
 		}
 
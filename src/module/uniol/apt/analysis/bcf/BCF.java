@@ -19,13 +19,12 @@
 
 package uniol.apt.analysis.bcf;
 
-import static java.util.Collections.disjoint;
-
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import uniol.apt.adt.pn.CompiledPetriNet;
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Transition;
@@ -113,7 +112,20 @@ public class BCF {
 		// Precondition: t1 and t2 are activated/fireable under mark
 
 		// If the intersection of the two presets is *not* empty, the Petri net in question is not BCF.
-		return disjoint(t1.getPreset(), t2.getPreset());
+		CompiledPetriNet compiled = CompiledPetriNet.get(mark.getNet());
+		int[] preset1 = compiled.getPresetPlaces(compiled.getTransitionIndex(t1));
+		int[] preset2 = compiled.getPresetPlaces(compiled.getTransitionIndex(t2));
+		// Both presets are sorted, so they can be intersected by merging them
+		int i = 0, j = 0;
+		while (i < preset1.length && j < preset2.length) {
+			if (preset1[i] == preset2[j])
+				return false;
+			if (preset1[i] < preset2[j])
+				i++;
+			else
+				j++;
+		}
+		return true;
 	}
 }
 
@@ -19,12 +19,10 @@
 
 package uniol.apt.analysis.bicf;
 
-import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.CompiledPetriNet;
 import uniol.apt.adt.pn.Marking;
-import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.bcf.BCF;
-import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
  * Tests if a Petri net is binary-conflict-free. A Petri Net is BiCF if
@@ -50,21 +48,29 @@ public class BiCF extends BCF {
 
 		// We only have to check places from which both transitions take tokens, because places which are only
 		// used by either transition must already have enough token, thanks to the precondition.
-		for (Flow a1 : t1.getPresetEdges()) {
-			Place place = a1.getPlace();
-
-			// Find an arc in the other preset that goes to the same place
-			for (Flow a2 : t2.getPresetEdges()) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-				if (!a2.getPlace().equals(place)) {
-					continue;
-				}
+		CompiledPetriNet compiled = CompiledPetriNet.get(mark.getNet());
+		int index1 = compiled.getTransitionIndex(t1);
+		int index2 = compiled.getTransitionIndex(t2);
+		int[] preset1 = compiled.getPresetPlaces(index1);
+		int[] preset2 = compiled.getPresetPlaces(index2);
+		int[] weights1 = compiled.getPresetWeights(index1);
+		int[] weights2 = compiled.getPresetWeights(index2);
 
+		// Both presets are sorted by place index, so the common places are found by merging them
+		int i = 0, j = 0;
+		while (i < preset1.length && j < preset2.length) {
+			if (preset1[i] < preset2[j]) {
+				i++;
+			} else if (preset1[i] > preset2[j]) {
+				j++;
+			} else {
 				// Check if the marking has enough token for both arcs
-				if (mark.getToken(place).getValue() < a1.getWeight() + a2.getWeight()) {
+				long value = compiled.getTokenCount(mark, preset1[i]);
+				if (value != CompiledPetriNet.OMEGA && value < (long) weights1[i] + weights2[j]) {
 					return false;
 				}
+				i++;
+				j++;
 			}
 		}
 
@@ -59,15 +59,16 @@ public class Bisimulation {
 	public Boolean checkBisimulation(TransitionSystem ltsOne, TransitionSystem ltsTwo) {
 		//Step 1: Check if the LTS are bisimilar.
 		// if at least one of the LTS is deterministic, we can choose a more simple algorithm
-		this.lts1 = ltsOne;
-		this.lts2 = ltsTwo;
+		// States are added to the transition systems below, so frozen ones have to be copied
+		this.lts1 = ltsOne.isFrozen() ? new TransitionSystem(ltsOne) : ltsOne;
+		this.lts2 = ltsTwo.isFrozen() ? new TransitionSystem(ltsTwo) : ltsTwo;
 		Deterministic lts1Deterministic = new Deterministic(this.lts1);
 		Deterministic lts2Deterministic = new Deterministic(this.lts2);
 		// initialise extensions for the ability to put label on states
-		for (State s : ltsOne.getNodes()) {
+		for (State s : this.lts1.getNodes()) {
 			s.putExtension("label", "");
 		}
-		for (State s : ltsTwo.getNodes()) {
+		for (State s : this.lts2.getNodes()) {
 			s.putExtension("label", "");
 		}
 		// choose algorithm
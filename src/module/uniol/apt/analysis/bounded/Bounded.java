@@ -19,18 +19,26 @@
 
 package uniol.apt.analysis.bounded;
 
-import java.util.Collection;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import uniol.apt.adt.pn.CompiledPetriNet;
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Place;
-import uniol.apt.adt.pn.Token;
 import uniol.apt.adt.pn.Transition;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
 import uniol.apt.analysis.coverability.CoverabilityGraphNode;
+import uniol.apt.analysis.coverability.ExternalReachabilityGraph;
+import uniol.apt.analysis.coverability.MinimalCoverabilitySet;
+import uniol.apt.analysis.coverability.StubbornSetSearch;
 import uniol.apt.analysis.language.FiringSequence;
+import uniol.apt.analysis.symmetry.Symmetries;
+import uniol.apt.analysis.symmetry.SymmetryReducedGraph;
+import uniol.apt.util.Pair;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
@@ -56,36 +64,222 @@ public class Bounded {
 	 * @return An instance of BoundedResult describing the result. This function never returns null.
 	 */
 	static public BoundedResult checkBounded(PetriNet pn) {
-		Collection<Place> places = pn.getPlaces();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
 		CoverabilityGraph cover = CoverabilityGraph.get(pn);
+		int[] places = getPlaceIndices(pn, compiled);
 		List<Transition> sequence = new FiringSequence();
 		Place witness = null;
 		long k = 0;
 
 		// Now check all markings and places and remember the largest token count that is seen.
 		for (CoverabilityGraphNode n : cover.getNodes()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 			Marking mark = n.getMarking();
-			for (Place p : places) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-				Token val = mark.getToken(p);
+			for (int p : places) {
+				long val = compiled.getTokenCount(mark, p);
 
-				if (val.isOmega()) {
+				if (val == CompiledPetriNet.OMEGA) {
 					// The net is unbounded, it can't get worse than this
 					CoverabilityGraphNode covered = n.getCoveredNode();
-					return new BoundedResult(pn, p, null, covered.getFiringSequence(),
+					return new BoundedResult(pn, compiled.getPlace(p), null, covered.getFiringSequence(),
 							n.getFiringSequenceFromCoveredNode());
 				}
-				if (k < val.getValue()) {
+				if (k < val) {
 					// We found a larger k, update our variables
-					witness = p;
+					witness = compiled.getPlace(p);
 					sequence = n.getFiringSequence();
-					k = val.getValue();
+					k = val;
 				}
 			}
 		}
 
 		return new BoundedResult(pn, witness, k, sequence, Collections.<Transition>emptyList());
 	}
+
+	/**
+	 * Check if the Petri net is (k-)bounded with the help of its minimal coverability set. This is much cheaper than
+	 * {@link #checkBounded(PetriNet)} for unbounded nets, but usually slower for large bounded nets.
+	 * @param cover The minimal coverability set of the Petri net to check.
+	 * @return An instance of BoundedResult describing the result. This function never returns null.
+	 * @see MinimalCoverabilitySet
+	 */
+	static public BoundedResult checkBounded(MinimalCoverabilitySet cover) {
+		PetriNet pn = cover.getPetriNet();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		if (!cover.isBounded())
+			return new BoundedResult(pn, cover.getUnboundedPlace(), null, cover.getSequenceToCovered(),
+					cover.getCoveringSequence());
+
+		// Every reachable marking is covered by a maximal one, so these contain the largest token counts.
+		int[] places = getPlaceIndices(pn, compiled);
+		List<Marking> markings = cover.getMarkings();
+		List<Transition> sequence = new FiringSequence();
+		Place witness = null;
+		long k = 0;
+		for (int i = 0; i < markings.size(); i++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			Marking mark = markings.get(i);
+			for (int p : places) {
+				long val = compiled.getTokenCount(mark, p);
+				if (k < val) {
+					// We found a larger k, update our variables
+					witness = compiled.getPlace(p);
+					sequence = cover.getFiringSequence(i);
+					k = val;
+				}
+			}
+		}
+
+		return new BoundedResult(pn, witness, k, sequence, Collections.<Transition>emptyList());
+	}
+
+	/**
+	 * Check if the Petri net is (k-)bounded by exploring its reachability graph in external memory. This works
+	 * for state spaces which do not fit into memory.
+	 * @param pn The Petri net to check.
+	 * @param directory The directory in which temporary files are created.
+	 * @return An instance of BoundedResult describing the result. This function never returns null.
+	 * @throws IOException If accessing the temporary files fails.
+	 * @see ExternalReachabilityGraph
+	 */
+	static public BoundedResult checkBounded(PetriNet pn, File directory) throws IOException {
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		int[] places = getPlaceIndices(pn, compiled);
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn, directory)) {
+			if (!graph.isBounded()) {
+				Marking covering = graph.getMarking(graph.getCoveringState());
+				Marking covered = graph.getMarking(graph.getCoveredState());
+				for (int p : places) {
+					if (compiled.getTokenCount(covering, p) > compiled.getTokenCount(covered, p))
+						return new BoundedResult(pn, compiled.getPlace(p), null,
+								graph.getFiringSequence(graph.getCoveredState()),
+								graph.getFiringSequenceFromCoveredState());
+				}
+				throw new AssertionError("Covering marking " + covering + " is not larger than "
+						+ covered);
+			}
+
+			Place witness = null;
+			long witnessState = 0;
+			long k = 0;
+			for (long state = 0; state < graph.getStateCount(); state++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				Marking mark = graph.getMarking(state);
+				for (int p : places) {
+					long val = compiled.getTokenCount(mark, p);
+					if (k < val) {
+						witness = compiled.getPlace(p);
+						witnessState = state;
+						k = val;
+					}
+				}
+			}
+
+			List<Transition> sequence = new FiringSequence();
+			if (witness != null)
+				sequence = graph.getFiringSequence(witnessState);
+			return new BoundedResult(pn, witness, k, sequence, Collections.<Transition>emptyList());
+		}
+	}
+
+	/**
+	 * Check if the Petri net is (k-)bounded by exploring its reachability graph modulo the given symmetries. The
+	 * witness firing sequence reaches a marking in which the witness place has the maximal number of tokens, but
+	 * it may differ from the one found by {@link #checkBounded(PetriNet)}.
+	 * @param pn The Petri net to check.
+	 * @param symmetries The symmetries of the Petri net.
+	 * @return An instance of BoundedResult describing the result. This function never returns null.
+	 * @see SymmetryReducedGraph
+	 */
+	static public BoundedResult checkBounded(PetriNet pn, Symmetries symmetries) {
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn, symmetries);
+		if (!graph.isBounded())
+			return new BoundedResult(pn, graph.getUnboundedPlace(), null,
+					graph.getFiringSequence(graph.getCoveredState()),
+					graph.getFiringSequenceFromCoveredState());
+
+		// Every marking in the orbit of a representative has the same multiset of token counts
+		int witnessState = -1;
+		long k = 0;
+		for (int state = 0; state < graph.getStateCount(); state++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			Marking mark = graph.getRepresentative(state);
+			for (int p = 0; p < compiled.getPlaceCount(); p++) {
+				long val = compiled.getTokenCount(mark, p);
+				if (k < val) {
+					witnessState = state;
+					k = val;
+				}
+			}
+		}
+
+		if (witnessState == -1)
+			return new BoundedResult(pn, null, k, new FiringSequence(),
+					Collections.<Transition>emptyList());
+		Marking mark = graph.getMarking(witnessState);
+		Place witness = null;
+		for (int p : getPlaceIndices(pn, compiled)) {
+			if (compiled.getTokenCount(mark, p) == k) {
+				witness = compiled.getPlace(p);
+				break;
+			}
+		}
+		return new BoundedResult(pn, witness, k, graph.getFiringSequence(witnessState),
+				Collections.<Transition>emptyList());
+	}
+
+	/**
+	 * Find a firing sequence after which some place has more than k tokens. Instead of calculating the full
+	 * coverability graph, this searches a state space that is reduced with stubborn sets once for every place.
+	 * This is much cheaper for highly concurrent nets, but does not calculate the smallest bound.
+	 * @param pn The Petri net to check.
+	 * @param k The bound that should be checked.
+	 * @return null if the Petri net is k-bounded, else a place and a firing sequence after which this place has
+	 * more than k tokens.
+	 * @see StubbornSetSearch
+	 */
+	static public Pair<Place, List<Transition>> findSequenceExceeding(PetriNet pn, long k) {
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		for (int p : getPlaceIndices(pn, compiled)) {
+			Place place = compiled.getPlace(p);
+			StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.exceeds(pn, place, k));
+			switch (search.search()) {
+				case FOUND:
+					return new Pair<>(place, search.getFiringSequence());
+				case UNBOUNDED:
+					return pumpUnboundedPlace(pn, search, k);
+				case NOT_FOUND:
+				default:
+					break;
+			}
+		}
+		return null;
+	}
+
+	// Repeat the covering sequence until the unbounded place has more than k tokens
+	static private Pair<Place, List<Transition>> pumpUnboundedPlace(PetriNet pn, StubbornSetSearch search,
+			long k) {
+		Place place = search.getUnboundedPlace();
+		List<Transition> sequence = new ArrayList<>(search.getSequenceToCovered());
+		Transition[] cycle = search.getCoveringSequence().toArray(new Transition[0]);
+		Marking marking = pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0]));
+		while (marking.getToken(place).getValue() <= k) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			sequence.addAll(search.getCoveringSequence());
+			marking = marking.fireTransitions(cycle);
+		}
+		return new Pair<Place, List<Transition>>(place, sequence);
+	}
+
+	// Look at places in the order of getPlaces() so that the witness is the same as with the object graph
+	static private int[] getPlaceIndices(PetriNet pn, CompiledPetriNet compiled) {
+		int[] places = new int[compiled.getPlaceCount()];
+		int i = 0;
+		for (Place p : pn.getPlaces())
+			places[i++] = compiled.getPlaceIndex(p);
+		return places;
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
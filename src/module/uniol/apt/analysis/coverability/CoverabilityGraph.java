@@ -20,15 +20,19 @@
 package uniol.apt.analysis.coverability;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import uniol.apt.adt.StructuralExtensionRemover;
 import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.pn.CompiledPetriNet;
 import uniol.apt.adt.pn.Flow;
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.Node;
@@ -57,10 +61,14 @@ public class CoverabilityGraph {
 
 	// The Petri net that we are handling
 	private final PetriNet pn;
-	// Map from visited markings to the corresponding nodes
-	private final Map<Marking, CoverabilityGraphNode> states = new HashMap<>();
+	// Index-based snapshot of the Petri net's structure that is used for firing transitions
+	private final CompiledPetriNet compiled;
+	// Set of visited markings; the id of a marking in the store is the index of its node in nodes
+	private final MarkingStore store;
 	// Index into nodes; all entries before this index already generated their postset.
 	private int indexOfFirstUnvisited = 0;
+	// Were all postsets generated in breadth-first order? Then nodes are numbered as by parallel exploration.
+	private boolean breadthFirst = true;
 	// List of nodes that were already visited, this is a list to implement iterators.
 	private final List<CoverabilityGraphNode> nodes = new ArrayList<>();
 	// Are we generating a coverability or a reachability graph?
@@ -109,7 +117,7 @@ public class CoverabilityGraph {
 		if (extension != null && extension instanceof CoverabilityGraph)
 			return (CoverabilityGraph) extension;
 
-		CoverabilityGraph result = new CoverabilityGraph(pn, reachabilityGraph);
+		CoverabilityGraph result = new CoverabilityGraph(pn, reachabilityGraph, new PackedMarkingStore());
 		// Save this coverability graph as an extension, but make sure that it is removed if the structure of
 		// the Petri net is changed in any way.
 		pn.putExtension(key, result, ExtensionProperty.NOCOPY);
@@ -117,17 +125,69 @@ public class CoverabilityGraph {
 		return result;
 	}
 
+	/**
+	 * Construct the coverability graph for a given Petri net using the given store for the visited markings. The
+	 * result is not cached, so each call creates a new instance. This can be used to explore large state spaces
+	 * with a different memory trade-off, for example with a {@link HashCompactionMarkingStore}. If the store cannot
+	 * give back markings, a node only keeps its marking until its postset is generated. Afterwards its marking is
+	 * recomputed when needed by firing the transitions on the path from the initial node.
+	 * @param pn The Petri net whose coverability graph is wanted.
+	 * @param store An empty store which is used for remembering the visited markings.
+	 * @return A coverability graph.
+	 */
+	static public CoverabilityGraph get(PetriNet pn, MarkingStore store) {
+		return new CoverabilityGraph(pn, false, store);
+	}
+
+	/**
+	 * Construct the reachability graph for a given Petri net using the given store for the visited markings. The
+	 * result is not cached, so each call creates a new instance. Keep in mind that the reachability graph of a
+	 * Petri net can be infinite!
+	 * @param pn The Petri net whose reachability graph is wanted.
+	 * @param store An empty store which is used for remembering the visited markings.
+	 * @return A coverability graph.
+	 * @see #get(PetriNet, MarkingStore)
+	 */
+	static public CoverabilityGraph getReachabilityGraph(PetriNet pn, MarkingStore store) {
+		return new CoverabilityGraph(pn, true, store);
+	}
+
+	/**
+	 * Get the minimal coverability set of a Petri net. This is an alternative to the coverability graph which only
+	 * contains the maximal markings and no arcs. It is much cheaper to calculate for unbounded nets.
+	 * @param pn The Petri net whose minimal coverability set is wanted.
+	 * @return The minimal coverability set.
+	 * @see MinimalCoverabilitySet#get(PetriNet)
+	 */
+	static public MinimalCoverabilitySet getMinimalCoverabilitySet(PetriNet pn) {
+		return MinimalCoverabilitySet.get(pn);
+	}
+
 	/**
 	 * Construct the coverability graph for a given Petri net. This constructor is actually cheap. The coverability
 	 * graph is constructed on-demand when needed. If you want to force full calculation of the graph, use the
 	 * {@link #calculateNodes() calculateNodes} method.
 	 * @param pn The Petri net whose coverability graph is wanted.
 	 * @param reachabilityGraph Should just reachability be checked and coverability be ignored?
+	 * @param store An empty store which is used for remembering the visited markings.
 	 */
-	private CoverabilityGraph(PetriNet pn, boolean reachabilityGraph) {
+	private CoverabilityGraph(PetriNet pn, boolean reachabilityGraph, MarkingStore store) {
+		if (store.size() != 0)
+			throw new IllegalArgumentException("The given marking store must be empty");
 		this.pn = pn;
+		this.compiled = CompiledPetriNet.get(pn);
 		this.reachabilityGraph = reachabilityGraph;
-		getNode(null, pn.getInitialMarking(), null, null);
+		this.store = store;
+		getNode(null, compiled.getInitialMarkingVector(), null, null);
+	}
+
+	/**
+	 * Check if this graph is guaranteed to be complete. This is not the case if a lossy {@link MarkingStore} is
+	 * used.
+	 * @return true if no states were missed due to the marking store.
+	 */
+	public boolean isExact() {
+		return store.isExact();
 	}
 
 	/**
@@ -142,6 +202,76 @@ public class CoverabilityGraph {
 		}
 	}
 
+	/**
+	 * Calculate all nodes of the reachability graph with the threads of the given pool. The result is the same as
+	 * with {@link #calculateNodes()}, including the numbering of the nodes and the firing sequences that reach
+	 * them. Coverability graphs and graphs with a lossy {@link MarkingStore} are calculated sequentially, because
+	 * their result depends on the order in which markings are found. The same holds if the postset of some node
+	 * was already generated out of breadth-first order, since the existing nodes would be numbered differently.
+	 * @param pool The pool whose threads should explore the state space.
+	 * @return Number of nodes in the graph.
+	 */
+	public int calculateNodes(ForkJoinPool pool) {
+		if (!reachabilityGraph || !store.isExact())
+			return calculateNodes();
+		// Nodes which already exist keep their index. This only works if they were generated in breadth-first
+		// order, which is not the case if getPostsetEdges() was called on some node out of order.
+		if (!breadthFirst)
+			return calculateNodes();
+		if (indexOfFirstUnvisited >= nodes.size())
+			return nodes.size();
+
+		ParallelReachabilityExplorer explorer = new ParallelReachabilityExplorer(compiled, pool);
+		List<ParallelReachabilityExplorer.ExploredState> states =
+			explorer.explore(getMarkingVector(getInitialNode()));
+		assert existingNodesMatch(states);
+
+		// Only the transitions and targets of the explored states are needed from now on. States of nodes
+		// which already have their postset are not needed at all.
+		for (int index = 0; index < nodes.size(); index++) {
+			if (index < indexOfFirstUnvisited)
+				states.set(index, null);
+			else
+				states.get(index).releaseMarking();
+		}
+
+		// The store numbers new markings in the order in which they are added, which is the canonical order
+		for (int index = nodes.size(); index < states.size(); index++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			ParallelReachabilityExplorer.ExploredState state = states.get(index);
+			CoverabilityGraphNode node = getNode(compiled.getTransition(state.getReachingTransition()),
+					state.getMarking(), nodes.get(state.getParent()), null);
+			assert node.getIndex() == index;
+			state.releaseMarking();
+		}
+
+		for (int index = indexOfFirstUnvisited; index < states.size(); index++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			ParallelReachabilityExplorer.ExploredState state = states.get(index);
+			CoverabilityGraphNode node = nodes.get(index);
+			int[] transitions = state.getTransitions();
+			Set<CoverabilityGraphEdge> postset = new HashSet<>();
+			for (int i = 0; i < transitions.length; i++) {
+				CoverabilityGraphNode target = nodes.get(state.getTargetIndex(i));
+				Transition t = compiled.getTransition(transitions[i]);
+				postset.add(new CoverabilityGraphEdge(t, node, target));
+			}
+			node.setPostsetEdges(postset);
+			// Allow the explored state to be garbage collected
+			states.set(index, null);
+		}
+		indexOfFirstUnvisited = nodes.size();
+		return nodes.size();
+	}
+
+	private boolean existingNodesMatch(List<ParallelReachabilityExplorer.ExploredState> states) {
+		for (int index = 0; index < nodes.size(); index++) {
+			if (!Arrays.equals(getMarkingVector(nodes.get(index)), states.get(index).getMarking()))
+				return false;
+		}
+		return true;
+	}
+
 	private boolean visitNode() {
 		// Pick a random, unvisited node
 		// (Here: breadth-first search so that we have short paths to the initial node in checkCover())
@@ -160,17 +290,21 @@ public class CoverabilityGraph {
 	 * @return The node's postset
 	 */
 	Set<CoverabilityGraphEdge> getPostsetEdges(CoverabilityGraphNode node) {
+		if (node.getIndex() != indexOfFirstUnvisited)
+			breadthFirst = false;
+
 		// Now follow all activated transitions of that node
-		final Marking marking = node.getMarking();
+		final long[] marking = getMarkingVector(node);
 		final Set<CoverabilityGraphEdge> result = new HashSet<>();
-		for (Transition t : pn.getTransitions()) {
-			if (!t.isFireable(marking)) {
+		for (int index = 0; index < compiled.getTransitionCount(); index++) {
+			if (!compiled.isFireable(index, marking)) {
 				continue;
 			}
 
-			Marking newMarking = t.fire(marking);
+			Transition t = compiled.getTransition(index);
+			long[] newMarking = compiled.fire(index, marking);
 			// checkCover() will also change the marking of the Petri net if some OMEGAs are created!
-			Pair<CoverabilityGraphNode, Marking> covered = checkCover(newMarking, node);
+			Pair<CoverabilityGraphNode, long[]> covered = checkCover(newMarking, node);
 			CoverabilityGraphNode target;
 			if (covered == null)
 				target = getNode(t, newMarking, node, null);
@@ -179,6 +313,11 @@ public class CoverabilityGraph {
 			result.add(new CoverabilityGraphEdge(t, node, target));
 		}
 
+		// A lossy store cannot give markings back, so nodes keep their marking until they are expanded. Only
+		// the initial node keeps it forever, since the markings of other nodes are recomputed from it.
+		if (!store.canReproduceMarkings() && node.getIndex() != 0)
+			node.forgetMarkingVector();
+
 		return result;
 	}
 
@@ -189,12 +328,16 @@ public class CoverabilityGraph {
 	 * @param parent The immediate parent node.
 	 * @return null if no covering occurred, else the node that is covered and the covering marking.
 	 */
-	private Pair<CoverabilityGraphNode, Marking> checkCover(Marking cur, CoverabilityGraphNode parent) {
+	private Pair<CoverabilityGraphNode, long[]> checkCover(long[] cur, CoverabilityGraphNode parent) {
 		if (reachabilityGraph)
 			return null;
 		assert parent != null;
+		// Replay the whole path once instead of once per node if the store cannot give back markings
+		List<long[]> path = store.canReproduceMarkings() ? null : replayMarkings(parent);
+		int depth = path == null ? 0 : path.size() - 1;
 		while (parent != null) {
-			Marking m = cur.cover(parent.getMarking());
+			long[] parentMarking = path == null ? getMarkingVector(parent) : path.get(depth--);
+			long[] m = CompiledPetriNet.cover(cur, parentMarking);
 			if (m != null)
 				return new Pair<>(parent, m);
 			parent = parent.getParent();
@@ -210,15 +353,84 @@ public class CoverabilityGraph {
 	 * @param covered node whose marking is covered by the given marking (or null if none)
 	 * @return The node for the given marking.
 	 */
-	private CoverabilityGraphNode getNode(Transition transition, Marking cur, CoverabilityGraphNode from,
+	private CoverabilityGraphNode getNode(Transition transition, long[] cur, CoverabilityGraphNode from,
 			CoverabilityGraphNode covered) {
-		CoverabilityGraphNode state = states.get(cur);
-		if (state == null) {
-			state = new CoverabilityGraphNode(this, transition, cur, from, covered);
-			states.put(cur, state);
-			nodes.add(state);
+		int index = store.add(cur);
+		if (index == nodes.size()) {
+			// This is a new marking. Only keep a reference to it if the store cannot give it back to us.
+			long[] marking = store.canReproduceMarkings() ? null : cur;
+			nodes.add(new CoverabilityGraphNode(this, index, transition, marking, from, covered));
+		}
+		return nodes.get(index);
+	}
+
+	/**
+	 * Get the marking vector of a node. This may only be called by CoverabilityGraphNode.
+	 * @param node The node whose marking is wanted.
+	 * @return The marking vector. This must not be modified.
+	 */
+	long[] getMarkingVector(CoverabilityGraphNode node) {
+		long[] result = node.getStoredMarkingVector();
+		if (result != null)
+			return result;
+		if (store.canReproduceMarkings())
+			return store.get(node.getIndex());
+		List<long[]> path = replayMarkings(node);
+		return path.get(path.size() - 1);
+	}
+
+	/**
+	 * Calculate the markings of all nodes on the path from the initial node to the given node by firing the
+	 * transitions on this path. This is used for nodes that forgot their marking with a lossy store.
+	 * @param node The last node of the path.
+	 * @return The marking vectors of the nodes on the path, starting with the initial node.
+	 */
+	private List<long[]> replayMarkings(CoverabilityGraphNode node) {
+		List<CoverabilityGraphNode> path = new ArrayList<>();
+		for (; node != null; node = node.getParent())
+			path.add(node);
+		Collections.reverse(path);
+
+		List<long[]> result = new ArrayList<>(path.size());
+		// Position of each node on the path, needed for finding the markings of covered nodes
+		Map<CoverabilityGraphNode, Integer> positions = new HashMap<>();
+		for (CoverabilityGraphNode current : path) {
+			long[] marking = current.getStoredMarkingVector();
+			if (marking == null) {
+				CoverabilityGraphNode covered = current.getCoveredNode();
+				long[] coveredMarking = covered == null ? null : result.get(positions.get(covered));
+				marking = replayStep(current, result.get(result.size() - 1), coveredMarking);
+			}
+			positions.put(current, result.size());
+			result.add(marking);
 		}
-		return state;
+		return result;
+	}
+
+	/**
+	 * Calculate the marking of a node from the marking of its parent.
+	 * @param node The node whose marking is wanted.
+	 * @param parentMarking The marking of the node's parent.
+	 * @param coveredMarking The marking of the node that the given node covers, or null if there is none.
+	 * @return The marking of the node.
+	 */
+	private long[] replayStep(CoverabilityGraphNode node, long[] parentMarking, long[] coveredMarking) {
+		int transition = compiled.getTransitionIndex(node.getReachingTransition());
+		long[] marking = compiled.fire(transition, parentMarking);
+		if (coveredMarking != null) {
+			marking = CompiledPetriNet.cover(marking, coveredMarking);
+			assert marking != null;
+		}
+		return marking;
+	}
+
+	/**
+	 * Get the marking of a node. This may only be called by CoverabilityGraphNode.
+	 * @param node The node whose marking is wanted.
+	 * @return The marking.
+	 */
+	Marking getMarking(CoverabilityGraphNode node) {
+		return compiled.toMarking(getMarkingVector(node));
 	}
 
 	/**
@@ -288,7 +500,9 @@ public class CoverabilityGraph {
 	}
 
 	/**
-	 * Turn this coverability graph into a labeled transition system.
+	 * Turn this coverability graph into a labeled transition system. The result is a new, modifiable transition
+	 * system. Callers that keep it around and only read it can call {@link TransitionSystem#freeze()} on it to save
+	 * memory.
 	 * @throws UnboundedException This exception is thrown when the Petri net is unbounded.
 	 * @return The new transition system.
 	 * @see #toCoverabilityLTS() For a version of this which does not reject unbounded nets.
@@ -298,7 +512,9 @@ public class CoverabilityGraph {
 	}
 
 	/**
-	 * Turn this coverability graph into a labeled transition system.
+	 * Turn this coverability graph into a labeled transition system. The result is a new, modifiable transition
+	 * system. Callers that keep it around and only read it can call {@link TransitionSystem#freeze()} on it to save
+	 * memory.
 	 * @return The new transition system.
 	 * @see #toReachabilityLTS() For a version of this which rejects unbounded nets.  */
 	public TransitionSystem toCoverabilityLTS() {
@@ -323,32 +539,45 @@ public class CoverabilityGraph {
 	 */
 	private TransitionSystem toLTS(boolean onlyReachability) throws UnboundedException {
 		String name = (onlyReachability ? "Reachability" : "Coverability") + " graph of " + this.pn.getName();
-		Map<Marking, State> ltsStates = new HashMap<>();
+		// The state for each node, indexed by the index of the node
+		List<State> ltsStates = new ArrayList<>();
 		TransitionSystem lts = new TransitionSystem(name);
 		lts.putExtension(PetriNet.class.getName(), this.pn);
+		// A lossy store cannot give back markings, so calculate them from the parent's instead of replaying the
+		// path of every node
+		List<long[]> vectors = store.canReproduceMarkings() ? null : new ArrayList<long[]>();
 
 		for (CoverabilityGraphNode node : this.getNodes()) {
 			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 
-			Marking mark = node.getMarking();
-			assert ltsStates.get(mark) == null;
+			long[] vector = node.getStoredMarkingVector();
+			if (vectors == null) {
+				vector = getMarkingVector(node);
+			} else {
+				if (vector == null) {
+					CoverabilityGraphNode covered = node.getCoveredNode();
+					vector = replayStep(node, vectors.get(node.getParent().getIndex()),
+							covered == null ? null : vectors.get(covered.getIndex()));
+				}
+				vectors.add(vector);
+			}
+			if (onlyReachability && CompiledPetriNet.hasOmega(vector)) {
+				throw new UnboundedException(this.pn);
+			}
 
+			assert ltsStates.size() == node.getIndex();
 			State n = lts.createState();
-			ltsStates.put(mark, n);
-			n.putExtension(Marking.class.getName(), mark);
+			ltsStates.add(n);
+			n.putExtension(Marking.class.getName(), compiled.toMarking(vector));
 			n.putExtension(CoverabilityGraphNode.class.getName(), node);
-
-			if (onlyReachability && mark.hasOmega()) {
-				throw new UnboundedException(this.pn);
-			}
 		}
 
 		for (CoverabilityGraphNode sourceNode : this.getNodes()) {
-			State source = ltsStates.get(sourceNode.getMarking());
+			State source = ltsStates.get(sourceNode.getIndex());
 			for (CoverabilityGraphEdge edge : sourceNode.getPostsetEdges()) {
 				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 
-				State target = ltsStates.get(edge.getTarget().getMarking());
+				State target = ltsStates.get(edge.getTarget().getIndex());
 				Transition transition = edge.getTransition();
 				try {
 					Arc e = lts.createArc(source.getId(), target.getId(), transition.getLabel());
@@ -372,10 +601,8 @@ public class CoverabilityGraph {
 		}
 
 		// Set up the LTS' initial state
-		Marking initialMarking = pn.getInitialMarking();
-		State initialNode = ltsStates.get(initialMarking);
+		State initialNode = ltsStates.get(getInitialNode().getIndex());
 		lts.setInitialState(initialNode);
-		assert initialNode != null;
 
 		return lts;
 	}
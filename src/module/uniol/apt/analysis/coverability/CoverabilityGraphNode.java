@@ -39,7 +39,10 @@ import uniol.apt.adt.pn.Transition;
  */
 public class CoverabilityGraphNode {
 	private final CoverabilityGraph graph;
-	private final Marking marking;
+	private final int index;
+	// The marking vector of this node, or null if the graph's marking store can reproduce it or if the graph
+	// forgot it after expanding this node
+	private long[] marking;
 	private final Transition reachingTransition;
 	private final CoverabilityGraphNode parent;
 	private final CoverabilityGraphNode covered;
@@ -48,14 +51,16 @@ public class CoverabilityGraphNode {
 	/**
 	 * Construct a new coverability graph node.
 	 * @param graph The graph that this node belongs to.
+	 * @param index The index of this node in the graph.
 	 * @param transition The transition that is fired from this node's parent to reach this new node.
-	 * @param marking The marking that identifies this node.
+	 * @param marking The marking vector that identifies this node, or null if the graph can reproduce it.
 	 * @param parent The parent node of this node.
 	 * @param covered The node which is covered by this node.
 	 */
-	CoverabilityGraphNode(CoverabilityGraph graph, Transition transition, Marking marking,
+	CoverabilityGraphNode(CoverabilityGraph graph, int index, Transition transition, long[] marking,
 			CoverabilityGraphNode parent, CoverabilityGraphNode covered) {
 		this.graph = graph;
+		this.index = index;
 		this.marking = marking;
 		this.parent = parent;
 		this.covered = covered;
@@ -84,7 +89,39 @@ public class CoverabilityGraphNode {
 	 * @return The marking.
 	 */
 	public Marking getMarking() {
-		return new Marking(this.marking);
+		return graph.getMarking(this);
+	}
+
+	/**
+	 * Get the index of this node. Nodes are numbered consecutively in the order in which they are discovered,
+	 * starting with zero for the initial node.
+	 * @return The index.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Get the marking vector that is saved in this node.
+	 * @return The marking vector or null if it has to be looked up in the graph.
+	 */
+	long[] getStoredMarkingVector() {
+		return this.marking;
+	}
+
+	/**
+	 * Forget the marking vector that is saved in this node. This may only be called by CoverabilityGraph.
+	 */
+	void forgetMarkingVector() {
+		this.marking = null;
+	}
+
+	/**
+	 * Get the transition which reaches this node from its parent.
+	 * @return The transition or null for the initial node.
+	 */
+	Transition getReachingTransition() {
+		return this.reachingTransition;
 	}
 
 	/**
@@ -142,6 +179,15 @@ public class CoverabilityGraphNode {
 			postsetEdges = unmodifiableSet(graph.getPostsetEdges(this));
 		return postsetEdges;
 	}
+
+	/**
+	 * Set the postset of this node, if it was not yet generated. This may only be called by CoverabilityGraph.
+	 * @param edges The edges leaving this node.
+	 */
+	void setPostsetEdges(Set<CoverabilityGraphEdge> edges) {
+		if (postsetEdges == null)
+			postsetEdges = unmodifiableSet(edges);
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
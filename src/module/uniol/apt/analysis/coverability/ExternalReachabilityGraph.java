@@ -0,0 +1,572 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The reachability graph of a Petri net, calculated in external memory for state spaces that do not fit onto the
+ * heap. The state space is explored in breadth-first order with delayed duplicate detection: The successors of a
+ * complete level are collected in sorted runs on disk and then merged with the sorted set of visited markings, which
+ * also lives on disk. Only a bounded number of successor markings is kept in memory at any time.
+ *
+ * States are numbered level by level, and within a level in the order of their markings. Thus the numbering differs
+ * from {@link CoverabilityGraph}, but the resulting transition system is isomorphic to {@link
+ * CoverabilityGraph#toReachabilityLTS()}.
+ *
+ * Exploration stops as soon as a marking is found which strictly covers a marking on its path from the initial
+ * marking. In this case the Petri net is unbounded and {@link #isBounded()} returns false.
+ *
+ * Instances must be closed after use so that the files on disk are removed.
+ */
+public class ExternalReachabilityGraph implements Closeable {
+	/**
+	 * The default number of successor markings that are kept in memory before they are written to disk.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+	// An arc is saved as source, transition and target. Arcs which are not written to an LTS, because another
+	// transition with the same label connects the same states, have their transition saved as -(index + 1).
+	private static final int ARC_WIDTH = 3;
+
+	private final PetriNet pn;
+	private final CompiledPetriNet compiled;
+	private final int numPlaces;
+	private final int bufferSize;
+	private final Comparator<long[]> successorComparator;
+	// Index of the label of each transition in labels
+	private final int[] labelIds;
+	private final List<String> labels = new ArrayList<>();
+	private final boolean[] labelUsed;
+
+	private final File directory;
+	// All states ordered by their number; a state is saved as parent, reaching transition and marking
+	private final File statesFile;
+	// All markings with their state number, sorted by marking
+	private final File visitedFile;
+	private final File arcsFile;
+
+	private RecordFile.Reader states;
+	private long stateCount;
+	private long arcCount;
+	private long coveringState = -1;
+	private long coveredState = -1;
+
+	/**
+	 * Visitor for the arcs of an external reachability graph.
+	 */
+	public interface ArcVisitor {
+		/**
+		 * Visit an arc.
+		 * @param source The number of the state where the arc begins.
+		 * @param transition The transition that is fired.
+		 * @param target The number of the state where the arc ends.
+		 */
+		void visit(long source, Transition transition, long target);
+	}
+
+	private ExternalReachabilityGraph(PetriNet pn, File parent, int bufferSize) throws IOException {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("Buffer size must be positive, but is " + bufferSize);
+		this.pn = pn;
+		this.compiled = CompiledPetriNet.get(pn);
+		this.numPlaces = compiled.getPlaceCount();
+		this.bufferSize = bufferSize;
+		this.successorComparator = new Comparator<long[]>() {
+			@Override
+			public int compare(long[] a, long[] b) {
+				int result = compareMarkings(a, b);
+				if (result != 0)
+					return result;
+				// Equal markings: The smallest source and transition is the parent
+				result = Long.compare(a[numPlaces], b[numPlaces]);
+				if (result != 0)
+					return result;
+				return Integer.compare(decodeTransition(a[numPlaces + 1]),
+						decodeTransition(b[numPlaces + 1]));
+			}
+		};
+
+		Map<String, Integer> labelIndices = new HashMap<>();
+		this.labelIds = new int[compiled.getTransitionCount()];
+		for (int t = 0; t < labelIds.length; t++) {
+			String label = compiled.getTransition(t).getLabel();
+			Integer index = labelIndices.get(label);
+			if (index == null) {
+				index = labels.size();
+				labels.add(label);
+				labelIndices.put(label, index);
+			}
+			labelIds[t] = index;
+		}
+		this.labelUsed = new boolean[labels.size()];
+
+		this.directory = Files.createTempDirectory(parent.toPath(), "apt-reachability").toFile();
+		this.statesFile = new File(directory, "states");
+		this.visitedFile = new File(directory, "visited");
+		this.arcsFile = new File(directory, "arcs");
+	}
+
+	/**
+	 * Calculate the reachability graph of a Petri net with the default buffer size.
+	 * @param pn The Petri net whose reachability graph is wanted.
+	 * @param directory The directory in which temporary files are created.
+	 * @return The reachability graph. This must be closed after use.
+	 * @throws IOException If accessing the temporary files fails.
+	 */
+	static public ExternalReachabilityGraph explore(PetriNet pn, File directory) throws IOException {
+		return explore(pn, directory, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Calculate the reachability graph of a Petri net.
+	 * @param pn The Petri net whose reachability graph is wanted.
+	 * @param directory The directory in which temporary files are created.
+	 * @param bufferSize The number of successor markings that are kept in memory before they are written to disk.
+	 * @return The reachability graph. This must be closed after use.
+	 * @throws IOException If accessing the temporary files fails.
+	 */
+	static public ExternalReachabilityGraph explore(PetriNet pn, File directory, int bufferSize)
+			throws IOException {
+		ExternalReachabilityGraph graph = new ExternalReachabilityGraph(pn, directory, bufferSize);
+		try {
+			graph.explore();
+		} catch (IOException | RuntimeException | Error e) {
+			graph.close();
+			throw e;
+		}
+		return graph;
+	}
+
+	private void explore() throws IOException {
+		int width = numPlaces + 2;
+		long[] initial = compiled.getInitialMarkingVector();
+		try (RecordFile.Writer statesOut = new RecordFile.Writer(statesFile, width, false);
+				RecordFile.Writer arcsOut = new RecordFile.Writer(arcsFile, ARC_WIDTH, false)) {
+			statesOut.write(stateRecord(-1, -1, initial));
+			try (RecordFile.Writer visitedOut = new RecordFile.Writer(visitedFile, numPlaces + 1, false)) {
+				visitedOut.write(visitedRecord(initial, 0));
+			}
+			stateCount = 1;
+
+			long levelStart = 0;
+			while (levelStart < stateCount && coveringState == -1) {
+				long levelEnd = stateCount;
+				statesOut.flush();
+				try (RecordFile.Reader statesIn = new RecordFile.Reader(statesFile, width)) {
+					List<File> runs = expandLevel(statesIn, levelStart, levelEnd);
+					mergeLevel(runs, statesIn, statesOut, arcsOut);
+				}
+				levelStart = levelEnd;
+			}
+		}
+		states = new RecordFile.Reader(statesFile, width);
+	}
+
+	// Generate all successors of the given states and write them as sorted runs
+	private List<File> expandLevel(RecordFile.Reader statesIn, long from, long to) throws IOException {
+		List<File> runs = new ArrayList<>();
+		List<long[]> buffer = new ArrayList<>();
+		long[] record = new long[numPlaces + 2];
+		long[][] successors = new long[compiled.getTransitionCount()][];
+		for (long id = from; id < to; id++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			long[] marking = Arrays.copyOfRange(statesIn.read(id, record), 2, numPlaces + 2);
+			for (int t = 0; t < successors.length; t++) {
+				successors[t] = null;
+				if (!compiled.isFireable(t, marking))
+					continue;
+				successors[t] = compiled.fire(t, marking);
+				long[] successor = Arrays.copyOf(successors[t], numPlaces + 2);
+				successor[numPlaces] = id;
+				successor[numPlaces + 1] = isDuplicateArc(successors, t) ? -t - 1 : t;
+				buffer.add(successor);
+			}
+			if (buffer.size() >= bufferSize) {
+				runs.add(writeRun(buffer));
+				buffer.clear();
+			}
+		}
+		if (!buffer.isEmpty())
+			runs.add(writeRun(buffer));
+		return runs;
+	}
+
+	// Check if an earlier transition with the same label leads to the same marking
+	private boolean isDuplicateArc(long[][] successors, int t) {
+		for (int other = 0; other < t; other++)
+			if (successors[other] != null && labelIds[other] == labelIds[t]
+					&& Arrays.equals(successors[other], successors[t]))
+				return true;
+		return false;
+	}
+
+	private File writeRun(List<long[]> buffer) throws IOException {
+		Collections.sort(buffer, successorComparator);
+		File run = File.createTempFile("run", null, directory);
+		try (RecordFile.Writer out = new RecordFile.Writer(run, numPlaces + 2, false)) {
+			for (long[] successor : buffer)
+				out.write(successor);
+		}
+		return run;
+	}
+
+	// Merge the runs with the visited markings. New markings become states of the next level.
+	private void mergeLevel(List<File> runs, RecordFile.Reader statesIn, RecordFile.Writer statesOut,
+			RecordFile.Writer arcsOut) throws IOException {
+		File newVisitedFile = new File(directory, "visited.new");
+		List<RecordFile.Reader> readers = new ArrayList<>();
+		try (RecordFile.Reader visitedIn = new RecordFile.Reader(visitedFile, numPlaces + 1);
+				RecordFile.Writer visitedOut = new RecordFile.Writer(newVisitedFile, numPlaces + 1,
+					false)) {
+			PriorityQueue<RunCursor> queue = new PriorityQueue<>();
+			for (File run : runs) {
+				RecordFile.Reader reader = new RecordFile.Reader(run, numPlaces + 2);
+				readers.add(reader);
+				if (reader.hasNext())
+					queue.add(new RunCursor(reader));
+			}
+
+			long[] visited = visitedIn.hasNext() ? visitedIn.next() : null;
+			long[] lastMarking = null;
+			long lastId = -1;
+			long[] arc = new long[ARC_WIDTH];
+			while (!queue.isEmpty()) {
+				RunCursor cursor = queue.poll();
+				long[] successor = cursor.current;
+				if (cursor.advance())
+					queue.add(cursor);
+
+				if (lastMarking == null || compareMarkings(lastMarking, successor) != 0) {
+					InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+					while (visited != null && compareMarkings(visited, successor) < 0) {
+						visitedOut.write(visited);
+						visited = visitedIn.hasNext() ? visitedIn.next() : null;
+					}
+					if (visited != null && compareMarkings(visited, successor) == 0) {
+						lastId = visited[numPlaces];
+					} else {
+						// This is a new state; the first arc reaching it is the smallest one
+						lastId = stateCount++;
+						long parent = successor[numPlaces];
+						int transition = decodeTransition(successor[numPlaces + 1]);
+						statesOut.write(stateRecord(parent, transition, successor));
+						visitedOut.write(visitedRecord(successor, lastId));
+						if (coveringState == -1)
+							checkCover(statesIn, lastId, successor, parent);
+					}
+					lastMarking = successor;
+				}
+
+				arc[0] = successor[numPlaces];
+				arc[1] = successor[numPlaces + 1];
+				arc[2] = lastId;
+				arcsOut.write(arc);
+				arcCount++;
+				if (arc[1] >= 0)
+					labelUsed[labelIds[(int) arc[1]]] = true;
+			}
+			while (visited != null) {
+				visitedOut.write(visited);
+				visited = visitedIn.hasNext() ? visitedIn.next() : null;
+			}
+		} finally {
+			for (RecordFile.Reader reader : readers)
+				reader.close();
+			for (File run : runs)
+				Files.deleteIfExists(run.toPath());
+		}
+		Files.move(newVisitedFile.toPath(), visitedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	// Check if the new state strictly covers a state on its path from the initial state
+	private void checkCover(RecordFile.Reader statesIn, long id, long[] marking, long parent) throws IOException {
+		long[] record = new long[numPlaces + 2];
+		while (parent >= 0) {
+			statesIn.read(parent, record);
+			if (strictlyCovers(marking, record)) {
+				coveringState = id;
+				coveredState = parent;
+				return;
+			}
+			parent = record[0];
+		}
+	}
+
+	private boolean strictlyCovers(long[] marking, long[] stateRecord) {
+		boolean larger = false;
+		for (int p = 0; p < numPlaces; p++) {
+			long other = stateRecord[p + 2];
+			if (marking[p] < other)
+				return false;
+			if (marking[p] > other)
+				larger = true;
+		}
+		return larger;
+	}
+
+	private int compareMarkings(long[] a, long[] b) {
+		for (int p = 0; p < numPlaces; p++) {
+			int result = Long.compare(a[p], b[p]);
+			if (result != 0)
+				return result;
+		}
+		return 0;
+	}
+
+	static private int decodeTransition(long value) {
+		return (int) (value < 0 ? -value - 1 : value);
+	}
+
+	private long[] stateRecord(long parent, int transition, long[] marking) {
+		long[] result = new long[numPlaces + 2];
+		result[0] = parent;
+		result[1] = transition;
+		System.arraycopy(marking, 0, result, 2, numPlaces);
+		return result;
+	}
+
+	private long[] visitedRecord(long[] marking, long id) {
+		long[] result = Arrays.copyOf(marking, numPlaces + 1);
+		result[numPlaces] = id;
+		return result;
+	}
+
+	// The current record of a sorted run during merging
+	private final class RunCursor implements Comparable<RunCursor> {
+		private final RecordFile.Reader reader;
+		private long[] current;
+
+		private RunCursor(RecordFile.Reader reader) throws IOException {
+			this.reader = reader;
+			this.current = reader.next();
+		}
+
+		private boolean advance() throws IOException {
+			if (!reader.hasNext())
+				return false;
+			current = reader.next();
+			return true;
+		}
+
+		@Override
+		public int compareTo(RunCursor other) {
+			return successorComparator.compare(current, other.current);
+		}
+	}
+
+	/**
+	 * Get the Petri net whose reachability graph this is.
+	 * @return The Petri net.
+	 */
+	public PetriNet getPetriNet() {
+		return pn;
+	}
+
+	/**
+	 * Get the number of states. States are numbered from zero, which is the initial state.
+	 * @return The number of states.
+	 */
+	public long getStateCount() {
+		return stateCount;
+	}
+
+	/**
+	 * Get the number of arcs.
+	 * @return The number of arcs.
+	 */
+	public long getArcCount() {
+		return arcCount;
+	}
+
+	/**
+	 * Check if the Petri net is bounded. If it is not, exploration was stopped early and this graph is incomplete.
+	 * @return true if the Petri net is bounded.
+	 */
+	public boolean isBounded() {
+		return coveringState == -1;
+	}
+
+	/**
+	 * Get the state which shows that the Petri net is unbounded.
+	 * @return A state which strictly covers {@link #getCoveredState()}, or -1 if the Petri net is bounded.
+	 */
+	public long getCoveringState() {
+		return coveringState;
+	}
+
+	/**
+	 * Get the state which is strictly covered by {@link #getCoveringState()}.
+	 * @return The covered state, or -1 if the Petri net is bounded.
+	 */
+	public long getCoveredState() {
+		return coveredState;
+	}
+
+	/**
+	 * Get the marking of a state.
+	 * @param state The number of the state.
+	 * @return The marking.
+	 * @throws IOException If reading the state fails.
+	 */
+	public Marking getMarking(long state) throws IOException {
+		long[] record = states.read(state, new long[numPlaces + 2]);
+		return compiled.toMarking(Arrays.copyOfRange(record, 2, numPlaces + 2));
+	}
+
+	/**
+	 * Get a firing sequence which reaches the given state from the initial state.
+	 * @param state The number of the state.
+	 * @return The firing sequence.
+	 * @throws IOException If reading the states fails.
+	 */
+	public List<Transition> getFiringSequence(long state) throws IOException {
+		return getFiringSequence(-1, state);
+	}
+
+	/**
+	 * Get the firing sequence which leads from the covered state to the covering state.
+	 * @return The firing sequence, or null if the Petri net is bounded.
+	 * @throws IOException If reading the states fails.
+	 * @see #getCoveringState()
+	 */
+	public List<Transition> getFiringSequenceFromCoveredState() throws IOException {
+		if (isBounded())
+			return null;
+		return getFiringSequence(coveredState, coveringState);
+	}
+
+	// Follow the parents from the given state back to an ancestor
+	private List<Transition> getFiringSequence(long ancestor, long state) throws IOException {
+		List<Transition> result = new ArrayList<>();
+		long[] record = new long[numPlaces + 2];
+		while (state != ancestor) {
+			states.read(state, record);
+			if (record[0] < 0)
+				break;
+			result.add(compiled.getTransition((int) record[1]));
+			state = record[0];
+		}
+		Collections.reverse(result);
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Visit all arcs of this graph.
+	 * @param visitor The visitor which is called for each arc.
+	 * @throws IOException If reading the arcs fails.
+	 */
+	public void visitArcs(ArcVisitor visitor) throws IOException {
+		try (RecordFile.Reader arcs = new RecordFile.Reader(arcsFile, ARC_WIDTH)) {
+			long[] arc = new long[ARC_WIDTH];
+			for (long i = 0; i < arcs.getCount(); i++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				arcs.read(i, arc);
+				visitor.visit(arc[0], compiled.getTransition(decodeTransition(arc[1])), arc[2]);
+			}
+		}
+	}
+
+	/**
+	 * Write this graph as a labeled transition system in the APT file format. The result is the same that {@link
+	 * uniol.apt.io.renderer.impl.AptLTSRenderer} produces for {@link CoverabilityGraph#toReachabilityLTS()}, up to
+	 * the numbering of the states. The transition system is never constructed in memory.
+	 * @param writer The writer to write to.
+	 * @throws IOException If writing fails.
+	 * @throws UnboundedException If the Petri net is unbounded.
+	 */
+	public void writeLTS(Writer writer) throws IOException, UnboundedException {
+		if (!isBounded())
+			throw new UnboundedException(pn);
+
+		writer.write(".name \"Reachability graph of " + pn.getName() + "\"\n");
+		writer.write(".type LTS\n\n\n");
+
+		writer.write(".states\n");
+		writer.write("s0[initial=\"true\"]\n");
+		for (long state = 1; state < stateCount; state++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			writer.write("s" + state + "\n");
+		}
+
+		writer.write("\n.labels\n");
+		SortedSet<String> usedLabels = new TreeSet<>();
+		for (int i = 0; i < labelUsed.length; i++)
+			if (labelUsed[i])
+				usedLabels.add(labels.get(i));
+		for (String label : usedLabels)
+			writer.write(label + "\n");
+
+		writer.write("\n.arcs\n");
+		try (RecordFile.Reader arcs = new RecordFile.Reader(arcsFile, ARC_WIDTH)) {
+			long[] arc = new long[ARC_WIDTH];
+			for (long i = 0; i < arcs.getCount(); i++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				arcs.read(i, arc);
+				if (arc[1] < 0)
+					continue;
+				writer.write("s" + arc[0] + " " + labels.get(labelIds[(int) arc[1]]) + " s" + arc[2]
+						+ "\n");
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Remove all files that belong to this graph.
+	 * @throws IOException If a file cannot be removed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (states != null) {
+			states.close();
+			states = null;
+		}
+		File[] files = directory.listFiles();
+		if (files != null)
+			for (File file : files)
+				Files.deleteIfExists(file.toPath());
+		Files.deleteIfExists(directory.toPath());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
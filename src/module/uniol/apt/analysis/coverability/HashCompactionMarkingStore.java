@@ -0,0 +1,125 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+/**
+ * A lossy {@link MarkingStore} which implements hash compaction. Instead of a marking, only a 64 bit fingerprint of
+ * it is remembered. Two different markings with the same fingerprint are considered equal, so an exploration which
+ * uses this store might miss some states. In exchange, each marking needs a fixed and small amount of memory,
+ * independent of the number of places. This is useful for quickly searching for bugs in large state spaces, but must
+ * not be used when a complete answer is needed.
+ */
+public class HashCompactionMarkingStore implements MarkingStore {
+	private static final int INITIAL_TABLE_SIZE = 1 << 10;
+
+	// Open-addressing hash table with linear probing. ids[i] is the id plus one of the marking whose fingerprint is
+	// in fingerprints[i], zero means that the slot is free.
+	private long[] fingerprints = new long[INITIAL_TABLE_SIZE];
+	private int[] ids = new int[INITIAL_TABLE_SIZE];
+	private int size = 0;
+
+	@Override
+	public int add(long[] marking) {
+		long fingerprint = fingerprint(marking);
+		int slot = findSlot(fingerprint);
+		if (ids[slot] != 0)
+			return ids[slot] - 1;
+
+		int id = size++;
+		fingerprints[slot] = fingerprint;
+		ids[slot] = id + 1;
+
+		// Keep the load factor below one half
+		if (2 * size > ids.length)
+			rehash(2 * ids.length);
+		return id;
+	}
+
+	@Override
+	public int lookup(long[] marking) {
+		return ids[findSlot(fingerprint(marking))] - 1;
+	}
+
+	@Override
+	public long[] get(int id) {
+		throw new UnsupportedOperationException("Hash compaction cannot reproduce markings");
+	}
+
+	@Override
+	public boolean canReproduceMarkings() {
+		return false;
+	}
+
+	@Override
+	public boolean isExact() {
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private int findSlot(long fingerprint) {
+		int mask = ids.length - 1;
+		int slot = (int) fingerprint & mask;
+		while (ids[slot] != 0 && fingerprints[slot] != fingerprint)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void rehash(int newSize) {
+		long[] oldFingerprints = fingerprints;
+		int[] oldIds = ids;
+		fingerprints = new long[newSize];
+		ids = new int[newSize];
+		for (int i = 0; i < oldIds.length; i++) {
+			if (oldIds[i] == 0)
+				continue;
+			int slot = findSlot(oldFingerprints[i]);
+			fingerprints[slot] = oldFingerprints[i];
+			ids[slot] = oldIds[i];
+		}
+	}
+
+	/**
+	 * Calculate a 64 bit fingerprint of a marking vector.
+	 * @param marking The marking vector.
+	 * @return The fingerprint.
+	 */
+	static long fingerprint(long[] marking) {
+		long h = 0x9E3779B97F4A7C15L * (marking.length + 1);
+		for (long value : marking) {
+			h ^= mix(value + 1);
+			h *= 0xBF58476D1CE4E5B9L;
+			h = Long.rotateLeft(h, 31);
+		}
+		return mix(h);
+	}
+
+	// The finalizer of the SplitMix64 generator
+	static private long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
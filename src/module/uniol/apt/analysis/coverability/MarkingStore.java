@@ -0,0 +1,74 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+/**
+ * A set of marking vectors which assigns consecutive ids to its elements, starting with zero. This is used by {@link
+ * CoverabilityGraph} for remembering which markings were already visited.
+ *
+ * Marking vectors are <code>long[]</code> arrays as used by {@link uniol.apt.adt.pn.CompiledPetriNet}, that is
+ * non-negative token counts with -1 representing OMEGA.
+ */
+public interface MarkingStore {
+	/**
+	 * Add a marking to this store, if it is not yet contained.
+	 * @param marking The marking vector. The store does not keep a reference to the array.
+	 * @return The id of the marking. If the marking was not yet contained, this is the old value of {@link
+	 * #size()}.
+	 */
+	int add(long[] marking);
+
+	/**
+	 * Look up the id of a marking.
+	 * @param marking The marking vector.
+	 * @return The id of the marking or -1 if it is not contained in this store.
+	 */
+	int lookup(long[] marking);
+
+	/**
+	 * Get the marking with the given id.
+	 * @param id The id of the marking.
+	 * @return A new marking vector.
+	 * @throws UnsupportedOperationException if {@link #canReproduceMarkings()} is false.
+	 */
+	long[] get(int id);
+
+	/**
+	 * Check if this store can give back the markings that were added. Lossy stores only remember a fingerprint of
+	 * a marking and thus cannot do this.
+	 * @return true if {@link #get(int)} is supported.
+	 */
+	boolean canReproduceMarkings();
+
+	/**
+	 * Check if this store is exact. A store which is not exact might consider two different markings to be the
+	 * same. In this case, an exploration of a state space using this store can miss some states.
+	 * @return true if different markings always get different ids.
+	 */
+	boolean isExact();
+
+	/**
+	 * Get the number of markings in this store.
+	 * @return the number of markings.
+	 */
+	int size();
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
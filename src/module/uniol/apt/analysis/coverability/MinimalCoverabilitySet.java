@@ -0,0 +1,324 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import uniol.apt.adt.StructuralExtensionRemover;
+import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.Node;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.language.FiringSequence;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The minimal coverability set of a Petri net. This is the set of maximal markings (possibly containing OMEGA) of the
+ * coverability graph: Every reachable marking is covered by one of them and each of them is the limit of reachable
+ * markings.
+ *
+ * The set is calculated with a Karp-Miller tree that is pruned as it is built: A new marking is accelerated with all
+ * of its ancestors, so that OMEGAs are introduced as early as possible. It is dropped if some active marking covers
+ * it. Otherwise it becomes active and all active markings which it strictly covers are deactivated. Deactivated
+ * nodes which were not expanded yet are never expanded, because the new marking can do everything that they can do.
+ * Deactivated nodes stay in the tree, so that they can still be used for acceleration.
+ *
+ * Unlike {@link CoverabilityGraph}, this does not provide arcs between the markings, but it is much smaller for
+ * unbounded nets. For bounded nets, every reachable marking is compared with all maximal markings found so far, so
+ * the coverability graph is usually faster to calculate.
+ */
+public class MinimalCoverabilitySet {
+	private final CompiledPetriNet compiled;
+	// The nodes of the pruned Karp-Miller tree
+	private final List<long[]> markings = new ArrayList<>();
+	private final List<Integer> parents = new ArrayList<>();
+	private final List<Integer> transitions = new ArrayList<>();
+	private final BitSet active = new BitSet();
+	// The active nodes in the order in which they were created
+	private List<Integer> activeNodes = new ArrayList<>();
+	// The first node that was accelerated, the ancestor that it covers and the place that got more tokens
+	private int firstAccelerated = -1;
+	private int firstCovered = -1;
+	private int unboundedPlace = -1;
+
+	private MinimalCoverabilitySet(PetriNet pn) {
+		this.compiled = CompiledPetriNet.get(pn);
+		calculate();
+	}
+
+	/**
+	 * Get the minimal coverability set of a Petri net. If it was already calculated, that instance is re-used.
+	 * @param pn The Petri net.
+	 * @return The minimal coverability set.
+	 */
+	static public MinimalCoverabilitySet get(PetriNet pn) {
+		String key = MinimalCoverabilitySet.class.getName();
+		Object extension = null;
+		try {
+			extension = pn.getExtension(key);
+		} catch (StructureException e) {
+			// No such extension
+		}
+		if (extension instanceof MinimalCoverabilitySet)
+			return (MinimalCoverabilitySet) extension;
+
+		MinimalCoverabilitySet result = new MinimalCoverabilitySet(pn);
+		pn.putExtension(key, result, ExtensionProperty.NOCOPY);
+		pn.addListener(new StructuralExtensionRemover<PetriNet, Flow, Node>(key));
+		return result;
+	}
+
+	private void calculate() {
+		addNode(compiled.getInitialMarkingVector(), -1, -1);
+		Deque<Integer> unexpanded = new ArrayDeque<>();
+		unexpanded.add(0);
+		while (!unexpanded.isEmpty()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			int node = unexpanded.poll();
+			if (!active.get(node))
+				continue;
+			long[] marking = markings.get(node);
+			for (int t = 0; t < compiled.getTransitionCount(); t++) {
+				if (!compiled.isFireable(t, marking))
+					continue;
+				long[] fired = compiled.fire(t, marking);
+				long[] successor = accelerate(fired, node);
+				if (isCovered(successor))
+					continue;
+				int child = addNode(successor, node, t);
+				if (firstAccelerated == -1 && successor != fired)
+					recordFirstAcceleration(fired, node, child);
+				unexpanded.add(child);
+			}
+		}
+	}
+
+	// Insert OMEGAs for every ancestor that the marking covers
+	private long[] accelerate(long[] marking, int parent) {
+		long[] result = marking;
+		for (int ancestor = parent; ancestor != -1; ancestor = parents.get(ancestor)) {
+			long[] accelerated = CompiledPetriNet.cover(result, markings.get(ancestor));
+			if (accelerated != null)
+				result = accelerated;
+		}
+		return result;
+	}
+
+	// Remember how OMEGA was introduced for the first time. Since all markings so far are free of OMEGA, the path
+	// from the covered ancestor to the new node is a firing sequence that can be repeated indefinitely.
+	private void recordFirstAcceleration(long[] marking, int parent, int node) {
+		for (int ancestor = parent; ancestor != -1; ancestor = parents.get(ancestor)) {
+			long[] covered = markings.get(ancestor);
+			if (CompiledPetriNet.cover(marking, covered) == null)
+				continue;
+			firstAccelerated = node;
+			firstCovered = ancestor;
+			for (int p = 0; unboundedPlace == -1; p++)
+				if (marking[p] > covered[p])
+					unboundedPlace = p;
+			return;
+		}
+		throw new AssertionError("No covered ancestor for an accelerated marking");
+	}
+
+	static private boolean covers(long[] big, long[] small) {
+		for (int p = 0; p < big.length; p++)
+			if (big[p] != CompiledPetriNet.OMEGA && (small[p] == CompiledPetriNet.OMEGA || small[p] > big[p]))
+				return false;
+		return true;
+	}
+
+	private boolean isCovered(long[] marking) {
+		for (int node : activeNodes)
+			if (covers(markings.get(node), marking))
+				return true;
+		return false;
+	}
+
+	private int addNode(long[] marking, int parent, int transition) {
+		int node = markings.size();
+		markings.add(marking);
+		parents.add(parent);
+		transitions.add(transition);
+
+		// The new node is not covered by any active node, so it only has to be compared in one direction
+		List<Integer> stillActive = new ArrayList<>();
+		for (int other : activeNodes) {
+			if (covers(marking, markings.get(other)))
+				active.clear(other);
+			else
+				stillActive.add(other);
+		}
+		stillActive.add(node);
+		activeNodes = stillActive;
+		active.set(node);
+		return node;
+	}
+
+	/**
+	 * Get the Petri net whose minimal coverability set this is.
+	 * @return The Petri net.
+	 */
+	public PetriNet getPetriNet() {
+		return compiled.getNet();
+	}
+
+	/**
+	 * Get the markings of the minimal coverability set.
+	 * @return The maximal markings, which may contain OMEGA.
+	 */
+	public List<Marking> getMarkings() {
+		List<Marking> result = new ArrayList<>();
+		for (int node : activeNodes)
+			result.add(compiled.toMarking(markings.get(node)));
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Get the firing sequence which leads to a marking of the minimal coverability set. If the marking contains
+	 * OMEGA, the sequence has to be pumped to reach arbitrarily large markings, just as for paths in the
+	 * coverability graph.
+	 * @param index The index of the marking in {@link #getMarkings()}.
+	 * @return The firing sequence.
+	 */
+	public List<Transition> getFiringSequence(int index) {
+		return getPathTo(activeNodes.get(index));
+	}
+
+	/**
+	 * Get the number of markings in the minimal coverability set.
+	 * @return The number of markings.
+	 */
+	public int size() {
+		return activeNodes.size();
+	}
+
+	/**
+	 * Get the number of nodes in the pruned Karp-Miller tree, including deactivated ones.
+	 * @return The number of nodes that were created.
+	 */
+	public int getNodeCount() {
+		return markings.size();
+	}
+
+	/**
+	 * Check if some reachable marking covers the given marking.
+	 * @param marking The marking.
+	 * @return true if the marking is coverable.
+	 */
+	public boolean isCoverable(Marking marking) {
+		return isCovered(compiled.toVector(marking));
+	}
+
+	/**
+	 * Check if the Petri net is bounded.
+	 * @return true if no marking contains OMEGA.
+	 */
+	public boolean isBounded() {
+		return firstAccelerated == -1;
+	}
+
+	// Get the firing sequence which leads to a node of the tree
+	private List<Transition> getPathTo(int node) {
+		List<Transition> result = new FiringSequence();
+		for (; parents.get(node) != -1; node = parents.get(node))
+			result.add(compiled.getTransition(transitions.get(node)));
+		Collections.reverse(result);
+		return result;
+	}
+
+	/**
+	 * Find a firing sequence after which the given transition is enabled. The first such node of the tree is used,
+	 * so that the sequence is short.
+	 * @param transition The transition.
+	 * @return A firing sequence, or null if the transition is dead.
+	 */
+	public List<Transition> getFiringSequenceEnabling(Transition transition) {
+		int t = compiled.getTransitionIndex(transition);
+		for (int node = 0; node < markings.size(); node++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			if (compiled.isFireable(t, markings.get(node)))
+				return getPathTo(node);
+		}
+		return null;
+	}
+
+	/**
+	 * Get the transitions which are not enabled in any reachable marking.
+	 * @return A list of dead transitions in the order of {@link CompiledPetriNet}.
+	 */
+	public List<Transition> getDeadTransitions() {
+		List<Transition> result = new ArrayList<>();
+		for (int t = 0; t < compiled.getTransitionCount(); t++) {
+			boolean dead = true;
+			for (int node : activeNodes) {
+				if (compiled.isFireable(t, markings.get(node))) {
+					dead = false;
+					break;
+				}
+			}
+			if (dead)
+				result.add(compiled.getTransition(t));
+		}
+		return result;
+	}
+
+	/**
+	 * If the net is unbounded, get a place which gets more tokens by {@link #getCoveringSequence()}.
+	 * @return The place or null if the net is bounded.
+	 */
+	public Place getUnboundedPlace() {
+		return firstAccelerated == -1 ? null : compiled.getPlace(unboundedPlace);
+	}
+
+	/**
+	 * If the net is unbounded, get a firing sequence to a marking which is strictly covered by firing {@link
+	 * #getCoveringSequence()} afterwards.
+	 * @return The firing sequence or null if the net is bounded.
+	 */
+	public List<Transition> getSequenceToCovered() {
+		return firstAccelerated == -1 ? null : getPathTo(firstCovered);
+	}
+
+	/**
+	 * If the net is unbounded, get a firing sequence that can be repeated indefinitely after {@link
+	 * #getSequenceToCovered()} and that increases the number of tokens on {@link #getUnboundedPlace()}.
+	 * @return The firing sequence or null if the net is bounded.
+	 */
+	public List<Transition> getCoveringSequence() {
+		if (firstAccelerated == -1)
+			return null;
+		List<Transition> full = getPathTo(firstAccelerated);
+		List<Transition> prefix = getPathTo(firstCovered);
+		return new FiringSequence(full.subList(prefix.size(), full.size()));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
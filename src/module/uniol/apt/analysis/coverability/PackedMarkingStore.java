@@ -0,0 +1,227 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.Arrays;
+
+/**
+ * An exact {@link MarkingStore} which keeps all markings in a single byte array. Each marking is encoded with a
+ * variable-length encoding where every token count needs just a single byte if it is smaller than 127. The markings
+ * are found again via an open-addressing hash table which only contains the ids of the markings.
+ */
+public class PackedMarkingStore implements MarkingStore {
+	private static final int INITIAL_TABLE_SIZE = 1 << 10;
+
+	// The encoded markings, marking i is in the range [offsets[i], offsets[i+1]).
+	private byte[] arena = new byte[1 << 12];
+	private int[] offsets = new int[INITIAL_TABLE_SIZE + 1];
+	// The hash code of each marking, used for resizing the table and for cheaper comparisons
+	private int[] hashes = new int[INITIAL_TABLE_SIZE];
+	// Open-addressing hash table with linear probing. An entry is the id of a marking plus one, zero is free.
+	private int[] table = new int[INITIAL_TABLE_SIZE];
+	private int size = 0;
+	// Scratch space for encoding markings
+	private byte[] buffer = new byte[64];
+
+	@Override
+	public int add(long[] marking) {
+		int length = encode(marking);
+		int hash = hash(buffer, 0, length);
+		int slot = findSlot(hash, buffer, length);
+		if (table[slot] != 0)
+			return table[slot] - 1;
+
+		int id = size++;
+		ensureCapacity(id, length);
+		System.arraycopy(buffer, 0, arena, offsets[id], length);
+		offsets[id + 1] = offsets[id] + length;
+		hashes[id] = hash;
+		table[slot] = id + 1;
+
+		// Keep the load factor below one half
+		if (2 * size > table.length)
+			rehash(2 * table.length);
+		return id;
+	}
+
+	@Override
+	public int lookup(long[] marking) {
+		int length = encode(marking);
+		int slot = findSlot(hash(buffer, 0, length), buffer, length);
+		return table[slot] - 1;
+	}
+
+	@Override
+	public long[] get(int id) {
+		if (id < 0 || id >= size)
+			throw new IndexOutOfBoundsException("No marking with id " + id);
+		return decode(arena, offsets[id], offsets[id + 1]);
+	}
+
+	@Override
+	public boolean canReproduceMarkings() {
+		return true;
+	}
+
+	@Override
+	public boolean isExact() {
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get the number of bytes that are used for the encoded markings.
+	 * @return the number of bytes.
+	 */
+	public long getEncodedSize() {
+		return offsets[size];
+	}
+
+	private int findSlot(int hash, byte[] encoded, int length) {
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (true) {
+			int entry = table[slot];
+			if (entry == 0)
+				return slot;
+			int id = entry - 1;
+			if (hashes[id] == hash && equalsEncoded(id, encoded, length))
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private boolean equalsEncoded(int id, byte[] encoded, int length) {
+		int start = offsets[id];
+		if (offsets[id + 1] - start != length)
+			return false;
+		for (int i = 0; i < length; i++)
+			if (arena[start + i] != encoded[i])
+				return false;
+		return true;
+	}
+
+	private void ensureCapacity(int id, int length) {
+		if (id >= hashes.length) {
+			hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+			offsets = Arrays.copyOf(offsets, hashes.length + 1);
+		}
+		long required = (long) offsets[id] + length;
+		if (required > arena.length) {
+			long newLength = Math.max(required, 2L * arena.length);
+			if (newLength > Integer.MAX_VALUE - 8)
+				newLength = Integer.MAX_VALUE - 8;
+			if (newLength < required)
+				throw new OutOfMemoryError("Too many markings for " + getClass().getSimpleName());
+			arena = Arrays.copyOf(arena, (int) newLength);
+		}
+	}
+
+	private void rehash(int newSize) {
+		int[] newTable = new int[newSize];
+		int mask = newSize - 1;
+		for (int id = 0; id < size; id++) {
+			int slot = hashes[id] & mask;
+			while (newTable[slot] != 0)
+				slot = (slot + 1) & mask;
+			newTable[slot] = id + 1;
+		}
+		table = newTable;
+	}
+
+	// Encode the marking into buffer and return the number of bytes used
+	private int encode(long[] marking) {
+		int pos = 0;
+		for (long value : marking) {
+			// At most ten bytes are needed per value
+			if (pos + 10 > buffer.length)
+				buffer = Arrays.copyOf(buffer, 2 * buffer.length + 10);
+			pos = writeValue(buffer, pos, value);
+		}
+		return pos;
+	}
+
+	/**
+	 * Write a single entry of a marking vector in the variable-length encoding. OMEGA is written as zero and all
+	 * other values are incremented by one. The result is written in groups of seven bits, starting with the least
+	 * significant bits. The highest bit of each byte says if more bytes follow.
+	 * @param out The array to write to. There must be space for at least ten bytes.
+	 * @param pos The position where to write.
+	 * @param value The value to write.
+	 * @return The position after the written value.
+	 */
+	static int writeValue(byte[] out, int pos, long value) {
+		assert value >= -1;
+		long v = value + 1;
+		while ((v & ~0x7FL) != 0) {
+			out[pos++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out[pos++] = (byte) v;
+		return pos;
+	}
+
+	/**
+	 * Decode a marking vector that was written with {@link #writeValue}.
+	 * @param in The array to read from.
+	 * @param start The index of the first byte of the marking.
+	 * @param end The index after the last byte of the marking.
+	 * @return The decoded marking vector.
+	 */
+	static long[] decode(byte[] in, int start, int end) {
+		int count = 0;
+		for (int i = start; i < end; i++)
+			if ((in[i] & 0x80) == 0)
+				count++;
+		long[] result = new long[count];
+		int pos = start;
+		for (int i = 0; i < count; i++) {
+			long v = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = in[pos++];
+				v |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			result[i] = v - 1;
+		}
+		return result;
+	}
+
+	static private int hash(byte[] data, int start, int end) {
+		// FNV-1a followed by a final mixing step, so that the low bits are usable for the table
+		int h = 0x811C9DC5;
+		for (int i = start; i < end; i++) {
+			h ^= data[i];
+			h *= 0x01000193;
+		}
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		return h;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,251 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.interrupt.UncheckedInterruptedException;
+
+/**
+ * Explore the reachability graph of a Petri net with multiple threads. The threads share a concurrent set of visited
+ * markings and hand off parts of their work queue to idle threads of a {@link ForkJoinPool}. Since the order in which
+ * markings are found depends on scheduling, the result is afterwards numbered in the same breadth-first order that
+ * {@link CoverabilityGraph} uses for sequential exploration.
+ */
+class ParallelReachabilityExplorer {
+	private final CompiledPetriNet compiled;
+	private final ForkJoinPool pool;
+	private final Interrupter interrupter;
+	private final ConcurrentHashMap<ExploredState, ExploredState> visited = new ConcurrentHashMap<>();
+	private final AtomicInteger pendingTasks = new AtomicInteger();
+	private final CountDownLatch done = new CountDownLatch(1);
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 * A state that was found during the exploration.
+	 */
+	static final class ExploredState {
+		// The marking, or null after it was released
+		private long[] marking;
+		private final int hash;
+		// Indices of the enabled transitions and the states that they lead to; written by the exploring thread
+		private int[] transitions;
+		private ExploredState[] targets;
+		// Canonical indices of the targets; replaces targets after numbering so that states do not keep each
+		// other alive
+		private int[] targetIndices;
+		// Position in the canonical order, -1 if not yet numbered
+		private int index = -1;
+		// Canonical index of the parent in the breadth-first search tree and the transition that leads here
+		private int parent = -1;
+		private int reachingTransition = -1;
+
+		private ExploredState(long[] marking) {
+			this.marking = marking;
+			this.hash = Arrays.hashCode(marking);
+		}
+
+		long[] getMarking() {
+			return marking;
+		}
+
+		int[] getTransitions() {
+			return transitions;
+		}
+
+		int getTargetIndex(int i) {
+			return targetIndices[i];
+		}
+
+		void releaseMarking() {
+			marking = null;
+		}
+
+		int getParent() {
+			return parent;
+		}
+
+		int getReachingTransition() {
+			return reachingTransition;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof ExploredState))
+				return false;
+			ExploredState other = (ExploredState) o;
+			return hash == other.hash && Arrays.equals(marking, other.marking);
+		}
+	}
+
+	/**
+	 * Create a new explorer.
+	 * @param compiled The Petri net to explore.
+	 * @param pool The pool which runs the exploration.
+	 */
+	ParallelReachabilityExplorer(CompiledPetriNet compiled, ForkJoinPool pool) {
+		this.compiled = compiled;
+		this.pool = pool;
+		// The worker threads do not know about the interrupter of the calling thread, so remember it
+		this.interrupter = InterrupterRegistry.getCurrentThreadInterrupter();
+	}
+
+	/**
+	 * Explore all states that are reachable from the given marking. This does not terminate for unbounded Petri
+	 * nets.
+	 * @param initial The marking to start from.
+	 * @return All reachable states, in breadth-first order where successors are visited in the order of their
+	 * transition's index.
+	 */
+	List<ExploredState> explore(long[] initial) {
+		ExploredState root = new ExploredState(initial);
+		visited.put(root, root);
+
+		ArrayDeque<ExploredState> work = new ArrayDeque<>();
+		work.add(root);
+		pendingTasks.incrementAndGet();
+		pool.execute(new ExploreTask(work));
+
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			failure.compareAndSet(null, e);
+			Thread.currentThread().interrupt();
+			throw new UncheckedInterruptedException();
+		}
+
+		Throwable error = failure.get();
+		if (error instanceof RuntimeException)
+			throw (RuntimeException) error;
+		if (error instanceof Error)
+			throw (Error) error;
+		assert error == null : error;
+
+		List<ExploredState> result = canonicalOrder(root);
+		// The states are only referenced by the result from now on
+		visited.clear();
+		return result;
+	}
+
+	private List<ExploredState> canonicalOrder(ExploredState root) {
+		List<ExploredState> order = new ArrayList<>(visited.size());
+		root.index = 0;
+		order.add(root);
+		for (int i = 0; i < order.size(); i++) {
+			ExploredState state = order.get(i);
+			for (int j = 0; j < state.targets.length; j++) {
+				ExploredState target = state.targets[j];
+				if (target.index == -1) {
+					target.index = order.size();
+					target.parent = i;
+					target.reachingTransition = state.transitions[j];
+					order.add(target);
+				}
+			}
+		}
+		assert order.size() == visited.size();
+
+		for (ExploredState state : order) {
+			state.targetIndices = new int[state.targets.length];
+			for (int j = 0; j < state.targets.length; j++)
+				state.targetIndices[j] = state.targets[j].index;
+			state.targets = null;
+		}
+		return order;
+	}
+
+	private void expand(ExploredState state, ArrayDeque<ExploredState> work) {
+		int[] transitions = new int[compiled.getTransitionCount()];
+		ExploredState[] targets = new ExploredState[transitions.length];
+		int count = 0;
+		for (int t = 0; t < transitions.length; t++) {
+			if (!compiled.isFireable(t, state.marking))
+				continue;
+
+			ExploredState target = new ExploredState(compiled.fire(t, state.marking));
+			ExploredState existing = visited.putIfAbsent(target, target);
+			if (existing == null)
+				work.add(target);
+			else
+				target = existing;
+
+			transitions[count] = t;
+			targets[count] = target;
+			count++;
+		}
+		state.transitions = Arrays.copyOf(transitions, count);
+		state.targets = Arrays.copyOf(targets, count);
+	}
+
+	private final class ExploreTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final ArrayDeque<ExploredState> work;
+
+		private ExploreTask(ArrayDeque<ExploredState> work) {
+			this.work = work;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				while (!work.isEmpty() && failure.get() == null) {
+					if (interrupter.isInterruptRequested())
+						throw new UncheckedInterruptedException();
+					// Give away half of our work if other threads are running out of it
+					if (work.size() > 1 && getSurplusQueuedTaskCount() <= 0)
+						split();
+					expand(work.pollLast(), work);
+				}
+			} catch (RuntimeException | Error e) {
+				failure.compareAndSet(null, e);
+			} finally {
+				if (pendingTasks.decrementAndGet() == 0)
+					done.countDown();
+			}
+		}
+
+		private void split() {
+			ArrayDeque<ExploredState> stolen = new ArrayDeque<>();
+			for (int i = work.size() / 2; i > 0; i--)
+				stolen.add(work.pollFirst());
+			pendingTasks.incrementAndGet();
+			new ExploreTask(stolen).fork();
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
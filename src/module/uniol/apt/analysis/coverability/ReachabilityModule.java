@@ -19,6 +19,8 @@
 
 package uniol.apt.analysis.coverability;
 
+import java.util.concurrent.ForkJoinPool;
+
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.module.AptModule;
 import uniol.apt.module.InterruptibleModule;
@@ -42,7 +44,15 @@ public class ReachabilityModule extends CoverabilityModule implements Interrupti
 
 	@Override
 	protected CoverabilityGraph getGraph(PetriNet pn) {
-		return CoverabilityGraph.getReachabilityGraph(pn);
+		CoverabilityGraph graph = CoverabilityGraph.getReachabilityGraph(pn);
+		// Java 8 provides ForkJoinPool.commonPool(). Java 7 does not, so we need to create our own pool.
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			graph.calculateNodes(pool);
+		} finally {
+			pool.shutdown();
+		}
+		return graph;
 	}
 }
 
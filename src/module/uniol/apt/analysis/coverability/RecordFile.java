@@ -0,0 +1,205 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A file of fixed-width records of longs. Records are appended with a buffered {@link Writer} and read back through a
+ * {@link Reader} which reads blocks of records with positional reads, so that sequential access is cheap and random
+ * access only costs one read per block. The file is not memory-mapped, so it can be deleted or replaced as soon as
+ * all readers and writers are closed, even on operating systems which do not allow this for mapped files.
+ */
+final class RecordFile {
+	// Size of the blocks that a reader keeps in memory
+	private static final int BLOCK_BYTES = 1 << 16;
+
+	private RecordFile() { /* hide constructor */ }
+
+	/**
+	 * Writer which appends records to a file.
+	 */
+	static final class Writer implements Closeable {
+		private final DataOutputStream out;
+		private final int width;
+		private long count;
+
+		/**
+		 * Open a file for writing.
+		 * @param file The file to write to.
+		 * @param width The number of longs per record.
+		 * @param append If true, records are appended to the existing content of the file.
+		 * @throws IOException If the file cannot be opened.
+		 */
+		Writer(File file, int width, boolean append) throws IOException {
+			this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append),
+						1 << 16));
+			this.width = width;
+		}
+
+		/**
+		 * Append a record. Only the first width entries of the array are written.
+		 * @param record The record to write.
+		 * @throws IOException If writing fails.
+		 */
+		void write(long[] record) throws IOException {
+			for (int i = 0; i < width; i++)
+				out.writeLong(record[i]);
+			count++;
+		}
+
+		/**
+		 * Get the number of records that were written through this writer.
+		 * @return the number of records.
+		 */
+		long getCount() {
+			return count;
+		}
+
+		/**
+		 * Make sure that all records are written to the file.
+		 * @throws IOException If writing fails.
+		 */
+		void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+		}
+	}
+
+	/**
+	 * Reader which reads a file of records block by block.
+	 */
+	static final class Reader implements Closeable {
+		private final int width;
+		private final long count;
+		private final int recordsPerBlock;
+		private final RandomAccessFile file;
+		private final FileChannel channel;
+		private final ByteBuffer block;
+		// Index of the first record in the block and number of records in it
+		private long blockStart;
+		private int blockCount;
+		private long position;
+
+		/**
+		 * Open a file for reading. Only the records which are currently in the file can be read.
+		 * @param file The file to read.
+		 * @param width The number of longs per record.
+		 * @throws IOException If the file cannot be opened.
+		 */
+		Reader(File file, int width) throws IOException {
+			this.width = width;
+			int recordBytes = 8 * Math.max(width, 1);
+			this.recordsPerBlock = Math.max(1, BLOCK_BYTES / recordBytes);
+			this.block = ByteBuffer.allocate(recordsPerBlock * recordBytes);
+			this.file = new RandomAccessFile(file, "r");
+			this.channel = this.file.getChannel();
+			try {
+				this.count = width == 0 ? 0 : channel.size() / recordBytes;
+			} catch (IOException e) {
+				this.file.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Get the number of records in the file.
+		 * @return the number of records.
+		 */
+		long getCount() {
+			return count;
+		}
+
+		/**
+		 * Read the record with the given index.
+		 * @param index The index of the record.
+		 * @param record Array into which the record is written; must have at least width entries.
+		 * @return The given array.
+		 * @throws IOException If reading fails.
+		 */
+		long[] read(long index, long[] record) throws IOException {
+			if (index < 0 || index >= count)
+				throw new IndexOutOfBoundsException("No record with index " + index);
+			if (index < blockStart || index >= blockStart + blockCount)
+				readBlock(index - index % recordsPerBlock);
+			int offset = (int) (index - blockStart) * width * 8;
+			for (int i = 0; i < width; i++)
+				record[i] = block.getLong(offset + 8 * i);
+			return record;
+		}
+
+		private void readBlock(long first) throws IOException {
+			int records = (int) Math.min(recordsPerBlock, count - first);
+			block.clear();
+			block.limit(records * width * 8);
+			long offset = first * width * 8;
+			while (block.hasRemaining()) {
+				if (channel.read(block, offset + block.position()) < 0)
+					throw new IOException("Unexpected end of file at record " + first);
+			}
+			blockStart = first;
+			blockCount = records;
+		}
+
+		/**
+		 * Set the index of the record that is returned by the next call to {@link #next}.
+		 * @param index The index of the next record.
+		 */
+		void seek(long index) {
+			position = index;
+		}
+
+		/**
+		 * Check if there are more records to read sequentially.
+		 * @return true if {@link #next} returns another record.
+		 */
+		boolean hasNext() {
+			return position < count;
+		}
+
+		/**
+		 * Read the next record.
+		 * @return A new array containing the record.
+		 * @throws IOException If reading fails.
+		 */
+		long[] next() throws IOException {
+			return read(position++, new long[width]);
+		}
+
+		@Override
+		public void close() throws IOException {
+			file.close();
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,399 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Search for a reachable marking with some property in a state space that is reduced with stubborn sets. In each
+ * marking only the enabled transitions of a stubborn set are fired. A stubborn set is closed under the following
+ * rules: For an enabled transition it contains all transitions which consume tokens from the transition's preset,
+ * and for a disabled transition it contains all producers of some place which does not have enough tokens. This
+ * guarantees that all transitions outside of the set cannot interfere with the transitions inside of it.
+ *
+ * The search is started from an up-set of the {@link Goal}, a set of transitions of which at least one has to fire
+ * before the goal can be reached. With this, a marking satisfying the goal is found if and only if one is reachable.
+ * Goals without an up-set, like deadlocks, start from an enabled transition instead, which preserves all reachable
+ * deadlocks.
+ *
+ * If a marking is found which strictly covers a marking on its path from the initial marking, the Petri net is
+ * unbounded and the reduced state space might be infinite. The search stops with {@link Outcome#UNBOUNDED} in this
+ * case.
+ */
+public class StubbornSetSearch {
+	/**
+	 * A property of markings that is searched for.
+	 */
+	public interface Goal {
+		/**
+		 * Check if a marking satisfies this goal.
+		 * @param marking The marking vector as used by {@link CompiledPetriNet}.
+		 * @return true if the marking satisfies the goal.
+		 */
+		boolean isSatisfied(long[] marking);
+
+		/**
+		 * Get a set of transitions of which at least one has to fire on every path from the given marking to a
+		 * marking satisfying this goal.
+		 * @param marking A marking which does not satisfy this goal.
+		 * @return The indices of the transitions or null if this goal does not provide up-sets.
+		 */
+		int[] getUpSet(long[] marking);
+	}
+
+	/**
+	 * The result of a search.
+	 */
+	public enum Outcome {
+		/** A marking satisfying the goal was found. */
+		FOUND,
+		/** No reachable marking satisfies the goal. */
+		NOT_FOUND,
+		/** The Petri net is unbounded and the search was aborted. */
+		UNBOUNDED
+	}
+
+	private final CompiledPetriNet compiled;
+	private final Goal goal;
+	private final PackedMarkingStore store = new PackedMarkingStore();
+	// Parent and reaching transition of every state, indexed by the id in the store
+	private int[] parents = new int[64];
+	private int[] transitions = new int[64];
+	private int goalState = -1;
+	private int coveringState = -1;
+	private int coveredState = -1;
+
+	/**
+	 * Create a new search.
+	 * @param pn The Petri net to search in.
+	 * @param goal The goal that is searched for.
+	 */
+	public StubbornSetSearch(PetriNet pn, Goal goal) {
+		this.compiled = CompiledPetriNet.get(pn);
+		this.goal = goal;
+	}
+
+	/**
+	 * Get a goal which is satisfied by dead markings, markings in which no transition is enabled.
+	 * @param pn The Petri net which will be examined.
+	 * @return The goal.
+	 */
+	static public Goal deadlock(PetriNet pn) {
+		final CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		return new Goal() {
+			@Override
+			public boolean isSatisfied(long[] marking) {
+				for (int t = 0; t < compiled.getTransitionCount(); t++)
+					if (compiled.isFireable(t, marking))
+						return false;
+				return true;
+			}
+
+			@Override
+			public int[] getUpSet(long[] marking) {
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Get a goal which is satisfied by a single marking.
+	 * @param pn The Petri net which will be examined.
+	 * @param target The marking that should be reached.
+	 * @return The goal.
+	 */
+	static public Goal reaches(PetriNet pn, Marking target) {
+		final CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		final long[] targetVector = compiled.toVector(target);
+		return new Goal() {
+			@Override
+			public boolean isSatisfied(long[] marking) {
+				return Arrays.equals(marking, targetVector);
+			}
+
+			@Override
+			public int[] getUpSet(long[] marking) {
+				// Some place has the wrong number of tokens; one of its producers or consumers must fire
+				int[] best = null;
+				for (int p = 0; p < marking.length; p++) {
+					int[] candidate;
+					if (marking[p] < targetVector[p])
+						candidate = compiled.getProducers(p);
+					else if (marking[p] > targetVector[p])
+						candidate = compiled.getConsumers(p);
+					else
+						continue;
+					if (best == null || candidate.length < best.length)
+						best = candidate;
+				}
+				return best;
+			}
+		};
+	}
+
+	/**
+	 * Get a goal which is satisfied by markings where a place has more than a given number of tokens.
+	 * @param pn The Petri net which will be examined.
+	 * @param place The place that is checked.
+	 * @param k The bound that should be exceeded.
+	 * @return The goal.
+	 */
+	static public Goal exceeds(PetriNet pn, Place place, final long k) {
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		final int p = compiled.getPlaceIndex(place);
+		final int[] producers = compiled.getProducers(p);
+		return new Goal() {
+			@Override
+			public boolean isSatisfied(long[] marking) {
+				return marking[p] > k;
+			}
+
+			@Override
+			public int[] getUpSet(long[] marking) {
+				return producers;
+			}
+		};
+	}
+
+	/**
+	 * Run the search.
+	 * @return The outcome of the search.
+	 */
+	public Outcome search() {
+		long[] initial = compiled.getInitialMarkingVector();
+		store.add(initial);
+		parents[0] = -1;
+		transitions[0] = -1;
+		for (int state = 0; state < store.size(); state++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			long[] marking = store.get(state);
+			if (goal.isSatisfied(marking)) {
+				goalState = state;
+				return Outcome.FOUND;
+			}
+
+			for (int t : getStubbornEnabledTransitions(marking)) {
+				long[] next = compiled.fire(t, marking);
+				int size = store.size();
+				int id = store.add(next);
+				if (id != size)
+					continue;
+
+				if (id == parents.length) {
+					parents = Arrays.copyOf(parents, 2 * id);
+					transitions = Arrays.copyOf(transitions, 2 * id);
+				}
+				parents[id] = state;
+				transitions[id] = t;
+				if (checkCover(id, next))
+					return Outcome.UNBOUNDED;
+			}
+		}
+		return Outcome.NOT_FOUND;
+	}
+
+	/**
+	 * Calculate the enabled transitions of a stubborn set in the given marking.
+	 * @param marking The marking.
+	 * @return The indices of the enabled transitions in the stubborn set in increasing order.
+	 */
+	int[] getStubbornEnabledTransitions(long[] marking) {
+		int[] upSet = goal.getUpSet(marking);
+		if (upSet != null)
+			return closure(marking, upSet);
+
+		// Try each enabled transition as a start and use the smallest result
+		int[] best = new int[0];
+		for (int t = 0; t < compiled.getTransitionCount(); t++) {
+			if (!compiled.isFireable(t, marking))
+				continue;
+			int[] candidate = closure(marking, new int[] { t });
+			if (best.length == 0 || candidate.length < best.length)
+				best = candidate;
+			if (best.length == 1)
+				break;
+		}
+		return best;
+	}
+
+	private int[] closure(long[] marking, int[] start) {
+		boolean[] inSet = new boolean[compiled.getTransitionCount()];
+		Deque<Integer> work = new ArrayDeque<>();
+		for (int t : start) {
+			if (!inSet[t]) {
+				inSet[t] = true;
+				work.add(t);
+			}
+		}
+
+		int enabled = 0;
+		while (!work.isEmpty()) {
+			int t = work.poll();
+			if (compiled.isFireable(t, marking)) {
+				enabled++;
+				// Everything that competes for tokens in the preset of t
+				for (int p : compiled.getPresetPlaces(t))
+					addAll(compiled.getConsumers(p), inSet, work);
+				continue;
+			}
+			// t stays disabled until a producer of one of its insufficiently marked places fires
+			int[] added = null;
+			int[] prePlaces = compiled.getPresetPlaces(t);
+			int[] preWeights = compiled.getPresetWeights(t);
+			for (int i = 0; i < prePlaces.length; i++) {
+				int p = prePlaces[i];
+				if (marking[p] >= preWeights[i])
+					continue;
+				int[] producers = compiled.getProducers(p);
+				if (added == null || producers.length < added.length)
+					added = producers;
+			}
+			assert added != null;
+			addAll(added, inSet, work);
+		}
+
+		int[] result = new int[enabled];
+		int i = 0;
+		for (int t = 0; t < inSet.length; t++)
+			if (inSet[t] && compiled.isFireable(t, marking))
+				result[i++] = t;
+		return result;
+	}
+
+	static private void addAll(int[] transitions, boolean[] inSet, Deque<Integer> work) {
+		for (int t : transitions) {
+			if (!inSet[t]) {
+				inSet[t] = true;
+				work.add(t);
+			}
+		}
+	}
+
+	// Check if the new state strictly covers one of its ancestors
+	private boolean checkCover(int id, long[] marking) {
+		for (int ancestor = parents[id]; ancestor != -1; ancestor = parents[ancestor]) {
+			long[] other = store.get(ancestor);
+			boolean larger = false;
+			boolean covers = true;
+			for (int p = 0; p < marking.length && covers; p++) {
+				if (marking[p] < other[p])
+					covers = false;
+				else if (marking[p] > other[p])
+					larger = true;
+			}
+			if (covers && larger) {
+				coveringState = id;
+				coveredState = ancestor;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<Transition> getFiringSequence(int ancestor, int state) {
+		List<Transition> result = new ArrayList<>();
+		// The initial state has no reaching transition
+		while (state != ancestor && transitions[state] != -1) {
+			result.add(compiled.getTransition(transitions[state]));
+			state = parents[state];
+		}
+		Collections.reverse(result);
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Get the number of markings that were explored.
+	 * @return The number of markings.
+	 */
+	public int getExploredStates() {
+		return store.size();
+	}
+
+	/**
+	 * Get a firing sequence which reaches a marking satisfying the goal.
+	 * @return The firing sequence, or null if the outcome was not {@link Outcome#FOUND}.
+	 */
+	public List<Transition> getFiringSequence() {
+		if (goalState == -1)
+			return null;
+		return getFiringSequence(-1, goalState);
+	}
+
+	/**
+	 * Get the marking which satisfies the goal.
+	 * @return The marking, or null if the outcome was not {@link Outcome#FOUND}.
+	 */
+	public Marking getReachedMarking() {
+		if (goalState == -1)
+			return null;
+		return compiled.toMarking(store.get(goalState));
+	}
+
+	/**
+	 * Get a firing sequence which reaches a marking that is strictly covered by a later marking.
+	 * @return The firing sequence, or null if the outcome was not {@link Outcome#UNBOUNDED}.
+	 * @see #getCoveringSequence()
+	 */
+	public List<Transition> getSequenceToCovered() {
+		if (coveredState == -1)
+			return null;
+		return getFiringSequence(-1, coveredState);
+	}
+
+	/**
+	 * Get a firing sequence which can be fired after {@link #getSequenceToCovered()} and creates a strictly larger
+	 * marking.
+	 * @return The firing sequence, or null if the outcome was not {@link Outcome#UNBOUNDED}.
+	 */
+	public List<Transition> getCoveringSequence() {
+		if (coveredState == -1)
+			return null;
+		return getFiringSequence(coveredState, coveringState);
+	}
+
+	/**
+	 * Get a place which can get arbitrarily many tokens.
+	 * @return The place, or null if the outcome was not {@link Outcome#UNBOUNDED}.
+	 */
+	public Place getUnboundedPlace() {
+		if (coveredState == -1)
+			return null;
+		long[] covering = store.get(coveringState);
+		long[] covered = store.get(coveredState);
+		for (int p = 0; p < covering.length; p++)
+			if (covering[p] > covered[p])
+				return compiled.getPlace(p);
+		throw new AssertionError("Covering marking is not larger");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,69 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.deadlock;
+
+import java.util.List;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.StubbornSetSearch;
+import uniol.apt.analysis.exception.UnboundedException;
+
+/**
+ * Check if a Petri net can reach a dead marking, a marking in which no transition is enabled. Since only deadlocks
+ * are of interest, the state space is reduced with stubborn sets.
+ * @see StubbornSetSearch
+ */
+public class Deadlock {
+	private Deadlock() { /* hide constructor */ }
+
+	/**
+	 * Find a firing sequence which reaches a dead marking.
+	 * @param pn The Petri net that should be examined.
+	 * @return A firing sequence reaching a dead marking, or null if no dead marking is reachable.
+	 * @throws UnboundedException If the Petri net is unbounded and no dead marking was found before this was
+	 * noticed.
+	 */
+	static public List<Transition> findDeadlock(PetriNet pn) throws UnboundedException {
+		StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.deadlock(pn));
+		switch (search.search()) {
+			case FOUND:
+				return search.getFiringSequence();
+			case UNBOUNDED:
+				throw new UnboundedException(pn);
+			case NOT_FOUND:
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Check if the Petri net is deadlock-free.
+	 * @param pn The Petri net that should be examined.
+	 * @return true if no dead marking is reachable.
+	 * @throws UnboundedException If the Petri net is unbounded and no dead marking was found before this was
+	 * noticed.
+	 */
+	static public boolean isDeadlockFree(PetriNet pn) throws UnboundedException {
+		return findDeadlock(pn) == null;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,91 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.deadlock;
+
+import java.util.List;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.language.FiringSequence;
+import uniol.apt.module.AbstractModule;
+import uniol.apt.module.AptModule;
+import uniol.apt.module.Category;
+import uniol.apt.module.InterruptibleModule;
+import uniol.apt.module.ModuleInput;
+import uniol.apt.module.ModuleInputSpec;
+import uniol.apt.module.ModuleOutput;
+import uniol.apt.module.ModuleOutputSpec;
+import uniol.apt.module.exception.ModuleException;
+
+/**
+ * Provide the deadlock test as a module.
+ */
+@AptModule
+public class DeadlockModule extends AbstractModule implements InterruptibleModule {
+
+	@Override
+	public String getShortDescription() {
+		return "Check if a Petri net is deadlock-free";
+	}
+
+	@Override
+	public String getLongDescription() {
+		return getShortDescription()
+			+ ". A Petri net is deadlock-free if no marking is reachable in which no transition is enabled.";
+	}
+
+	@Override
+	public String getName() {
+		return "deadlock_free";
+	}
+
+	@Override
+	public void require(ModuleInputSpec inputSpec) {
+		inputSpec.addParameter("pn", PetriNet.class, "The Petri net that should be examined");
+	}
+
+	@Override
+	public void provide(ModuleOutputSpec outputSpec) {
+		outputSpec.addReturnValue("deadlock_free", Boolean.class, ModuleOutputSpec.PROPERTY_SUCCESS);
+		outputSpec.addReturnValue("witness_firing_sequence", FiringSequence.class);
+		outputSpec.addReturnValue("dead_marking", Marking.class);
+	}
+
+	@Override
+	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
+		PetriNet pn = input.getParameter("pn", PetriNet.class);
+		List<Transition> sequence = Deadlock.findDeadlock(pn);
+		output.setReturnValue("deadlock_free", Boolean.class, sequence == null);
+		if (sequence != null) {
+			output.setReturnValue("witness_firing_sequence", FiringSequence.class,
+					new FiringSequence(sequence));
+			output.setReturnValue("dead_marking", Marking.class, pn.getInitialMarking().fireTransitions(
+						sequence.toArray(new Transition[0])));
+		}
+	}
+
+	@Override
+	public Category[] getCategories() {
+		return new Category[]{Category.PN};
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
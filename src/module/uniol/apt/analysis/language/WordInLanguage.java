@@ -19,6 +19,8 @@
 
 package uniol.apt.analysis.language;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -41,6 +43,12 @@ public class WordInLanguage {
 
 	private final PetriNet pn;
 
+	// State of isWordInLanguage(): The labels of the Petri net, the last word that was checked and for each of
+	// its prefixes the markings that are reached by it.
+	private Map<String, Set<Transition>> batchLabels;
+	private final List<String> lastWord = new ArrayList<>();
+	private final List<Set<Marking>> lastMarkings = new ArrayList<>();
+
 	/**
 	 * Constructor.
 	 * @param pn The Petri net whose prefix language should be analyzed.
@@ -77,6 +85,51 @@ public class WordInLanguage {
 		return checkWord(pn.getInitialMarking(), word, 0, getLabels());
 	}
 
+	/**
+	 * Check if the given word is in the Petri net's prefix language without constructing a fire sequence. This is
+	 * meant for checking many words: The labels of the Petri net are only computed once and the markings reached
+	 * by the prefix that the word shares with the previously checked word are re-used. Thus, checking a sorted list
+	 * of words avoids most of the work. Instead of backtracking, all markings reachable by a prefix are computed.
+	 * The Petri net must not be modified between calls.
+	 * @param word The word that should be checked.
+	 * @return true if and only if the word is in the prefix language.
+	 */
+	public boolean isWordInLanguage(List<String> word) {
+		if (batchLabels == null) {
+			batchLabels = getLabels();
+			lastMarkings.add(Collections.singleton(pn.getInitialMarking()));
+		}
+
+		// Forget everything behind the common prefix with the last word
+		int common = 0;
+		int maxCommon = Math.min(lastWord.size(), word.size());
+		while (common < maxCommon && lastWord.get(common).equals(word.get(common)))
+			common++;
+		lastWord.subList(common, lastWord.size()).clear();
+		lastMarkings.subList(common + 1, lastMarkings.size()).clear();
+
+		for (int idx = common; idx < word.size(); idx++) {
+			Set<Marking> markings = lastMarkings.get(idx);
+			if (markings.isEmpty())
+				return false;
+
+			Set<Marking> nextMarkings = new HashSet<>();
+			Set<Transition> transitions = batchLabels.get(word.get(idx));
+			if (transitions != null) {
+				for (Marking marking : markings) {
+					for (Transition trans : transitions) {
+						InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+						if (trans.isFireable(marking))
+							nextMarkings.add(trans.fire(marking));
+					}
+				}
+			}
+			lastWord.add(word.get(idx));
+			lastMarkings.add(nextMarkings);
+		}
+		return !lastMarkings.get(word.size()).isEmpty();
+	}
+
 	/**
 	 * Check if the given sub-word is in the language. The Petri net's current marking is used as the starting point
 	 * for the search.
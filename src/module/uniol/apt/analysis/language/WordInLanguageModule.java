@@ -19,6 +19,15 @@
 
 package uniol.apt.analysis.language;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import org.apache.commons.io.FileUtils;
+
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.module.AbstractModule;
 import uniol.apt.module.AptModule;
@@ -42,6 +51,16 @@ public class WordInLanguageModule extends AbstractModule implements Interruptibl
 		return "Check if a word is in a Petri net's prefix language";
 	}
 
+	@Override
+	public String getLongDescription() {
+		return getShortDescription() + ".\n\n"
+			+ "Instead of or additionally to a single word, a file with many words can be given. This file "
+			+ "is read line by line and each line is a word whose events are separated by commas, "
+			+ "semicolons or spaces. The Petri net's markings for the prefix that a word shares with the "
+			+ "previous word are re-used, so sorting the file speeds up the check. The module succeeds if "
+			+ "all given words are in the language.";
+	}
+
 	@Override
 	public String getName() {
 		return "word";
@@ -50,26 +69,84 @@ public class WordInLanguageModule extends AbstractModule implements Interruptibl
 	@Override
 	public void require(ModuleInputSpec inputSpec) {
 		inputSpec.addParameter("pn", PetriNet.class, "The Petri net that should be examined");
-		inputSpec.addParameter("word", Word.class,
-			"The word which should be checked");
+		inputSpec.addOptionalParameterWithoutDefault("word", Word.class,
+			"The word which should be checked; can be omitted or empty if word_file is given");
+		inputSpec.addOptionalParameterWithoutDefault("word_file", String.class,
+			"A file with further words, one per line, which should be checked");
 	}
 
 	@Override
 	public void provide(ModuleOutputSpec outputSpec) {
 		outputSpec.addReturnValue("in_language", Boolean.class, ModuleOutputSpec.PROPERTY_SUCCESS);
 		outputSpec.addReturnValue("firing_sequence", FiringSequence.class);
+		outputSpec.addReturnValue("words_checked", Integer.class);
+		outputSpec.addReturnValue("words_in_language", Integer.class);
+		outputSpec.addReturnValue("first_word_not_in_language", Word.class);
 	}
 
 	@Override
 	public void run(ModuleInput input, ModuleOutput output) throws ModuleException {
 		PetriNet pn = input.getParameter("pn", PetriNet.class);
 		Word word = input.getParameter("word", Word.class);
+		String wordFile = input.getParameter("word_file", String.class);
+		if (word == null && wordFile == null)
+			throw new ModuleException("Either a word or a word file must be given");
+
 		WordInLanguage test = new WordInLanguage(pn);
-		FiringSequence result = test.checkWord(word);
-		output.setReturnValue("in_language", Boolean.class, result != null);
-		if (result != null) {
-			output.setReturnValue("firing_sequence", FiringSequence.class, result);
+		boolean inLanguage = true;
+		// The empty word is always in the prefix language. On the command line it stands for a missing word.
+		if (word != null && (wordFile == null || !word.isEmpty())) {
+			FiringSequence result = test.checkWord(word);
+			inLanguage = result != null;
+			if (result != null) {
+				output.setReturnValue("firing_sequence", FiringSequence.class, result);
+			}
+		}
+
+		if (wordFile != null) {
+			try {
+				inLanguage &= checkWordFile(test, new File(wordFile), output);
+			} catch (IOException e) {
+				throw new ModuleException("Cannot read word file: " + e.getMessage(), e);
+			}
+		}
+		output.setReturnValue("in_language", Boolean.class, inLanguage);
+	}
+
+	// Check all words from the given file without keeping them in memory and return true if all of them are in the
+	// language
+	private boolean checkWordFile(WordInLanguage test, File file, ModuleOutput output)
+			throws IOException, ModuleException {
+		int checked = 0;
+		int inLanguage = 0;
+		Word firstNotInLanguage = null;
+		try (InputStream is = FileUtils.openInputStream(file);
+				Reader isr = new InputStreamReader(is, "UTF-8");
+				BufferedReader reader = new BufferedReader(isr)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				Word word = parseWord(line);
+				checked++;
+				if (test.isWordInLanguage(word))
+					inLanguage++;
+				else if (firstNotInLanguage == null)
+					firstNotInLanguage = word;
+			}
 		}
+
+		output.setReturnValue("words_checked", Integer.class, checked);
+		output.setReturnValue("words_in_language", Integer.class, inLanguage);
+		if (firstNotInLanguage != null)
+			output.setReturnValue("first_word_not_in_language", Word.class, firstNotInLanguage);
+		return firstNotInLanguage == null;
+	}
+
+	static private Word parseWord(String line) {
+		Word word = new Word();
+		for (String event : line.split("[,; ]"))
+			if (!event.trim().isEmpty())
+				word.add(event.trim());
+		return word;
 	}
 
 	@Override
@@ -19,24 +19,22 @@
 
 package uniol.apt.analysis.live;
 
-import java.util.ArrayDeque;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Deque;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import uniol.apt.adt.pn.CompiledPetriNet;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Transition;
-import uniol.apt.adt.ts.Arc;
-import uniol.apt.adt.ts.State;
-import uniol.apt.adt.ts.TransitionSystem;
-import uniol.apt.analysis.connectivity.Connectivity;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
 import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
 import uniol.apt.analysis.coverability.CoverabilityGraphNode;
+import uniol.apt.analysis.coverability.ExternalReachabilityGraph;
+import uniol.apt.analysis.coverability.MinimalCoverabilitySet;
 import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.analysis.symmetry.Symmetries;
+import uniol.apt.analysis.symmetry.SymmetryReducedGraph;
 import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
@@ -55,9 +53,85 @@ public class Live {
 	 * @throws UnboundedException If the reachability graph is unbounded.
 	 */
 	static public Transition findDeadTransition(PetriNet pn) throws UnboundedException {
-		for (Transition t : pn.getTransitions())
-			if (checkSimplyLive(pn, t) == null)
-				return t;
+		// Instead of searching the coverability graph once per transition, check all transitions in one pass
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		boolean[] fired = new boolean[compiled.getTransitionCount()];
+		int numFired = 0;
+		for (CoverabilityGraphEdge arc : CoverabilityGraph.get(pn).getEdges()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			int index = compiled.getTransitionIndex(arc.getTransition());
+			if (!fired[index]) {
+				fired[index] = true;
+				if (++numFired == fired.length)
+					return null;
+			}
+		}
+		// Return the first dead transition in the order of getTransitions()
+		for (int index = 0; index < fired.length; index++)
+			if (!fired[index])
+				return compiled.getTransition(index);
+		return null;
+	}
+
+	/**
+	 * Find a dead transition in the Petri net with the help of its minimal coverability set. This is much cheaper
+	 * than {@link #findDeadTransition(PetriNet)} for unbounded nets, but usually slower for large bounded nets.
+	 * @param cover The minimal coverability set of the Petri net that should be examined.
+	 * @return A transition which is dead live, else null.
+	 * @see MinimalCoverabilitySet
+	 */
+	static public Transition findDeadTransition(MinimalCoverabilitySet cover) {
+		// A transition is dead iff it is not enabled in any marking of the minimal coverability set
+		List<Transition> dead = cover.getDeadTransitions();
+		return dead.isEmpty() ? null : dead.get(0);
+	}
+
+	/**
+	 * Find a dead transition in the Petri net by exploring its reachability graph in external memory. This works
+	 * for state spaces which do not fit into memory.
+	 * @param pn The Petri net that should be examined.
+	 * @param directory The directory in which temporary files are created.
+	 * @return A transition which is dead live, else null.
+	 * @throws UnboundedException If the reachability graph is unbounded.
+	 * @throws IOException If accessing the temporary files fails.
+	 * @see ExternalReachabilityGraph
+	 */
+	static public Transition findDeadTransition(PetriNet pn, File directory)
+			throws UnboundedException, IOException {
+		final CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		final boolean[] fired = new boolean[compiled.getTransitionCount()];
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn, directory)) {
+			if (!graph.isBounded())
+				throw new UnboundedException(pn);
+			graph.visitArcs(new ExternalReachabilityGraph.ArcVisitor() {
+				@Override
+				public void visit(long source, Transition transition, long target) {
+					fired[compiled.getTransitionIndex(transition)] = true;
+				}
+			});
+		}
+		for (int index = 0; index < fired.length; index++)
+			if (!fired[index])
+				return compiled.getTransition(index);
+		return null;
+	}
+
+	/**
+	 * Find a dead transition in the Petri net by exploring its reachability graph modulo the given symmetries.
+	 * @param pn The Petri net that should be examined.
+	 * @param symmetries The symmetries of the Petri net.
+	 * @return A transition which is dead live, else null.
+	 * @throws UnboundedException If the reachability graph is unbounded.
+	 * @see SymmetryReducedGraph
+	 */
+	static public Transition findDeadTransition(PetriNet pn, Symmetries symmetries) throws UnboundedException {
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn, symmetries);
+		if (!graph.isBounded())
+			throw new UnboundedException(pn);
+		int index = graph.getFireableTransitions().nextClearBit(0);
+		if (index < compiled.getTransitionCount())
+			return compiled.getTransition(index);
 		return null;
 	}
 
@@ -84,6 +158,25 @@ public class Live {
 		return null;
 	}
 
+	/**
+	 * Check if the given transition is simply live with the help of the minimal coverability set of its Petri
+	 * net. This is much cheaper than {@link #checkSimplyLive(PetriNet, Transition)} for unbounded nets, but usually
+	 * slower for large bounded nets.
+	 * @param cover The minimal coverability set of the Petri net that should be examined.
+	 * @param transition The transition that is checked.
+	 * @return A firable firing sequence that ends with the given transition, or null.
+	 * @see MinimalCoverabilitySet
+	 */
+	static public List<Transition> checkSimplyLive(MinimalCoverabilitySet cover, Transition transition) {
+		List<Transition> sequence = cover.getFiringSequenceEnabling(transition);
+		if (sequence == null)
+			// The wanted transition is not enabled by any coverable marking. Thus it must be dead.
+			return null;
+		List<Transition> result = new ArrayList<>(sequence);
+		result.add(transition);
+		return result;
+	}
+
 	/**
 	 * Find a transition which is not weakly live.
 	 * @param pn The Petri net that should be examined.
@@ -92,12 +185,7 @@ public class Live {
 	 * @throws UnboundedException If the reachability graph is unbounded.
 	 */
 	static public Transition findNonWeaklyLiveTransition(PetriNet pn) throws UnboundedException {
-		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
-		Set<? extends Set<State>> components = Connectivity.getStronglyConnectedComponents(lts);
-		for (Transition t : pn.getTransitions())
-			if (!checkWeaklyLive(lts, components, t))
-				return t;
-		return null;
+		return LivenessAnalysis.get(pn).findNonWeaklyLiveTransition();
 	}
 
 	/**
@@ -109,56 +197,7 @@ public class Live {
 	 * @throws UnboundedException If the reachability graph is unbounded.
 	 */
 	static public boolean checkWeaklyLive(PetriNet pn, Transition transition) throws UnboundedException {
-		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
-		Set<? extends Set<State>> components = Connectivity.getStronglyConnectedComponents(lts);
-		return checkWeaklyLive(lts, components, transition);
-	}
-
-	/**
-	 * Check if a transition is weakly live.
-	 * @param lts The reachability graph of a PetriNet, generated via {@link CoverabilityGraph#toReachabilityLTS}.
-	 * @param components The strongly connected components of the lts.
-	 * @param transition The transition that should be checked.
-	 * @return true If the transition is weakly live, else false.
-	 */
-	static private boolean checkWeaklyLive(TransitionSystem lts, Set<? extends Set<State>> components,
-			Transition transition) {
-		/* We are working with bounded Petri nets. Thus, an infinite fire sequence creates a circle in the
-		 * reachability graph. This means that there exists an edge for our transition in the graph which is
-		 * taken infinitely often. This means that both nodes of the transition belong to the same strongly
-		 * connected component.
-		 *
-		 * For the other direction:
-		 * If there is no edge for our transition which has both of its nodes in the same strongly connected
-		 * component, there obviously can't be an infinite fire sequence which contains the transition
-		 * infinitely often.
-		 */
-		for (Arc edge : lts.getEdges()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-			// Look for edges labeled with our transition...
-			Transition trans = (Transition) edge.getExtension(Transition.class.getName());
-			if (!trans.equals(transition))
-				continue;
-
-			// ...where both endpoints are in the same component
-			State source = edge.getSource();
-			State target = edge.getTarget();
-			for (Set<State> component : components) {
-				if (component.contains(source)) {
-					if (component.contains(target))
-						// Both nodes in the same component
-						return true;
-
-					// We now know for sure that they can't be in the same component, because source
-					// can only be in a single component
-					break;
-				}
-			}
-		}
-
-		// We didn't find a suitable component
-		return false;
+		return LivenessAnalysis.get(pn).getLevel(transition).compareTo(LivenessAnalysis.Level.WEAKLY_LIVE) >= 0;
 	}
 
 	/**
@@ -169,10 +208,7 @@ public class Live {
 	 * @throws UnboundedException If the reachability graph is unbounded.
 	 */
 	static public Transition findNonStronglyLiveTransition(PetriNet pn) throws UnboundedException {
-		for (Transition t : pn.getTransitions())
-			if (!checkStronglyLive(pn, t))
-				return t;
-		return null;
+		return LivenessAnalysis.get(pn).findNonStronglyLiveTransition();
 	}
 
 	/**
@@ -184,7 +220,7 @@ public class Live {
 	 * @throws UnboundedException If the reachability graph is unbounded.
 	 */
 	static public boolean checkStronglyLive(PetriNet pn, Transition transition) throws UnboundedException {
-		return findKillingFireSequence(pn, transition) == null;
+		return LivenessAnalysis.get(pn).getLevel(transition) == LivenessAnalysis.Level.STRONGLY_LIVE;
 	}
 
 	/**
@@ -197,40 +233,7 @@ public class Live {
 	 */
 	static public List<Transition> findKillingFireSequence(PetriNet pn, Transition transition)
 			throws UnboundedException {
-		// We are looking for a node from which no edge for our transition is reachable
-		TransitionSystem lts = CoverabilityGraph.get(pn).toReachabilityLTS();
-		Collection<State> nodes = new HashSet<>(lts.getNodes());
-
-		// Look for edges labeled with our transition...
-		for (Arc edge : lts.getEdges()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			Transition trans = (Transition) edge.getExtension(Transition.class.getName());
-			if (!trans.equals(transition))
-				continue;
-			// All of the nodes in this edge's preset can reach a state where the transition is activated
-			handleStronglyLiveNode(nodes, edge.getSource());
-		}
-
-		// everything which can eventually enable transition was removed, so the transition is strongly live if
-		// this collection is empty.
-		if (nodes.isEmpty())
-			return null;
-		State node = nodes.iterator().next();
-		return ((CoverabilityGraphNode) node.getExtension(CoverabilityGraphNode.class.getName()))
-			.getFiringSequence();
-	}
-
-	// Recursively remove the preset from the set of nodes
-	static private void handleStronglyLiveNode(Collection<State> nodes, State node) {
-		Deque<State> toRemove = new ArrayDeque<>();
-		toRemove.add(node);
-		while (!toRemove.isEmpty()) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-			node = toRemove.remove();
-			if (nodes.remove(node))
-				// Node was not yet handled
-				toRemove.addAll(node.getPresetNodes());
-		}
+		return LivenessAnalysis.get(pn).getKillingFiringSequence(transition);
 	}
 }
 
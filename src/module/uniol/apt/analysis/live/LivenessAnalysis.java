@@ -0,0 +1,313 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.live;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import uniol.apt.adt.StructuralExtensionRemover;
+import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.extension.ExtensionProperty;
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Flow;
+import uniol.apt.adt.pn.Node;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.coverability.CoverabilityGraphEdge;
+import uniol.apt.analysis.coverability.CoverabilityGraphNode;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Classify all transitions of a bounded Petri net by their liveness in one pass over the reachability graph.
+ *
+ * The strongly connected components of the reachability graph are calculated once. A transition is weakly live iff it
+ * labels an arc inside of a component, because every infinite firing sequence ends in a cycle. Since the components
+ * are found in reverse topological order, the set of transitions which can still fire after reaching a component is
+ * collected bottom-up in the same pass. A transition is simply live iff it can still fire from the initial state and
+ * strongly live iff it can still fire from every state.
+ */
+public class LivenessAnalysis {
+	/**
+	 * The liveness of a transition. Every level implies the previous ones, except for {@link #DEAD}.
+	 */
+	public enum Level {
+		/**
+		 * The transition cannot fire in any reachable marking.
+		 */
+		DEAD,
+		/**
+		 * The transition can fire in some reachable marking.
+		 */
+		SIMPLY_LIVE,
+		/**
+		 * There is an infinite firing sequence which fires the transition infinitely often.
+		 */
+		WEAKLY_LIVE,
+		/**
+		 * From every reachable marking, some firing sequence enables the transition.
+		 */
+		STRONGLY_LIVE
+	}
+
+	private final PetriNet pn;
+	private final CompiledPetriNet compiled;
+	private final List<CoverabilityGraphNode> nodes = new ArrayList<>();
+	// The component of every state
+	private final int[] component;
+	// The smallest state index in every component
+	private final int[] firstState;
+	// The transitions which can fire after reaching a component
+	private final List<BitSet> reachable = new ArrayList<>();
+	// The transitions which label an arc inside of a component
+	private final BitSet insideComponent = new BitSet();
+	// For every transition, a state in which it is enabled
+	private final int[] enablingState;
+
+	private LivenessAnalysis(PetriNet pn) throws UnboundedException {
+		this.pn = pn;
+		this.compiled = CompiledPetriNet.get(pn);
+		CoverabilityGraph graph = CoverabilityGraph.get(pn);
+		int numStates = graph.calculateNodes();
+		for (CoverabilityGraphNode node : graph.getNodes()) {
+			if (node.getMarking().hasOmega())
+				throw new UnboundedException(pn);
+			nodes.add(node);
+		}
+		assert nodes.size() == numStates;
+
+		// Collect the arcs in compressed form
+		int[] firstArc = new int[numStates + 1];
+		List<Integer> targetList = new ArrayList<>();
+		List<Integer> labelList = new ArrayList<>();
+		enablingState = new int[compiled.getTransitionCount()];
+		Arrays.fill(enablingState, -1);
+		for (int state = 0; state < numStates; state++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			for (CoverabilityGraphEdge edge : nodes.get(state).getPostsetEdges()) {
+				int t = compiled.getTransitionIndex(edge.getTransition());
+				targetList.add(edge.getTarget().getIndex());
+				labelList.add(t);
+				if (enablingState[t] == -1)
+					enablingState[t] = state;
+			}
+			firstArc[state + 1] = targetList.size();
+		}
+		int[] targets = new int[targetList.size()];
+		int[] labels = new int[labelList.size()];
+		for (int arc = 0; arc < targets.length; arc++) {
+			targets[arc] = targetList.get(arc);
+			labels[arc] = labelList.get(arc);
+		}
+
+		component = new int[numStates];
+		List<Integer> firstStates = new ArrayList<>();
+		findComponents(firstArc, targets, labels, firstStates);
+		firstState = new int[firstStates.size()];
+		for (int c = 0; c < firstState.length; c++)
+			firstState[c] = firstStates.get(c);
+	}
+
+	/**
+	 * Analyse the liveness of the transitions of a Petri net. The result is cached and re-used until the Petri net
+	 * is modified.
+	 * @param pn The Petri net that should be examined.
+	 * @return The liveness analysis.
+	 * @throws UnboundedException If the Petri net is unbounded.
+	 */
+	static public LivenessAnalysis get(PetriNet pn) throws UnboundedException {
+		String key = LivenessAnalysis.class.getName();
+		Object extension = null;
+		try {
+			extension = pn.getExtension(key);
+		} catch (StructureException e) {
+			// No such extension
+		}
+		if (extension instanceof LivenessAnalysis)
+			return (LivenessAnalysis) extension;
+
+		LivenessAnalysis result = new LivenessAnalysis(pn);
+		pn.putExtension(key, result, ExtensionProperty.NOCOPY);
+		pn.addListener(new StructuralExtensionRemover<PetriNet, Flow, Node>(key));
+		return result;
+	}
+
+	// Tarjan's algorithm without recursion. Components are numbered in reverse topological order.
+	private void findComponents(int[] firstArc, int[] targets, int[] labels, List<Integer> firstStates) {
+		int numStates = component.length;
+		int[] index = new int[numStates];
+		int[] lowLink = new int[numStates];
+		int[] nextArc = new int[numStates];
+		boolean[] onStack = new boolean[numStates];
+		int[] stack = new int[numStates];
+		int[] callStack = new int[numStates];
+		Arrays.fill(index, -1);
+		int stackSize = 0;
+		int nextIndex = 0;
+
+		for (int root = 0; root < numStates; root++) {
+			if (index[root] != -1)
+				continue;
+			int depth = 0;
+			callStack[depth++] = root;
+			index[root] = lowLink[root] = nextIndex++;
+			nextArc[root] = firstArc[root];
+			stack[stackSize++] = root;
+			onStack[root] = true;
+
+			while (depth > 0) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				int state = callStack[depth - 1];
+				if (nextArc[state] < firstArc[state + 1]) {
+					int target = targets[nextArc[state]++];
+					if (index[target] == -1) {
+						index[target] = lowLink[target] = nextIndex++;
+						nextArc[target] = firstArc[target];
+						stack[stackSize++] = target;
+						onStack[target] = true;
+						callStack[depth++] = target;
+					} else if (onStack[target]) {
+						lowLink[state] = Math.min(lowLink[state], index[target]);
+					}
+					continue;
+				}
+
+				depth--;
+				if (depth > 0) {
+					int parent = callStack[depth - 1];
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[state]);
+				}
+				if (lowLink[state] != index[state])
+					continue;
+
+				// The state is the root of a component; all successor components are already known
+				int c = reachable.size();
+				int first = state;
+				int member;
+				int start = stackSize;
+				do {
+					member = stack[--start];
+					onStack[member] = false;
+					component[member] = c;
+					first = Math.min(first, member);
+				} while (member != state);
+				BitSet transitions = new BitSet();
+				for (int i = start; i < stackSize; i++) {
+					member = stack[i];
+					for (int arc = firstArc[member]; arc < firstArc[member + 1]; arc++) {
+						transitions.set(labels[arc]);
+						if (component[targets[arc]] == c)
+							insideComponent.set(labels[arc]);
+						else
+							transitions.or(reachable.get(component[targets[arc]]));
+					}
+				}
+				stackSize = start;
+				reachable.add(transitions);
+				firstStates.add(first);
+			}
+		}
+	}
+
+	/**
+	 * Get the liveness of a transition.
+	 * @param transition The transition.
+	 * @return The strongest level of liveness that the transition has.
+	 */
+	public Level getLevel(Transition transition) {
+		int t = compiled.getTransitionIndex(transition);
+		if (enablingState[t] == -1)
+			return Level.DEAD;
+		if (!insideComponent.get(t))
+			return Level.SIMPLY_LIVE;
+		for (BitSet transitions : reachable)
+			if (!transitions.get(t))
+				return Level.WEAKLY_LIVE;
+		return Level.STRONGLY_LIVE;
+	}
+
+	/**
+	 * Find a firing sequence which ends with the given transition.
+	 * @param transition The transition.
+	 * @return The firing sequence or null if the transition is dead.
+	 */
+	public List<Transition> getFiringSequence(Transition transition) {
+		int state = enablingState[compiled.getTransitionIndex(transition)];
+		if (state == -1)
+			return null;
+		List<Transition> result = new ArrayList<>(nodes.get(state).getFiringSequence());
+		result.add(transition);
+		return result;
+	}
+
+	/**
+	 * Find a firing sequence after which the given transition can never fire again. Of all such sequences, the
+	 * one to the state that was discovered first is returned.
+	 * @param transition The transition.
+	 * @return The firing sequence or null if the transition is strongly live.
+	 */
+	public List<Transition> getKillingFiringSequence(Transition transition) {
+		int t = compiled.getTransitionIndex(transition);
+		int state = -1;
+		for (int c = 0; c < reachable.size(); c++)
+			if (!reachable.get(c).get(t) && (state == -1 || firstState[c] < state))
+				state = firstState[c];
+		if (state == -1)
+			return null;
+		return nodes.get(state).getFiringSequence();
+	}
+
+	// Find the first transition in the order of the Petri net which does not have the given level
+	private Transition findTransitionBelow(Level level) {
+		for (Transition t : pn.getTransitions())
+			if (getLevel(t).compareTo(level) < 0)
+				return t;
+		return null;
+	}
+
+	/**
+	 * Find a transition which is dead.
+	 * @return A dead transition, else null.
+	 */
+	public Transition findDeadTransition() {
+		return findTransitionBelow(Level.SIMPLY_LIVE);
+	}
+
+	/**
+	 * Find a transition which is not weakly live.
+	 * @return A transition which is not weakly live, else null.
+	 */
+	public Transition findNonWeaklyLiveTransition() {
+		return findTransitionBelow(Level.WEAKLY_LIVE);
+	}
+
+	/**
+	 * Find a transition which is not strongly live.
+	 * @return A transition which is not strongly live, else null.
+	 */
+	public Transition findNonStronglyLiveTransition() {
+		return findTransitionBelow(Level.STRONGLY_LIVE);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,11 +19,22 @@
 
 package uniol.apt.analysis.reversible;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
 import uniol.apt.adt.pn.Marking;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.coverability.ExternalReachabilityGraph;
+import uniol.apt.analysis.exception.PreconditionFailedException;
 import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.analysis.symmetry.Symmetries;
+import uniol.apt.analysis.symmetry.SymmetryReducedGraph;
+import uniol.apt.util.interrupt.InterrupterRegistry;
 
 /**
  * Check if a given Petri net is reversible.
@@ -62,6 +73,86 @@ public class ReversibleNet {
 		return;
 	}
 
+	/**
+	 * Check whether the Petri net is reversible by exploring its reachability graph in external memory. The
+	 * markings are not kept in memory, only the reversed arcs of the graph.
+	 * @param directory The directory in which temporary files are created.
+	 * @throws UnboundedException If the examined Petri net is unbounded
+	 * @throws PreconditionFailedException If the reachability graph has too many states or arcs.
+	 * @throws IOException If accessing the temporary files fails.
+	 * @see ExternalReachabilityGraph
+	 */
+	public void check(File directory) throws PreconditionFailedException, IOException {
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn_, directory)) {
+			if (!graph.isBounded())
+				throw new UnboundedException(pn_);
+			long stateCount = graph.getStateCount();
+			long arcCount = graph.getArcCount();
+			if (stateCount >= Integer.MAX_VALUE || arcCount > Integer.MAX_VALUE)
+				throw new PreconditionFailedException("The reachability graph of Petri net "
+						+ pn_.getName() + " has " + stateCount + " states and " + arcCount
+						+ " arcs, but at most " + Integer.MAX_VALUE + " of each are supported.");
+			final int numStates = (int) stateCount;
+
+			// Collect the sources of the arcs into each state in a compressed array indexed by the target
+			final int[] offsets = new int[numStates + 1];
+			graph.visitArcs(new ExternalReachabilityGraph.ArcVisitor() {
+				@Override
+				public void visit(long source, Transition transition, long target) {
+					offsets[(int) target + 1]++;
+				}
+			});
+			for (int i = 0; i < numStates; i++)
+				offsets[i + 1] += offsets[i];
+			final int[] sources = new int[offsets[numStates]];
+			final int[] filled = Arrays.copyOf(offsets, numStates);
+			graph.visitArcs(new ExternalReachabilityGraph.ArcVisitor() {
+				@Override
+				public void visit(long source, Transition transition, long target) {
+					sources[filled[(int) target]++] = (int) source;
+				}
+			});
+
+			// Find all states which can reach the initial state with a backwards breadth-first search
+			BitSet reachesInitial = new BitSet(numStates);
+			int[] queue = new int[numStates];
+			int queueEnd = 0;
+			reachesInitial.set(0);
+			queue[queueEnd++] = 0;
+			for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				int target = queue[queueStart];
+				for (int i = offsets[target]; i < offsets[target + 1]; i++) {
+					int source = sources[i];
+					if (!reachesInitial.get(source)) {
+						reachesInitial.set(source);
+						queue[queueEnd++] = source;
+					}
+				}
+			}
+
+			int state = reachesInitial.nextClearBit(0);
+			reversible_ = state >= numStates;
+			marking_ = reversible_ ? null : graph.getMarking(state);
+		}
+	}
+
+	/**
+	 * Check whether the Petri net is reversible by exploring its reachability graph modulo the given symmetries.
+	 * @param symmetries The symmetries of the Petri net.
+	 * @throws UnboundedException If the examined Petri net is unbounded
+	 * @see SymmetryReducedGraph
+	 */
+	public void check(Symmetries symmetries) throws UnboundedException {
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn_, symmetries);
+		if (!graph.isBounded())
+			throw new UnboundedException(pn_);
+
+		int state = graph.getStatesReachingInitialState().nextClearBit(0);
+		reversible_ = state >= graph.getStateCount();
+		marking_ = reversible_ ? null : graph.getMarking(state);
+	}
+
 	/**
 	 * @return true, if the PN is reversible, false otherwise
 	 */
@@ -0,0 +1,336 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symbolic;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A package for quasi-reduced multi-valued decision diagrams (MDDs). An MDD over levels 1 to n represents a set of
+ * vectors: A node on level k has one child per value of variable k, and every child is either {@link #ZERO} or a node
+ * on level k-1. The nodes on level 0 are the terminals {@link #ZERO} (empty set) and {@link #ONE} (the set containing
+ * the empty vector). Nodes are identified by integers and are hash-consed, so equal sets are represented by the same
+ * node. The results of set operations are cached.
+ */
+public class DecisionDiagram {
+	/**
+	 * The terminal node representing the empty set.
+	 */
+	public static final int ZERO = 0;
+
+	/**
+	 * The terminal node representing the set that only contains the empty vector.
+	 */
+	public static final int ONE = 1;
+
+	private final int[] domainSizes;
+	private final List<int[]> children = new ArrayList<>();
+	private final List<Integer> levels = new ArrayList<>();
+	private final Map<NodeKey, Integer> uniqueTable = new HashMap<>();
+	private final Map<Long, Integer> unionCache = new HashMap<>();
+	private final Map<Long, Integer> intersectionCache = new HashMap<>();
+	private final Map<Long, Integer> differenceCache = new HashMap<>();
+	private final Map<Integer, BigInteger> countCache = new HashMap<>();
+
+	/**
+	 * Create a new decision diagram package.
+	 * @param domainSizes The number of values of each variable. Entry k-1 belongs to level k.
+	 */
+	public DecisionDiagram(int[] domainSizes) {
+		this.domainSizes = domainSizes.clone();
+		for (int size : domainSizes)
+			if (size < 1)
+				throw new IllegalArgumentException("Domain sizes must be positive");
+		children.add(new int[0]);
+		levels.add(0);
+		children.add(new int[0]);
+		levels.add(0);
+	}
+
+	/**
+	 * Get the number of levels.
+	 * @return The number of variables.
+	 */
+	public int getLevelCount() {
+		return domainSizes.length;
+	}
+
+	/**
+	 * Get the number of values of the variable on some level.
+	 * @param level The level.
+	 * @return The domain size.
+	 */
+	public int getDomainSize(int level) {
+		return domainSizes[level - 1];
+	}
+
+	/**
+	 * Get the number of nodes that were created, including the terminals.
+	 * @return The number of nodes.
+	 */
+	public int getNodeCount() {
+		return children.size();
+	}
+
+	/**
+	 * Get the level of a node.
+	 * @param node The node.
+	 * @return Its level.
+	 */
+	public int getLevel(int node) {
+		return levels.get(node);
+	}
+
+	/**
+	 * Get a child of a node.
+	 * @param node The node.
+	 * @param value The value of the node's variable.
+	 * @return The child.
+	 */
+	public int getChild(int node, int value) {
+		return children.get(node)[value];
+	}
+
+	/**
+	 * Get the node with the given children. If all children are {@link #ZERO}, this is {@link #ZERO}.
+	 * @param level The level of the node.
+	 * @param nodeChildren The children. This array must not be modified afterwards.
+	 * @return The unique node.
+	 */
+	public int node(int level, int[] nodeChildren) {
+		assert nodeChildren.length == getDomainSize(level);
+		boolean empty = true;
+		for (int child : nodeChildren) {
+			if (child != ZERO) {
+				assert getLevel(child) == level - 1;
+				empty = false;
+			}
+		}
+		if (empty)
+			return ZERO;
+		NodeKey key = new NodeKey(level, nodeChildren);
+		Integer result = uniqueTable.get(key);
+		if (result == null) {
+			result = children.size();
+			children.add(nodeChildren);
+			levels.add(level);
+			uniqueTable.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the node representing a single vector.
+	 * @param values The values of the variables. Entry k-1 belongs to level k.
+	 * @return The node.
+	 */
+	public int singleton(int[] values) {
+		int result = ONE;
+		for (int level = 1; level <= getLevelCount(); level++) {
+			int[] nodeChildren = new int[getDomainSize(level)];
+			nodeChildren[values[level - 1]] = result;
+			result = node(level, nodeChildren);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the node representing all vectors in which each variable has at least the given value.
+	 * @param minimums The minimal values of the variables. Entry k-1 belongs to level k.
+	 * @return The node.
+	 */
+	public int atLeast(int[] minimums) {
+		int result = ONE;
+		for (int level = 1; level <= getLevelCount(); level++) {
+			int[] nodeChildren = new int[getDomainSize(level)];
+			for (int value = minimums[level - 1]; value < nodeChildren.length; value++)
+				nodeChildren[value] = result;
+			result = node(level, nodeChildren);
+		}
+		return result;
+	}
+
+	static private long key(int a, int b) {
+		return ((long) a << 32) | (b & 0xffffffffL);
+	}
+
+	/**
+	 * Calculate the union of two sets on the same level.
+	 * @param a The first set.
+	 * @param b The second set.
+	 * @return The union.
+	 */
+	public int union(int a, int b) {
+		if (a == ZERO || a == b)
+			return b;
+		if (b == ZERO)
+			return a;
+		if (a > b)
+			return union(b, a);
+		long key = key(a, b);
+		Integer cached = unionCache.get(key);
+		if (cached != null)
+			return cached;
+		int level = getLevel(a);
+		int[] result = new int[getDomainSize(level)];
+		for (int value = 0; value < result.length; value++)
+			result[value] = union(getChild(a, value), getChild(b, value));
+		int node = node(level, result);
+		unionCache.put(key, node);
+		return node;
+	}
+
+	/**
+	 * Calculate the intersection of two sets on the same level.
+	 * @param a The first set.
+	 * @param b The second set.
+	 * @return The intersection.
+	 */
+	public int intersection(int a, int b) {
+		if (a == ZERO || b == ZERO)
+			return ZERO;
+		if (a == b)
+			return a;
+		if (a > b)
+			return intersection(b, a);
+		long key = key(a, b);
+		Integer cached = intersectionCache.get(key);
+		if (cached != null)
+			return cached;
+		int level = getLevel(a);
+		int[] result = new int[getDomainSize(level)];
+		for (int value = 0; value < result.length; value++)
+			result[value] = intersection(getChild(a, value), getChild(b, value));
+		int node = node(level, result);
+		intersectionCache.put(key, node);
+		return node;
+	}
+
+	/**
+	 * Calculate the difference of two sets on the same level.
+	 * @param a The set from which elements are removed.
+	 * @param b The elements to remove.
+	 * @return The difference.
+	 */
+	public int difference(int a, int b) {
+		if (a == ZERO || a == b)
+			return ZERO;
+		if (b == ZERO)
+			return a;
+		long key = key(a, b);
+		Integer cached = differenceCache.get(key);
+		if (cached != null)
+			return cached;
+		int level = getLevel(a);
+		int[] result = new int[getDomainSize(level)];
+		for (int value = 0; value < result.length; value++)
+			result[value] = difference(getChild(a, value), getChild(b, value));
+		int node = node(level, result);
+		differenceCache.put(key, node);
+		return node;
+	}
+
+	/**
+	 * Count the vectors in a set.
+	 * @param node The set.
+	 * @return The number of elements.
+	 */
+	public BigInteger count(int node) {
+		if (node == ZERO)
+			return BigInteger.ZERO;
+		if (node == ONE)
+			return BigInteger.ONE;
+		BigInteger result = countCache.get(node);
+		if (result == null) {
+			result = BigInteger.ZERO;
+			for (int child : children.get(node))
+				result = result.add(count(child));
+			countCache.put(node, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Get some element of a non-empty set.
+	 * @param node The set.
+	 * @return The values of an element, entry k-1 belongs to level k.
+	 */
+	public int[] pick(int node) {
+		if (node == ZERO)
+			throw new IllegalArgumentException("Cannot pick an element from the empty set");
+		int[] result = new int[getLevelCount()];
+		while (node != ONE) {
+			int level = getLevel(node);
+			int value = 0;
+			while (getChild(node, value) == ZERO)
+				value++;
+			result[level - 1] = value;
+			node = getChild(node, value);
+		}
+		return result;
+	}
+
+	/**
+	 * Check if a set contains a vector.
+	 * @param node The set.
+	 * @param values The vector, entry k-1 belongs to level k.
+	 * @return true if the vector is an element of the set.
+	 */
+	public boolean contains(int node, int[] values) {
+		while (node != ZERO && node != ONE) {
+			int value = values[getLevel(node) - 1];
+			if (value < 0 || value >= getDomainSize(getLevel(node)))
+				return false;
+			node = getChild(node, value);
+		}
+		return node == ONE;
+	}
+
+	static private class NodeKey {
+		private final int level;
+		private final int[] children;
+		private final int hash;
+
+		public NodeKey(int level, int[] children) {
+			this.level = level;
+			this.children = children;
+			this.hash = 31 * level + Arrays.hashCode(children);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof NodeKey))
+				return false;
+			NodeKey other = (NodeKey) o;
+			return level == other.level && Arrays.equals(children, other.children);
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
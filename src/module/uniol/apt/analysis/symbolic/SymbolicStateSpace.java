@@ -0,0 +1,366 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symbolic;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The reachable markings of a k-bounded Petri net, represented symbolically as a {@link DecisionDiagram}. Every place
+ * is a variable with values 0 to k. The place that comes first in the net is on the top level.
+ *
+ * The state space is calculated with saturation: The transitions are grouped by the topmost place that they touch.
+ * Bottom-up, every node is saturated by firing the transitions of its level until nothing changes, so that all
+ * nodes below are already closed under the transitions that only touch lower places. This avoids the large
+ * intermediate diagrams of a breadth-first iteration.
+ *
+ * If some reachable marking puts more than k tokens on a place, the net is not k-bounded. In this case the
+ * exploration stops firing the transitions that exceed the bound, so the calculated set is incomplete and all other
+ * queries throw an {@link IllegalStateException}.
+ */
+public class SymbolicStateSpace {
+	private final CompiledPetriNet compiled;
+	private final long bound;
+	private final DecisionDiagram diagram;
+	private final int reachable;
+	private final boolean exceedsBound;
+
+	private SymbolicStateSpace(PetriNet pn, int bound) {
+		if (bound < 0)
+			throw new IllegalArgumentException("The bound must not be negative");
+		this.compiled = CompiledPetriNet.get(pn);
+		this.bound = bound;
+		int[] domainSizes = new int[compiled.getPlaceCount()];
+		for (int level = 1; level <= domainSizes.length; level++)
+			domainSizes[level - 1] = bound + 1;
+		this.diagram = new DecisionDiagram(domainSizes);
+
+		long[] initial = compiled.getInitialMarkingVector();
+		boolean exceeded = false;
+		for (long value : initial)
+			if (value > bound)
+				exceeded = true;
+		if (exceeded) {
+			this.reachable = DecisionDiagram.ZERO;
+			this.exceedsBound = true;
+		} else {
+			Saturation saturation = new Saturation(false);
+			this.reachable = saturation.saturate(diagram.getLevelCount(), toNode(initial));
+			this.exceedsBound = saturation.exceededBound;
+		}
+	}
+
+	/**
+	 * Calculate the reachable markings of a Petri net with at most the given number of tokens per place.
+	 * @param pn The Petri net.
+	 * @param bound The number of tokens that may be on a place.
+	 * @return The symbolic state space.
+	 */
+	static public SymbolicStateSpace explore(PetriNet pn, int bound) {
+		return new SymbolicStateSpace(pn, bound);
+	}
+
+	/**
+	 * Calculate the reachable markings of a safe Petri net.
+	 * @param pn The Petri net.
+	 * @return The symbolic state space.
+	 */
+	static public SymbolicStateSpace explore(PetriNet pn) {
+		return explore(pn, 1);
+	}
+
+	private int toNode(long[] marking) {
+		return diagram.singleton(toValues(marking));
+	}
+
+	private int[] toValues(long[] marking) {
+		int[] values = new int[marking.length];
+		for (int p = 0; p < marking.length; p++)
+			values[levelOf(p) - 1] = (int) Math.min(marking[p], Integer.MAX_VALUE);
+		return values;
+	}
+
+	private int levelOf(int place) {
+		return compiled.getPlaceCount() - place;
+	}
+
+	private void checkBounded() {
+		if (exceedsBound)
+			throw new IllegalStateException("The Petri net is not " + bound + "-bounded");
+	}
+
+	/**
+	 * Check if the Petri net is k-bounded for the bound that was given when exploring.
+	 * @return true if no reachable marking has more than k tokens on some place.
+	 */
+	public boolean isKBounded() {
+		return !exceedsBound;
+	}
+
+	/**
+	 * Get the bound that was used for exploring.
+	 * @return The maximal number of tokens per place.
+	 */
+	public long getBound() {
+		return bound;
+	}
+
+	/**
+	 * Get the number of reachable markings.
+	 * @return The exact number of states.
+	 */
+	public BigInteger getStateCount() {
+		checkBounded();
+		return diagram.count(reachable);
+	}
+
+	/**
+	 * Get the number of decision diagram nodes that were created while exploring and answering queries.
+	 * @return The number of nodes.
+	 */
+	public int getNodeCount() {
+		return diagram.getNodeCount();
+	}
+
+	/**
+	 * Check if a marking is reachable.
+	 * @param marking The marking.
+	 * @return true if the marking is reachable.
+	 */
+	public boolean isReachable(Marking marking) {
+		checkBounded();
+		return diagram.contains(reachable, toValues(compiled.toVector(marking)));
+	}
+
+	private int getEnablingMarkings(int transition) {
+		int[] minimums = new int[compiled.getPlaceCount()];
+		int[] places = compiled.getPresetPlaces(transition);
+		int[] weights = compiled.getPresetWeights(transition);
+		for (int i = 0; i < places.length; i++)
+			minimums[levelOf(places[i]) - 1] = weights[i];
+		for (int weight : weights)
+			if (weight > bound)
+				return DecisionDiagram.ZERO;
+		return diagram.atLeast(minimums);
+	}
+
+	/**
+	 * Find a reachable marking in which no transition is enabled.
+	 * @return A dead marking or null if the Petri net is deadlock-free.
+	 */
+	public Marking findDeadMarking() {
+		checkBounded();
+		int dead = reachable;
+		for (int t = 0; t < compiled.getTransitionCount(); t++)
+			dead = diagram.difference(dead, getEnablingMarkings(t));
+		if (dead == DecisionDiagram.ZERO)
+			return null;
+		int[] values = diagram.pick(dead);
+		long[] marking = new long[compiled.getPlaceCount()];
+		for (int p = 0; p < marking.length; p++)
+			marking[p] = values[levelOf(p) - 1];
+		return compiled.toMarking(marking);
+	}
+
+	/**
+	 * Check if every reachable marking enables some transition.
+	 * @return true if the Petri net is deadlock-free.
+	 */
+	public boolean isDeadlockFree() {
+		return findDeadMarking() == null;
+	}
+
+	/**
+	 * Find a transition which is not enabled in any reachable marking.
+	 * @return A dead transition or null.
+	 */
+	public Transition findDeadTransition() {
+		checkBounded();
+		for (int t = 0; t < compiled.getTransitionCount(); t++)
+			if (diagram.intersection(reachable, getEnablingMarkings(t)) == DecisionDiagram.ZERO)
+				return compiled.getTransition(t);
+		return null;
+	}
+
+	/**
+	 * Find a transition which is not strongly live, i.e. there is a reachable marking from which the transition can
+	 * never become enabled again.
+	 * @return A transition that is not strongly live or null if the Petri net is live.
+	 */
+	public Transition findNonStronglyLiveTransition() {
+		checkBounded();
+		for (int t = 0; t < compiled.getTransitionCount(); t++) {
+			// All markings within the bound that can reach a marking enabling the transition
+			Saturation backwards = new Saturation(true);
+			int canEnable = backwards.saturate(diagram.getLevelCount(), getEnablingMarkings(t));
+			if (diagram.difference(reachable, canEnable) != DecisionDiagram.ZERO)
+				return compiled.getTransition(t);
+		}
+		return null;
+	}
+
+	/**
+	 * Saturation with the transitions of the net, either in forward or in backward direction.
+	 */
+	private class Saturation {
+		private final List<List<Integer>> eventsByLevel = new ArrayList<>();
+		// Indexed by level minus one
+		private final List<int[]> consumed = new ArrayList<>();
+		private final List<int[]> produced = new ArrayList<>();
+		private final List<Integer> bottoms = new ArrayList<>();
+		private final Map<Integer, Integer> saturateCache = new HashMap<>();
+		private final BitSet saturated = new BitSet();
+		private final Map<Long, Integer> fireCache = new HashMap<>();
+		private boolean exceededBound = false;
+
+		public Saturation(boolean backwards) {
+			int levels = diagram.getLevelCount();
+			for (int level = 0; level <= levels; level++)
+				eventsByLevel.add(new ArrayList<Integer>());
+			for (int t = 0; t < compiled.getTransitionCount(); t++) {
+				int[] pre = new int[levels];
+				int[] post = new int[levels];
+				int[] places = compiled.getPresetPlaces(t);
+				int[] weights = compiled.getPresetWeights(t);
+				for (int i = 0; i < places.length; i++)
+					pre[levelOf(places[i]) - 1] = weights[i];
+				places = compiled.getPostsetPlaces(t);
+				weights = compiled.getPostsetWeights(t);
+				for (int i = 0; i < places.length; i++)
+					post[levelOf(places[i]) - 1] = weights[i];
+
+				// Transitions that do not change the marking do not contribute new states
+				boolean changes = false;
+				int top = 0;
+				int bottom = 0;
+				for (int level = 1; level <= levels; level++) {
+					if (pre[level - 1] != post[level - 1])
+						changes = true;
+					if (pre[level - 1] != 0 || post[level - 1] != 0) {
+						top = level;
+						if (bottom == 0)
+							bottom = level;
+					}
+				}
+				if (!changes)
+					continue;
+				int event = consumed.size();
+				consumed.add(backwards ? post : pre);
+				produced.add(backwards ? pre : post);
+				bottoms.add(bottom);
+				eventsByLevel.get(top).add(event);
+			}
+			saturated.set(DecisionDiagram.ONE);
+		}
+
+		/**
+		 * Get the smallest superset of the given set which is closed under all events on this or lower levels.
+		 */
+		public int saturate(int level, int node) {
+			if (node == DecisionDiagram.ZERO || saturated.get(node))
+				return node;
+			Integer cached = saturateCache.get(node);
+			if (cached != null)
+				return cached;
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+
+			int[] children = new int[diagram.getDomainSize(level)];
+			for (int value = 0; value < children.length; value++)
+				children[value] = saturate(level - 1, diagram.getChild(node, value));
+
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (int event : eventsByLevel.get(level)) {
+					int pre = consumed.get(event)[level - 1];
+					int post = produced.get(event)[level - 1];
+					for (int value = pre; value < children.length; value++) {
+						if (children[value] == DecisionDiagram.ZERO)
+							continue;
+						// The lower levels might not enable the event, so check the bound afterwards
+						int image = fire(event, level - 1, children[value]);
+						if (image == DecisionDiagram.ZERO)
+							continue;
+						int target = value - pre + post;
+						if (target >= children.length) {
+							exceededBound = true;
+							continue;
+						}
+						int union = diagram.union(children[target], image);
+						if (union != children[target]) {
+							children[target] = union;
+							saturated.set(union);
+							changed = true;
+						}
+					}
+				}
+			}
+
+			int result = diagram.node(level, children);
+			saturateCache.put(node, result);
+			saturated.set(result);
+			return result;
+		}
+
+		/**
+		 * Fire an event on the levels below its top level and saturate the result.
+		 */
+		private int fire(int event, int level, int node) {
+			if (node == DecisionDiagram.ZERO || level < bottoms.get(event))
+				return node;
+			long key = ((long) event << 32) | node;
+			Integer cached = fireCache.get(key);
+			if (cached != null)
+				return cached;
+
+			int pre = consumed.get(event)[level - 1];
+			int post = produced.get(event)[level - 1];
+			int[] children = new int[diagram.getDomainSize(level)];
+			for (int value = pre; value < children.length; value++) {
+				int image = fire(event, level - 1, diagram.getChild(node, value));
+				if (image == DecisionDiagram.ZERO)
+					continue;
+				int target = value - pre + post;
+				if (target >= children.length) {
+					exceededBound = true;
+					continue;
+				}
+				children[target] = diagram.union(children[target], image);
+				// A union of saturated sets is saturated
+				saturated.set(children[target]);
+			}
+			int result = saturate(level, diagram.node(level, children));
+			fireCache.put(key, result);
+			return result;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,525 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symmetry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The symmetries of a Petri net. A symmetry is an automorphism of the net which maps places to places and transitions
+ * to transitions while preserving arc weights and the initial marking. Thus, markings that are mapped onto each other
+ * by a symmetry have equivalent futures and only one representative of them has to be explored.
+ *
+ * The automorphisms are found with an individualisation-refinement search: Nodes are colored by their neighbourhood
+ * until the coloring is stable, then single nodes are individualised and the coloring is refined again. Along one
+ * reference path of this search, one automorphism is looked for per candidate image of each individualised node. The
+ * result is a generating set of the automorphism group. If the group is small enough, all of its elements are
+ * enumerated and each marking is mapped to the lexicographically smallest marking in its orbit. Otherwise the
+ * generators are applied greedily as long as they produce smaller markings.
+ *
+ * Permutations are arrays over the indices of {@link CompiledPetriNet}: entries below the number of places map
+ * places, the remaining entries map transitions (shifted by the number of places).
+ */
+public class Symmetries {
+	/**
+	 * Groups up to this size are enumerated completely.
+	 */
+	public static final int MAX_ENUMERATED_GROUP_SIZE = 1 << 12;
+
+	private static final Comparator<long[]> SIGNATURE_ORDER = new Comparator<long[]>() {
+		@Override
+		public int compare(long[] a, long[] b) {
+			for (int i = 0; i < a.length && i < b.length; i++) {
+				int result = Long.compare(a[i], b[i]);
+				if (result != 0)
+					return result;
+			}
+			return Integer.compare(a.length, b.length);
+		}
+	};
+
+	private final CompiledPetriNet compiled;
+	private final int numPlaces;
+	private final int numNodes;
+	// Neighbours of every node and the code of the arc (direction and weight)
+	private final int[][] neighbours;
+	private final long[][] arcCodes;
+	private final List<int[]> generators = new ArrayList<>();
+	// All elements of the group or null if the group is too large
+	private List<int[]> elements;
+	private List<int[]> inverseElements;
+
+	private Symmetries(PetriNet pn) {
+		this.compiled = CompiledPetriNet.get(pn);
+		this.numPlaces = compiled.getPlaceCount();
+		this.numNodes = numPlaces + compiled.getTransitionCount();
+		this.neighbours = new int[numNodes][];
+		this.arcCodes = new long[numNodes][];
+		buildAdjacency();
+		findGenerators();
+		enumerateGroup();
+	}
+
+	/**
+	 * Calculate the symmetries of a Petri net.
+	 * @param pn The Petri net.
+	 * @return The symmetries.
+	 */
+	static public Symmetries compute(PetriNet pn) {
+		return new Symmetries(pn);
+	}
+
+	private void buildAdjacency() {
+		List<List<Integer>> nodes = new ArrayList<>();
+		List<List<Long>> codes = new ArrayList<>();
+		for (int v = 0; v < numNodes; v++) {
+			nodes.add(new ArrayList<Integer>());
+			codes.add(new ArrayList<Long>());
+		}
+		for (int t = 0; t < compiled.getTransitionCount(); t++) {
+			int node = numPlaces + t;
+			int[] places = compiled.getPresetPlaces(t);
+			int[] weights = compiled.getPresetWeights(t);
+			for (int i = 0; i < places.length; i++)
+				addArc(nodes, codes, places[i], node, 0, weights[i]);
+			places = compiled.getPostsetPlaces(t);
+			weights = compiled.getPostsetWeights(t);
+			for (int i = 0; i < places.length; i++)
+				addArc(nodes, codes, node, places[i], 1, weights[i]);
+		}
+		for (int v = 0; v < numNodes; v++) {
+			neighbours[v] = new int[nodes.get(v).size()];
+			arcCodes[v] = new long[nodes.get(v).size()];
+			for (int i = 0; i < neighbours[v].length; i++) {
+				neighbours[v][i] = nodes.get(v).get(i);
+				arcCodes[v][i] = codes.get(v).get(i);
+			}
+		}
+	}
+
+	// Arcs are remembered at both ends; the code says which end is the source
+	static private void addArc(List<List<Integer>> nodes, List<List<Long>> codes, int source, int target,
+			int kind, long weight) {
+		nodes.get(source).add(target);
+		codes.get(source).add((weight << 3) | (kind << 1));
+		nodes.get(target).add(source);
+		codes.get(target).add((weight << 3) | (kind << 1) | 1);
+	}
+
+	private int[] initialColoring() {
+		long[] initial = compiled.getInitialMarkingVector();
+		long[][] signatures = new long[numNodes][];
+		for (int v = 0; v < numNodes; v++)
+			signatures[v] = v < numPlaces ? new long[] { 0, initial[v] } : new long[] { 1 };
+		return rank(signatures);
+	}
+
+	// Replace each signature by its rank among all distinct signatures
+	private int[] rank(final long[][] signatures) {
+		Integer[] order = new Integer[numNodes];
+		for (int v = 0; v < numNodes; v++)
+			order[v] = v;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return SIGNATURE_ORDER.compare(signatures[a], signatures[b]);
+			}
+		});
+		int[] result = new int[numNodes];
+		int colour = 0;
+		for (int i = 0; i < numNodes; i++) {
+			if (i > 0 && SIGNATURE_ORDER.compare(signatures[order[i - 1]], signatures[order[i]]) != 0)
+				colour++;
+			result[order[i]] = colour;
+		}
+		return result;
+	}
+
+	static private int countColours(int[] colouring) {
+		int max = -1;
+		for (int colour : colouring)
+			max = Math.max(max, colour);
+		return max + 1;
+	}
+
+	// Refine a colouring until nodes of the same colour have the same number of neighbours of each colour
+	private int[] refine(int[] colouring) {
+		int colours = countColours(colouring);
+		while (true) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			long[][] signatures = new long[numNodes][];
+			for (int v = 0; v < numNodes; v++) {
+				long[] signature = new long[neighbours[v].length + 1];
+				for (int i = 0; i < neighbours[v].length; i++)
+					signature[i + 1] = (arcCodes[v][i] << 31) | colouring[neighbours[v][i]];
+				Arrays.sort(signature, 1, signature.length);
+				signature[0] = colouring[v];
+				signatures[v] = signature;
+			}
+			int[] next = rank(signatures);
+			int nextColours = countColours(next);
+			if (nextColours == colours)
+				return next;
+			colouring = next;
+			colours = nextColours;
+		}
+	}
+
+	private int[] individualise(int[] colouring, int node) {
+		int[] result = new int[numNodes];
+		for (int v = 0; v < numNodes; v++)
+			result[v] = 2 * colouring[v];
+		result[node]++;
+		return refine(result);
+	}
+
+	static private int[] histogram(int[] colouring) {
+		int[] result = new int[countColours(colouring)];
+		for (int colour : colouring)
+			result[colour]++;
+		return result;
+	}
+
+	// The smallest colour which has more than one node, or -1 if the colouring is discrete
+	static private int targetCell(int[] colouring) {
+		int[] histogram = histogram(colouring);
+		for (int colour = 0; colour < histogram.length; colour++)
+			if (histogram[colour] > 1)
+				return colour;
+		return -1;
+	}
+
+	// The reference path of the search tree: colourings, individualised nodes and their colours
+	private final List<int[]> pathColourings = new ArrayList<>();
+	private final List<int[]> pathHistograms = new ArrayList<>();
+	private final List<Integer> pathNodes = new ArrayList<>();
+	private final List<Integer> pathCells = new ArrayList<>();
+
+	private void findGenerators() {
+		if (numNodes == 0)
+			return;
+		int[] colouring = refine(initialColoring());
+		while (true) {
+			pathColourings.add(colouring);
+			pathHistograms.add(histogram(colouring));
+			int cell = targetCell(colouring);
+			if (cell == -1)
+				break;
+			int node = 0;
+			while (colouring[node] != cell)
+				node++;
+			pathNodes.add(node);
+			pathCells.add(cell);
+			colouring = individualise(colouring, node);
+		}
+
+		// Go from the deepest level upwards, so that the generators of the stabilisers are already known
+		for (int level = pathNodes.size() - 1; level >= 0; level--) {
+			int[] levelColouring = pathColourings.get(level);
+			int node = pathNodes.get(level);
+			Set<Integer> orbit = orbit(node);
+			for (int w = 0; w < numNodes; w++) {
+				if (levelColouring[w] != pathCells.get(level) || orbit.contains(w))
+					continue;
+				int[] automorphism = search(level + 1, individualise(levelColouring, w));
+				if (automorphism != null) {
+					generators.add(automorphism);
+					orbit = orbit(node);
+				}
+			}
+		}
+	}
+
+	private Set<Integer> orbit(int node) {
+		Set<Integer> result = new HashSet<>();
+		Deque<Integer> todo = new ArrayDeque<>();
+		result.add(node);
+		todo.add(node);
+		while (!todo.isEmpty()) {
+			int v = todo.poll();
+			for (int[] generator : generators)
+				if (result.add(generator[v]))
+					todo.add(generator[v]);
+		}
+		return result;
+	}
+
+	// Find an automorphism below a node of the search tree
+	private int[] search(int level, int[] colouring) {
+		InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+		if (!Arrays.equals(histogram(colouring), pathHistograms.get(level)))
+			return null;
+		if (level == pathNodes.size()) {
+			int[] leaf = pathColourings.get(level);
+			int[] nodeOfColour = new int[numNodes];
+			for (int v = 0; v < numNodes; v++)
+				nodeOfColour[colouring[v]] = v;
+			int[] result = new int[numNodes];
+			for (int v = 0; v < numNodes; v++)
+				result[v] = nodeOfColour[leaf[v]];
+			return isAutomorphism(result) ? result : null;
+		}
+		int cell = pathCells.get(level);
+		for (int w = 0; w < numNodes; w++) {
+			if (colouring[w] != cell)
+				continue;
+			int[] result = search(level + 1, individualise(colouring, w));
+			if (result != null)
+				return result;
+		}
+		return null;
+	}
+
+	private boolean isAutomorphism(int[] permutation) {
+		long[] initial = compiled.getInitialMarkingVector();
+		for (int p = 0; p < numPlaces; p++)
+			if (permutation[p] >= numPlaces || initial[p] != initial[permutation[p]])
+				return false;
+		for (int t = 0; t < compiled.getTransitionCount(); t++) {
+			int image = permutation[numPlaces + t] - numPlaces;
+			if (image < 0)
+				return false;
+			if (!sameArcs(compiled.getPresetPlaces(t), compiled.getPresetWeights(t),
+						compiled.getPresetPlaces(image), image, true, permutation))
+				return false;
+			if (!sameArcs(compiled.getPostsetPlaces(t), compiled.getPostsetWeights(t),
+						compiled.getPostsetPlaces(image), image, false, permutation))
+				return false;
+		}
+		return true;
+	}
+
+	private boolean sameArcs(int[] places, int[] weights, int[] imagePlaces, int image, boolean preset,
+			int[] permutation) {
+		if (places.length != imagePlaces.length)
+			return false;
+		for (int i = 0; i < places.length; i++) {
+			int p = permutation[places[i]];
+			int weight = preset ? compiled.getPresetWeight(image, p) : compiled.getPostsetWeight(image, p);
+			if (weight != weights[i])
+				return false;
+		}
+		return true;
+	}
+
+	private void enumerateGroup() {
+		List<int[]> result = new ArrayList<>();
+		Set<List<Integer>> seen = new HashSet<>();
+		int[] identity = new int[numNodes];
+		for (int v = 0; v < numNodes; v++)
+			identity[v] = v;
+		result.add(identity);
+		seen.add(asList(identity));
+		for (int i = 0; i < result.size(); i++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			for (int[] generator : generators) {
+				int[] element = compose(generator, result.get(i));
+				if (seen.add(asList(element))) {
+					result.add(element);
+					if (result.size() > MAX_ENUMERATED_GROUP_SIZE)
+						return;
+				}
+			}
+		}
+		elements = result;
+		inverseElements = new ArrayList<>();
+		for (int[] element : elements)
+			inverseElements.add(inverse(element));
+	}
+
+	static private List<Integer> asList(int[] permutation) {
+		List<Integer> result = new ArrayList<>(permutation.length);
+		for (int v : permutation)
+			result.add(v);
+		return result;
+	}
+
+	/**
+	 * Compose two permutations.
+	 * @param first The permutation that is applied second.
+	 * @param second The permutation that is applied first.
+	 * @return The permutation first after second.
+	 */
+	static public int[] compose(int[] first, int[] second) {
+		int[] result = new int[second.length];
+		for (int v = 0; v < second.length; v++)
+			result[v] = first[second[v]];
+		return result;
+	}
+
+	/**
+	 * Invert a permutation.
+	 * @param permutation The permutation to invert.
+	 * @return The inverse permutation.
+	 */
+	static public int[] inverse(int[] permutation) {
+		int[] result = new int[permutation.length];
+		for (int v = 0; v < permutation.length; v++)
+			result[permutation[v]] = v;
+		return result;
+	}
+
+	/**
+	 * Get the identity permutation.
+	 * @return The identity.
+	 */
+	public int[] getIdentity() {
+		int[] result = new int[numNodes];
+		for (int v = 0; v < numNodes; v++)
+			result[v] = v;
+		return result;
+	}
+
+	/**
+	 * Get a generating set of the automorphism group. The identity is not included.
+	 * @return The generators.
+	 */
+	public List<int[]> getGenerators() {
+		return Collections.unmodifiableList(generators);
+	}
+
+	/**
+	 * Check if all elements of the group were enumerated, so that {@link #canonicalize} finds the smallest marking
+	 * in each orbit.
+	 * @return true if the group is not larger than {@link #MAX_ENUMERATED_GROUP_SIZE}.
+	 */
+	public boolean isGroupEnumerated() {
+		return elements != null;
+	}
+
+	/**
+	 * Get the size of the automorphism group.
+	 * @return The number of automorphisms, or -1 if the group was too large to be enumerated.
+	 */
+	public int getGroupSize() {
+		return elements == null ? -1 : elements.size();
+	}
+
+	/**
+	 * Apply a permutation to a marking.
+	 * @param permutation The permutation.
+	 * @param marking The marking vector.
+	 * @return The marking which has the tokens of place p on the image of p.
+	 */
+	public long[] apply(int[] permutation, long[] marking) {
+		long[] result = new long[numPlaces];
+		for (int p = 0; p < numPlaces; p++)
+			result[permutation[p]] = marking[p];
+		return result;
+	}
+
+	/**
+	 * Apply a permutation to a transition.
+	 * @param permutation The permutation.
+	 * @param transition The index of the transition.
+	 * @return The index of the image of the transition.
+	 */
+	public int applyToTransition(int[] permutation, int transition) {
+		return permutation[numPlaces + transition] - numPlaces;
+	}
+
+	/**
+	 * Apply a permutation to a place.
+	 * @param permutation The permutation.
+	 * @param place The place.
+	 * @return The image of the place.
+	 */
+	public Place apply(int[] permutation, Place place) {
+		return compiled.getPlace(permutation[compiled.getPlaceIndex(place)]);
+	}
+
+	/**
+	 * Apply a permutation to a transition.
+	 * @param permutation The permutation.
+	 * @param transition The transition.
+	 * @return The image of the transition.
+	 */
+	public Transition apply(int[] permutation, Transition transition) {
+		return compiled.getTransition(applyToTransition(permutation, compiled.getTransitionIndex(transition)));
+	}
+
+	/**
+	 * Find a symmetry which maps the given marking to the representative of its orbit. The representative is the
+	 * lexicographically smallest marking of the orbit if the group was enumerated. Otherwise it is a marking which
+	 * no generator makes smaller.
+	 * @param marking The marking vector.
+	 * @return A permutation which maps the marking to its representative.
+	 */
+	public int[] getCanonicalizingPermutation(long[] marking) {
+		if (elements != null) {
+			int best = 0;
+			for (int i = 1; i < elements.size(); i++)
+				if (compareImages(marking, inverseElements.get(i), inverseElements.get(best)) < 0)
+					best = i;
+			return elements.get(best);
+		}
+
+		int[] result = getIdentity();
+		long[] current = marking;
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+			for (int[] generator : generators) {
+				long[] image = apply(generator, current);
+				if (SIGNATURE_ORDER.compare(image, current) < 0) {
+					current = image;
+					result = compose(generator, result);
+					improved = true;
+				}
+			}
+		}
+		return result;
+	}
+
+	// Compare the images of a marking under two permutations, given by their inverses
+	private int compareImages(long[] marking, int[] inverse1, int[] inverse2) {
+		for (int p = 0; p < numPlaces; p++) {
+			int result = Long.compare(marking[inverse1[p]], marking[inverse2[p]]);
+			if (result != 0)
+				return result;
+		}
+		return 0;
+	}
+
+	/**
+	 * Get the representative of the orbit of a marking.
+	 * @param marking The marking vector.
+	 * @return The representative.
+	 * @see #getCanonicalizingPermutation
+	 */
+	public long[] canonicalize(long[] marking) {
+		return apply(getCanonicalizingPermutation(marking), marking);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,358 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symmetry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.PackedMarkingStore;
+import uniol.apt.analysis.language.FiringSequence;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * The reachability graph of a Petri net modulo its symmetries. Only one representative of every orbit of reachable
+ * markings is stored. For a net built from n identical components, this reduces the number of states by up to a
+ * factor of n!.
+ *
+ * Every state remembers the symmetry that maps its representative back to a marking that is reached by actually
+ * firing transitions. With this, the firing sequences and markings of the original net are reconstructed. If a newly
+ * reached marking strictly covers a marking on the path to it, the net is unbounded and the exploration stops.
+ */
+public class SymmetryReducedGraph {
+	private final CompiledPetriNet compiled;
+	private final Symmetries symmetries;
+	private final PackedMarkingStore store = new PackedMarkingStore();
+	// For every state: its parent, the transition fired in the parent's representative and the inverse of the
+	// symmetry that maps the successor to the representative
+	private int[] parents = new int[16];
+	private int[] transitions = new int[16];
+	private int[] permutations = new int[16];
+	// Permutations are interned since only few different ones occur
+	private final List<int[]> permutationList = new ArrayList<>();
+	private final Map<List<Integer>, Integer> permutationIndices = new HashMap<>();
+	// The arcs between the representatives
+	private int[] arcSources = new int[16];
+	private int[] arcTransitions = new int[16];
+	private int[] arcTargets = new int[16];
+	private int arcCount = 0;
+	private int coveredState = -1;
+	private int coveringState = -1;
+
+	private SymmetryReducedGraph(PetriNet pn, Symmetries symmetries) {
+		this.compiled = CompiledPetriNet.get(pn);
+		this.symmetries = symmetries;
+		explore();
+	}
+
+	/**
+	 * Explore the reachability graph of a Petri net modulo its symmetries.
+	 * @param pn The Petri net.
+	 * @param symmetries The symmetries of the Petri net.
+	 * @return The reduced reachability graph.
+	 */
+	static public SymmetryReducedGraph explore(PetriNet pn, Symmetries symmetries) {
+		return new SymmetryReducedGraph(pn, symmetries);
+	}
+
+	/**
+	 * Explore the reachability graph of a Petri net modulo its symmetries.
+	 * @param pn The Petri net.
+	 * @return The reduced reachability graph.
+	 */
+	static public SymmetryReducedGraph explore(PetriNet pn) {
+		return explore(pn, Symmetries.compute(pn));
+	}
+
+	private void explore() {
+		// The initial marking is fixed by every symmetry and thus its own representative
+		store.add(compiled.getInitialMarkingVector());
+		addState(0, -1, -1, symmetries.getIdentity());
+
+		for (int state = 0; state < store.size(); state++) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			long[] marking = store.get(state);
+			for (int t = 0; t < compiled.getTransitionCount(); t++) {
+				if (!compiled.isFireable(t, marking))
+					continue;
+				long[] successor = compiled.fire(t, marking);
+				int[] permutation = symmetries.getCanonicalizingPermutation(successor);
+				int size = store.size();
+				int target = store.add(symmetries.apply(permutation, successor));
+				addArc(state, t, target);
+				if (target != size)
+					continue;
+
+				addState(target, state, t, Symmetries.inverse(permutation));
+				int covered = findCoveredAncestor(target);
+				if (covered != -1) {
+					coveredState = covered;
+					coveringState = target;
+					return;
+				}
+			}
+		}
+	}
+
+	private void addState(int state, int parent, int transition, int[] permutation) {
+		if (state >= parents.length) {
+			parents = Arrays.copyOf(parents, 2 * parents.length);
+			transitions = Arrays.copyOf(transitions, 2 * transitions.length);
+			permutations = Arrays.copyOf(permutations, 2 * permutations.length);
+		}
+		List<Integer> key = new ArrayList<>(permutation.length);
+		for (int v : permutation)
+			key.add(v);
+		Integer index = permutationIndices.get(key);
+		if (index == null) {
+			index = permutationList.size();
+			permutationList.add(permutation);
+			permutationIndices.put(key, index);
+		}
+		parents[state] = parent;
+		transitions[state] = transition;
+		permutations[state] = index;
+	}
+
+	private void addArc(int source, int transition, int target) {
+		if (arcCount == arcSources.length) {
+			arcSources = Arrays.copyOf(arcSources, 2 * arcCount);
+			arcTransitions = Arrays.copyOf(arcTransitions, 2 * arcCount);
+			arcTargets = Arrays.copyOf(arcTargets, 2 * arcCount);
+		}
+		arcSources[arcCount] = source;
+		arcTransitions[arcCount] = transition;
+		arcTargets[arcCount] = target;
+		arcCount++;
+	}
+
+	// The states from the initial state to the given state
+	private List<Integer> getPath(int state) {
+		List<Integer> path = new ArrayList<>();
+		for (int s = state; s != -1; s = parents[s])
+			path.add(s);
+		Collections.reverse(path);
+		return path;
+	}
+
+	// The symmetries which map the representatives on a path to the markings reached by the lifted firing sequence
+	private List<int[]> getLifts(List<Integer> path) {
+		List<int[]> result = new ArrayList<>(path.size());
+		int[] lift = symmetries.getIdentity();
+		for (int state : path) {
+			lift = Symmetries.compose(lift, permutationList.get(permutations[state]));
+			result.add(lift);
+		}
+		return result;
+	}
+
+	private int findCoveredAncestor(int state) {
+		List<Integer> path = getPath(state);
+		List<int[]> lifts = getLifts(path);
+		long[] marking = symmetries.apply(lifts.get(path.size() - 1), store.get(state));
+		for (int i = 0; i < path.size() - 1; i++) {
+			long[] ancestor = symmetries.apply(lifts.get(i), store.get(path.get(i)));
+			if (CompiledPetriNet.cover(marking, ancestor) != null)
+				return path.get(i);
+		}
+		return -1;
+	}
+
+	/**
+	 * Check if the Petri net is bounded.
+	 * @return true if the exploration finished without finding a strictly covering marking.
+	 */
+	public boolean isBounded() {
+		return coveringState == -1;
+	}
+
+	/**
+	 * Get the number of states, i.e. of representatives, that were explored.
+	 * @return The number of states.
+	 */
+	public int getStateCount() {
+		return store.size();
+	}
+
+	/**
+	 * Get the number of arcs between the representatives.
+	 * @return The number of arcs.
+	 */
+	public int getArcCount() {
+		return arcCount;
+	}
+
+	/**
+	 * Get the representative of a state.
+	 * @param state The index of the state.
+	 * @return The representative.
+	 */
+	public Marking getRepresentative(int state) {
+		return compiled.toMarking(store.get(state));
+	}
+
+	/**
+	 * Get the marking that is reached by {@link #getFiringSequence}. It lies in the orbit of the representative.
+	 * @param state The index of the state.
+	 * @return The marking.
+	 */
+	public Marking getMarking(int state) {
+		List<Integer> path = getPath(state);
+		List<int[]> lifts = getLifts(path);
+		return compiled.toMarking(symmetries.apply(lifts.get(path.size() - 1), store.get(state)));
+	}
+
+	/**
+	 * Get a firing sequence of the original Petri net which reaches a marking in the orbit of a state.
+	 * @param state The index of the state.
+	 * @return The firing sequence.
+	 */
+	public List<Transition> getFiringSequence(int state) {
+		List<Integer> path = getPath(state);
+		return getFiringSequence(path, getLifts(path), 0);
+	}
+
+	private List<Transition> getFiringSequence(List<Integer> path, List<int[]> lifts, int start) {
+		List<Transition> result = new FiringSequence();
+		for (int i = start + 1; i < path.size(); i++) {
+			int t = symmetries.applyToTransition(lifts.get(i - 1), transitions[path.get(i)]);
+			result.add(compiled.getTransition(t));
+		}
+		return result;
+	}
+
+	/**
+	 * If the net is unbounded, get the state whose marking is strictly covered by a later one.
+	 * @return The covered state or -1.
+	 */
+	public int getCoveredState() {
+		return coveredState;
+	}
+
+	/**
+	 * If the net is unbounded, get the state whose marking strictly covers an earlier one.
+	 * @return The covering state or -1.
+	 */
+	public int getCoveringState() {
+		return coveringState;
+	}
+
+	/**
+	 * If the net is unbounded, get the firing sequence that leads from the marking of the covered state to the
+	 * marking of the covering state. This sequence can be repeated indefinitely.
+	 * @return The firing sequence or null.
+	 */
+	public List<Transition> getFiringSequenceFromCoveredState() {
+		if (coveringState == -1)
+			return null;
+		List<Integer> path = getPath(coveringState);
+		return getFiringSequence(path, getLifts(path), path.indexOf(coveredState));
+	}
+
+	/**
+	 * If the net is unbounded, get a place which gets more tokens by repeating {@link
+	 * #getFiringSequenceFromCoveredState}.
+	 * @return The place or null.
+	 */
+	public Place getUnboundedPlace() {
+		if (coveringState == -1)
+			return null;
+		Marking covering = getMarking(coveringState);
+		Marking covered = getMarking(coveredState);
+		for (int p = 0; p < compiled.getPlaceCount(); p++)
+			if (compiled.getTokenCount(covering, p) > compiled.getTokenCount(covered, p))
+				return compiled.getPlace(p);
+		throw new AssertionError("Covering marking " + covering + " is not larger than " + covered);
+	}
+
+	/**
+	 * Get the transitions which can fire in some reachable marking. This includes the images of the transitions
+	 * that fire in a representative under all symmetries.
+	 * @return The set of indices of fireable transitions.
+	 */
+	public BitSet getFireableTransitions() {
+		BitSet result = new BitSet();
+		Deque<Integer> todo = new ArrayDeque<>();
+		for (int arc = 0; arc < arcCount; arc++) {
+			if (!result.get(arcTransitions[arc])) {
+				result.set(arcTransitions[arc]);
+				todo.add(arcTransitions[arc]);
+			}
+		}
+		while (!todo.isEmpty()) {
+			int t = todo.poll();
+			for (int[] generator : symmetries.getGenerators()) {
+				int image = symmetries.applyToTransition(generator, t);
+				if (!result.get(image)) {
+					result.set(image);
+					todo.add(image);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the states from which the initial state can be reached. Since the initial marking is fixed by every
+	 * symmetry, a marking can reach the initial marking iff its representative can.
+	 * @return The set of such states.
+	 */
+	public BitSet getStatesReachingInitialState() {
+		// Sort the arcs by their target
+		int[] firstArc = new int[store.size() + 1];
+		for (int arc = 0; arc < arcCount; arc++)
+			firstArc[arcTargets[arc] + 1]++;
+		for (int state = 0; state < store.size(); state++)
+			firstArc[state + 1] += firstArc[state];
+		int[] next = Arrays.copyOf(firstArc, store.size());
+		int[] sources = new int[arcCount];
+		for (int arc = 0; arc < arcCount; arc++)
+			sources[next[arcTargets[arc]]++] = arcSources[arc];
+
+		BitSet result = new BitSet();
+		Deque<Integer> todo = new ArrayDeque<>();
+		result.set(0);
+		todo.add(0);
+		while (!todo.isEmpty()) {
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+			int state = todo.poll();
+			for (int i = firstArc[state]; i < firstArc[state + 1]; i++) {
+				if (!result.get(sources[i])) {
+					result.set(sources[i]);
+					todo.add(sources[i]);
+				}
+			}
+		}
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
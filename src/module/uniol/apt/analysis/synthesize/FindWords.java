@@ -21,13 +21,18 @@ package uniol.apt.analysis.synthesize;
 
 import static org.apache.commons.collections4.iterators.EmptyIterator.emptyIterator;
 
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
@@ -35,9 +40,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ForkJoinPool;
 
-import org.apache.commons.collections4.IteratorUtils;
-import org.apache.commons.collections4.Transformer;
-
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.exception.NonDeterministicException;
 import uniol.apt.analysis.exception.PreconditionFailedException;
@@ -52,9 +54,15 @@ public class FindWords {
 	private FindWords() { /* hide constructor */ }
 
 	/**
-	 * Number of Runnables that should always be pending for the thread pool. Must be positive.
+	 * Number of words that are solved by a single job. Must be positive.
+	 */
+	static private final int WORDS_PER_JOB = 8;
+
+	/**
+	 * Number of jobs per thread of the pool that may be submitted, but not yet handled. This bounds the memory
+	 * used by pending jobs and their results. Must be positive.
 	 */
-	static private final int TARGET_JOB_QUEUE_SIZE = 5;
+	static private final int PENDING_JOBS_PER_THREAD = 2;
 
 	static public interface WordCallback {
 		public void call(List<Character> wordAsList, String wordAsString, SynthesizePN synthesize);
@@ -64,14 +72,72 @@ public class FindWords {
 		public void call(int length);
 	}
 
-	static private SynthesizePN solveWord(List<Character> wordList, PNProperties properties, boolean quickFail) {
-		TransitionSystem ts = SynthesizeUtils.makeTS(toStringList(wordList));
+	/**
+	 * A region of a solvable word. This is described via the letters of the word so that it can be remembered
+	 * without keeping the word's transition system alive.
+	 */
+	static private class WordRegion {
+		private final Map<Character, BigInteger> backward = new HashMap<>();
+		private final Map<Character, BigInteger> forward = new HashMap<>();
+		private final BigInteger initialMarking;
+
+		private WordRegion(Region region) {
+			for (String event : region.getRegionUtility().getEventList()) {
+				backward.put(event.charAt(0), region.getBackwardWeight(event));
+				forward.put(event.charAt(0), region.getForwardWeight(event));
+			}
+			initialMarking = region.getInitialMarking();
+		}
+	}
+
+	static private class WordResult {
+		private final String word;
+		private final SynthesizePN synthesize;
+		private final List<WordRegion> regions;
+
+		private WordResult(String word, SynthesizePN synthesize, List<WordRegion> regions) {
+			this.word = word;
+			this.synthesize = synthesize;
+			this.regions = regions;
+		}
+	}
+
+	/**
+	 * Solve a word.
+	 * @param word The normalized word to solve.
+	 * @param extendedWord The word before normalization. Its first letter was prepended to a word of the previous
+	 * length.
+	 * @param shorterRegions The regions of the solvable words of the previous length.
+	 * @param alphabet The alphabet from which words are generated.
+	 * @param properties The properties that should be considered.
+	 * @param quickFail Should quick-fail synthesis be done or should full synthesis be attempted?
+	 * @return The result for the word. For solvable words, this includes a minimal set of separating regions.
+	 */
+	static private WordResult solveWord(String word, String extendedWord,
+			Map<String, List<WordRegion>> shorterRegions, SortedSet<Character> alphabet,
+			PNProperties properties, boolean quickFail) {
+		TransitionSystem ts = SynthesizeUtils.makeTS(toStringList(toList(word)));
 		try {
-			return SynthesizePN.Builder.createForLanguageEquivalence(ts)
+			SynthesizePN.Builder builder = SynthesizePN.Builder.createForLanguageEquivalence(ts)
 				.setProperties(properties)
 				// we don't need failed separation points, if we don't show them
-				.setQuickFail(quickFail)
-				.build();
+				.setQuickFail(quickFail);
+			List<WordRegion> hints = shorterRegions.get(extendedWord.substring(1));
+			if (hints != null)
+				addRegionHints(builder, hints, extendedWord, alphabet, properties);
+
+			SynthesizePN synthesize = builder.build();
+			if (!synthesize.wasSuccessfullySeparated())
+				return new WordResult(word, synthesize, null);
+
+			// The regions of the longer words are based on these, so only remember the ones that are needed
+			Set<Region> regions = new HashSet<>(synthesize.getSeparatingRegions());
+			SynthesizePN.minimizeRegions(new RegionMarkingIndex(builder.getRegionUtility()), regions,
+					synthesize.onlyEventSeparation());
+			List<WordRegion> wordRegions = new ArrayList<>(regions.size());
+			for (Region region : regions)
+				wordRegions.add(new WordRegion(region));
+			return new WordResult(word, synthesize, wordRegions);
 		} catch (MissingLocationException e) {
 			throw new RuntimeException("Not generating locations and "
 					+ " yet they were generated wrongly?!", e);
@@ -81,6 +147,50 @@ public class FindWords {
 		}
 	}
 
+	/**
+	 * Offer the regions of a shorter word to the synthesis of a longer word. The word c+w behaves like w after
+	 * firing c once, so a region of w is also a region of c+w if its initial marking is moved back over c. If this
+	 * initial marking does not enable c, tokens are added where possible.
+	 * @param builder The builder for the longer word.
+	 * @param hints The regions of the shorter word.
+	 * @param extendedWord The longer word before normalization.
+	 * @param alphabet The alphabet from which words are generated.
+	 * @param properties The properties that should be considered.
+	 */
+	static private void addRegionHints(SynthesizePN.Builder builder, List<WordRegion> hints, String extendedWord,
+			SortedSet<Character> alphabet, PNProperties properties) {
+		RegionUtility utility = builder.getRegionUtility();
+		Map<Character, Character> morphism = normalizingMorphism(toList(extendedWord), alphabet);
+		char firstLetter = extendedWord.charAt(0);
+		for (WordRegion hint : hints) {
+			List<BigInteger> backward = new ArrayList<>(
+					Collections.nCopies(utility.getNumberOfEvents(), BigInteger.ZERO));
+			List<BigInteger> forward = new ArrayList<>(backward);
+			for (Map.Entry<Character, BigInteger> entry : hint.backward.entrySet()) {
+				int index = utility.getEventIndex(String.valueOf(morphism.get(entry.getKey())));
+				backward.set(index, entry.getValue());
+				forward.set(index, hint.forward.get(entry.getKey()));
+			}
+
+			BigInteger initialMarking = hint.initialMarking;
+			if (hint.backward.containsKey(firstLetter))
+				initialMarking = initialMarking.add(hint.backward.get(firstLetter))
+					.subtract(hint.forward.get(firstLetter));
+
+			// A negative initial marking has to be shifted up anyway when the region is carried over
+			Region region = new Region.Builder(utility, backward, forward)
+				.withInitialMarking(initialMarking.max(BigInteger.ZERO));
+			region = IncrementalSynthesizePN.carryOverRegion(utility, region, properties);
+			if (region == null)
+				continue;
+			try {
+				builder.addRegion(region);
+			} catch (InvalidRegionException e) {
+				throw new AssertionError("Region " + region + " was checked, but is invalid", e);
+			}
+		}
+	}
+
 	/**
 	 * Generate Petri net solvable words with the given characteristics.
 	 * @param properties The properties that should be considered.
@@ -94,30 +204,69 @@ public class FindWords {
 	static public void generateList(PNProperties properties, SortedSet<Character> alphabet, boolean quickFail,
 			WordCallback wordCallback, LengthDoneCallback lengthDoneCallback)
 			throws PreconditionFailedException {
+		try {
+			generateList(properties, alphabet, quickFail, wordCallback, lengthDoneCallback, null);
+		} catch (IOException e) {
+			throw new RuntimeException("Not using a checkpoint and "
+					+ " yet there was an I/O error?!", e);
+		}
+	}
+
+	/**
+	 * Generate Petri net solvable words with the given characteristics. The results are recorded in a checkpoint
+	 * directory. If this directory already contains results from an earlier run with the same properties,
+	 * alphabet and quickFail setting, the generation continues where that run stopped. Words and lengths that
+	 * were already handled are not reported to the callbacks again.
+	 * @param properties The properties that should be considered.
+	 * @param alphabet The alphabet from which words should be generated.
+	 * @param quickFail Should quick-fail synthesis be done or should full synthesis be attempted?
+	 * @param wordCallback Callback that should be called for each word that is found.
+	 * @param lengthDoneCallback Callback that should be called when all words of a given length were handled.
+	 * @param checkpointDirectory Directory for the checkpoint or null if no checkpoint should be used.
+	 * @throws PreconditionFailedException If a combination of properties is specified for which there is no
+	 * sensible definition of 'minimally unsolvable word', i.e. plain+k-marking.
+	 * @throws IOException If the checkpoint cannot be read or written or if it was created for different
+	 * properties, a different alphabet or a different quickFail setting.
+	 */
+	static public void generateList(PNProperties properties, SortedSet<Character> alphabet, boolean quickFail,
+			WordCallback wordCallback, LengthDoneCallback lengthDoneCallback, File checkpointDirectory)
+			throws PreconditionFailedException, IOException {
 		// Java 8 provides ForkJoinPool.commonPool(). Java 7 does not, so we need to create our own pool.
 		ForkJoinPool executor = new ForkJoinPool();
+		FindWordsCheckpoint checkpoint = null;
+		if (checkpointDirectory != null)
+			checkpoint = new FindWordsCheckpoint(checkpointDirectory, properties, alphabet, quickFail);
 		try {
-			generateList(properties, alphabet, quickFail, wordCallback, lengthDoneCallback, executor);
+			generateList(properties, alphabet, quickFail, wordCallback, lengthDoneCallback, executor,
+					checkpoint);
 		} finally {
 			executor.shutdownNow();
+			if (checkpoint != null)
+				checkpoint.close();
 		}
 	}
 
-	static private class NextWordsIterator implements Iterator<String> {
+	/**
+	 * Iterator over the candidates for words of the next length. Each element is a pair of the normalized word
+	 * and the word before normalization.
+	 */
+	static private class NextWordsIterator implements Iterator<Pair<String, String>> {
 		private final PNProperties properties;
 		private final SortedSet<Character> alphabet;
 		private final List<String> solvableShorterWords;
 		private final Iterator<String> solvableWordsIterator;
+		private final Map<String, Boolean> knownWords;
 		private Iterator<Character> alphabetIterator = emptyIterator();
 		private String currentWordToExtend = null;
-		private String nextWord = null;
+		private Pair<String, String> nextWord = null;
 
 		public NextWordsIterator(PNProperties properties, SortedSet<Character> alphabet,
-				List<String> solvableShorterWords) {
+				List<String> solvableShorterWords, Map<String, Boolean> knownWords) {
 			this.properties = properties;
 			this.alphabet = alphabet;
 			this.solvableShorterWords = solvableShorterWords;
 			this.solvableWordsIterator = solvableShorterWords.iterator();
+			this.knownWords = knownWords;
 
 			if (alphabet.isEmpty())
 				throw new IllegalArgumentException("Alphabet must not be empty");
@@ -144,8 +293,8 @@ public class FindWords {
 				// generate all solvable words.
 				Character c = alphabetIterator.next();
 				boolean newLetter = currentWordToExtend.indexOf(c) == -1;
-				String word = c + currentWordToExtend;
-				word = normalizeWord(toList(word), alphabet);
+				String extendedWord = c + currentWordToExtend;
+				String word = normalizeWord(toList(extendedWord), alphabet);
 
 				if (!properties.isKBounded()) {
 					// If we have unbounded places, then every prefix of a solvable word is
@@ -166,7 +315,6 @@ public class FindWords {
 					// all proper suffixes are solvable).
 				}
 
-				nextWord = word;
 				if (newLetter)
 					// The alphabet is a sorted set. We only extend words in the order that they
 					// appear in the alphabet. So if the current letter was new, then all the
@@ -178,6 +326,11 @@ public class FindWords {
 					// algorithm.
 					alphabetIterator = emptyIterator();
 
+				// The checkpoint already contains the result for this word, so it is not solved again
+				if (knownWords.containsKey(word))
+					continue;
+
+				nextWord = new Pair<>(word, extendedWord);
 				return true;
 			}
 
@@ -185,10 +338,10 @@ public class FindWords {
 		}
 
 		@Override
-		public String next() {
+		public Pair<String, String> next() {
 			if (!hasNext())
 				throw new NoSuchElementException();
-			String result = nextWord;
+			Pair<String, String> result = nextWord;
 			nextWord = null;
 			return result;
 		}
@@ -199,79 +352,112 @@ public class FindWords {
 		}
 	}
 
-	static private void generateList(final PNProperties properties, SortedSet<Character> alphabet,
+	static private void generateList(final PNProperties properties, final SortedSet<Character> alphabet,
 			final boolean quickFail, WordCallback wordCallback, LengthDoneCallback lengthDoneCallback,
-			ForkJoinPool executor) throws PreconditionFailedException {
+			ForkJoinPool executor, FindWordsCheckpoint checkpoint)
+			throws PreconditionFailedException, IOException {
 		if (properties.isPlain() && properties.isKMarking())
 			throw new PreconditionFailedException("The combination of plain and k-marking is not supported"
 					+ ", because 'minimal unsolvable' cannot be defined");
 
-		CompletionService<Pair<String, SynthesizePN>> completion = new ExecutorCompletionService<>(executor);
+		CompletionService<List<WordResult>> completion = new ExecutorCompletionService<>(executor);
+		int maxPendingJobs = PENDING_JOBS_PER_THREAD * executor.getParallelism();
 		List<String> currentLevel = Collections.singletonList("");
+		Map<String, List<WordRegion>> currentRegions = Collections.emptyMap();
+		int currentLength = 0;
 		while (!currentLevel.isEmpty()) {
-
-			// Lazily create new Callables to avoid OOM errors
-			Iterator<Callable<Pair<String, SynthesizePN>>> jobGenerator = IteratorUtils.transformedIterator(
-					new NextWordsIterator(properties, alphabet, currentLevel),
-					new Transformer<String, Callable<Pair<String, SynthesizePN>>>() {
-						@Override
-						public Callable<Pair<String, SynthesizePN>> transform(
-								final String word) {
-							return new Callable<Pair<String, SynthesizePN>>() {
-								@Override
-								public Pair<String, SynthesizePN> call() {
-									List<Character> wordList = toList(word);
-									SynthesizePN synthesize = solveWord(wordList,
-											properties, quickFail);
-									return new Pair<>(word, synthesize);
-								}
-							};
-						}
-					});
-
-			// Wait for and handle results
+			currentLength++;
 			List<String> nextLevel = new ArrayList<>();
-			int tasksSubmitted = submitTasks(executor, completion, jobGenerator);
-			int tasksFinished = 0;
-			while (tasksSubmitted != tasksFinished) {
-				String word;
-				SynthesizePN synthesize;
+			Map<String, List<WordRegion>> nextRegions = new HashMap<>();
+			Map<String, Boolean> knownWords = Collections.emptyMap();
+			if (checkpoint != null) {
+				FindWordsCheckpoint.Level level = checkpoint.load(currentLength);
+				if (level != null && level.isComplete()) {
+					// An earlier run already handled all words of this length
+					currentLevel = level.getSolvableWords();
+					Collections.sort(currentLevel);
+					currentRegions = Collections.emptyMap();
+					continue;
+				}
+				if (level != null) {
+					knownWords = level.getResults();
+					nextLevel.addAll(level.getSolvableWords());
+				}
+				checkpoint.startLength(currentLength, knownWords);
+			}
+
+			// Lazily create new jobs to avoid OOM errors
+			Iterator<Pair<String, String>> words = new NextWordsIterator(properties, alphabet, currentLevel,
+					knownWords);
+			int pendingJobs = 0;
+			while (true) {
+				while (pendingJobs < maxPendingJobs && words.hasNext()) {
+					completion.submit(createJob(words, currentRegions, alphabet, properties,
+								quickFail));
+					pendingJobs++;
+				}
+				if (pendingJobs == 0)
+					break;
+
+				// Wait for and handle results
+				List<WordResult> results;
 				try {
-					Pair<String, SynthesizePN> pair = completion.take().get();
-					word = pair.getFirst();
-					synthesize = pair.getSecond();
+					results = completion.take().get();
 				} catch (ExecutionException e) {
 					throw new RuntimeException(e);
 				} catch (InterruptedException e) {
 					Thread.currentThread().interrupt();
 					return;
 				}
-
-				List<Character> wordList = toList(word);
-				wordCallback.call(wordList, word, synthesize);
-				if (synthesize.wasSuccessfullySeparated()) {
-					nextLevel.add(word);
+				pendingJobs--;
+
+				for (WordResult result : results) {
+					wordCallback.call(toList(result.word), result.word, result.synthesize);
+					boolean solvable = result.synthesize.wasSuccessfullySeparated();
+					if (solvable) {
+						nextLevel.add(result.word);
+						nextRegions.put(result.word, result.regions);
+					}
+					if (checkpoint != null)
+						checkpoint.record(result.word, solvable);
 				}
-				tasksFinished++;
-
-				tasksSubmitted += submitTasks(executor, completion, jobGenerator);
 			}
 
-			int currentLength = currentLevel.iterator().next().length() + 1;
 			lengthDoneCallback.call(currentLength);
+			if (checkpoint != null)
+				checkpoint.finishLength();
 			currentLevel = nextLevel;
+			currentRegions = nextRegions;
 			Collections.sort(currentLevel);
 		}
 	}
 
-	static private <T> int submitTasks(ForkJoinPool executor, CompletionService<T> completion,
-			Iterator<Callable<T>> jobGenerator) {
-		int submitted = 0;
-		while (jobGenerator.hasNext() && executor.getQueuedSubmissionCount() < TARGET_JOB_QUEUE_SIZE) {
-			completion.submit(jobGenerator.next());
-			submitted++;
-		}
-		return submitted;
+	/**
+	 * Create a job that solves the next few words.
+	 * @param words Iterator providing the words. It must have at least one more element.
+	 * @param shorterRegions The regions of the solvable words of the previous length.
+	 * @param alphabet The alphabet from which words are generated.
+	 * @param properties The properties that should be considered.
+	 * @param quickFail Should quick-fail synthesis be done or should full synthesis be attempted?
+	 * @return The job.
+	 */
+	static private Callable<List<WordResult>> createJob(Iterator<Pair<String, String>> words,
+			final Map<String, List<WordRegion>> shorterRegions, final SortedSet<Character> alphabet,
+			final PNProperties properties, final boolean quickFail) {
+		final List<Pair<String, String>> batch = new ArrayList<>(WORDS_PER_JOB);
+		while (batch.size() < WORDS_PER_JOB && words.hasNext())
+			batch.add(words.next());
+
+		return new Callable<List<WordResult>>() {
+			@Override
+			public List<WordResult> call() {
+				List<WordResult> results = new ArrayList<>(batch.size());
+				for (Pair<String, String> word : batch)
+					results.add(solveWord(word.getFirst(), word.getSecond(), shorterRegions,
+								alphabet, properties, quickFail));
+				return results;
+			}
+		};
 	}
 
 	/**
@@ -303,19 +489,25 @@ public class FindWords {
 	static private String normalizeWord(List<Character> word, SortedSet<Character> alphabet)
 	{
 		StringBuilder result = new StringBuilder();
+		Map<Character, Character> morphism = normalizingMorphism(word, alphabet);
+		for (Character letter : word)
+			result.append(morphism.get(letter));
+		return result.toString();
+	}
+
+	// Calculate the replacement of letters that normalizeWord() applies to the given word.
+	static private Map<Character, Character> normalizingMorphism(List<Character> word,
+			SortedSet<Character> alphabet) {
 		Map<Character, Character> morphism = new HashMap<>();
 		Iterator<Character> alphabetIter = alphabet.iterator();
 
 		for (Character letter : word) {
-			Character replacement = morphism.get(letter);
-			if (replacement == null) {
+			if (!morphism.containsKey(letter)) {
 				assert alphabetIter.hasNext();
-				replacement = alphabetIter.next();
-				morphism.put(letter, replacement);
+				morphism.put(letter, alphabetIter.next());
 			}
-			result.append(replacement);
 		}
-		return result.toString();
+		return morphism;
 	}
 }
 
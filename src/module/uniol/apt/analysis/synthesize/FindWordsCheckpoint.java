@@ -0,0 +1,229 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * On-disk record of the words that {@link FindWords} already handled. For every length there is one file listing the
+ * solvable and unsolvable words of this length. Results are appended as soon as they are known, so that an interrupted
+ * run can be resumed without solving the same words again. The first line of every file names the operation, the
+ * properties and the alphabet, and a checkpoint is only resumed with the same values.
+ */
+class FindWordsCheckpoint implements Closeable {
+	static private final String HEADER_PREFIX = "# find_words ";
+	static private final String SOLVABLE_PREFIX = "solvable: ";
+	static private final String UNSOLVABLE_PREFIX = "unsolvable: ";
+	static private final String DONE_LINE = "done";
+
+	private final File directory;
+	private final String operation;
+	private final String header;
+	private Writer writer;
+
+	/**
+	 * Create a checkpoint in the given directory.
+	 * @param directory The directory which contains the checkpoint files. It is created if needed.
+	 * @param properties The properties for which words are generated.
+	 * @param alphabet The alphabet from which words are generated.
+	 * @param quickFail Whether quick-fail synthesis is done, which is the case if only solvable words are of
+	 * interest.
+	 */
+	public FindWordsCheckpoint(File directory, PNProperties properties, SortedSet<Character> alphabet,
+			boolean quickFail) {
+		this.directory = directory;
+		this.operation = quickFail ? "quick-fail" : "full";
+		this.header = HEADER_PREFIX + operation + " " + properties + " over " + alphabet;
+	}
+
+	/**
+	 * The results that a checkpoint contains for one length.
+	 */
+	static public class Level {
+		private final Map<String, Boolean> results = new LinkedHashMap<>();
+		private boolean complete = false;
+
+		/**
+		 * Get the words that were already handled.
+		 * @return A map from each handled word to true if it is solvable.
+		 */
+		public Map<String, Boolean> getResults() {
+			return Collections.unmodifiableMap(results);
+		}
+
+		/**
+		 * Get the solvable words of this length that were already handled.
+		 * @return The solvable words.
+		 */
+		public List<String> getSolvableWords() {
+			List<String> result = new ArrayList<>();
+			for (Map.Entry<String, Boolean> entry : results.entrySet())
+				if (entry.getValue())
+					result.add(entry.getKey());
+			return result;
+		}
+
+		/**
+		 * Check if all words of this length were handled.
+		 * @return true if the length is done.
+		 */
+		public boolean isComplete() {
+			return complete;
+		}
+	}
+
+	private File getFile(int length) {
+		return new File(directory, "words-" + length + ".txt");
+	}
+
+	/**
+	 * Load the results for the given length.
+	 * @param length The length of words to load.
+	 * @return The results or null if the checkpoint contains nothing for this length.
+	 * @throws IOException If the file cannot be read or was created for different parameters.
+	 */
+	public Level load(int length) throws IOException {
+		File file = getFile(length);
+		if (!file.exists())
+			return null;
+
+		Level level = new Level();
+		try (InputStream is = FileUtils.openInputStream(file);
+				Reader isr = new InputStreamReader(is, "UTF-8");
+				BufferedReader reader = new BufferedReader(isr)) {
+			String line = reader.readLine();
+			if (line != null && line.startsWith(HEADER_PREFIX)
+					&& !line.startsWith(HEADER_PREFIX + operation + " "))
+				throw new IOException(file.getAbsolutePath() + " was created by a different operation. "
+						+ "Delete the checkpoint and try again.");
+			if (!header.equals(line))
+				throw new IOException(file.getAbsolutePath() + " was created for different parameters. "
+						+ "Delete the checkpoint and try again.");
+
+			String next = reader.readLine();
+			while (next != null) {
+				line = next;
+				next = reader.readLine();
+
+				if (line.equals(DONE_LINE) && next == null) {
+					level.complete = true;
+					continue;
+				}
+
+				String word = null;
+				boolean solvable = false;
+				if (line.startsWith(SOLVABLE_PREFIX)) {
+					word = line.substring(SOLVABLE_PREFIX.length());
+					solvable = true;
+				} else if (line.startsWith(UNSOLVABLE_PREFIX)) {
+					word = line.substring(UNSOLVABLE_PREFIX.length());
+				}
+
+				if (word != null && word.length() == length)
+					level.results.put(word, solvable);
+				else if (next != null)
+					// Only the last line can be damaged, because an interrupted run was writing
+					// it. It is ignored, since it might have been cut off in the middle of a word.
+					throw new IOException(file.getAbsolutePath() + " is not a checkpoint file");
+			}
+		}
+		return level;
+	}
+
+	/**
+	 * Start recording results for the given length. The file for this length is replaced with one that contains
+	 * exactly the given results. The new file is written next to the old one and then renamed, so that the old
+	 * file stays intact if writing fails.
+	 * @param length The length of words that will be recorded.
+	 * @param known The results that are already known for this length.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void startLength(int length, Map<String, Boolean> known) throws IOException {
+		close();
+		File file = getFile(length);
+		FileUtils.forceMkdir(directory);
+		File temporary = File.createTempFile(file.getName(), ".tmp", directory);
+		try {
+			try (OutputStream os = FileUtils.openOutputStream(temporary);
+					Writer tmpWriter = new BufferedWriter(new OutputStreamWriter(os, "UTF-8"))) {
+				tmpWriter.write(header + "\n");
+				for (Map.Entry<String, Boolean> entry : known.entrySet())
+					tmpWriter.write((entry.getValue() ? SOLVABLE_PREFIX : UNSOLVABLE_PREFIX)
+							+ entry.getKey() + "\n");
+			}
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporary.toPath());
+		}
+		OutputStream os = FileUtils.openOutputStream(file, true);
+		writer = new BufferedWriter(new OutputStreamWriter(os, "UTF-8"));
+	}
+
+	/**
+	 * Record the result for a word.
+	 * @param word The word that was handled.
+	 * @param solvable Whether the word is solvable.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void record(String word, boolean solvable) throws IOException {
+		writer.write((solvable ? SOLVABLE_PREFIX : UNSOLVABLE_PREFIX) + word + "\n");
+		writer.flush();
+	}
+
+	/**
+	 * Mark the current length as done.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void finishLength() throws IOException {
+		writer.write(DONE_LINE + "\n");
+		close();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (writer != null) {
+			writer.close();
+			writer = null;
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,6 +19,8 @@
 
 package uniol.apt.analysis.synthesize;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -86,7 +88,10 @@ public class FindWordsModule extends AbstractModule implements Module {
 			+ " apt " + getName() + " safe solvable abc: Print all words solvable by safe Petri nets over "
 			+ "the alphabet {a,b,c}\n"
 			+ " apt " + getName() + " none unsolvable ab: Print all minimally unsolvable words over the "
-			+ "alphabet {a,b}\n";
+			+ "alphabet {a,b}\n"
+			+ "\nIf a checkpoint directory is given, the results for each word are recorded there. A later "
+			+ "call with the same directory, options, operation and alphabet continues where the earlier "
+			+ "call stopped and does not print the words again that were already handled.\n";
 	}
 
 	@Override
@@ -100,6 +105,8 @@ public class FindWordsModule extends AbstractModule implements Module {
 		inputSpec.addParameter("operation", String.class,
 				"Choose between printing all 'minimal_unsolvable' words or all 'solvable' words");
 		inputSpec.addParameter("alphabet", String.class, "Letters that should be part of the alphabet");
+		inputSpec.addOptionalParameterWithoutDefault("checkpoint", String.class,
+				"Directory for recording the progress so that an interrupted run can be resumed");
 	}
 
 	@Override
@@ -112,16 +119,18 @@ public class FindWordsModule extends AbstractModule implements Module {
 		String optionsStr = input.getParameter("options", String.class);
 		String alphabetLetter = input.getParameter("alphabet", String.class);
 		String operation = input.getParameter("operation", String.class);
+		String checkpoint = input.getParameter("checkpoint", String.class);
+		File checkpointDirectory = checkpoint == null ? null : new File(checkpoint);
 
 		PNProperties properties = AbstractSynthesizeModule.Options.parseProperties(optionsStr).properties;
 		SortedSet<Character> alphabet = new TreeSet<>(FindWords.toList(alphabetLetter));
 
 		switch (operation) {
 			case "minimal_unsolvable":
-				generateList(properties, alphabet, Operation.UNSOLVABLE);
+				generateList(properties, alphabet, Operation.UNSOLVABLE, checkpointDirectory);
 				break;
 			case "solvable":
-				generateList(properties, alphabet, Operation.SOLVABLE);
+				generateList(properties, alphabet, Operation.SOLVABLE, checkpointDirectory);
 				break;
 			default:
 				throw new ModuleException("Unknown operation '" + operation
@@ -129,8 +138,8 @@ public class FindWordsModule extends AbstractModule implements Module {
 		}
 	}
 
-	static private void generateList(PNProperties properties, SortedSet<Character> alphabet, Operation operation)
-			throws ModuleException {
+	static private void generateList(PNProperties properties, SortedSet<Character> alphabet, Operation operation,
+			File checkpointDirectory) throws ModuleException {
 		final boolean printSolvable = operation.printSolvable();
 		final boolean printUnsolvable = operation.printUnsolvable();
 		if (operation.printStatus()) {
@@ -179,7 +188,12 @@ public class FindWordsModule extends AbstractModule implements Module {
 				counters[unsolvable] = 0;
 			}
 		};
-		FindWords.generateList(properties, alphabet, !printUnsolvable, wordCallback, lengthDoneCallback);
+		try {
+			FindWords.generateList(properties, alphabet, !printUnsolvable, wordCallback, lengthDoneCallback,
+					checkpointDirectory);
+		} catch (IOException e) {
+			throw new ModuleException("Cannot use checkpoint: " + e.getMessage(), e);
+		}
 	}
 
 	@Override
@@ -0,0 +1,166 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.exception.NonDeterministicException;
+
+import static uniol.apt.util.DebugUtil.debugFormat;
+
+/**
+ * Synthesize Petri nets for a transition system that keeps growing, for example because words are added to it via
+ * {@link uniol.apt.analysis.processmining.CreateLTS}. The regions of the previous synthesis are carried over to the
+ * grown transition system. Regions which are no longer valid are repaired if possible and dropped otherwise. All
+ * separation problems that the carried over regions solve are then skipped, so that only new problems have to be
+ * solved.
+ */
+public class IncrementalSynthesizePN {
+	private final PNProperties properties;
+	private final boolean languageEquivalence;
+	private Set<Region> regions = Collections.emptySet();
+
+	/**
+	 * Create a new instance.
+	 * @param properties Properties that the synthesized Petri nets should satisfy.
+	 * @param languageEquivalence If true, synthesis is up to language equivalence, else up to isomorphic
+	 * behaviour.
+	 */
+	public IncrementalSynthesizePN(PNProperties properties, boolean languageEquivalence) {
+		this.properties = properties;
+		this.languageEquivalence = languageEquivalence;
+	}
+
+	/**
+	 * Synthesize the given transition system. The transition system should be a grown version of the one from the
+	 * previous call. The regions found by the previous call are re-used as far as possible.
+	 * @param ts The transition system that should be synthesized.
+	 * @return The result of the synthesis.
+	 * @throws MissingLocationException if the transition system has locations for only some events
+	 * @throws NonDeterministicException if synthesis is up to language equivalence and the transition system is
+	 * non-deterministic
+	 */
+	public SynthesizePN synthesize(TransitionSystem ts) throws MissingLocationException, NonDeterministicException {
+		SynthesizePN.Builder builder;
+		if (languageEquivalence)
+			builder = SynthesizePN.Builder.createForLanguageEquivalence(ts);
+		else
+			builder = SynthesizePN.Builder.createForIsomorphicBehaviour(ts);
+		builder.setProperties(properties);
+
+		RegionUtility utility = builder.getRegionUtility();
+		int carriedOver = 0;
+		for (Region region : regions) {
+			Region copy = carryOverRegion(utility, region, properties);
+			if (copy == null)
+				continue;
+			try {
+				builder.addRegion(copy);
+			} catch (InvalidRegionException e) {
+				throw new AssertionError("Region " + copy + " was checked, but is invalid", e);
+			}
+			carriedOver++;
+		}
+		debugFormat("Carried over %d of %d regions", carriedOver, regions.size());
+
+		// The result contains all regions that were carried over, only keep those that are still needed
+		SynthesizePN result = builder.build();
+		regions = new HashSet<>(result.getSeparatingRegions());
+		SynthesizePN.minimizeRegions(new RegionMarkingIndex(utility), regions, result.onlyEventSeparation());
+		return result;
+	}
+
+	/**
+	 * Get the regions that were found by the last synthesis and that will be carried over to the next one.
+	 * @return The regions of the last synthesis.
+	 */
+	public Set<Region> getRegions() {
+		return Collections.unmodifiableSet(regions);
+	}
+
+	/**
+	 * Copy a region to a grown transition system. If the copy is not a valid region, but only because some
+	 * markings are too small, tokens are added to its initial marking.
+	 * @param utility The region utility of the grown transition system.
+	 * @param region The region to copy.
+	 * @param properties The properties that the region must satisfy.
+	 * @return A valid region for the given utility or null if the region cannot be carried over.
+	 */
+	static Region carryOverRegion(RegionUtility utility, Region region, PNProperties properties) {
+		// Whether these properties hold depends on which events are enabled together, which may have changed
+		if (properties.isBehaviourallyConflictFree() || properties.isBinaryConflictFree()
+				|| properties.isEqualConflict())
+			return null;
+
+		Region result;
+		try {
+			result = Region.Builder.copyRegionToUtility(utility, region);
+		} catch (IllegalArgumentException e) {
+			// The region uses an event which no longer exists
+			return null;
+		}
+
+		// The effect of events on new cycles cannot be fixed without changing the region
+		if (result.findArcWithWrongEffect() != null)
+			return null;
+
+		// Markings can be fixed by adding the same number of tokens to all of them
+		BigInteger shift = BigInteger.ZERO;
+		BigInteger maxMarking = BigInteger.ZERO;
+		if (result.findPreventedArc() != null || result.getInitialMarking().signum() < 0
+				|| properties.isKBounded()) {
+			for (State state : utility.getTransitionSystem().getNodes()) {
+				BigInteger marking;
+				try {
+					marking = result.getMarkingForState(state);
+				} catch (UnreachableException e) {
+					continue;
+				}
+				maxMarking = maxMarking.max(marking);
+				shift = shift.max(marking.negate());
+				for (Arc arc : state.getPostsetEdges())
+					shift = shift.max(result.getBackwardWeight(arc.getLabel()).subtract(marking));
+			}
+		}
+		if (properties.isKMarking()) {
+			// The initial marking must be a multiple of k
+			BigInteger k = BigInteger.valueOf(properties.getKForKMarking());
+			BigInteger remainder = result.getInitialMarking().add(shift).mod(k);
+			if (remainder.signum() != 0)
+				shift = shift.add(k.subtract(remainder));
+		}
+		if (properties.isKBounded()
+				&& maxMarking.add(shift).compareTo(BigInteger.valueOf(properties.getKForKBounded())) > 0)
+			return null;
+		if (shift.signum() > 0)
+			result = new Region.Builder(result).withInitialMarking(result.getInitialMarking().add(shift));
+
+		assert result.findPreventedArc() == null && result.findArcWithWrongEffect() == null : result;
+		return result;
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -54,6 +54,7 @@ import static uniol.apt.util.DebugUtil.debugFormat;
 public class MinimizePN {
 	private final SynthesizePN synthesize;
 	private final RegionUtility utility;
+	private final RegionMarkingIndex markings;
 	private final Set<Region> regions;
 	private final boolean onlyEventSeparation;
 
@@ -67,6 +68,7 @@ public class MinimizePN {
 	public MinimizePN(SynthesizePN synthesize) {
 		this.synthesize = synthesize;
 		this.utility = synthesize.getUtility();
+		this.markings = new RegionMarkingIndex(utility);
 		this.onlyEventSeparation = synthesize.onlyEventSeparation();
 
 		if (!synthesize.wasSuccessfullySeparated())
@@ -74,7 +76,11 @@ public class MinimizePN {
 					+ "and thus cannot be minimized");
 
 		try {
-			Set<Region> separatingRegions = synthesize.getSeparatingRegions();
+			// All regions that were found so far. Picking a minimal subset of them is much cheaper than
+			// asking the SMT solver for a solution with fewer regions.
+			Set<Region> knownRegions = new HashSet<>(synthesize.getSeparatingRegions());
+			Set<Region> separatingRegions = new HashSet<>(knownRegions);
+			SynthesizePN.minimizeRegions(markings, separatingRegions, onlyEventSeparation);
 			while (!separatingRegions.isEmpty()) {
 				debugFormat("Have solution with %d regions, trying to find solution with "
 						+ "one region less", separatingRegions.size());
@@ -82,10 +88,18 @@ public class MinimizePN {
 				if (newRegions == null)
 					break;
 
-				// minimizeRegions() can often reduce the number of regions even more
-				SynthesizePN.minimizeRegions(utility.getTransitionSystem(), newRegions,
-						onlyEventSeparation);
+				// minimizeRegions() can often reduce the number of regions even more, especially when
+				// it may also use the regions from previous solutions
+				knownRegions.addAll(newRegions);
+				Set<Region> fromKnownRegions = new HashSet<>(knownRegions);
+				SynthesizePN.minimizeRegions(markings, newRegions, onlyEventSeparation);
+				SynthesizePN.minimizeRegions(markings, fromKnownRegions, onlyEventSeparation);
+				if (fromKnownRegions.size() < newRegions.size())
+					newRegions = fromKnownRegions;
 				separatingRegions = newRegions;
+
+				// Regions which were only tried by synthesizeWithLimit() are not needed any more
+				markings.retainMarkings(knownRegions);
 			}
 			debug("Could not reduce number of regions any more");
 			this.regions = Collections.unmodifiableSet(separatingRegions);
@@ -119,8 +133,9 @@ public class MinimizePN {
 
 		Set<State> statesToSeparate = new HashSet<>();
 		while (true) {
-			Set<State> unseparated = SynthesizePN.calculateUnseparatedStates(
-					utility.getTransitionSystem().getNodes(), result);
+			RegionMarkingIndex index = new RegionMarkingIndex(markings);
+			index.addRegions(result);
+			Set<State> unseparated = index.getUnseparatedStates();
 			debug("Current solution: ", result);
 			debug("Unseparated states: ", unseparated);
 			if (unseparated.isEmpty())
@@ -138,11 +153,7 @@ public class MinimizePN {
 	}
 
 	private Set<Region> synthesizeWithLimit(int limit, Set<State> statesToSeparate) throws UnreachableException {
-		TransitionSystem ts = utility.getTransitionSystem();
-		List<String> eventList = utility.getEventList();
-		int numberEvents = utility.getNumberOfEvents();
 		PNProperties properties = synthesize.getProperties();
-		boolean pure = properties.isPure();
 		SMTInterpolHelper helper;
 
 		try {
@@ -153,6 +164,19 @@ public class MinimizePN {
 			throw new RuntimeException("Previous synthesis was successful "
 					+ "and now we have a missing location!?", e);
 		}
+		try {
+			return synthesizeWithLimit(helper, limit, statesToSeparate);
+		} finally {
+			helper.close();
+		}
+	}
+
+	private Set<Region> synthesizeWithLimit(SMTInterpolHelper helper, int limit, Set<State> statesToSeparate)
+			throws UnreachableException {
+		TransitionSystem ts = utility.getTransitionSystem();
+		List<String> eventList = utility.getEventList();
+		int numberEvents = utility.getNumberOfEvents();
+		boolean pure = synthesize.getProperties().isPure();
 		Script script = helper.getScript();
 
 		// Declare all regions
@@ -0,0 +1,355 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.opt.MinOneDecorator;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.OptToSatAdapter;
+
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+import static uniol.apt.util.DebugUtil.debugFormat;
+
+/**
+ * Solver for the minimum set cover problem. An instance consists of candidates and elements. Each element is described
+ * by the set of candidates that cover it. A cover is a set of candidates which together cover all elements. Candidates
+ * and elements are numbered from zero and sets of them are represented as bit sets.
+ */
+class MinimumSetCover {
+	/**
+	 * Strategies for calculating a cover.
+	 */
+	enum Strategy {
+		/**
+		 * Repeatedly pick the candidate which covers the most uncovered elements. This is fast, but the result
+		 * is not necessarily minimal.
+		 */
+		GREEDY,
+		/**
+		 * Search for a minimal cover with branch and bound. The search is bounded via {@link
+		 * MinimumSetCover#getLowerBound()}. If it needs more than a limited number of steps, the best cover that
+		 * was found so far is used.
+		 */
+		BRANCH_AND_BOUND,
+		/**
+		 * Calculate a minimal cover with the optimisation support of sat4j.
+		 */
+		SAT,
+	}
+
+	static final int DEFAULT_NODE_LIMIT = 100000;
+
+	private final int numberOfCandidates;
+	// For each element: The candidates that cover it
+	private final List<BitSet> elements = new ArrayList<>();
+	// For each candidate: The elements that it covers
+	private final List<BitSet> candidates = new ArrayList<>();
+
+	/**
+	 * Create a new, empty set cover instance.
+	 * @param numberOfCandidates The number of candidates that can be used for covering elements.
+	 */
+	MinimumSetCover(int numberOfCandidates) {
+		this.numberOfCandidates = numberOfCandidates;
+		for (int candidate = 0; candidate < numberOfCandidates; candidate++)
+			candidates.add(new BitSet());
+	}
+
+	/**
+	 * Add an element that must be covered.
+	 * @param coveringCandidates The candidates which cover the new element.
+	 * @throws IllegalArgumentException If no valid candidate covers the element.
+	 */
+	void addElement(BitSet coveringCandidates) {
+		if (coveringCandidates.isEmpty() || coveringCandidates.length() > numberOfCandidates)
+			throw new IllegalArgumentException("Element must be covered by some of the "
+					+ numberOfCandidates + " candidates, but got " + coveringCandidates);
+		int element = elements.size();
+		elements.add((BitSet) coveringCandidates.clone());
+		for (int candidate = coveringCandidates.nextSetBit(0); candidate >= 0;
+				candidate = coveringCandidates.nextSetBit(candidate + 1))
+			candidates.get(candidate).set(element);
+	}
+
+	/**
+	 * Get the number of elements in this instance.
+	 * @return The number of elements.
+	 */
+	int getNumberOfElements() {
+		return elements.size();
+	}
+
+	/**
+	 * Calculate a cover with the given strategy.
+	 * @param strategy The strategy to use.
+	 * @return A cover of all elements.
+	 */
+	BitSet solve(Strategy strategy) {
+		switch (strategy) {
+			case GREEDY:
+				return solveGreedy();
+			case BRANCH_AND_BOUND:
+				return solveBranchAndBound(DEFAULT_NODE_LIMIT);
+			case SAT:
+				return solveSAT();
+			default:
+				throw new AssertionError("Unknown strategy " + strategy);
+		}
+	}
+
+	/**
+	 * Calculate a cover with the greedy strategy. Afterwards, candidates that are not needed are removed again.
+	 * @return A cover of all elements.
+	 */
+	BitSet solveGreedy() {
+		BitSet uncovered = new BitSet();
+		uncovered.set(0, elements.size());
+		BitSet result = new BitSet();
+		while (!uncovered.isEmpty()) {
+			int best = -1;
+			int bestCount = 0;
+			for (int candidate = 0; candidate < numberOfCandidates; candidate++) {
+				int count = countIntersection(candidates.get(candidate), uncovered);
+				if (count > bestCount) {
+					best = candidate;
+					bestCount = count;
+				}
+			}
+			assert best >= 0;
+			result.set(best);
+			uncovered.andNot(candidates.get(best));
+		}
+		removeRedundantCandidates(result);
+		return result;
+	}
+
+	/**
+	 * Calculate a lower bound on the size of any cover. This finds elements that are pairwise not covered by a
+	 * common candidate. Each of these elements needs its own candidate.
+	 * @return A lower bound on the size of a cover.
+	 */
+	int getLowerBound() {
+		BitSet all = new BitSet();
+		all.set(0, elements.size());
+		BitSet allowed = new BitSet();
+		allowed.set(0, numberOfCandidates);
+		return getLowerBound(all, allowed);
+	}
+
+	/**
+	 * Calculate a lower bound on the number of candidates needed to cover some elements.
+	 * @param uncovered The elements which still need to be covered.
+	 * @param allowed The candidates which may be used.
+	 * @return A lower bound or Integer.MAX_VALUE if some element cannot be covered.
+	 */
+	private int getLowerBound(BitSet uncovered, BitSet allowed) {
+		// Look at the elements with few candidates first, since these are most likely to be independent
+		List<BitSet> options = new ArrayList<>();
+		for (int element = uncovered.nextSetBit(0); element >= 0; element = uncovered.nextSetBit(element + 1)) {
+			BitSet option = (BitSet) elements.get(element).clone();
+			option.and(allowed);
+			if (option.isEmpty())
+				return Integer.MAX_VALUE;
+			options.add(option);
+		}
+		Collections.sort(options, new Comparator<BitSet>() {
+			@Override
+			public int compare(BitSet o1, BitSet o2) {
+				return Integer.compare(o1.cardinality(), o2.cardinality());
+			}
+		});
+
+		int result = 0;
+		BitSet used = new BitSet();
+		for (BitSet option : options) {
+			if (!option.intersects(used)) {
+				result++;
+				used.or(option);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Calculate a minimal cover via branch and bound.
+	 * @param nodeLimit The maximal number of search nodes to visit. If this is exceeded, the best cover found so
+	 * far is returned, which might not be minimal.
+	 * @return A cover of all elements.
+	 */
+	BitSet solveBranchAndBound(int nodeLimit) {
+		BranchAndBound search = new BranchAndBound(nodeLimit, solveGreedy());
+		BitSet uncovered = new BitSet();
+		uncovered.set(0, elements.size());
+		BitSet allowed = new BitSet();
+		allowed.set(0, numberOfCandidates);
+		search.search(new BitSet(), uncovered, allowed);
+		debugFormat("Branch and bound visited %d nodes and found a cover with %d candidates%s", search.nodes,
+				search.best.cardinality(), search.nodes > nodeLimit ? ", but gave up" : "");
+		return search.best;
+	}
+
+	private class BranchAndBound {
+		private final int nodeLimit;
+		private BitSet best;
+		private int nodes;
+
+		private BranchAndBound(int nodeLimit, BitSet initial) {
+			this.nodeLimit = nodeLimit;
+			this.best = initial;
+		}
+
+		private void search(BitSet chosen, final BitSet uncovered, BitSet allowed) {
+			if (++nodes > nodeLimit)
+				return;
+			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+
+			if (uncovered.isEmpty()) {
+				if (chosen.cardinality() < best.cardinality())
+					best = (BitSet) chosen.clone();
+				return;
+			}
+			int bound = getLowerBound(uncovered, allowed);
+			if (bound == Integer.MAX_VALUE || chosen.cardinality() + bound >= best.cardinality())
+				return;
+
+			// Branch on the element with the fewest candidates
+			BitSet branch = null;
+			for (int element = uncovered.nextSetBit(0); element >= 0;
+					element = uncovered.nextSetBit(element + 1)) {
+				BitSet option = (BitSet) elements.get(element).clone();
+				option.and(allowed);
+				if (branch == null || option.cardinality() < branch.cardinality())
+					branch = option;
+			}
+
+			// Try candidates which cover many elements first
+			List<Integer> options = new ArrayList<>();
+			for (int candidate = branch.nextSetBit(0); candidate >= 0;
+					candidate = branch.nextSetBit(candidate + 1))
+				options.add(candidate);
+			Collections.sort(options, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer o1, Integer o2) {
+					return Integer.compare(countIntersection(candidates.get(o2), uncovered),
+							countIntersection(candidates.get(o1), uncovered));
+				}
+			});
+
+			// Later branches do not use the candidates of earlier branches, since those were already tried
+			BitSet nextAllowed = (BitSet) allowed.clone();
+			for (int candidate : options) {
+				BitSet nextUncovered = (BitSet) uncovered.clone();
+				nextUncovered.andNot(candidates.get(candidate));
+				chosen.set(candidate);
+				search(chosen, nextUncovered, nextAllowed);
+				chosen.clear(candidate);
+				nextAllowed.clear(candidate);
+			}
+		}
+	}
+
+	/**
+	 * Calculate a minimal cover via sat4j. Each candidate is a variable and each element a clause. The solver
+	 * minimizes the number of variables which are true.
+	 * @return A cover of all elements.
+	 */
+	BitSet solveSAT() {
+		if (elements.isEmpty())
+			return new BitSet();
+		ISolver solver = new OptToSatAdapter(new MinOneDecorator(SolverFactory.newDefault()));
+		solver.newVar(numberOfCandidates);
+		try {
+			for (BitSet element : elements) {
+				VecInt clause = new VecInt();
+				for (int candidate = element.nextSetBit(0); candidate >= 0;
+						candidate = element.nextSetBit(candidate + 1))
+					clause.push(candidate + 1);
+				solver.addClause(clause);
+			}
+			if (!solver.isSatisfiable())
+				throw new AssertionError("Every element has a candidate, so a cover must exist");
+		} catch (ContradictionException e) {
+			throw new AssertionError("Every element has a candidate, so a cover must exist", e);
+		} catch (TimeoutException e) {
+			throw new AssertionError("We set no timeout and thus timeouts cannot occur", e);
+		}
+
+		BitSet result = new BitSet();
+		for (int literal : solver.model())
+			if (literal > 0)
+				result.set(literal - 1);
+		removeRedundantCandidates(result);
+		return result;
+	}
+
+	/**
+	 * Remove candidates from a cover whose elements are all covered by other candidates of the cover.
+	 * @param cover The cover to modify.
+	 */
+	private void removeRedundantCandidates(BitSet cover) {
+		for (int candidate = cover.nextSetBit(0); candidate >= 0; candidate = cover.nextSetBit(candidate + 1)) {
+			cover.clear(candidate);
+			if (!covers(cover, candidates.get(candidate)))
+				cover.set(candidate);
+		}
+	}
+
+	/**
+	 * Check if the given candidates cover the given elements.
+	 * @param cover The candidates to use.
+	 * @param toCover The elements to check.
+	 * @return true if all elements are covered.
+	 */
+	boolean covers(BitSet cover, BitSet toCover) {
+		for (int element = toCover.nextSetBit(0); element >= 0; element = toCover.nextSetBit(element + 1))
+			if (!elements.get(element).intersects(cover))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Check if the given candidates cover all elements.
+	 * @param cover The candidates to use.
+	 * @return true if all elements are covered.
+	 */
+	boolean covers(BitSet cover) {
+		BitSet all = new BitSet();
+		all.set(0, elements.size());
+		return covers(cover, all);
+	}
+
+	static private int countIntersection(BitSet set1, BitSet set2) {
+		BitSet intersection = (BitSet) set1.clone();
+		intersection.and(set2);
+		return intersection.cardinality();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -40,6 +40,8 @@ public class Region {
 	private final List<BigInteger> backwardWeights;
 	private final List<BigInteger> forwardWeights;
 	private final BigInteger initialMarking;
+	// The effect of each event if all effects fit into an int, else null
+	private final int[] smallWeights;
 	private final Map<State, BigInteger> stateMarkingCache = new HashMap<>();
 
 	/**
@@ -70,6 +72,17 @@ public class Region {
 		if (initialMarking.compareTo(BigInteger.ZERO) < 0)
 			throw new IllegalArgumentException("Initial marking " + initialMarking +
 					" must not be negative");
+
+		int[] weights = new int[numberEvents];
+		for (int i = 0; i < numberEvents; i++) {
+			BigInteger weight = this.forwardWeights.get(i).subtract(this.backwardWeights.get(i));
+			if (weight.bitLength() >= Integer.SIZE) {
+				weights = null;
+				break;
+			}
+			weights[i] = weight.intValue();
+		}
+		this.smallWeights = weights;
 	}
 
 	/**
@@ -157,6 +170,65 @@ public class Region {
 		return result;
 	}
 
+	/**
+	 * Evaluate the given Parikh vector with respect to this region.
+	 * @param vector The vector to evaluate.
+	 * @return The resulting number that this region assigns to the arguments
+	 */
+	public BigInteger evaluateParikhVector(int[] vector) {
+		assert vector.length == utility.getEventList().size();
+
+		long small = evaluateParikhVectorAsLong(vector);
+		if (small != Long.MIN_VALUE)
+			return BigInteger.valueOf(small);
+
+		BigInteger result = BigInteger.ZERO;
+		for (int i = 0; i < vector.length; i++)
+			result = result.add(BigInteger.valueOf(vector[i]).multiply(getWeight(i)));
+		return result;
+	}
+
+	/**
+	 * Evaluate the given Parikh vector with primitive arithmetic.
+	 * @param vector The vector to evaluate.
+	 * @return The resulting number or Long.MIN_VALUE if the calculation does not fit into a long.
+	 */
+	long evaluateParikhVectorAsLong(int[] vector) {
+		if (smallWeights == null)
+			return Long.MIN_VALUE;
+		long result = 0;
+		for (int i = 0; i < vector.length; i++) {
+			// Both factors fit into an int, so the product fits into a long
+			long product = (long) vector[i] * smallWeights[i];
+			long sum = result + product;
+			// The addition overflowed if the sign of the result differs from both summands
+			if (((result ^ sum) & (product ^ sum)) < 0)
+				return Long.MIN_VALUE;
+			result = sum;
+		}
+		return result;
+	}
+
+	/**
+	 * Get the marking that this region assigns to the given state with primitive arithmetic.
+	 * @param state The state to evaluate. Must be reachable from the initial state.
+	 * @return The resulting number or Long.MIN_VALUE if the calculation does not fit into a long.
+	 * @throws UnreachableException if the given state is unreachable from the initial state
+	 */
+	long getMarkingForStateAsLong(State state) throws UnreachableException {
+		if (initialMarking.bitLength() >= Long.SIZE - 1)
+			return Long.MIN_VALUE;
+		long effect = evaluateParikhVectorAsLong(utility.getReachingParikhVectorArray(state));
+		if (effect == Long.MIN_VALUE)
+			return Long.MIN_VALUE;
+		// The initial marking is non-negative and smaller than 2^62, so this could only overflow for large
+		// positive effects
+		long result = initialMarking.longValue() + effect;
+		if (result < effect)
+			return Long.MIN_VALUE;
+		return result;
+	}
+
 	/**
 	 * Return the initial marking of this region.
 	 * @return The initial marking of this region.
@@ -174,7 +246,12 @@ public class Region {
 	public BigInteger getMarkingForState(State state) throws UnreachableException {
 		BigInteger i = stateMarkingCache.get(state);
 		if (i == null) {
-			i = getInitialMarking().add(evaluateParikhVector(utility.getReachingParikhVector(state)));
+			long small = getMarkingForStateAsLong(state);
+			if (small != Long.MIN_VALUE)
+				i = BigInteger.valueOf(small);
+			else
+				i = getInitialMarking().add(evaluateParikhVector(
+							utility.getReachingParikhVectorArray(state)));
 			stateMarkingCache.put(state, i);
 		}
 		return i;
@@ -194,8 +271,7 @@ public class Region {
 				continue;
 			}
 			for (Arc arc : state.getPostsetEdges()) {
-				BigInteger targetMarking = marking.subtract(getBackwardWeight(arc.getLabel()));
-				if (targetMarking.compareTo(BigInteger.ZERO) < 0)
+				if (marking.compareTo(getBackwardWeight(arc.getLabel())) < 0)
 					return new Pair<State, String>(state, arc.getLabel());
 			}
 		}
@@ -213,8 +289,15 @@ public class Region {
 			try {
 				BigInteger source = getMarkingForState(arc.getSource());
 				BigInteger target = getMarkingForState(arc.getTarget());
-				BigInteger effect = getWeight(arc.getLabel());
-				if (!source.add(effect).equals(target))
+				int event = utility.getEventIndex(arc.getLabel());
+				if (smallWeights != null && source.bitLength() < Long.SIZE - 1
+						&& target.bitLength() < Long.SIZE - 1) {
+					// This cannot overflow, since the weight fits into an int
+					if (source.longValue() + smallWeights[event] != target.longValue())
+						return arc;
+					continue;
+				}
+				if (!source.add(getWeight(event)).equals(target))
 					return arc;
 			} catch (UnreachableException e) {
 				continue;
@@ -444,9 +527,9 @@ public class Region {
 			for (State state : utility.getTransitionSystem().getNodes()) {
 				try {
 					BigInteger value = BigInteger.ZERO;
-					List<BigInteger> pv = utility.getReachingParikhVector(state);
+					int[] pv = utility.getReachingParikhVectorArray(state);
 					for (int i = 0; i < numEvents; i++)
-						value = value.add(pv.get(i).multiply(forwardList.get(i)
+						value = value.add(BigInteger.valueOf(pv[i]).multiply(forwardList.get(i)
 									.subtract(backwardList.get(i))));
 					initial = initial.max(value.negate());
 				} catch (UnreachableException e) {
@@ -0,0 +1,508 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.util.Pair;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * Index for answering which regions solve which separation problems. For every region that is looked at, the marking
+ * of every state is calculated once and saved in a primitive array. Values that do not fit into a long are kept as
+ * BigInteger.
+ *
+ * Regions can be added to the index. For the added regions, the index remembers for every event-state separation
+ * problem a region that solves it and it maintains the partition of states which are not separated by any of the
+ * added regions. Thus, the questions "which added region solves this ESSP instance" and "are these two states
+ * separated by an added region" are answered without looking at all regions.
+ */
+public class RegionMarkingIndex {
+	private final RegionUtility utility;
+	private final List<State> states;
+	private final Map<State, Integer> stateIndex = new HashMap<>();
+	private final List<String> events;
+	private final Map<String, Integer> eventIndex = new HashMap<>();
+	private final boolean[] reachable;
+	private final boolean allReachable;
+	private final Map<Region, Row> rows;
+	private final List<Row> addedRows = new ArrayList<>();
+	private final Set<Region> addedRegions = new HashSet<>();
+	private final Region[][] esspSolutions;
+	private final int[] stateClass;
+
+	/**
+	 * Create a new, empty index.
+	 * @param utility The region utility describing the transition system whose regions are examined.
+	 */
+	public RegionMarkingIndex(RegionUtility utility) {
+		this.utility = utility;
+		this.states = new ArrayList<>(utility.getTransitionSystem().getNodes());
+		this.events = utility.getEventList();
+		this.reachable = new boolean[states.size()];
+		this.esspSolutions = new Region[states.size()][events.size()];
+		this.stateClass = new int[states.size()];
+		this.rows = new HashMap<>();
+
+		for (int i = 0; i < events.size(); i++)
+			eventIndex.put(events.get(i), i);
+		boolean all = true;
+		for (int i = 0; i < states.size(); i++) {
+			State state = states.get(i);
+			stateIndex.put(state, i);
+			reachable[i] = utility.getSpanningTree().isReachable(state);
+			all &= reachable[i];
+		}
+		this.allReachable = all;
+	}
+
+	/**
+	 * Create a new index containing the given regions.
+	 * @param utility The region utility describing the transition system whose regions are examined.
+	 * @param regions The regions to add to the index.
+	 */
+	public RegionMarkingIndex(RegionUtility utility, Collection<Region> regions) {
+		this(utility);
+		addRegions(regions);
+	}
+
+	/**
+	 * Create a new, empty index that shares the already calculated markings with the given index. Regions which
+	 * were added to the given index are not added to the new index.
+	 * @param index The index whose markings should be shared.
+	 */
+	public RegionMarkingIndex(RegionMarkingIndex index) {
+		this.utility = index.utility;
+		this.states = index.states;
+		this.stateIndex.putAll(index.stateIndex);
+		this.events = index.events;
+		this.eventIndex.putAll(index.eventIndex);
+		this.reachable = index.reachable;
+		this.allReachable = index.allReachable;
+		this.esspSolutions = new Region[states.size()][events.size()];
+		this.stateClass = new int[states.size()];
+		this.rows = index.rows;
+	}
+
+	/**
+	 * Get the region utility of this index.
+	 * @return The region utility.
+	 */
+	public RegionUtility getRegionUtility() {
+		return utility;
+	}
+
+	/**
+	 * Get the transition system of this index.
+	 * @return The transition system.
+	 */
+	public TransitionSystem getTransitionSystem() {
+		return utility.getTransitionSystem();
+	}
+
+	/**
+	 * Add a region to the index.
+	 * @param region The region to add.
+	 * @return True if the region was added and false if it was already part of the index.
+	 */
+	public boolean addRegion(Region region) {
+		if (!addedRegions.add(region))
+			return false;
+		Row row = getRow(region);
+		addedRows.add(row);
+
+		// Remember the event-state separation problems that this region solves
+		for (int state = 0; state < states.size(); state++) {
+			if (!reachable[state])
+				continue;
+			Region[] solutions = esspSolutions[state];
+			for (int event = 0; event < events.size(); event++)
+				if (solutions[event] == null && row.isMarkingBelowBackwardWeight(state, event))
+					solutions[event] = region;
+		}
+
+		refinePartition(row);
+		return true;
+	}
+
+	/**
+	 * Refine the partition of unseparated states with the markings of the given region. Two states stay in the
+	 * same class if they were in the same class before and the region assigns them the same marking. The pairs
+	 * of old class and marking are numbered with an open addressing hash table on primitive arrays.
+	 * @param row The markings of the region.
+	 */
+	private void refinePartition(Row row) {
+		if (row.bigMarkings != null) {
+			refinePartitionWithBigMarkings(row);
+			return;
+		}
+
+		int capacity = 2;
+		while (capacity < 2 * states.size())
+			capacity <<= 1;
+		int mask = capacity - 1;
+		int[] keyClass = new int[capacity];
+		long[] keyMarking = new long[capacity];
+		int[] newClass = new int[capacity];
+		Arrays.fill(newClass, -1);
+
+		int numberOfClasses = 0;
+		for (int state = 0; state < states.size(); state++) {
+			if (!reachable[state])
+				continue;
+			int oldClass = stateClass[state];
+			long marking = row.markings[state];
+			int bucket = hash(oldClass, marking) & mask;
+			while (newClass[bucket] != -1
+					&& (keyClass[bucket] != oldClass || keyMarking[bucket] != marking))
+				bucket = (bucket + 1) & mask;
+			if (newClass[bucket] == -1) {
+				keyClass[bucket] = oldClass;
+				keyMarking[bucket] = marking;
+				newClass[bucket] = numberOfClasses++;
+			}
+			stateClass[state] = newClass[bucket];
+		}
+	}
+
+	private void refinePartitionWithBigMarkings(Row row) {
+		Map<Pair<Integer, BigInteger>, Integer> newClasses = new HashMap<>();
+		for (int state = 0; state < states.size(); state++) {
+			if (!reachable[state])
+				continue;
+			Pair<Integer, BigInteger> key = new Pair<>(stateClass[state], row.getBigMarking(state));
+			Integer newClass = newClasses.get(key);
+			if (newClass == null) {
+				newClass = newClasses.size();
+				newClasses.put(key, newClass);
+			}
+			stateClass[state] = newClass;
+		}
+	}
+
+	static private int hash(int oldClass, long marking) {
+		long hash = (marking + oldClass) * 0x9E3779B97F4A7C15L + oldClass;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Forget the calculated markings of all regions which were not added to this index and are not in the given
+	 * collection. The markings are shared with all indices created from this index, so they also forget them.
+	 * Forgotten markings are calculated again when they are needed.
+	 * @param regions The regions whose markings should be kept.
+	 */
+	public void retainMarkings(Collection<Region> regions) {
+		Set<Region> keep = new HashSet<>(regions);
+		keep.addAll(addedRegions);
+		rows.keySet().retainAll(keep);
+	}
+
+	/**
+	 * Add regions to the index.
+	 * @param regions The regions to add.
+	 */
+	public void addRegions(Collection<Region> regions) {
+		for (Region region : regions)
+			addRegion(region);
+	}
+
+	/**
+	 * Get all regions which were added to this index.
+	 * @return The list of added regions in the order in which they were added.
+	 */
+	public List<Region> getRegions() {
+		List<Region> result = new ArrayList<>(addedRows.size());
+		for (Row row : addedRows)
+			result.add(row.region);
+		return result;
+	}
+
+	/**
+	 * Find an added region which solves the given event-state separation problem.
+	 * @param state The state of the separation problem
+	 * @param event The event of the separation problem
+	 * @return A separating region or null.
+	 */
+	public Region findSeparatingRegion(State state, String event) {
+		int eventIdx = getEventIndex(event);
+		if (eventIdx < 0)
+			return null;
+		return esspSolutions[getStateIndex(state)][eventIdx];
+	}
+
+	/**
+	 * Find an added region which solves the given state separation problem.
+	 * @param state The first state of the separation problem
+	 * @param otherState The second state of the separation problem
+	 * @return A separating region or null.
+	 */
+	public Region findSeparatingRegion(State state, State otherState) {
+		int idx = getStateIndex(state);
+		int otherIdx = getStateIndex(otherState);
+		if (!reachable[idx] || !reachable[otherIdx] || stateClass[idx] == stateClass[otherIdx])
+			return null;
+		for (Row row : addedRows)
+			if (!row.hasSameMarking(idx, otherIdx))
+				return row.region;
+		throw new AssertionError("States are in different classes, but no region separates them");
+	}
+
+	/**
+	 * Check if the given region solves the given event-state separation problem. The region does not have to be
+	 * added to this index.
+	 * @param region The region to examine.
+	 * @param state The state of the separation problem
+	 * @param event The event of the separation problem
+	 * @return True if the region separates the state from the event.
+	 */
+	public boolean isSeparatingRegion(Region region, State state, String event) {
+		int stateIdx = getStateIndex(state);
+		int eventIdx = getEventIndex(event);
+		if (!reachable[stateIdx] || eventIdx < 0)
+			return false;
+		return getRow(region).isMarkingBelowBackwardWeight(stateIdx, eventIdx);
+	}
+
+	/**
+	 * Check if the given region solves the given state separation problem. The region does not have to be added
+	 * to this index.
+	 * @param region The region to examine.
+	 * @param state The first state of the separation problem
+	 * @param otherState The second state of the separation problem
+	 * @return True if the region separates the two states.
+	 */
+	public boolean isSeparatingRegion(Region region, State state, State otherState) {
+		int idx = getStateIndex(state);
+		int otherIdx = getStateIndex(otherState);
+		if (!reachable[idx] || !reachable[otherIdx])
+			return false;
+		return !getRow(region).hasSameMarking(idx, otherIdx);
+	}
+
+	/**
+	 * Check if the given states are separated by one of the added regions.
+	 * @param state The first state of the separation problem
+	 * @param otherState The second state of the separation problem
+	 * @return True if an added region separates the two states.
+	 */
+	public boolean isSeparated(State state, State otherState) {
+		int idx = getStateIndex(state);
+		int otherIdx = getStateIndex(otherState);
+		return reachable[idx] && reachable[otherIdx] && !addedRows.isEmpty()
+			&& stateClass[idx] != stateClass[otherIdx];
+	}
+
+	/**
+	 * Calculate the set of states which aren't separated by the added regions.
+	 * @return All states which have for at least one other state the same marking in all added regions.
+	 */
+	public Set<State> getUnseparatedStates() {
+		return getUnseparatedStates(states);
+	}
+
+	/**
+	 * Calculate the set of states which aren't separated by the added regions. This gives the same result as
+	 * {@link SynthesizePN#calculateUnseparatedStates}.
+	 * @param candidates The states to examine.
+	 * @return All given states which have for at least one other given state the same marking in all added
+	 * regions.
+	 */
+	public Set<State> getUnseparatedStates(Collection<State> candidates) {
+		// Without regions, nothing is separated
+		if (addedRows.isEmpty())
+			return new HashSet<>(candidates);
+		Set<State> result = new HashSet<>();
+		for (List<State> family : getUnseparatedClasses(candidates))
+			result.addAll(family);
+		return result;
+	}
+
+	/**
+	 * Calculate the classes of states which aren't separated by the added regions. Every class contains at least
+	 * two states. The classes are sorted by their first state and their states are sorted in the order of the
+	 * transition system's states.
+	 * @return The classes of unseparated states.
+	 */
+	public List<List<State>> getUnseparatedClasses() {
+		return getUnseparatedClasses(states);
+	}
+
+	private List<List<State>> getUnseparatedClasses(Collection<State> candidates) {
+		int[] candidateIndices = new int[candidates.size()];
+		int next = 0;
+		boolean unreachableCandidate = false;
+		for (State state : candidates) {
+			int idx = getStateIndex(state);
+			candidateIndices[next++] = idx;
+			unreachableCandidate |= !reachable[idx];
+		}
+		Arrays.sort(candidateIndices);
+
+		// SSP with any unreachable state is unsolvable, so all states are unseparated then. Without regions,
+		// nothing is separated.
+		if (addedRows.isEmpty() || unreachableCandidate) {
+			if (candidateIndices.length < 2)
+				return Collections.emptyList();
+			List<State> family = new ArrayList<>(candidateIndices.length);
+			for (int idx : candidateIndices)
+				family.add(states.get(idx));
+			return Collections.singletonList(family);
+		}
+
+		// Bucket the candidates by their class
+		int[] classSize = new int[states.size()];
+		for (int idx : candidateIndices)
+			classSize[stateClass[idx]]++;
+		List<List<State>> result = new ArrayList<>();
+		List<List<State>> familyOfClass = new ArrayList<>(Collections.<List<State>>nCopies(states.size(), null));
+		for (int idx : candidateIndices) {
+			int cls = stateClass[idx];
+			if (classSize[cls] < 2)
+				continue;
+			List<State> family = familyOfClass.get(cls);
+			if (family == null) {
+				family = new ArrayList<>(classSize[cls]);
+				familyOfClass.set(cls, family);
+				result.add(family);
+			}
+			family.add(states.get(idx));
+		}
+		return result;
+	}
+
+	private int getStateIndex(State state) {
+		Integer idx = stateIndex.get(state);
+		if (idx == null)
+			throw new IllegalArgumentException("State " + state + " does not belong to this index");
+		return idx;
+	}
+
+	private int getEventIndex(String event) {
+		Integer idx = eventIndex.get(event);
+		if (idx == null)
+			return -1;
+		return idx;
+	}
+
+	private Row getRow(Region region) {
+		Row row = rows.get(region);
+		if (row == null) {
+			row = new Row(region);
+			rows.put(region, row);
+		}
+		return row;
+	}
+
+	static private boolean fitsLong(BigInteger value) {
+		return value.bitLength() < Long.SIZE;
+	}
+
+	/**
+	 * The markings that one region assigns to all states together with the region's backward weights.
+	 */
+	private final class Row {
+		private final Region region;
+		private final long[] markings;
+		private final long[] backwardWeights;
+		// Values that do not fit into a long; null if there are none
+		private BigInteger[] bigMarkings;
+		private BigInteger[] bigBackwardWeights;
+
+		private Row(Region region) {
+			this.region = region;
+			this.markings = new long[states.size()];
+			this.backwardWeights = new long[events.size()];
+
+			RegionUtility regionUtility = region.getRegionUtility();
+			for (int state = 0; state < states.size(); state++) {
+				if (!reachable[state])
+					continue;
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				BigInteger marking;
+				try {
+					long small = region.getMarkingForStateAsLong(states.get(state));
+					if (small != Long.MIN_VALUE) {
+						markings[state] = small;
+						continue;
+					}
+					marking = region.getInitialMarking().add(region.evaluateParikhVector(
+								regionUtility.getReachingParikhVectorArray(states.get(state))));
+				} catch (UnreachableException e) {
+					throw new AssertionError("State was reachable before, but now it is not?", e);
+				}
+				if (fitsLong(marking)) {
+					markings[state] = marking.longValue();
+				} else {
+					if (bigMarkings == null)
+						bigMarkings = new BigInteger[states.size()];
+					bigMarkings[state] = marking;
+				}
+			}
+			for (int event = 0; event < events.size(); event++) {
+				BigInteger weight = region.getBackwardWeight(events.get(event));
+				if (fitsLong(weight)) {
+					backwardWeights[event] = weight.longValue();
+				} else {
+					if (bigBackwardWeights == null)
+						bigBackwardWeights = new BigInteger[events.size()];
+					bigBackwardWeights[event] = weight;
+				}
+			}
+		}
+
+		private BigInteger getBigMarking(int state) {
+			if (bigMarkings != null && bigMarkings[state] != null)
+				return bigMarkings[state];
+			return BigInteger.valueOf(markings[state]);
+		}
+
+		private BigInteger getBigBackwardWeight(int event) {
+			if (bigBackwardWeights != null && bigBackwardWeights[event] != null)
+				return bigBackwardWeights[event];
+			return BigInteger.valueOf(backwardWeights[event]);
+		}
+
+		private boolean isMarkingBelowBackwardWeight(int state, int event) {
+			if (bigMarkings == null && bigBackwardWeights == null)
+				return markings[state] < backwardWeights[event];
+			return getBigMarking(state).compareTo(getBigBackwardWeight(event)) < 0;
+		}
+
+		private boolean hasSameMarking(int state, int otherState) {
+			if (bigMarkings == null)
+				return markings[state] == markings[otherState];
+			return getBigMarking(state).equals(getBigMarking(otherState));
+		}
+
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -20,12 +20,16 @@
 package uniol.apt.analysis.synthesize;
 
 import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
@@ -42,7 +46,9 @@ public class RegionUtility {
 	private final TransitionSystem ts;
 	private final SpanningTree<TransitionSystem, Arc, State> tree;
 	private final List<String> eventList;
-	private final Map<State, List<BigInteger>> parikhVectorMap = new HashMap<>();
+	private final Map<String, Integer> eventIndex = new HashMap<>();
+	// Parikh vectors are counts of events on a path in the spanning tree, so they always fit into an int
+	private final Map<State, int[]> parikhVectorMap = new HashMap<>();
 	private List<Region> regionBasis;
 
 	/**
@@ -53,6 +59,8 @@ public class RegionUtility {
 		this.ts = tree.getGraph();
 		this.tree = tree;
 		this.eventList = Collections.unmodifiableList(new ArrayList<>(ts.getAlphabet()));
+		for (int i = 0; i < eventList.size(); i++)
+			eventIndex.put(eventList.get(i), i);
 		this.regionBasis = null;
 	}
 
@@ -70,7 +78,10 @@ public class RegionUtility {
 	 * @return The event's index or -1.
 	 */
 	public int getEventIndex(String event) {
-		return eventList.indexOf(event);
+		Integer index = eventIndex.get(event);
+		if (index == null)
+			return -1;
+		return index;
 	}
 
 	/**
@@ -112,26 +123,46 @@ public class RegionUtility {
 	 * @throws UnreachableException if the given state is unreachable from the initial state
 	 */
 	public List<BigInteger> getReachingParikhVector(State node) throws UnreachableException {
-		List<BigInteger> result = parikhVectorMap.get(node);
-		if (result == null) {
-			if (node.equals(tree.getStartNode())) {
-				BigInteger[] array = new BigInteger[eventList.size()];
-				Arrays.fill(array, BigInteger.ZERO);
-				result = Arrays.asList(array);
-			} else {
-				Arc predecessor = tree.getPredecessorEdge(node);
-				if (predecessor == null)
-					throw new UnreachableException(ts, node);
-
-				List<BigInteger> predVector = getReachingParikhVector(predecessor.getSource());
-				result = new ArrayList<>();
-				result.addAll(predVector);
-
-				int idx = getEventIndex(predecessor.getLabel());
-				result.set(idx, result.get(idx).add(BigInteger.ONE));
+		return new ParikhVector(getReachingParikhVectorArray(node));
+	}
+
+	/**
+	 * Get the Parikh vector that reaches the given node as an array. The returned array is shared and must not be
+	 * modified.
+	 * @param node The node whose Parikh vector should be returned.
+	 * @return The Parikh vector that reaches the node from the initial state.
+	 * @throws UnreachableException if the given state is unreachable from the initial state
+	 */
+	public int[] getReachingParikhVectorArray(State node) throws UnreachableException {
+		int[] result = parikhVectorMap.get(node);
+		if (result != null)
+			return result;
+
+		// Walk up the spanning tree until a node with a known Parikh vector is found
+		Deque<Arc> path = new ArrayDeque<>();
+		State current = node;
+		int[] known = null;
+		while (known == null) {
+			if (current.equals(tree.getStartNode())) {
+				known = new int[eventList.size()];
+				parikhVectorMap.put(current, known);
+				break;
 			}
-			result = Collections.unmodifiableList(result);
-			parikhVectorMap.put(node, result);
+			Arc predecessor = tree.getPredecessorEdge(current);
+			if (predecessor == null)
+				throw new UnreachableException(ts, node);
+			path.push(predecessor);
+			current = predecessor.getSource();
+			known = parikhVectorMap.get(current);
+		}
+
+		// Now go back down and calculate the Parikh vectors on the way
+		result = known;
+		while (!path.isEmpty()) {
+			Arc arc = path.pop();
+			result = Arrays.copyOf(result, result.length);
+			result[getEventIndex(arc.getLabel())]++;
+			parikhVectorMap.put(arc.getTarget(), result);
 		}
 		return result;
 	}
@@ -144,25 +175,16 @@ public class RegionUtility {
 	 * @throws UnreachableException if the given state is unreachable from the initial state
 	 */
 	public List<BigInteger> getParikhVectorForEdge(Arc edge) throws UnreachableException {
-		State source = edge.getSource();
-		State target = edge.getTarget();
-		List<BigInteger> sourcePV = getReachingParikhVector(source);
-		List<BigInteger> targetPV = getReachingParikhVector(target);
-		int eventIndex = getEventIndex(edge.getLabel());
-
-		if (sourcePV.isEmpty() || targetPV.isEmpty())
-			return Collections.emptyList();
+		int[] sourcePV = getReachingParikhVectorArray(edge.getSource());
+		int[] targetPV = getReachingParikhVectorArray(edge.getTarget());
 
 		// Calculate source - target + 1_eventIndex
-		List<BigInteger> result = new ArrayList<>(eventList.size());
-		for (int i = 0; i < eventList.size(); i++) {
-			BigInteger sourceVal = sourcePV.get(i);
-			BigInteger targetVal = targetPV.get(i);
-			BigInteger addend = i == eventIndex ? BigInteger.ONE : BigInteger.ZERO;
-			result.add(sourceVal.subtract(targetVal).add(addend));
-		}
+		int[] result = new int[eventList.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = sourcePV[i] - targetPV[i];
+		result[getEventIndex(edge.getLabel())]++;
 
-		return Collections.unmodifiableList(result);
+		return new ParikhVector(result);
 	}
 
 	/**
@@ -194,6 +216,27 @@ public class RegionUtility {
 		}
 		return this.regionBasis;
 	}
+
+	/**
+	 * Read-only view of a Parikh vector which is saved as an array of ints.
+	 */
+	static private class ParikhVector extends AbstractList<BigInteger> implements RandomAccess {
+		private final int[] vector;
+
+		private ParikhVector(int[] vector) {
+			this.vector = vector;
+		}
+
+		@Override
+		public BigInteger get(int index) {
+			return BigInteger.valueOf(vector[index]);
+		}
+
+		@Override
+		public int size() {
+			return vector.length;
+		}
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
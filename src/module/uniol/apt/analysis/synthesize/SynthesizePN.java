@@ -26,18 +26,19 @@ import static uniol.apt.util.DebugUtil.debug;
 import static uniol.apt.util.DebugUtil.debugFormat;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
-import org.apache.commons.collections4.FactoryUtils;
 import org.apache.commons.collections4.iterators.PeekingIterator;
-import org.apache.commons.collections4.map.LazyMap;
 
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Place;
@@ -283,58 +284,17 @@ public class SynthesizePN {
 	 * @return All states which have for at least one other state the same marking in all regions.
 	 */
 	static public Set<State> calculateUnseparatedStates(Set<State> states, Set<Region> regions) {
-		Set<State> result = new HashSet<>();
-		Set<Set<State>> partition = new HashSet<>();
-		partition.add(new HashSet<>(states));
-
 		debug("Calculating unseparated states");
-		for (Region region : regions) {
-			int discarded = 0;
-			Set<Set<State>> newPartition = new HashSet<>();
-			for (Set<State> family : partition) {
-				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-				// Separate this family by the given region: States to which this region assigns
-				// different markings are separated.
-				Map<Integer, Set<State>> markings = LazyMap.lazyMap(new HashMap<Integer, Set<State>>(),
-						FactoryUtils.prototypeFactory(new HashSet<State>()));
-				for (State state : family) {
-					try {
-						markings.get(region.getMarkingForState(state)).add(state);
-					} catch (UnreachableException e) {
-						// SSP with any unreachable state is unsolvable
-						return states;
-					}
-				}
-
-				// Now collect families of not-yet-separated states
-				for (Map.Entry<Integer, Set<State>> entry : markings.entrySet()) {
-					if (entry.getValue().size() > 1)
-						newPartition.add(entry.getValue());
-					else
-						discarded++;
-				}
-			}
-
-			partition = newPartition;
-			debugFormat("After region %s, still have %d families "
-					+ "(%d resulting singular families discarded)",
-					region, partition.size(), discarded);
-			if (partition.isEmpty())
-				break;
-		}
-
-		// All remaining states are not yet separated. Throw away the family information and return them all.
-		for (Set<State> family : partition)
-			result.addAll(family);
-
-		return result;
+		if (regions.isEmpty())
+			return new HashSet<>(states);
+		RegionUtility regionUtility = regions.iterator().next().getRegionUtility();
+		return new RegionMarkingIndex(regionUtility, regions).getUnseparatedStates(states);
 	}
 
 	/**
 	 * Calculate definitely required regions and for each remaining separation problem all regions which solve this
 	 * problem.
-	 * @param ts The transition system that is being solved.
+	 * @param index An index without any added regions. Definitely required regions will be added to it.
 	 * @param separationProblems For each still unsolved separation problem, the set of all regions that solve it is
 	 * calculated and added to this argument.
 	 * @param requiredRegions Regions which are definitely required will be added to this set.
@@ -342,25 +302,22 @@ public class SynthesizePN {
 	 * requiredRegions.
 	 * @param onlyEventSeparation Should state separation be ignored?
 	 */
-	static private void calculateRequiredRegionsAndProblems(TransitionSystem ts,
+	static private void calculateRequiredRegionsAndProblems(RegionMarkingIndex index,
 			Set<Set<Region>> separationProblems, Set<Region> requiredRegions, Set<Region> remainingRegions,
 			boolean onlyEventSeparation) {
 		// Event separation
-		problemLoop:
-		for (Pair<State, String> problem : new EventStateSeparationProblems(ts)) {
+		for (Pair<State, String> problem : new EventStateSeparationProblems(index.getTransitionSystem())) {
 			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 
 			State state = problem.getFirst();
 			String event = problem.getSecond();
 			// Does one of our required regions already solve ESSP? If so, skip
-			for (Region r : requiredRegions) {
-				if (SeparationUtility.isSeparatingRegion(r, state, event))
-					continue problemLoop;
-			}
+			if (index.findSeparatingRegion(state, event) != null)
+				continue;
 			// Calculate which of the remaining regions solves this ESSP instance
 			Set<Region> sep = new HashSet<>();
 			for (Region r : remainingRegions) {
-				if (SeparationUtility.isSeparatingRegion(r, state, event))
+				if (index.isSeparatingRegion(r, state, event))
 					sep.add(r);
 			}
 			if (sep.size() == 1) {
@@ -368,6 +325,7 @@ public class SynthesizePN {
 				Region r = sep.iterator().next();
 				requiredRegions.add(r);
 				remainingRegions.remove(r);
+				index.addRegion(r);
 			} else if (!sep.isEmpty())
 				separationProblems.add(sep);
 		}
@@ -377,8 +335,8 @@ public class SynthesizePN {
 
 		// State separation
 		// All regions which are already separated by our requiredRegions can be skipped, so use
-		// calculateUnseparatedStates() to look at the rest.
-		Set<State> remainingStates = new HashSet<>(calculateUnseparatedStates(ts.getNodes(), requiredRegions));
+		// getUnseparatedStates() to look at the rest.
+		Set<State> remainingStates = index.getUnseparatedStates();
 		Iterator<State> iterator = remainingStates.iterator();
 		while (iterator.hasNext()) {
 			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
@@ -386,17 +344,14 @@ public class SynthesizePN {
 			State state = iterator.next();
 			iterator.remove();
 
-			innerStatesLoop:
 			for (State otherState : remainingStates) {
 				// Does one of our required regions already solve SSP? If so, skip
-				for (Region r : requiredRegions) {
-					if (SeparationUtility.isSeparatingRegion(r, state, otherState))
-						continue innerStatesLoop;
-				}
+				if (index.findSeparatingRegion(state, otherState) != null)
+					continue;
 				// Calculate which of the remaining regions solves SSP for this instance
 				Set<Region> sep = new HashSet<>();
 				for (Region r : remainingRegions) {
-					if (SeparationUtility.isSeparatingRegion(r, state, otherState))
+					if (index.isSeparatingRegion(r, state, otherState))
 						sep.add(r);
 				}
 				if (sep.size() == 1) {
@@ -404,6 +359,7 @@ public class SynthesizePN {
 					Region r = sep.iterator().next();
 					requiredRegions.add(r);
 					remainingRegions.remove(r);
+					index.addRegion(r);
 				} else if (!sep.isEmpty())
 					separationProblems.add(sep);
 			}
@@ -418,6 +374,19 @@ public class SynthesizePN {
 	 */
 	static public void minimizeRegions(TransitionSystem ts, Set<Region> requiredRegions,
 			boolean onlyEventSeparation) {
+		minimizeRegions(new RegionMarkingIndex(new RegionUtility(ts)), requiredRegions, onlyEventSeparation);
+	}
+
+	/**
+	 * Try to eliminate redundant regions. Regions which are the only solution to some separation problem are kept.
+	 * The remaining problems are solved with a small set of regions which is found via {@link MinimumSetCover}.
+	 * @param markings An index for the transition system that is being solved. Only the markings that it already
+	 * calculated are used, the regions which were added to it are ignored.
+	 * @param requiredRegions Set of regions to minimize. Redundant regions will be removed.
+	 * @param onlyEventSeparation Should state separation be ignored?
+	 */
+	static public void minimizeRegions(RegionMarkingIndex markings, Set<Region> requiredRegions,
+			boolean onlyEventSeparation) {
 		int numInputRegions = requiredRegions.size();
 		Set<Region> remainingRegions = new HashSet<>(requiredRegions);
 		requiredRegions.clear();
@@ -425,20 +394,39 @@ public class SynthesizePN {
 		// Build a list where each entry is generated from a separation problem and contains all regions that
 		// solve this problem.
 		Set<Set<Region>> separationProblems = new HashSet<>();
-		calculateRequiredRegionsAndProblems(ts, separationProblems, requiredRegions, remainingRegions,
-				onlyEventSeparation);
+		calculateRequiredRegionsAndProblems(new RegionMarkingIndex(markings), separationProblems,
+				requiredRegions, remainingRegions, onlyEventSeparation);
 
 		debug("Required regions after first pass:");
 		debug(requiredRegions);
 		debug("List of regions that solve each remaining separation problem:");
 		debug(separationProblems);
 
-		// Now go through all remaining problems again
+		// The problems which none of our required regions solve form a set cover instance
+		List<Region> candidates = new ArrayList<>();
+		Map<Region, Integer> candidateIndex = new HashMap<>();
+		List<BitSet> elements = new ArrayList<>();
 		for (Set<Region> problem : separationProblems) {
-			// If none of our required regions solve this problem, we pick one arbitrarily that does
-			if (Collections.disjoint(requiredRegions, problem))
-				requiredRegions.add(problem.iterator().next());
+			if (!Collections.disjoint(requiredRegions, problem))
+				continue;
+			BitSet element = new BitSet();
+			for (Region region : problem) {
+				Integer index = candidateIndex.get(region);
+				if (index == null) {
+					index = candidates.size();
+					candidates.add(region);
+					candidateIndex.put(region, index);
+				}
+				element.set(index);
+			}
+			elements.add(element);
 		}
+		MinimumSetCover cover = new MinimumSetCover(candidates.size());
+		for (BitSet element : elements)
+			cover.addElement(element);
+		BitSet chosen = cover.solve(getMinimizationStrategy());
+		for (int index = chosen.nextSetBit(0); index >= 0; index = chosen.nextSetBit(index + 1))
+			requiredRegions.add(candidates.get(index));
 
 		debug("List of required regions:");
 		debug(requiredRegions);
@@ -446,6 +434,18 @@ public class SynthesizePN {
 				requiredRegions.size(), numInputRegions);
 	}
 
+	/**
+	 * Get the strategy for picking regions in {@link #minimizeRegions}. The system property
+	 * apt.minimizeRegions.strategy can be set to one of the names of {@link MinimumSetCover.Strategy}.
+	 * @return The strategy to use.
+	 */
+	static private MinimumSetCover.Strategy getMinimizationStrategy() {
+		String strategy = System.getProperty("apt.minimizeRegions.strategy");
+		if (strategy == null)
+			return MinimumSetCover.Strategy.BRANCH_AND_BOUND;
+		return MinimumSetCover.Strategy.valueOf(strategy);
+	}
+
 	/**
 	 * Get all separating regions which were calculated
 	 * @return All separating regions found.
@@ -21,6 +21,7 @@ package uniol.apt.analysis.synthesize.separation;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -46,7 +47,7 @@ import static uniol.apt.util.DebugUtil.debug;
  * Helper class for solving separation problems.
  * @author Uli Schlachter
  */
-class InequalitySystemSeparation implements Separation {
+class InequalitySystemSeparation implements Separation, AutoCloseable {
 	private final SMTInterpolHelper helper;
 	private final Script script;
 	private final RegionUtility utility;
@@ -55,36 +56,64 @@ class InequalitySystemSeparation implements Separation {
 	private final Term[] regionWeights;
 	private final Term[] regionBackwardWeights;
 	private final Term[] regionForwardWeights;
+	private final Term[] regionCoefficients;
 
 	/**
-	 * Construct a new instance for solving separation problems.
+	 * Construct a new instance for solving separation problems. Regions are described via the region basis if
+	 * {@link #useRegionBasis} says so.
 	 * @param utility The region utility to use.
 	 * @param properties Properties that the calculated region should satisfy.
 	 * @param locationMap Mapping that describes the location of each event.
 	 */
 	public InequalitySystemSeparation(RegionUtility utility, PNProperties properties, String[] locationMap) {
+		this(utility, properties, locationMap, useRegionBasis(utility));
+	}
+
+	/**
+	 * Construct a new instance for solving separation problems.
+	 * @param utility The region utility to use.
+	 * @param properties Properties that the calculated region should satisfy.
+	 * @param locationMap Mapping that describes the location of each event.
+	 * @param overBasis If true, regions are described as linear combinations of the region basis.
+	 * @see SMTInterpolHelper#SMTInterpolHelper(RegionUtility, PNProperties, String[], boolean)
+	 */
+	public InequalitySystemSeparation(RegionUtility utility, PNProperties properties, String[] locationMap,
+			boolean overBasis) {
 		final int numberEvents = utility.getNumberOfEvents();
 		final List<String> eventList = utility.getEventList();
 		this.utility = utility;
 		this.properties = properties;
-		this.helper = new SMTInterpolHelper(utility, properties, locationMap);
+		this.helper = new SMTInterpolHelper(utility, properties, locationMap, overBasis);
 		this.script = helper.getScript();
 
 		// Finally, we define the needed variables
 		Sort[] emptySort = new Sort[0];
-		regionWeights = new Term[numberEvents];
 		script.declareFun("m0", emptySort, script.sort("Int"));
 		regionInitialMarking = script.term("m0");
 
-		Term[] params = new Term[1 + numberEvents + (properties.isPure() ? 0 : numberEvents)];
-		params[0] = regionInitialMarking;
+		List<Term> params = new ArrayList<>();
+		params.add(regionInitialMarking);
+		if (overBasis) {
+			int basisSize = utility.getRegionBasis().size();
+			regionCoefficients = new Term[basisSize];
+			for (int index = 0; index < basisSize; index++) {
+				script.declareFun("c-" + index, emptySort, script.sort("Int"));
+				regionCoefficients[index] = script.term("c-" + index);
+				params.add(regionCoefficients[index]);
+			}
+			regionWeights = helper.evaluateWeightsOverBasis(regionCoefficients);
+		} else {
+			regionCoefficients = null;
+			regionWeights = new Term[numberEvents];
+		}
+
 		if (properties.isPure()) {
 			regionBackwardWeights = null;
 			regionForwardWeights = null;
-			for (int event = 0; event < eventList.size(); event++) {
+			for (int event = 0; event < eventList.size() && !overBasis; event++) {
 				script.declareFun("e-" + eventList.get(event), emptySort, script.sort("Int"));
 				regionWeights[event] = script.term("e-" + eventList.get(event));
-				params[1 + event] = regionWeights[event];
+				params.add(regionWeights[event]);
 			}
 		} else {
 			regionBackwardWeights = new Term[numberEvents];
@@ -92,18 +121,51 @@ class InequalitySystemSeparation implements Separation {
 			for (int event = 0; event < eventList.size(); event++) {
 				String evStr = eventList.get(event);
 				script.declareFun("b-" + evStr, emptySort, script.sort("Int"));
-				script.declareFun("f-" + evStr, emptySort, script.sort("Int"));
 				regionBackwardWeights[event] = script.term("b-" + evStr);
-				regionForwardWeights[event] = script.term("f-" + evStr);
-
-				regionWeights[event] = script.term("-", script.term("f-" + evStr),
-						script.term("b-" + evStr));
-
-				params[1 + event] = regionBackwardWeights[event];
-				params[1 + event + numberEvents] = regionForwardWeights[event];
+				params.add(regionBackwardWeights[event]);
+				if (overBasis) {
+					// The forward weights follow from the effective and the backward weights
+					regionForwardWeights[event] = script.term("+", regionWeights[event],
+							regionBackwardWeights[event]);
+				} else {
+					script.declareFun("f-" + evStr, emptySort, script.sort("Int"));
+					regionForwardWeights[event] = script.term("f-" + evStr);
+					regionWeights[event] = script.term("-", script.term("f-" + evStr),
+							script.term("b-" + evStr));
+				}
 			}
+			if (!overBasis)
+				params.addAll(Arrays.asList(regionForwardWeights));
 		}
-		script.assertTerm(script.term("isRegion", params));
+		script.assertTerm(script.term("isRegion", params.toArray(new Term[params.size()])));
+	}
+
+	/**
+	 * Decide if separation problems should be solved over the region basis. Describing regions as linear
+	 * combinations of {@link RegionUtility#getRegionBasis} removes the cycle constraints and makes the terms for
+	 * markings shorter, so this is done if the basis has less elements than there are events. The system property
+	 * apt.separation.regionBasis can be set to true or false to override this decision.
+	 * @param utility The region utility to use.
+	 * @return true if regions should be described via the region basis.
+	 */
+	static boolean useRegionBasis(RegionUtility utility) {
+		String forced = System.getProperty("apt.separation.regionBasis");
+		if (forced != null)
+			return Boolean.parseBoolean(forced);
+		return utility.getRegionBasis().size() < utility.getNumberOfEvents();
+	}
+
+	/**
+	 * Get a term describing the marking of the given state in the region that is being calculated.
+	 * @param state The state whose marking should be calculated.
+	 * @return A term describing the marking of the given state.
+	 * @throws UnreachableException if the given state is unreachable.
+	 */
+	private Term evaluateMarking(State state) throws UnreachableException {
+		if (regionCoefficients != null)
+			return helper.evaluateReachingParikhVectorOverBasis(regionInitialMarking, regionCoefficients,
+					state);
+		return helper.evaluateReachingParikhVector(regionInitialMarking, regionWeights, state);
 	}
 
 	/**
@@ -159,9 +221,8 @@ class InequalitySystemSeparation implements Separation {
 			// We want r_S(s) != r_S(s'). Note that we cannot just strengthen this to "<", because e.g.
 			// locations and output-nonbranching mean that for some regions, there might not be a
 			// complementary region and so "!=" could be solvable, but "<" unsolvable.
-			Term term1 = helper.evaluateReachingParikhVector(regionInitialMarking, regionWeights, state);
-			Term term2 = helper.evaluateReachingParikhVector(regionInitialMarking, regionWeights,
-					otherState);
+			Term term1 = evaluateMarking(state);
+			Term term2 = evaluateMarking(otherState);
 			script.assertTerm(script.term("not", script.term("=", term1, term2)));
 
 			return regionFromSolution();
@@ -190,7 +251,7 @@ class InequalitySystemSeparation implements Separation {
 
 			// Each state must be reachable in the resulting region, but event 'event' should be disabled
 			// in state. We want -1 >= r_S(s) - r_B(event)
-			Term marking = helper.evaluateReachingParikhVector(regionInitialMarking, regionWeights, state);
+			Term marking = evaluateMarking(state);
 
 			Term term;
 			if (properties.isPure()) {
@@ -211,6 +272,15 @@ class InequalitySystemSeparation implements Separation {
 		}
 	}
 
+	/**
+	 * Release the SMTInterpol instance that is used by this instance. No further separation problems can be
+	 * solved afterwards.
+	 */
+	@Override
+	public void close() {
+		helper.close();
+	}
+
 	private BigInteger getValue(Model model, Term term) {
 		Term evald = model.evaluate(term);
 		assert evald instanceof ConstantTerm : evald;
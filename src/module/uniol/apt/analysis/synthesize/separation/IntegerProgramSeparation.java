@@ -0,0 +1,403 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize.separation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import uniol.apt.adt.ts.Arc;
+import uniol.apt.adt.ts.State;
+import uniol.apt.analysis.synthesize.PNProperties;
+import uniol.apt.analysis.synthesize.Region;
+import uniol.apt.analysis.synthesize.RegionUtility;
+import uniol.apt.analysis.synthesize.UnreachableException;
+import uniol.apt.util.equations.BranchAndBoundSolver;
+import uniol.apt.util.equations.InequalitySystem;
+
+import static uniol.apt.util.DebugUtil.debug;
+
+/**
+ * Helper class for solving separation problems with integer programming. This describes regions with the same
+ * inequalities as {@link InequalitySystemSeparation}, but solves them with {@link BranchAndBoundSolver} instead of
+ * SMTInterpol. The inequalities describing a region are only added once, so that the solver can continue from the
+ * last feasible tableau for every separation problem. Only the properties pure, plain and k-bounded are supported.
+ * If the solver gives up on a problem, the problem is solved by {@link InequalitySystemSeparation}.
+ */
+class IntegerProgramSeparation implements Separation, AutoCloseable {
+	// Largest input, measured in arcs times events, for which benchmarks showed this to be faster than SMT
+	static final int PREFERRED_MAX_SIZE = 4000;
+
+	private final RegionUtility utility;
+	private final PNProperties properties;
+	private final String[] locationMap;
+	private final boolean pure;
+	private final int numberEvents;
+	private final BranchAndBoundSolver solver = new BranchAndBoundSolver();
+	private InequalitySystemSeparation fallback;
+
+	/**
+	 * Construct a new instance for solving separation problems.
+	 * @param utility The region utility to use.
+	 * @param properties Properties that the calculated region should satisfy.
+	 * @param locationMap Mapping that describes the location of each event.
+	 * @throws UnsupportedPNPropertiesException If the requested properties are not supported.
+	 */
+	public IntegerProgramSeparation(RegionUtility utility, PNProperties properties, String[] locationMap)
+			throws UnsupportedPNPropertiesException {
+		if (!isSupported(properties))
+			throw new UnsupportedPNPropertiesException();
+
+		this.utility = utility;
+		this.properties = properties;
+		this.locationMap = Arrays.copyOf(locationMap, locationMap.length);
+		this.pure = properties.isPure();
+		this.numberEvents = utility.getNumberOfEvents();
+
+		solver.assertDisjunction(requireRegion());
+		InequalitySystem[] locations = requireDistributableNet();
+		if (locations != null)
+			solver.assertDisjunction(locations);
+	}
+
+	/**
+	 * Check if this implementation supports the given properties.
+	 * @param properties Properties that the calculated region should satisfy.
+	 * @return true if only pure, plain and k-bounded are required.
+	 */
+	static boolean isSupported(PNProperties properties) {
+		PNProperties supported = new PNProperties().setPure(true).setPlain(true);
+		if (properties.isKBounded())
+			supported = supported.requireKBounded(properties.getKForKBounded());
+		return supported.containsAll(properties);
+	}
+
+	/**
+	 * Check if this implementation is expected to be faster than {@link InequalitySystemSeparation}. This is the
+	 * case for supported properties and inputs of at most {@link #PREFERRED_MAX_SIZE} arcs times events.
+	 * @param utility The region utility to use.
+	 * @param properties Properties that the calculated region should satisfy.
+	 * @return true if this implementation should be used.
+	 */
+	static boolean isPreferred(RegionUtility utility, PNProperties properties) {
+		if (!isSupported(properties))
+			return false;
+		long size = (long) utility.getTransitionSystem().getEdges().size() * utility.getNumberOfEvents();
+		return size <= PREFERRED_MAX_SIZE;
+	}
+
+	// The variables are m0 and then either the effects or the backward and then the forward weights
+	private int getNumberOfVariables() {
+		return 1 + (pure ? numberEvents : 2 * numberEvents);
+	}
+
+	private int[] getVariables() {
+		return new int[getNumberOfVariables()];
+	}
+
+	private int getBackwardWeightVariable(int event) {
+		assert !pure;
+		return 1 + event;
+	}
+
+	private int getForwardWeightVariable(int event) {
+		assert !pure;
+		return 1 + numberEvents + event;
+	}
+
+	/**
+	 * Add the effect of the given Parikh vector to the coefficients.
+	 * @param coefficients The coefficients to modify.
+	 * @param pv The Parikh vector.
+	 */
+	private void addEffect(int[] coefficients, int[] pv) {
+		for (int event = 0; event < numberEvents; event++) {
+			if (pure) {
+				coefficients[1 + event] += pv[event];
+			} else {
+				coefficients[getBackwardWeightVariable(event)] -= pv[event];
+				coefficients[getForwardWeightVariable(event)] += pv[event];
+			}
+		}
+	}
+
+	/**
+	 * Get coefficients describing the marking of the given state.
+	 * @param state The state whose marking should be described.
+	 * @return The coefficients
+	 * @throws UnreachableException if the given state is unreachable.
+	 */
+	private int[] getMarking(State state) throws UnreachableException {
+		int[] result = getVariables();
+		result[0] = 1;
+		addEffect(result, utility.getReachingParikhVectorArray(state));
+		return result;
+	}
+
+	/**
+	 * Get coefficients describing the number of tokens that the given event consumes.
+	 * @param coefficients The coefficients to modify.
+	 * @param event The index of the event.
+	 * @param factor The factor with which the consumed tokens should be added.
+	 */
+	private void addConsumption(int[] coefficients, int event, int factor) {
+		if (pure)
+			// In the pure case, only the effect exists and we just require it to be negative
+			coefficients[1 + event] -= factor;
+		else
+			coefficients[getBackwardWeightVariable(event)] += factor;
+	}
+
+	private InequalitySystem requireRegion() {
+		InequalitySystem system = new InequalitySystem();
+
+		// Cycles must reach the same marking again
+		Set<List<Integer>> parikhVectorsOfCycles = new HashSet<>();
+		for (Arc chord : utility.getSpanningTree().getChords()) {
+			try {
+				int[] pv = new int[numberEvents];
+				int[] source = utility.getReachingParikhVectorArray(chord.getSource());
+				int[] target = utility.getReachingParikhVectorArray(chord.getTarget());
+				for (int event = 0; event < numberEvents; event++)
+					pv[event] = source[event] - target[event];
+				pv[utility.getEventIndex(chord.getLabel())]++;
+
+				List<Integer> key = new ArrayList<>();
+				for (int value : pv)
+					key.add(value);
+				if (!parikhVectorsOfCycles.add(key))
+					continue;
+
+				int[] coefficients = getVariables();
+				addEffect(coefficients, pv);
+				system.addInequality(0, "=", coefficients, "Cycle with Parikh vector " + key);
+			} catch (UnreachableException e) {
+				throw new RuntimeException("Chords of a spanning tree cannot belong to "
+						+ "unreachable states?!", e);
+			}
+		}
+
+		if (pure) {
+			// No marking may be negative. Then each arc is enabled: Its target is reachable by firing.
+			for (State state : utility.getTransitionSystem().getNodes()) {
+				try {
+					system.addInequality(0, "<=", getMarking(state), "Marking of " + state);
+				} catch (UnreachableException e) {
+					continue;
+				}
+			}
+		} else {
+			int[] coefficients = getVariables();
+			coefficients[0] = 1;
+			system.addInequality(0, "<=", coefficients, "Initial marking");
+			for (int event = 0; event < numberEvents; event++) {
+				coefficients = getVariables();
+				coefficients[getBackwardWeightVariable(event)] = 1;
+				system.addInequality(0, "<=", coefficients, "Backward weight");
+				coefficients = getVariables();
+				coefficients[getForwardWeightVariable(event)] = 1;
+				system.addInequality(0, "<=", coefficients, "Forward weight");
+			}
+
+			// Each arc must be enabled
+			for (Arc arc : utility.getTransitionSystem().getEdges()) {
+				try {
+					coefficients = getMarking(arc.getSource());
+				} catch (UnreachableException e) {
+					continue;
+				}
+				addConsumption(coefficients, utility.getEventIndex(arc.getLabel()), -1);
+				system.addInequality(0, "<=", coefficients, "Arc " + arc);
+			}
+		}
+
+		if (properties.isKBounded()) {
+			int k = properties.getKForKBounded();
+			for (State state : utility.getTransitionSystem().getNodes()) {
+				try {
+					system.addInequality(k, ">=", getMarking(state), "Bound of " + state);
+				} catch (UnreachableException e) {
+					continue;
+				}
+			}
+		}
+
+		if (properties.isPlain()) {
+			for (int event = 0; event < numberEvents; event++) {
+				if (pure) {
+					int[] coefficients = getVariables();
+					coefficients[1 + event] = 1;
+					system.addInequality(-1, "<=", coefficients, "Plain");
+					system.addInequality(1, ">=", coefficients, "Plain");
+				} else {
+					int[] coefficients = getVariables();
+					coefficients[getBackwardWeightVariable(event)] = 1;
+					system.addInequality(1, ">=", coefficients, "Plain");
+					coefficients = getVariables();
+					coefficients[getForwardWeightVariable(event)] = 1;
+					system.addInequality(1, ">=", coefficients, "Plain");
+				}
+			}
+		}
+
+		return system;
+	}
+
+	/**
+	 * Generate the needed inequalities to guarantee that the location map is obeyed: Only events of the same
+	 * location may consume tokens from a region.
+	 * @return A disjunction of systems, one for each location, or null if there is no restriction.
+	 */
+	private InequalitySystem[] requireDistributableNet() {
+		Set<String> locations = new HashSet<>(Arrays.asList(locationMap));
+		locations.remove(null);
+		if (locations.isEmpty())
+			return null;
+
+		InequalitySystem[] result = new InequalitySystem[locations.size()];
+		int index = 0;
+		for (String location : locations) {
+			result[index] = new InequalitySystem();
+			for (int event = 0; event < numberEvents; event++) {
+				if (locationMap[event] != null && !locationMap[event].equals(location)) {
+					int[] coefficients = getVariables();
+					addConsumption(coefficients, event, 1);
+					result[index].addInequality(0, ">=", coefficients, "Only events with location "
+							+ location + " may consume tokens from this region");
+				}
+			}
+			// No restriction for this location means no restriction at all
+			if (result[index].isEmpty())
+				return null;
+			index++;
+		}
+		return result;
+	}
+
+	/**
+	 * Solve the region inequalities together with the given system.
+	 * @param system Inequalities describing the separation problem.
+	 * @return A region or null if there is none.
+	 * @throws BranchAndBoundSolver.LimitExceededException if the solver gave up
+	 */
+	private Region solve(InequalitySystem system) throws BranchAndBoundSolver.LimitExceededException {
+		List<BigInteger> solution;
+		solver.push();
+		try {
+			solver.assertDisjunction(system);
+			solution = solver.findSolution();
+		} finally {
+			solver.pop();
+		}
+		if (solution.isEmpty())
+			return null;
+
+		assert solution.size() == getNumberOfVariables();
+		Region.Builder builder;
+		if (pure) {
+			builder = Region.Builder.createPure(utility, solution.subList(1, 1 + numberEvents));
+		} else {
+			builder = new Region.Builder(utility, solution.subList(1, 1 + numberEvents),
+					solution.subList(1 + numberEvents, 1 + 2 * numberEvents));
+		}
+		Region r = builder.withInitialMarking(solution.get(0));
+		debug("region: ", r);
+		return r;
+	}
+
+	private InequalitySystemSeparation getFallback() {
+		if (fallback == null)
+			fallback = new InequalitySystemSeparation(utility, properties, locationMap);
+		return fallback;
+	}
+
+	/**
+	 * Get a region solving some separation problem.
+	 * @param state The first state of the separation problem
+	 * @param otherState The second state of the separation problem
+	 * @return A region solving the problem or null.
+	 */
+	@Override
+	public Region calculateSeparatingRegion(State state, State otherState) {
+		// Unreachable states cannot be separated
+		if (!utility.getSpanningTree().isReachable(state) || !utility.getSpanningTree().isReachable(otherState))
+			return null;
+
+		// We want r_S(s) != r_S(s'). Note that we cannot just strengthen this to "<", because e.g. locations
+		// mean that for some regions, there might not be a complementary region.
+		InequalitySystem system = new InequalitySystem();
+		try {
+			int[] coefficients = getMarking(state);
+			int[] other = getMarking(otherState);
+			for (int i = 0; i < coefficients.length; i++)
+				coefficients[i] -= other[i];
+			system.addInequality(0, "!=", coefficients, "Separate " + state + " from " + otherState);
+			return solve(system);
+		} catch (UnreachableException e) {
+			throw new AssertionError("Made sure state is reachable, but still it isn't?!", e);
+		} catch (BranchAndBoundSolver.LimitExceededException e) {
+			debug("Giving up on separating ", state, " from ", otherState, ": ", e.getMessage());
+			return getFallback().calculateSeparatingRegion(state, otherState);
+		}
+	}
+
+	/**
+	 * Get a region solving some separation problem.
+	 * @param state The state of the separation problem
+	 * @param event The event of the separation problem
+	 * @return A region solving the problem or null.
+	 */
+	@Override
+	public Region calculateSeparatingRegion(State state, String event) {
+		// Unreachable states cannot be separated
+		if (!utility.getSpanningTree().isReachable(state))
+			return null;
+
+		// We want the marking of state minus the consumption of event to be negative. In the pure case, the
+		// consumption is replaced with the negative effect. Since the target of each arc has a non-negative
+		// marking, this makes sure that the effect really is negative.
+		InequalitySystem system = new InequalitySystem();
+		try {
+			int[] coefficients = getMarking(state);
+			addConsumption(coefficients, utility.getEventIndex(event), -1);
+			system.addInequality(0, ">", coefficients, "Separate " + state + " from " + event);
+			return solve(system);
+		} catch (UnreachableException e) {
+			throw new AssertionError("Made sure state is reachable, but still it isn't?!", e);
+		} catch (BranchAndBoundSolver.LimitExceededException e) {
+			debug("Giving up on separating ", state, " from ", event, ": ", e.getMessage());
+			return getFallback().calculateSeparatingRegion(state, event);
+		}
+	}
+
+	/**
+	 * Release the SMTInterpol instance that is used when the integer program is too hard.
+	 */
+	@Override
+	public void close() {
+		if (fallback != null)
+			fallback.close();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -29,59 +29,85 @@ import java.util.Set;
 
 import org.apache.commons.collections4.collection.CompositeCollection;
 
-import de.uni_freiburg.informatik.ultimate.logic.Logics;
 import de.uni_freiburg.informatik.ultimate.logic.Script;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
 import uniol.apt.adt.ts.Arc;
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.synthesize.PNProperties;
+import uniol.apt.analysis.synthesize.Region;
 import uniol.apt.analysis.synthesize.RegionUtility;
 import uniol.apt.analysis.synthesize.UnreachableException;
 import uniol.apt.util.DifferentPairsIterable;
 import uniol.apt.util.DomainEquivalenceRelation;
 import uniol.apt.util.IEquivalenceRelation;
 import uniol.apt.util.Pair;
-import uniol.apt.util.interrupt.InterrupterRegistry;
 import static uniol.apt.util.DebugUtil.debug;
 
 /**
  * Helper class for solving separation problems.
  * @author Uli Schlachter
  */
-public class SMTInterpolHelper {
+public class SMTInterpolHelper implements AutoCloseable {
+	private final SMTInterpolSession session;
 	private final Script script;
 	private final RegionUtility utility;
 	private final PNProperties properties;
 	private final String[] locationMap;
+	private final List<Region> basis;
+	private boolean closed;
 
 	/**
 	 * Create a new instance of this class. This prepares an SMTInterpol instance so that Petri nets can be
-	 * synthesized. It does so by defining a function called 'isRegion'.
+	 * synthesized. It does so by defining a function called 'isRegion'. The SMTInterpol instance is taken from a
+	 * pool and an existing definition for the same arguments is reused. Everything that the caller declares or
+	 * asserts on the script is removed again by {@link #close}.
 	 * @param utility The region utility for which we are synthesizing.
 	 * @param properties The properties that the synthesized net should have.
 	 * @param locationMap The location mapping that should be obeyed.
 	 * @see getScript
 	 */
 	public SMTInterpolHelper(RegionUtility utility, PNProperties properties, String[] locationMap) {
-		DefaultLogger logger = new DefaultLogger();
-		this.script = new SMTInterpol(logger, new TerminationRequest() {
-			@Override
-			public boolean isTerminationRequested() {
-				return InterrupterRegistry.getCurrentThreadInterrupter().isInterruptRequested();
-			}
-		});
-		logger.setLoglevel(DefaultLogger.LOGLEVEL_OFF);
+		this(utility, properties, locationMap, false);
+	}
+
+	/**
+	 * Create a new instance of this class. This is like {@link #SMTInterpolHelper(RegionUtility, PNProperties,
+	 * String[])}, but optionally describes regions as linear combinations of {@link RegionUtility#getRegionBasis}.
+	 * Every region has zero effect on the cycles of the transition system, so the definition of 'isRegion' does
+	 * not need any cycle constraints in this case. Instead of the effective weights of events, 'isRegion' then has
+	 * one parameter for the coefficient of each basis region. In the impure case, the backward weights are still
+	 * parameters and the forward weights are derived from them. Markings of states have to be calculated with
+	 * {@link #evaluateBasisCoefficients}.
+	 * @param utility The region utility for which we are synthesizing.
+	 * @param properties The properties that the synthesized net should have.
+	 * @param locationMap The location mapping that should be obeyed.
+	 * @param overBasis If true, regions are described via coefficients of the region basis.
+	 */
+	public SMTInterpolHelper(RegionUtility utility, PNProperties properties, String[] locationMap,
+			boolean overBasis) {
+		this.session = SMTInterpolSession.acquire(utility, properties, locationMap, overBasis);
+		this.script = session.getScript();
 		this.utility = utility;
 		this.properties = properties;
 		this.locationMap = Arrays.copyOf(locationMap, locationMap.length);
+		this.basis = overBasis ? utility.getRegionBasis() : null;
+
+		if (!session.hasDefinition(utility, properties, locationMap, overBasis)) {
+			session.beginDefinition();
+			defineIsRegion();
+			session.endDefinition(utility, properties, locationMap, overBasis);
+		}
 
-		script.setLogic(Logics.QF_LIA);
+		// Everything from here on belongs to our caller
+		script.push(1);
+	}
 
+	/**
+	 * Define the 'isRegion' function on the script.
+	 */
+	private void defineIsRegion() {
 		final int numberEvents = utility.getNumberOfEvents();
 		final List<String> eventList = utility.getEventList();
 
@@ -90,6 +116,7 @@ public class SMTInterpolHelper {
 		TermVariable[] weight = new TermVariable[numberEvents];
 		TermVariable[] backwardWeight = new TermVariable[numberEvents];
 		TermVariable[] forwardWeight = new TermVariable[numberEvents];
+		TermVariable[] coefficient = null;
 		TermVariable[] letVariables;
 		Term[] letTerms;
 
@@ -99,14 +126,24 @@ public class SMTInterpolHelper {
 			forwardWeight[event] = script.variable("f-" + eventList.get(event), script.sort("Int"));
 		}
 
+		// Parameters which are not region coefficients follow after them
+		int offset = 1;
+		if (basis != null) {
+			coefficient = new TermVariable[basis.size()];
+			for (int index = 0; index < basis.size(); index++)
+				coefficient[index] = script.variable("c-" + index, script.sort("Int"));
+			offset += basis.size();
+		}
+
 		if (properties.isPure()) {
-			params = new TermVariable[1 + numberEvents];
+			params = new TermVariable[offset + (basis == null ? numberEvents : 0)];
 			letVariables = new TermVariable[2 * numberEvents];
 			letTerms = new Term[2 * numberEvents];
 
 			Term zero = script.numeral(BigInteger.ZERO);
 			for (int event = 0; event < numberEvents; event++) {
-				params[1 + event] = weight[event];
+				if (basis == null)
+					params[1 + event] = weight[event];
 
 				letVariables[event] = backwardWeight[event];
 				letVariables[event + numberEvents] = forwardWeight[event];
@@ -120,7 +157,7 @@ public class SMTInterpolHelper {
 					script.term("ite", script.term("<", zero, weight[event]),
 							weight[event], zero);
 			}
-		} else {
+		} else if (basis == null) {
 			params = new TermVariable[1 + 2 * numberEvents];
 			letTerms = new Term[numberEvents];
 			letVariables = weight;
@@ -129,15 +166,26 @@ public class SMTInterpolHelper {
 				params[1 + event + numberEvents] = forwardWeight[event];
 				letTerms[event] = script.term("-", forwardWeight[event], backwardWeight[event]);
 			}
+		} else {
+			params = new TermVariable[offset + numberEvents];
+			letTerms = new Term[numberEvents];
+			letVariables = forwardWeight;
+			for (int event = 0; event < numberEvents; event++) {
+				params[offset + event] = backwardWeight[event];
+				letTerms[event] = script.term("+", weight[event], backwardWeight[event]);
+			}
 		}
 		params[0] = script.variable("m0", script.sort("Int"));
 		initialMarking = params[0];
+		if (basis != null)
+			System.arraycopy(coefficient, 0, params, 1, coefficient.length);
 
 		List<Term> isRegion = new ArrayList<>();
-		isRegion.addAll(requireRegion(initialMarking, weight, backwardWeight, forwardWeight));
+		isRegion.addAll(requireRegion(initialMarking, weight, coefficient, backwardWeight, forwardWeight));
 
 		if (properties.isKBounded())
-			isRegion.addAll(requireKBounded(initialMarking, weight, properties.getKForKBounded()));
+			isRegion.addAll(requireKBounded(initialMarking, weight, coefficient,
+						properties.getKForKBounded()));
 
 		// Our definition of conflict-free requires plainness
 		if (properties.isPlain() || properties.isConflictFree())
@@ -164,7 +212,8 @@ public class SMTInterpolHelper {
 		if (properties.isBehaviourallyConflictFree())
 			isRegion.addAll(requireBehaviourallyConflictFree(backwardWeight));
 		if (properties.isBinaryConflictFree())
-			isRegion.addAll(requireBinaryConflictFree(initialMarking, weight, backwardWeight));
+			isRegion.addAll(requireBinaryConflictFree(initialMarking, weight, coefficient,
+						backwardWeight));
 		if (properties.isEqualConflict())
 			isRegion.addAll(requireEqualConflict(utility, backwardWeight));
 
@@ -172,6 +221,8 @@ public class SMTInterpolHelper {
 		Term isRegionTerm = collectTerms("and", isRegion.toArray(new Term[isRegion.size()]),
 				script.term("true"));
 		isRegionTerm = script.let(letVariables, letTerms, isRegionTerm);
+		if (basis != null)
+			isRegionTerm = script.let(weight, evaluateWeightsOverBasis(coefficient), isRegionTerm);
 		script.defineFun("isRegion", params, script.sort("Bool"), isRegionTerm);
 	}
 
@@ -190,6 +241,60 @@ public class SMTInterpolHelper {
 		return script.term("+", initialMarking, result);
 	}
 
+	/**
+	 * Get a term describing the marking of the given state in a region that is described via coefficients of the
+	 * region basis. This may only be used if this instance was created for regions over the basis.
+	 * @param initialMarking A term for the initial marking of the region.
+	 * @param coefficients An array of terms describing the coefficients of the basis regions.
+	 * @param state The state whose marking should be calculated.
+	 * @return A term describing the marking of the given state.
+	 * @throws UnreachableException if the given state is unreachable.
+	 */
+	public Term evaluateReachingParikhVectorOverBasis(Term initialMarking, Term[] coefficients, State state)
+			throws UnreachableException {
+		assert basis != null;
+		List<BigInteger> pv = utility.getReachingParikhVector(state);
+		List<BigInteger> effects = new ArrayList<>(basis.size());
+		for (Region region : basis)
+			effects.add(region.evaluateParikhVector(pv));
+		return script.term("+", initialMarking, evaluateParikhVector(coefficients, effects));
+	}
+
+	/**
+	 * Get terms describing the effective weights of a region that is described via coefficients of the region
+	 * basis. This may only be used if this instance was created for regions over the basis.
+	 * @param coefficients An array of terms describing the coefficients of the basis regions.
+	 * @return An array of terms describing the effective weights of transitions.
+	 */
+	public Term[] evaluateWeightsOverBasis(Term[] coefficients) {
+		assert basis != null;
+		Term[] result = new Term[utility.getNumberOfEvents()];
+		for (int event = 0; event < result.length; event++) {
+			List<BigInteger> basisWeights = new ArrayList<>(basis.size());
+			for (Region region : basis)
+				basisWeights.add(region.getWeight(event));
+			result[event] = evaluateParikhVector(coefficients, basisWeights);
+		}
+		return result;
+	}
+
+	/**
+	 * Get a term describing the marking of the given state, either via the weights or via the coefficients of the
+	 * region basis.
+	 * @param initialMarking A term for the initial marking of the region.
+	 * @param weight An array of terms describing the effective weights of transitions.
+	 * @param coefficients An array of terms describing the coefficients of the basis regions or null.
+	 * @param state The state whose marking should be calculated.
+	 * @return A term describing the marking of the given state.
+	 * @throws UnreachableException if the given state is unreachable.
+	 */
+	private Term evaluateMarking(Term initialMarking, Term[] weight, Term[] coefficients, State state)
+			throws UnreachableException {
+		if (coefficients == null)
+			return evaluateReachingParikhVector(initialMarking, weight, state);
+		return evaluateReachingParikhVectorOverBasis(initialMarking, coefficients, state);
+	}
+
 	/**
 	 * Get a term describing the effect of the given Parikh vector.
 	 * @param weight An array of terms describing the effective weights of transitions.
@@ -215,34 +320,37 @@ public class SMTInterpolHelper {
 	 * Get a list of terms that is required to describe a region.
 	 * @param initialMarking A term representing the initial marking of the region.
 	 * @param weight Terms representing the effective weights of transitions.
+	 * @param coefficients Terms representing the coefficients of the basis regions or null.
 	 * @param backwardWeight Terms representing the backward weights of transitions.
 	 * @param forwardWeight Terms representing the forward weights of transitions.
 	 * @return A list of terms all together describing a region.
 	 * @return An inequality system prepared for calculating separating regions.
 	 */
-	private List<Term> requireRegion(Term initialMarking, Term[] weight, Term[] backwardWeight,
-			Term[] forwardWeight) {
+	private List<Term> requireRegion(Term initialMarking, Term[] weight, Term[] coefficients,
+			Term[] backwardWeight, Term[] forwardWeight) {
 		List<Term> result = new ArrayList<>();
 		Term zero = script.numeral(BigInteger.ZERO);
 
-		// Cycles must reach the same marking again
-		Set<List<BigInteger>> parikhVectorsOfCycles = new HashSet<>();
-		for (Arc chord : utility.getSpanningTree().getChords()) {
-			try {
-				parikhVectorsOfCycles.add(utility.getParikhVectorForEdge(chord));
-			} catch (UnreachableException e) {
-				throw new RuntimeException("Chords of a spanning tree cannot belong to "
-						+ "unreachable states?!", e);
+		// Cycles must reach the same marking again. Linear combinations of the basis always do so.
+		if (coefficients == null) {
+			Set<List<BigInteger>> parikhVectorsOfCycles = new HashSet<>();
+			for (Arc chord : utility.getSpanningTree().getChords()) {
+				try {
+					parikhVectorsOfCycles.add(utility.getParikhVectorForEdge(chord));
+				} catch (UnreachableException e) {
+					throw new RuntimeException("Chords of a spanning tree cannot belong to "
+							+ "unreachable states?!", e);
+				}
 			}
+			for (List<BigInteger> pv : parikhVectorsOfCycles)
+				result.add(script.term("=", zero, evaluateParikhVector(weight, pv)));
 		}
-		for (List<BigInteger> pv : parikhVectorsOfCycles)
-			result.add(script.term("=", zero, evaluateParikhVector(weight, pv)));
 
 		// Each arc must be enabled
 		for (Arc arc : utility.getTransitionSystem().getEdges()) {
 			try {
 				int event = utility.getEventIndex(arc.getLabel());
-				Term term = evaluateReachingParikhVector(initialMarking, weight, arc.getSource());
+				Term term = evaluateMarking(initialMarking, weight, coefficients, arc.getSource());
 				result.add(script.term("<=", backwardWeight[event], term));
 			} catch (UnreachableException e) {
 				// Just ignore unreachable arcs
@@ -264,15 +372,16 @@ public class SMTInterpolHelper {
 	 * Add the needed inequalities so that the system may only produce k-bounded regions.
 	 * @param initialMarking A term representing the initial marking of the region.
 	 * @param weight Terms representing the effective weights of transitions.
+	 * @param coefficients Terms representing the coefficients of the basis regions or null.
 	 * @param k The limit for the bound.
 	 * @return The needed terms.
 	 */
-	private List<Term> requireKBounded(Term initialMarking, Term[] weight, int k) {
+	private List<Term> requireKBounded(Term initialMarking, Term[] weight, Term[] coefficients, int k) {
 		List<Term> result = new ArrayList<>();
 		Term biK = script.numeral(BigInteger.valueOf(k));
 		for (State state : utility.getTransitionSystem().getNodes()) {
 			try {
-				Term term = evaluateReachingParikhVector(initialMarking, weight, state);
+				Term term = evaluateMarking(initialMarking, weight, coefficients, state);
 				result.add(script.term("<=", term, biK));
 			} catch (UnreachableException e) {
 				continue;
@@ -488,16 +597,18 @@ public class SMTInterpolHelper {
 	 * tokens on the place as both the transitions consume.
 	 * @param initialMarking A term representing the initial marking of the region.
 	 * @param weight Terms representing the effective weights of transitions.
+	 * @param coefficients Terms representing the coefficients of the basis regions or null.
 	 * @param backwardWeight Terms representing the backwards weights of transitions.
 	 * @return The needed terms.
 	 */
-	private List<Term> requireBinaryConflictFree(Term initialMarking, Term[] weight, Term[] backwardWeight) {
+	private List<Term> requireBinaryConflictFree(Term initialMarking, Term[] weight, Term[] coefficients,
+			Term[] backwardWeight) {
 		List<Term> result = new ArrayList<>();
 		// For each state...
 		for (State state : utility.getTransitionSystem().getNodes()) {
 			Term stateMarking;
 			try {
-				stateMarking = evaluateReachingParikhVector(initialMarking, weight, state);
+				stateMarking = evaluateMarking(initialMarking, weight, coefficients, state);
 			} catch (UnreachableException e) {
 				continue;
 			}
@@ -595,6 +706,19 @@ public class SMTInterpolHelper {
 	public Script getScript() {
 		return script;
 	}
+
+	/**
+	 * Remove everything that was declared or asserted on the script since this instance was created and give the
+	 * SMTInterpol instance back to the pool. The script must not be used afterwards.
+	 */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		script.pop(1);
+		session.release();
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,181 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize.separation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
+import uniol.apt.analysis.synthesize.PNProperties;
+import uniol.apt.analysis.synthesize.RegionUtility;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+
+/**
+ * A pooled SMTInterpol instance. Setting up an SMTInterpol instance is expensive compared to the small problems that
+ * separation produces, so idle instances are kept in a pool that is shared between all threads. On top of the
+ * logic, a session remembers the 'isRegion' definition that was made last. Repeated synthesis of the same region
+ * utility with the same properties thus doesn't have to define it again.
+ *
+ * The assertion stack of a session looks like this: Level 0 only sets the logic. Level 1 contains the definition of
+ * 'isRegion' and level 2 and above belong to the current user of the session.
+ */
+final class SMTInterpolSession {
+	// Maximum number of idle sessions that are kept in the pool
+	static final int MAX_IDLE_SESSIONS = Runtime.getRuntime().availableProcessors();
+	// SMTInterpol never forgets terms that were once created, so sessions are retired after this many uses
+	static final int MAX_USES = 256;
+
+	static private final Deque<SMTInterpolSession> idleSessions = new ArrayDeque<>();
+
+	private final Script script;
+	private WeakReference<RegionUtility> utility;
+	private PNProperties properties;
+	private String[] locationMap;
+	private boolean overBasis;
+	private int uses;
+
+	private SMTInterpolSession() {
+		DefaultLogger logger = new DefaultLogger();
+		this.script = new SMTInterpol(logger, new TerminationRequest() {
+			@Override
+			public boolean isTerminationRequested() {
+				return InterrupterRegistry.getCurrentThreadInterrupter().isInterruptRequested();
+			}
+		});
+		logger.setLoglevel(DefaultLogger.LOGLEVEL_OFF);
+		script.setLogic(Logics.QF_LIA);
+	}
+
+	/**
+	 * Get a session from the pool or create a new one. A session which already has the 'isRegion' definition for
+	 * the given arguments is preferred. Otherwise, the session is returned without any definition.
+	 * @param utility The region utility for which we are synthesizing.
+	 * @param properties The properties that the synthesized net should have.
+	 * @param locationMap The location mapping that should be obeyed.
+	 * @param overBasis Whether 'isRegion' is defined over the coefficients of the region basis.
+	 * @return A session that is exclusively owned by the caller until it is released.
+	 */
+	static SMTInterpolSession acquire(RegionUtility utility, PNProperties properties, String[] locationMap,
+			boolean overBasis) {
+		SMTInterpolSession session = null;
+		synchronized (idleSessions) {
+			Iterator<SMTInterpolSession> iter = idleSessions.iterator();
+			while (iter.hasNext()) {
+				SMTInterpolSession idle = iter.next();
+				if (idle.hasDefinition(utility, properties, locationMap, overBasis)) {
+					iter.remove();
+					idle.uses++;
+					return idle;
+				}
+			}
+			// Prefer the least recently used session, since its definition is the least likely to be
+			// needed again
+			session = idleSessions.pollLast();
+		}
+		if (session == null)
+			session = new SMTInterpolSession();
+		session.clearDefinition();
+		session.uses++;
+		return session;
+	}
+
+	/**
+	 * Return this session to the pool. The caller must have removed all its assertion levels before.
+	 */
+	void release() {
+		if (uses >= MAX_USES)
+			return;
+		synchronized (idleSessions) {
+			if (idleSessions.size() < MAX_IDLE_SESSIONS)
+				idleSessions.addFirst(this);
+		}
+	}
+
+	/**
+	 * Get the SMTInterpol script of this session.
+	 * @return The script.
+	 */
+	Script getScript() {
+		return script;
+	}
+
+	/**
+	 * Check if this session contains the 'isRegion' definition for the given arguments.
+	 * @param utility The region utility for which we are synthesizing.
+	 * @param properties The properties that the synthesized net should have.
+	 * @param locationMap The location mapping that should be obeyed.
+	 * @param overBasis Whether 'isRegion' is defined over the coefficients of the region basis.
+	 * @return true if the definition is present.
+	 */
+	boolean hasDefinition(RegionUtility utility, PNProperties properties, String[] locationMap,
+			boolean overBasis) {
+		return this.utility != null && this.utility.get() == utility && this.properties.equals(properties)
+			&& Arrays.equals(this.locationMap, locationMap) && this.overBasis == overBasis;
+	}
+
+	/**
+	 * Start a new definition of 'isRegion'. After this call, the caller must make the definition.
+	 */
+	void beginDefinition() {
+		assert utility == null;
+		script.push(1);
+	}
+
+	/**
+	 * Record that the definition of 'isRegion' for the given arguments was completed.
+	 * @param utility The region utility for which we are synthesizing.
+	 * @param properties The properties that the synthesized net should have.
+	 * @param locationMap The location mapping that should be obeyed.
+	 * @param overBasis Whether 'isRegion' is defined over the coefficients of the region basis.
+	 */
+	void endDefinition(RegionUtility utility, PNProperties properties, String[] locationMap, boolean overBasis) {
+		this.utility = new WeakReference<>(utility);
+		this.properties = properties;
+		this.locationMap = Arrays.copyOf(locationMap, locationMap.length);
+		this.overBasis = overBasis;
+	}
+
+	private void clearDefinition() {
+		if (utility == null)
+			return;
+		script.pop(1);
+		utility = null;
+		properties = null;
+		locationMap = null;
+	}
+
+	/**
+	 * Remove all idle sessions from the pool.
+	 */
+	static void clearPool() {
+		synchronized (idleSessions) {
+			idleSessions.clear();
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -19,21 +19,34 @@
 
 package uniol.apt.analysis.synthesize.separation;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import uniol.apt.adt.ts.State;
 import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.analysis.synthesize.Region;
+import uniol.apt.analysis.synthesize.RegionMarkingIndex;
+import uniol.apt.analysis.synthesize.RegionUtility;
 import uniol.apt.analysis.synthesize.SynthesizePN;
 import uniol.apt.util.DifferentPairsIterable;
 import uniol.apt.util.EquivalenceRelation;
 import uniol.apt.util.Pair;
+import uniol.apt.util.interrupt.Interrupter;
 import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.interrupt.UncheckedInterruptedException;
 
 import static uniol.apt.util.DebugUtil.debug;
 import static uniol.apt.util.DebugUtil.debugFormat;
@@ -43,6 +56,19 @@ import static uniol.apt.util.DebugUtil.debugFormat;
  * @author Uli Schlachter
  */
 public class SeparationSynthesizer implements Synthesizer {
+	/**
+	 * Factory for separation instances. Separation instances and the transition system that they work on are not
+	 * thread safe, so every worker thread gets its own instance for its own copy of the transition system.
+	 */
+	static public interface SeparationFactory {
+		/**
+		 * Create a separation instance that works on the given region utility.
+		 * @param utility The region utility to use.
+		 * @return A new separation instance.
+		 */
+		Separation createSeparation(RegionUtility utility);
+	}
+
 	private final Collection<Region> separatingRegions;
 	private final Map<String, Set<State>> unsolvableESSP;
 	private final Collection<Set<State>> unsolvableSSP;
@@ -58,17 +84,51 @@ public class SeparationSynthesizer implements Synthesizer {
 	 */
 	public SeparationSynthesizer(TransitionSystem ts, Separation separation,
 			boolean onlyEventSeparation, boolean quickFail, Collection<Region> knownRegions) {
-		Set<Region> regions = new HashSet<>();
+		this(new RegionUtility(ts), separation, null, 1, onlyEventSeparation, quickFail, knownRegions);
+	}
+
+	/**
+	 * Synthesize the given transition system, solving separation problems with several worker threads. Each
+	 * worker works on its own copy of the transition system with its own separation instance from the given
+	 * factory. The workers calculate a candidate region for every separation problem without looking at the
+	 * regions found by others. Afterwards the separation problems are replayed in their sequential order and a
+	 * candidate is only kept if the regions chosen so far do not solve its problem. Thus, the result does not
+	 * depend on the scheduling of the workers and is the same as in a sequential run.
+	 * @param utility The region utility for the transition system to synthesize.
+	 * @param separation A separation implementation that solves separation problems on the given transition system.
+	 * @param factory Factory for the separation instances of the worker threads. May be null if only one thread is
+	 * used.
+	 * @param numberOfThreads The number of worker threads to use. A value of one disables parallel solving.
+	 * @param onlyEventSeparation A flag indicating that state separation should be ignored.
+	 * @param quickFail If true, stop the calculation as soon as it is known that it won't be successful. If false,
+	 * try to solve all separation problems. Only if true will the list of failed problems be fully filled.
+	 * @param knownRegions Already known regions that can be used to speed up synthesis.
+	 */
+	public SeparationSynthesizer(RegionUtility utility, Separation separation, SeparationFactory factory,
+			int numberOfThreads, boolean onlyEventSeparation, boolean quickFail,
+			Collection<Region> knownRegions) {
+		if (numberOfThreads < 1)
+			throw new IllegalArgumentException("Need at least one thread, but got " + numberOfThreads);
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
 		if (knownRegions != null)
-			regions.addAll(knownRegions);
+			index.addRegions(knownRegions);
 		Map<String, Set<State>> essp = new HashMap<>();
 		EquivalenceRelation<State> ssp = new EquivalenceRelation<>();
 
-		solveEventStateSeparation(ts, separation, quickFail, regions, essp);
-		if (!onlyEventSeparation && (!quickFail || essp.isEmpty()))
-			solveStateSeparation(ts, separation, quickFail, regions, ssp);
+		if (numberOfThreads == 1) {
+			solveEventStateSeparation(utility.getTransitionSystem(), separation, quickFail, index, essp);
+			if (!onlyEventSeparation && (!quickFail || essp.isEmpty()))
+				solveStateSeparation(separation, quickFail, index, ssp);
+		} else {
+			ParallelSolver solver = new ParallelSolver(utility, separation, factory, numberOfThreads,
+					quickFail);
+			solver.solveEventStateSeparation(index, essp);
+			if (!onlyEventSeparation && (!quickFail || essp.isEmpty()))
+				solver.solveStateSeparation(index, ssp);
+		}
+		Set<Region> regions = new HashSet<>(index.getRegions());
 		if (!quickFail || (essp.isEmpty() && ssp.isEmpty()))
-			minimizeRegions(ts, regions, onlyEventSeparation);
+			minimizeRegions(index, regions, onlyEventSeparation);
 
 		this.separatingRegions = Collections.unmodifiableSet(regions);
 		this.unsolvableESSP = Collections.unmodifiableMap(essp);
@@ -77,7 +137,7 @@ public class SeparationSynthesizer implements Synthesizer {
 	}
 
 	private void solveEventStateSeparation(TransitionSystem ts, Separation separation, boolean quickFail,
-			Set<Region> regions, Map<String, Set<State>> failedProblems) {
+			RegionMarkingIndex index, Map<String, Set<State>> failedProblems) {
 		debug();
 		debug("Solving event-state separation");
 		for (State state : ts.getNodes()) {
@@ -87,12 +147,7 @@ public class SeparationSynthesizer implements Synthesizer {
 					continue;
 
 				debugFormat("Trying to separate %s from event '%s'", state, event);
-				Region r = null;
-				for (Region region : regions)
-					if (SeparationUtility.isSeparatingRegion(region, state, event)) {
-						r = region;
-						break;
-					}
+				Region r = index.findSeparatingRegion(state, event);
 				if (r != null) {
 					debug("Found region ", r);
 					continue;
@@ -111,51 +166,262 @@ public class SeparationSynthesizer implements Synthesizer {
 						return;
 				} else {
 					debug("Calculated region ", r);
-					regions.add(r);
+					index.addRegion(r);
 				}
 			}
 		}
 	}
 
-	private void solveStateSeparation(TransitionSystem ts, Separation separation, boolean quickFail,
-			Set<Region> regions, EquivalenceRelation<State> failedStateSeparationRelation) {
+	private void solveStateSeparation(Separation separation, boolean quickFail, RegionMarkingIndex index,
+			EquivalenceRelation<State> failedStateSeparationRelation) {
 		debug();
 		debug("Solving state separation");
-		for (Pair<State, State> problem : new DifferentPairsIterable<State>(
-					SynthesizePN.calculateUnseparatedStates(ts.getNodes(), regions))) {
-			InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
-
-			State state = problem.getFirst();
-			State otherState = problem.getSecond();
-			debugFormat("Trying to separate %s from %s", state, otherState);
-			Region r = null;
-			for (Region region : regions)
-				if (SeparationUtility.isSeparatingRegion(region, state, otherState)) {
-					r = region;
-					break;
-				}
-			if (r != null) {
-				debug("Found region ", r);
-				continue;
-			}
+		// Only states within the same class of unseparated states have to be looked at. Every new region
+		// refines the classes, so that later pairs of the same class might already be separated.
+		for (List<State> family : index.getUnseparatedClasses()) {
+			for (Pair<State, State> problem : new DifferentPairsIterable<>(family)) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
 
-			r = separation.calculateSeparatingRegion(state, otherState);
-			if (r == null) {
-				failedStateSeparationRelation.joinClasses(state, otherState);
-				debug("Failure!");
-				if (quickFail)
-					return;
-			} else {
-				debug("Calculated region ", r);
-				regions.add(r);
+				State state = problem.getFirst();
+				State otherState = problem.getSecond();
+				if (index.isSeparated(state, otherState))
+					continue;
+
+				debugFormat("Trying to separate %s from %s", state, otherState);
+				Region r = separation.calculateSeparatingRegion(state, otherState);
+				if (r == null) {
+					failedStateSeparationRelation.joinClasses(state, otherState);
+					debug("Failure!");
+					if (quickFail)
+						return;
+				} else {
+					debug("Calculated region ", r);
+					index.addRegion(r);
+				}
 			}
 		}
 	}
 
-	private void minimizeRegions(TransitionSystem ts, Set<Region> regions, boolean onlyEventSeparation) {
+	private void minimizeRegions(RegionMarkingIndex index, Set<Region> regions, boolean onlyEventSeparation) {
 		debug();
 		debug("Minimizing regions");
-		SynthesizePN.minimizeRegions(ts, regions, onlyEventSeparation);
+		SynthesizePN.minimizeRegions(index, regions, onlyEventSeparation);
+	}
+
+	/**
+	 * A single separation problem. States are referenced by their id, so that a problem can be solved on a copy
+	 * of the transition system.
+	 */
+	static private class Problem {
+		private final String state;
+		private final String otherState;
+		private final String event;
+
+		private Problem(String state, String otherState, String event) {
+			this.state = state;
+			this.otherState = otherState;
+			this.event = event;
+		}
+
+		private boolean isSolved(RegionMarkingIndex index) {
+			TransitionSystem ts = index.getTransitionSystem();
+			if (event != null)
+				return index.findSeparatingRegion(ts.getNode(state), event) != null;
+			return index.isSeparated(ts.getNode(state), ts.getNode(otherState));
+		}
+
+		private Region solve(TransitionSystem ts, Separation separation) {
+			if (event != null)
+				return separation.calculateSeparatingRegion(ts.getNode(state), event);
+			return separation.calculateSeparatingRegion(ts.getNode(state), ts.getNode(otherState));
+		}
+
+		@Override
+		public String toString() {
+			if (event != null)
+				return "ESSP " + state + "/" + event;
+			return "SSP " + state + "/" + otherState;
+		}
+	}
+
+	/**
+	 * Solver which distributes separation problems over several worker threads.
+	 */
+	static private class ParallelSolver {
+		private final RegionUtility utility;
+		private final TransitionSystem ts;
+		private final Separation separation;
+		private final SeparationFactory factory;
+		private final int numberOfThreads;
+		private final boolean quickFail;
+
+		private ParallelSolver(RegionUtility utility, Separation separation, SeparationFactory factory,
+				int numberOfThreads, boolean quickFail) {
+			this.utility = utility;
+			this.ts = utility.getTransitionSystem();
+			this.separation = separation;
+			this.factory = factory;
+			this.numberOfThreads = numberOfThreads;
+			this.quickFail = quickFail;
+		}
+
+		private void solveEventStateSeparation(RegionMarkingIndex index,
+				Map<String, Set<State>> failedProblems) {
+			debug();
+			debugFormat("Solving event-state separation with %d threads", numberOfThreads);
+			List<Problem> problems = new ArrayList<>();
+			for (State state : ts.getNodes())
+				for (String event : ts.getAlphabet())
+					if (!SeparationUtility.isEventEnabled(state, event))
+						problems.add(new Problem(state.getId(), null, event));
+
+			for (Problem problem : solve(problems, index)) {
+				Set<State> set = failedProblems.get(problem.event);
+				if (set == null) {
+					set = new HashSet<>();
+					failedProblems.put(problem.event, set);
+				}
+				set.add(ts.getNode(problem.state));
+			}
+		}
+
+		private void solveStateSeparation(RegionMarkingIndex index,
+				EquivalenceRelation<State> failedStateSeparationRelation) {
+			debug();
+			debugFormat("Solving state separation with %d threads", numberOfThreads);
+			List<Problem> problems = new ArrayList<>();
+			for (List<State> family : index.getUnseparatedClasses())
+				for (Pair<State, State> pair : new DifferentPairsIterable<>(family))
+					problems.add(new Problem(pair.getFirst().getId(), pair.getSecond().getId(),
+								null));
+
+			for (Problem problem : solve(problems, index))
+				failedStateSeparationRelation.joinClasses(ts.getNode(problem.state),
+						ts.getNode(problem.otherState));
+		}
+
+		/**
+		 * Solve the given separation problems. The workers calculate a candidate region for every problem,
+		 * independent of the regions that are already known. Afterwards, the problems are replayed in order
+		 * and a candidate region is only added if the regions chosen so far do not solve the problem. Problems
+		 * that were not handled by a worker because quickFail cancelled them are solved on the calling
+		 * thread. Thus, the result is the same as in a sequential run.
+		 * @param problems The problems to solve.
+		 * @param index Index of the already known regions. Newly needed regions are added.
+		 * @return The list of unsolvable problems in their original order.
+		 */
+		private List<Problem> solve(final List<Problem> problems, RegionMarkingIndex index) {
+			final Region[] candidates = new Region[problems.size()];
+			final boolean[] failed = new boolean[problems.size()];
+			final AtomicInteger nextProblem = new AtomicInteger();
+			final AtomicBoolean cancelled = new AtomicBoolean();
+			final Interrupter interrupter = InterrupterRegistry.getCurrentThreadInterrupter();
+
+			// The workers need their own copies of the transition system. Create them here, since even read
+			// accesses to the transition system are not thread safe.
+			List<Callable<Void>> workers = new ArrayList<>();
+			for (int i = 0; i < numberOfThreads; i++) {
+				final RegionUtility workerUtility = new RegionUtility(new TransitionSystem(ts));
+				workers.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						InterrupterRegistry.setCurrentThreadInterrupter(interrupter);
+						try {
+							work(workerUtility, problems, candidates, failed, nextProblem,
+									cancelled);
+						} catch (RuntimeException | Error e) {
+							cancelled.set(true);
+							throw e;
+						} finally {
+							InterrupterRegistry.clearCurrentThreadInterrupter();
+						}
+						return null;
+					}
+				});
+			}
+
+			ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+			try {
+				List<Future<Void>> futures = new ArrayList<>();
+				for (Callable<Void> worker : workers)
+					futures.add(executor.submit(worker));
+				for (Future<Void> future : futures)
+					future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new UncheckedInterruptedException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new RuntimeException(cause);
+			} finally {
+				cancelled.set(true);
+				executor.shutdownNow();
+			}
+
+			// Replay the problems in their sequential order
+			List<Problem> result = new ArrayList<>();
+			for (int i = 0; i < problems.size(); i++) {
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+				Problem problem = problems.get(i);
+				if (problem.isSolved(index))
+					continue;
+
+				Region r = candidates[i];
+				if (r == null && !failed[i]) {
+					debug("No candidate for ", problem, ", solving it sequentially");
+					r = problem.solve(ts, separation);
+				}
+				if (r == null) {
+					debug("Failure for ", problem);
+					result.add(problem);
+					if (quickFail)
+						break;
+				} else {
+					debug("Calculated region ", r);
+					index.addRegion(r);
+				}
+			}
+			return result;
+		}
+
+		private void work(RegionUtility workerUtility, List<Problem> problems, Region[] candidates,
+				boolean[] failed, AtomicInteger nextProblem, AtomicBoolean cancelled) {
+			Separation workerSeparation = factory.createSeparation(workerUtility);
+			try {
+				work(workerUtility, workerSeparation, problems, candidates, failed, nextProblem,
+						cancelled);
+			} finally {
+				SeparationUtility.closeSeparation(workerSeparation);
+			}
+		}
+
+		private void work(RegionUtility workerUtility, Separation workerSeparation, List<Problem> problems,
+				Region[] candidates, boolean[] failed, AtomicInteger nextProblem,
+				AtomicBoolean cancelled) {
+			TransitionSystem workerTs = workerUtility.getTransitionSystem();
+			while (!cancelled.get()) {
+				int index = nextProblem.getAndIncrement();
+				if (index >= problems.size())
+					return;
+				InterrupterRegistry.throwIfInterruptRequestedForCurrentThread();
+
+				// Whether the problem is already solved is only decided by the replay, since that
+				// depends on the candidates of earlier problems
+				Region r = problems.get(index).solve(workerTs, workerSeparation);
+				if (r == null) {
+					failed[index] = true;
+					// All earlier problems were already started, so they still get their result
+					if (quickFail)
+						cancelled.set(true);
+				} else {
+					candidates[index] = Region.Builder.copyRegionToUtility(utility, r);
+				}
+			}
+		}
 	}
 
 	@Override
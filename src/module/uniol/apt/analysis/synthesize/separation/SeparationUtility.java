@@ -207,6 +207,13 @@ public final class SeparationUtility {
 		} catch (UnsupportedPNPropertiesException e) {
 			// Ignore, try the other implementations
 		}
+		try {
+			// Benchmarks showed this to be faster than SMTInterpol for small inputs
+			if (result == null && IntegerProgramSeparation.isPreferred(utility, properties))
+				result = new IntegerProgramSeparation(utility, properties, locationMap);
+		} catch (UnsupportedPNPropertiesException e) {
+			// Ignore, try the other implementations
+		}
 		if (result == null)
 			result = new InequalitySystemSeparation(utility, properties, locationMap);
 
@@ -291,9 +298,50 @@ public final class SeparationUtility {
 		Separation sep = createSeparationInstanceInternal(utility, properties, locationMap);
 		if (sep instanceof Synthesizer)
 			return (Synthesizer) sep;
+
+		try {
+			return createSeparationSynthesizer(utility, properties, locationMap, sep, onlyEventSeparation,
+					quickFail, regions);
+		} finally {
+			// SeparationSynthesizer solved everything in its constructor
+			closeSeparation(sep);
+		}
+	}
+
+	static private Synthesizer createSeparationSynthesizer(RegionUtility utility, PNProperties properties,
+			String[] locationMap, Separation sep, boolean onlyEventSeparation, boolean quickFail,
+			Collection<Region> regions) {
+		// Should separation problems be solved in parallel?
+		int numberOfThreads = Integer.getInteger("apt.separation.threads", 1);
+		if (numberOfThreads > 1) {
+			// The alphabet of a transition system is sorted, so the location map also fits to copies of
+			// the transition system
+			final PNProperties finalProperties = properties;
+			final String[] finalLocationMap = locationMap;
+			SeparationSynthesizer.SeparationFactory factory = new SeparationSynthesizer.SeparationFactory() {
+				@Override
+				public Separation createSeparation(RegionUtility workerUtility) {
+					return createSeparationInstanceInternal(workerUtility, finalProperties,
+							finalLocationMap);
+				}
+			};
+			return new SeparationSynthesizer(utility, sep, factory, numberOfThreads, onlyEventSeparation,
+					quickFail, regions);
+		}
 		return new SeparationSynthesizer(utility.getTransitionSystem(), sep, onlyEventSeparation, quickFail, regions);
 	}
 
+	/**
+	 * Release the resources of a Separation instance that is no longer needed.
+	 * @param separation The instance to release.
+	 */
+	static void closeSeparation(Separation separation) {
+		if (separation instanceof InequalitySystemSeparation)
+			((InequalitySystemSeparation) separation).close();
+		else if (separation instanceof IntegerProgramSeparation)
+			((IntegerProgramSeparation) separation).close();
+	}
+
 	static private <T> T createInstance(Class<T> interfac, String klassName, Object[] parameters, Class<?>[] parameterTypes) {
 		try {
 			// Find the class to use
@@ -240,6 +240,21 @@ public class AutomatonToRegularExpressionTest {
 		assertThat(findWordDifference(aut, roundTrip(aut)), is(nullValue()));
 		assertThat(automatonToRegularExpression(aut), is("a{3,}"));
 	}
+
+	@Test
+	public void testLargeCycle() {
+		FiniteAutomaton a = getAtomicLanguage(new Symbol("a"));
+		FiniteAutomaton aut = kleeneStar(repeat(a, 1000, 1000));
+		assertThat(automatonToRegularExpression(aut), is("(a{1000})*"));
+	}
+
+	@Test
+	public void testLargeRepetition() {
+		FiniteAutomaton a = getAtomicLanguage(new Symbol("a"));
+		FiniteAutomaton b = getAtomicLanguage(new Symbol("b"));
+		FiniteAutomaton aut = concatenate(repeat(union(a, b), 2000, 2000), kleeneStar(b));
+		assertThat(automatonToRegularExpression(aut), is("(a|b){2000}b*"));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,91 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uniol.apt.adt.automaton.FiniteAutomatonUtility.*;
+
+public class CompactDFATest {
+	// A cycle of the given length labelled with a where every state whose number is a multiple of mod is final
+	private CompactDFA getCycle(int length, int mod, List<Symbol> alphabet) {
+		TransitionSystem ts = new TransitionSystem();
+		List<State> states = new ArrayList<>();
+		List<State> finalStates = new ArrayList<>();
+		for (int i = 0; i < length; i++) {
+			states.add(ts.createState());
+			if (i % mod == 0)
+				finalStates.add(states.get(i));
+		}
+		for (int i = 0; i < length; i++)
+			ts.createArc(states.get(i), states.get((i + 1) % length), "a");
+		ts.setInitialState(states.get(0));
+		return CompactDFA.fromDFA(constructDFA(fromLTS(ts, finalStates)), alphabet);
+	}
+
+	@Test
+	public void testMinimizeCycle() {
+		List<Symbol> alphabet = Arrays.asList(new Symbol("a"));
+		CompactDFA dfa = getCycle(12, 3, alphabet);
+		assertThat(dfa.getNumberOfStates(), equalTo(12));
+
+		CompactDFA minimal = dfa.minimize();
+		assertThat(minimal.getNumberOfStates(), equalTo(3));
+		assertThat(minimal.isFinalState(0), is(true));
+		assertThat(minimal.isFinalState(1), is(false));
+		assertThat(minimal.isFinalState(2), is(false));
+		assertThat(minimal.getFollowingState(0, 0), equalTo(1));
+		assertThat(minimal.getFollowingState(1, 0), equalTo(2));
+		assertThat(minimal.getFollowingState(2, 0), equalTo(0));
+		assertThat(minimal.findSinkState(), equalTo(-1));
+	}
+
+	@Test
+	public void testSinkState() {
+		// The symbol b is not used by the automaton, so it leads to an added sink state
+		List<Symbol> alphabet = Arrays.asList(new Symbol("a"), new Symbol("b"));
+		CompactDFA minimal = getCycle(4, 2, alphabet).minimize();
+		assertThat(minimal.getNumberOfStates(), equalTo(3));
+		int sink = minimal.findSinkState();
+		assertThat(sink, not(equalTo(-1)));
+		assertThat(minimal.isFinalState(sink), is(false));
+		assertThat(minimal.getFollowingState(0, 1), equalTo(sink));
+	}
+
+	@Test
+	public void testMinimizeAllFinal() {
+		List<Symbol> alphabet = Arrays.asList(new Symbol("a"));
+		CompactDFA minimal = getCycle(5, 1, alphabet).minimize();
+		assertThat(minimal.getNumberOfStates(), equalTo(1));
+		assertThat(minimal.isFinalState(0), is(true));
+		assertThat(minimal.getFollowingState(0, 0), equalTo(0));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,102 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.adt.automaton.FiniteAutomatonUtility.*;
+
+public class CompiledNFATest {
+	private List<String> word(String... events) {
+		return Arrays.asList(events);
+	}
+
+	// (ab)*|(a|b)*c
+	private FiniteAutomaton getTestAutomaton() {
+		FiniteAutomaton a = getAtomicLanguage(new Symbol("a"));
+		FiniteAutomaton b = getAtomicLanguage(new Symbol("b"));
+		FiniteAutomaton c = getAtomicLanguage(new Symbol("c"));
+		return union(kleeneStar(concatenate(a, b)), concatenate(kleeneStar(union(a, b)), c));
+	}
+
+	@Test
+	public void testEmptyLanguage() {
+		CompiledNFA nfa = CompiledNFA.compile(getEmptyLanguage());
+		assertThat(nfa.getNumberOfStates(), equalTo(1));
+		assertThat(nfa.isWordInLanguage(word()), is(false));
+		assertThat(nfa.isWordInLanguage(word("a")), is(false));
+	}
+
+	@Test
+	public void testEpsilon() {
+		CompiledNFA nfa = CompiledNFA.compile(getAtomicLanguage(Symbol.EPSILON));
+		assertThat(nfa.isWordInLanguage(word()), is(true));
+		assertThat(nfa.isWordInLanguage(word("a")), is(false));
+	}
+
+	@Test
+	public void testWords() {
+		CompiledNFA nfa = CompiledNFA.compile(getTestAutomaton());
+		assertThat(nfa.isWordInLanguage(word()), is(true));
+		assertThat(nfa.isWordInLanguage(word("a", "b")), is(true));
+		assertThat(nfa.isWordInLanguage(word("a", "b", "a", "b")), is(true));
+		assertThat(nfa.isWordInLanguage(word("a", "b", "a")), is(false));
+		assertThat(nfa.isWordInLanguage(word("b", "b", "a", "c")), is(true));
+		assertThat(nfa.isWordInLanguage(word("c")), is(true));
+		assertThat(nfa.isWordInLanguage(word("c", "c")), is(false));
+		assertThat(nfa.isWordInLanguage(word("a", "d")), is(false));
+	}
+
+	@Test
+	public void testSmallCache() {
+		// With a cache of a single state, every step clears the cache
+		CompiledNFA nfa = CompiledNFA.compile(getTestAutomaton(), 1);
+		for (int i = 0; i < 3; i++) {
+			assertThat(nfa.isWordInLanguage(word()), is(true));
+			assertThat(nfa.isWordInLanguage(word("a")), is(false));
+			assertThat(nfa.isWordInLanguage(word("a", "b")), is(true));
+			assertThat(nfa.isWordInLanguage(word("a", "b", "c")), is(true));
+			assertThat(nfa.isWordInLanguage(word("a", "b", "a")), is(false));
+			assertThat(nfa.isWordInLanguage(word("c", "a")), is(false));
+			assertThat(nfa.isWordInLanguage(word("b", "b", "b", "c")), is(true));
+		}
+	}
+
+	@Test
+	public void testDeterministicAutomaton() {
+		DeterministicFiniteAutomaton dfa = minimize(getTestAutomaton());
+		CompiledNFA nfa = CompiledNFA.compile(dfa);
+		assertThat(nfa.isWordInLanguage(word("a", "b", "a", "b")), is(true));
+		assertThat(nfa.isWordInLanguage(word("a", "b", "a")), is(false));
+		assertThat(nfa.isWordInLanguage(word("a", "c")), is(true));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testInvalidCacheSize() {
+		CompiledNFA.compile(getEmptyLanguage(), 0);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -24,6 +24,7 @@ import java.util.List;
 
 import uniol.apt.TestTSCollection;
 import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.io.parser.impl.RegexParser;
 
 import org.testng.annotations.Test;
 
@@ -701,6 +702,40 @@ public class FiniteAutomatonUtilityTest {
 		wordInLanguage(aut, true, "a", "b");
 	}
 
+	@Test
+	public void testWordInLanguageOfLazyDFA() {
+		// The minimal DFA for (a|b)*a(a|b){20} has 2^21 states, but checking a word only needs a few of them
+		FiniteAutomaton aOrB = union(getAtomicLanguage(new Symbol("a")), getAtomicLanguage(new Symbol("b")));
+		FiniteAutomaton aut = constructDFA(concatenate(concatenate(kleeneStar(aOrB),
+						getAtomicLanguage(new Symbol("a"))), repeat(aOrB, 20, 20)));
+		wordInLanguage(aut, false, "a", "b");
+		String[] word = new String[21];
+		Arrays.fill(word, "b");
+		word[0] = "a";
+		wordInLanguage(aut, true, word);
+		word[0] = "b";
+		wordInLanguage(aut, false, word);
+	}
+
+	@Test
+	public void testWordInLanguageOfRegexIsCompiled() throws Exception {
+		FiniteAutomaton aut = new RegexParser().parseString("(a|b)*c");
+		assertThat(isCompiled(aut), is(false));
+		wordInLanguage(aut, true, "a", "b", "a", "c");
+		assertThat(isCompiled(aut), is(true));
+		wordInLanguage(aut, false, "a", "b");
+		wordInLanguage(aut, false, "c", "c");
+		wordInLanguage(aut, true, "c");
+	}
+
+	@Test
+	public void testWordInLanguageOfDFAIsNotCompiled() throws Exception {
+		FiniteAutomaton aut = constructDFA(new RegexParser().parseString("(a|b)*c"));
+		wordInLanguage(aut, true, "a", "b", "a", "c");
+		wordInLanguage(aut, false, "a", "b");
+		assertThat(isCompiled(aut), is(false));
+	}
+
 	@Test
 	public void testRenderToGraphviz() {
 		assertThat(renderToGraphviz(getAtomicLanguage(new Symbol("a"))),
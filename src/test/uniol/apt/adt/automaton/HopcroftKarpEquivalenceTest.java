@@ -0,0 +1,101 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.automaton;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uniol.apt.adt.automaton.FiniteAutomatonUtility.*;
+
+public class HopcroftKarpEquivalenceTest {
+	// A cycle of the given length labelled with a where every state whose number is a multiple of mod is final
+	private DeterministicFiniteAutomaton getCycle(int length, int mod) {
+		TransitionSystem ts = new TransitionSystem();
+		List<State> states = new ArrayList<>();
+		List<State> finalStates = new ArrayList<>();
+		for (int i = 0; i < length; i++) {
+			states.add(ts.createState());
+			if (i % mod == 0)
+				finalStates.add(states.get(i));
+		}
+		for (int i = 0; i < length; i++)
+			ts.createArc(states.get(i), states.get((i + 1) % length), "a");
+		ts.setInitialState(states.get(0));
+		return constructDFA(fromLTS(ts, finalStates));
+	}
+
+	@Test
+	public void testDifference() {
+		// The shortest difference between (aa)^* and (aaa)^* is aa
+		assertThat(HopcroftKarpEquivalence.findWordDifference(getCycle(6, 2), getCycle(6, 3)),
+				contains("a", "a"));
+	}
+
+	@Test
+	public void testEquivalent() {
+		assertThat(HopcroftKarpEquivalence.findWordDifference(getCycle(6, 2), getCycle(10, 2)), nullValue());
+		assertThat(HopcroftKarpEquivalence.findWordDifference(getCycle(10, 2), getCycle(6, 2)), nullValue());
+	}
+
+	@Test
+	public void testEmptyWordIgnored() {
+		// (a)^* versus a(a)^*: The only difference is the empty word
+		TransitionSystem ts = new TransitionSystem();
+		State s0 = ts.createState();
+		State s1 = ts.createState();
+		ts.createArc(s0, s1, "a");
+		ts.createArc(s1, s1, "a");
+		ts.setInitialState(s0);
+		DeterministicFiniteAutomaton nonEmpty = constructDFA(fromLTS(ts, Arrays.asList(s1)));
+		assertThat(HopcroftKarpEquivalence.findWordDifference(getCycle(1, 1), nonEmpty), nullValue());
+	}
+
+	@Test
+	public void testInitialStateReachedAgain() {
+		// (a)^* versus a(aa)^*: The initial states only differ in the empty word, but aa is also a difference
+		TransitionSystem ts = new TransitionSystem();
+		State s0 = ts.createState();
+		State s1 = ts.createState();
+		ts.createArc(s0, s1, "a");
+		ts.createArc(s1, s0, "a");
+		ts.setInitialState(s0);
+		DeterministicFiniteAutomaton odd = constructDFA(fromLTS(ts, Arrays.asList(s1)));
+		assertThat(HopcroftKarpEquivalence.findWordDifference(getCycle(1, 1), odd), contains("a", "a"));
+	}
+
+	@Test
+	public void testDifferentAlphabets() {
+		FiniteAutomaton a = getAtomicLanguage(new Symbol("a"));
+		FiniteAutomaton b = getAtomicLanguage(new Symbol("b"));
+		DeterministicFiniteAutomaton aOrB = constructDFA(union(a, b));
+		assertThat(HopcroftKarpEquivalence.findWordDifference(constructDFA(a), aOrB), contains("b"));
+		assertThat(HopcroftKarpEquivalence.findWordDifference(aOrB, constructDFA(union(b, a))), nullValue());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
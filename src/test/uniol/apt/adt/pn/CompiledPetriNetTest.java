@@ -0,0 +1,126 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.adt.pn;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.exception.StructureException;
+import uniol.apt.adt.exception.TransitionFireException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CompiledPetriNetTest {
+	private PetriNet getNet() {
+		PetriNet pn = new PetriNet("compiled");
+		Place p0 = pn.createPlace("p0");
+		Place p1 = pn.createPlace("p1");
+		Place p2 = pn.createPlace("p2");
+		Transition a = pn.createTransition("a");
+		Transition b = pn.createTransition("b");
+		pn.createFlow(p0, a, 2);
+		pn.createFlow(p1, a, 1);
+		pn.createFlow(a, p2, 3);
+		pn.createFlow(p2, b, 1);
+		pn.createFlow(b, p0, 1);
+		p0.setInitialToken(2);
+		p1.setInitialToken(1);
+		return pn;
+	}
+
+	@Test
+	public void testStructure() {
+		PetriNet pn = getNet();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+
+		assertThat(compiled.getPlaceCount(), equalTo(3));
+		assertThat(compiled.getTransitionCount(), equalTo(2));
+		int a = compiled.getTransitionIndex("a");
+		int b = compiled.getTransitionIndex("b");
+		int p0 = compiled.getPlaceIndex("p0");
+		int p1 = compiled.getPlaceIndex("p1");
+		int p2 = compiled.getPlaceIndex("p2");
+
+		assertThat(compiled.getPresetWeight(a, p0), equalTo(2));
+		assertThat(compiled.getPresetWeight(a, p1), equalTo(1));
+		assertThat(compiled.getPresetWeight(a, p2), equalTo(0));
+		assertThat(compiled.getPostsetWeight(a, p2), equalTo(3));
+		assertThat(compiled.getPostsetWeight(b, p0), equalTo(1));
+		assertThat(compiled.getConsumers(p0), equalTo(new int[] { a }));
+		assertThat(compiled.getConsumers(p2), equalTo(new int[] { b }));
+		assertThat(compiled.getProducers(p0), equalTo(new int[] { b }));
+		assertThat(compiled.getProducers(p1), equalTo(new int[0]));
+	}
+
+	@Test
+	public void testFiring() {
+		PetriNet pn = getNet();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		int a = compiled.getTransitionIndex("a");
+		int b = compiled.getTransitionIndex("b");
+
+		long[] m0 = compiled.getInitialMarkingVector();
+		assertThat(compiled.isFireable(a, m0), is(true));
+		assertThat(compiled.isFireable(b, m0), is(false));
+
+		long[] m1 = compiled.fire(a, m0);
+		assertThat(m0, equalTo(new long[] { 2, 1, 0 }));
+		assertThat(m1, equalTo(new long[] { 0, 0, 3 }));
+
+		Marking marking = compiled.toMarking(m1);
+		assertThat(marking, equalTo(pn.getTransition("a").fire(pn.getInitialMarking())));
+		assertThat(compiled.fire(b, marking).getToken("p0"), equalTo(Token.valueOf(1)));
+	}
+
+	@Test(expectedExceptions = TransitionFireException.class)
+	public void testFireNotActivated() {
+		PetriNet pn = getNet();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		compiled.fire(compiled.getTransitionIndex("b"), compiled.getInitialMarkingVector());
+	}
+
+	@Test
+	public void testCached() {
+		PetriNet pn = getNet();
+		assertThat(CompiledPetriNet.get(pn), sameInstance(CompiledPetriNet.get(pn)));
+	}
+
+	@Test
+	public void testInvalidatedOnChange() {
+		PetriNet pn = getNet();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		pn.getFlow("p0", "a").setWeight(1);
+
+		CompiledPetriNet recompiled = CompiledPetriNet.get(pn);
+		assertThat(recompiled, not(sameInstance(compiled)));
+		assertThat(recompiled.getPresetWeight(recompiled.getTransitionIndex("a"),
+					recompiled.getPlaceIndex("p0")), equalTo(1));
+	}
+
+	@Test(expectedExceptions = StructureException.class)
+	public void testStaleSnapshot() {
+		PetriNet pn = getNet();
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		pn.createPlace("p3");
+		compiled.isFireable(0, pn.getInitialMarking());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -21,6 +21,10 @@ package uniol.apt.adt.pn;
 
 import org.testng.annotations.Test;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import uniol.apt.adt.exception.TransitionFireException;
 
 import static uniol.apt.TestNetCollection.*;
 
@@ -105,6 +109,65 @@ public class MarkingIntegrationTest {
 		assertEquals(getTokenCountConcurrentDiamondNet(markings[2]), 0);
 		assertEquals(getTokenCountConcurrentDiamondNet(markings[3]), 0);
 	}
+
+	@Test
+	public void testFiringWithOmega() {
+		PetriNet pn = new PetriNet("foo");
+		Place p1 = pn.createPlace("p1");
+		Place p2 = pn.createPlace("p2");
+		Transition t = pn.createTransition("t");
+		pn.createFlow(p1, t, 3);
+		pn.createFlow(t, p2, 2);
+
+		Marking m = pn.getInitialMarking().setTokenCount(p1, Token.OMEGA).setTokenCount(p2, 1);
+		assertTrue(t.isFireable(m));
+		Marking next = t.fire(m);
+		assertEquals(next.getToken(p1), Token.OMEGA);
+		assertEquals(next.getToken(p2), Token.valueOf(3));
+		assertEquals(m.getToken(p2), Token.valueOf(1));
+	}
+
+	@Test
+	public void testFiringAfterWeightChange() {
+		PetriNet pn = new PetriNet("foo");
+		Place p = pn.createPlace("p");
+		Transition t = pn.createTransition("t");
+		Flow f = pn.createFlow(p, t, 1);
+		p.setInitialToken(2);
+
+		assertTrue(t.isFireable(pn.getInitialMarking()));
+		assertEquals(t.fire(pn.getInitialMarking()).getToken(p), Token.valueOf(1));
+
+		f.setWeight(3);
+		assertFalse(t.isFireable(pn.getInitialMarking()));
+	}
+
+	@Test
+	public void testFiringAfterPlaceAdded() {
+		PetriNet pn = new PetriNet("foo");
+		Place p1 = pn.createPlace("p1");
+		Transition t = pn.createTransition("t");
+		pn.createFlow(p1, t, 1);
+		p1.setInitialToken(1);
+		Marking m = pn.getInitialMarking();
+
+		Place p2 = pn.createPlace("p2");
+		pn.createFlow(t, p2, 1);
+		Marking next = t.fire(m);
+		assertEquals(next.getToken(p1), Token.valueOf(0));
+		assertEquals(next.getToken(p2), Token.valueOf(1));
+	}
+
+	@Test(expectedExceptions = TransitionFireException.class)
+	public void testFiringNotActivated() {
+		PetriNet pn = new PetriNet("foo");
+		Place p = pn.createPlace("p");
+		Transition t = pn.createTransition("t");
+		pn.createFlow(p, t, 2);
+		p.setInitialToken(1);
+
+		t.fire(pn.getInitialMarking());
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
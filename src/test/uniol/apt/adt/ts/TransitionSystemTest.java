@@ -27,12 +27,15 @@ import static org.testng.Assert.fail;
 import static uniol.apt.adt.matcher.Matchers.arcThatConnectsVia;
 import static uniol.apt.adt.matcher.Matchers.nodeWithID;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.Test;
 
 import uniol.apt.adt.exception.ArcExistsException;
+import uniol.apt.adt.exception.StructureException;
 
 /**
  *
@@ -306,6 +309,94 @@ public class TransitionSystemTest {
 		assertThat(states[1].getPostsetNodes(), emptyIterable());
 	}
 
+	@Test
+	public void testFreeze() {
+		TransitionSystem ts = getTestSystem();
+		Map<State, Set<Arc>> postsets = new HashMap<>();
+		Map<State, Set<Arc>> presets = new HashMap<>();
+		for (State state : ts.getNodes()) {
+			postsets.put(state, new HashSet<>(state.getPostsetEdges()));
+			presets.put(state, new HashSet<>(state.getPresetEdges()));
+		}
+		Set<Arc> arcs = new HashSet<>(ts.getEdges());
+
+		assertThat(ts.isFrozen(), is(false));
+		assertThat(ts.freeze(), sameInstance(ts));
+		assertThat(ts.isFrozen(), is(true));
+
+		assertThat(new HashSet<>(ts.getEdges()), equalTo(arcs));
+		assertThat(ts.getEdges(), hasSize(arcs.size()));
+		for (State state : ts.getNodes()) {
+			assertThat(state.getPostsetEdges(), equalTo(postsets.get(state)));
+			assertThat(state.getPresetEdges(), equalTo(presets.get(state)));
+			for (String label : ts.getAlphabet()) {
+				for (Arc arc : state.getPostsetEdgesByLabel(label)) {
+					assertThat(arc.getLabel(), equalTo(label));
+					assertThat(postsets.get(state), hasItem(arc));
+					assertThat(ts.getArc(state, arc.getTarget(), label), sameInstance(arc));
+				}
+				for (Arc arc : state.getPresetEdgesByLabel(label)) {
+					assertThat(arc.getLabel(), equalTo(label));
+					assertThat(presets.get(state), hasItem(arc));
+				}
+			}
+			assertThat(state.getPostsetEdgesByLabel("unknown"), empty());
+		}
+
+		for (Arc arc : arcs) {
+			assertThat(arc.getSource().getPostsetNodesByLabel(arc.getLabel()), hasItem(arc.getTarget()));
+			assertThat(arc.getTarget().getPresetNodes(), hasItem(arc.getSource()));
+		}
+	}
+
+	@Test
+	public void testFrozenCannotBeModified() {
+		TransitionSystem ts = getTestSystem().freeze();
+		Arc arc = ts.getEdges().iterator().next();
+		try {
+			ts.createState();
+			fail();
+		} catch (StructureException e) {
+			// expected
+		}
+		try {
+			ts.createArc(arc.getTarget(), arc.getSource(), "new");
+			fail();
+		} catch (StructureException e) {
+			// expected
+		}
+		try {
+			ts.removeArc(arc);
+			fail();
+		} catch (StructureException e) {
+			// expected
+		}
+		try {
+			arc.setLabel("new");
+			fail();
+		} catch (StructureException e) {
+			// expected
+		}
+		try {
+			ts.removeState(arc.getSource());
+			fail();
+		} catch (StructureException e) {
+			// expected
+		}
+		assertThat(ts.getEdges(), hasItem(arc));
+	}
+
+	@Test
+	public void testCopyOfFrozen() {
+		TransitionSystem ts = getTestSystem();
+		int numArcs = ts.getEdges().size();
+		TransitionSystem copy = new TransitionSystem(ts.freeze());
+		assertThat(copy.isFrozen(), is(false));
+		assertThat(copy.getEdges(), hasSize(numArcs));
+		copy.createArc("s0", "s0", "new");
+		assertThat(copy.getEdges(), hasSize(numArcs + 1));
+	}
+
 }
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
 
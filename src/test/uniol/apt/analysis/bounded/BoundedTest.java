@@ -19,11 +19,18 @@
 
 package uniol.apt.analysis.bounded;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 import org.testng.annotations.Test;
 
 import uniol.apt.adt.pn.Node;
 import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.MinimalCoverabilitySet;
+import uniol.apt.util.Pair;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -31,30 +38,53 @@ import static uniol.apt.TestNetCollection.*;
 
 /** @author Uli Schlachter, vsp */
 public class BoundedTest {
-	private void testUnbounded(PetriNet pn) {
-		BoundedResult result = Bounded.checkBounded(pn);
-		assertThat(result.k, is(nullValue()));
-		assertThat(result.isKBounded(42), is(false));
-		assertThat(pn.getInitialMarking().fireTransitions(
-					result.getSequenceExceeding(42).toArray(new Transition[0]))
-				.getToken(result.unboundedPlace).getValue(),
-				greaterThan(42l));
+	private BoundedResult[] checkBounded(PetriNet pn) {
+		try {
+			return new BoundedResult[] { Bounded.checkBounded(pn),
+				Bounded.checkBounded(pn, new File(System.getProperty("java.io.tmpdir"))),
+				Bounded.checkBounded(MinimalCoverabilitySet.get(pn)) };
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
 	}
 
-	private void testBounded(PetriNet pn, int k) {
-		BoundedResult result = Bounded.checkBounded(pn);
-		assertThat(result.k, equalTo(Long.valueOf(k)));
-		assertThat(result.isSafe(), equalTo(k <= 1));
-		assertThat(result.isKBounded(k), is(true));
-		assertThat(result.getSequenceExceeding(k), is(nullValue()));
-		assertThat(result.getSequenceExceeding(-1), is(nullValue()));
-
-		if (k > 0) {
-			assertThat(result.isKBounded(k - 1), is(false));
+	private void testSequenceExceeding(PetriNet pn, long k) {
+		Pair<Place, List<Transition>> witness = Bounded.findSequenceExceeding(pn, k);
+		assertThat(witness, is(notNullValue()));
+		assertThat(pn.getInitialMarking().fireTransitions(witness.getSecond().toArray(new Transition[0]))
+				.getToken(witness.getFirst()).getValue(), greaterThan(k));
+	}
+
+	private void testUnbounded(PetriNet pn) {
+		testSequenceExceeding(pn, 42);
+		for (BoundedResult result : checkBounded(pn)) {
+			assertThat(result.k, is(nullValue()));
+			assertThat(result.isKBounded(42), is(false));
 			assertThat(pn.getInitialMarking().fireTransitions(
-						result.getSequenceExceeding(k - 1).toArray(new Transition[0]))
+						result.getSequenceExceeding(42).toArray(new Transition[0]))
 					.getToken(result.unboundedPlace).getValue(),
-					greaterThan(k - 1l));
+					greaterThan(42l));
+		}
+	}
+
+	private void testBounded(PetriNet pn, int k) {
+		assertThat(Bounded.findSequenceExceeding(pn, k), is(nullValue()));
+		if (k > 0)
+			testSequenceExceeding(pn, k - 1);
+		for (BoundedResult result : checkBounded(pn)) {
+			assertThat(result.k, equalTo(Long.valueOf(k)));
+			assertThat(result.isSafe(), equalTo(k <= 1));
+			assertThat(result.isKBounded(k), is(true));
+			assertThat(result.getSequenceExceeding(k), is(nullValue()));
+			assertThat(result.getSequenceExceeding(-1), is(nullValue()));
+
+			if (k > 0) {
+				assertThat(result.isKBounded(k - 1), is(false));
+				assertThat(pn.getInitialMarking().fireTransitions(
+							result.getSequenceExceeding(k - 1).toArray(new Transition[0]))
+						.getToken(result.unboundedPlace).getValue(),
+						greaterThan(k - 1l));
+			}
 		}
 	}
 
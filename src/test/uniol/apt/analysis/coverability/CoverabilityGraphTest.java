@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hamcrest.Matcher;
 
@@ -36,7 +37,10 @@ import static org.testng.Assert.assertFalse;
 
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.Place;
 import uniol.apt.adt.pn.Transition;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
 import uniol.apt.generator.cycle.CycleGenerator;
 
 import static uniol.apt.TestNetCollection.*;
@@ -119,6 +123,22 @@ public class CoverabilityGraphTest {
 		assertThat(cov2, not(sameInstance(cov1)));
 	}
 
+	@Test
+	public void testLTSIsModifiable() throws Exception {
+		PetriNet pn = getTokenGeneratorNet();
+		TransitionSystem lts = CoverabilityGraph.get(pn).toCoverabilityLTS();
+		assertThat(lts.isFrozen(), is(false));
+		State state = lts.createState();
+		lts.createArc(lts.getInitialState(), state, "new");
+		assertThat(lts.getInitialState().getPostsetNodesByLabel("new"), contains(state));
+
+		TransitionSystem reachability = CoverabilityGraph.getReachabilityGraph(cycleGenerator.generateNet(3))
+			.toReachabilityLTS();
+		assertThat(reachability.isFrozen(), is(false));
+		// Callers can opt in to freezing the result
+		assertThat(reachability.freeze().isFrozen(), is(true));
+	}
+
 	@Test
 	public void testCacheClear() {
 		PetriNet pn = getEmptyNet();
@@ -159,6 +179,195 @@ public class CoverabilityGraphTest {
 		assertThat(re3, not(sameInstance(re2)));
 	}
 
+	@Test
+	public void testCustomStoreNotCached() {
+		PetriNet pn = getEmptyNet();
+
+		CoverabilityGraph cov = CoverabilityGraph.get(pn, new PackedMarkingStore());
+		assertThat(cov, not(sameInstance(CoverabilityGraph.get(pn))));
+		assertThat(cov, not(sameInstance(CoverabilityGraph.get(pn, new PackedMarkingStore()))));
+		assertThat(cov.isExact(), is(true));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNonEmptyStore() {
+		MarkingStore store = new PackedMarkingStore();
+		store.add(new long[] { 1 });
+		CoverabilityGraph.get(getEmptyNet(), store);
+	}
+
+	@Test
+	public void testHashCompactionStore() {
+		PetriNet pn = getTokenGeneratorNet();
+		CoverabilityGraph exact = CoverabilityGraph.get(pn);
+		CoverabilityGraph lossy = CoverabilityGraph.get(pn, new HashCompactionMarkingStore());
+
+		assertThat(lossy.isExact(), is(false));
+		assertThat(lossy.calculateNodes(), equalTo(exact.calculateNodes()));
+		for (CoverabilityGraphNode node : lossy.getNodes())
+			assertThat(exact.getNodes(), hasItem(coverNodeMarkingEq(node.getMarking())));
+	}
+
+	@Test
+	public void testHashCompactionForgetsMarkings() throws Exception {
+		PetriNet pn = getIndependentCyclesNet(3, 2);
+		CoverabilityGraph exact = CoverabilityGraph.getReachabilityGraph(pn);
+		CoverabilityGraph lossy = CoverabilityGraph.getReachabilityGraph(pn, new HashCompactionMarkingStore());
+		assertThat(lossy.calculateNodes(), equalTo(27));
+
+		// Only the initial node keeps its marking, the others are recomputed
+		for (CoverabilityGraphNode node : lossy.getNodes())
+			assertThat(node.getStoredMarkingVector() == null, is(node.getIndex() != 0));
+		assertSameGraph(lossy, exact);
+
+		TransitionSystem lts = lossy.toReachabilityLTS();
+		for (CoverabilityGraphNode node : exact.getNodes()) {
+			State state = lts.getNode("s" + node.getIndex());
+			assertThat(state.getExtension(Marking.class.getName()), equalTo((Object) node.getMarking()));
+		}
+	}
+
+	@Test
+	public void testHashCompactionCoverabilityMarkings() {
+		PetriNet pn = getTokenGeneratorNet();
+		CoverabilityGraph lossy = CoverabilityGraph.get(pn, new HashCompactionMarkingStore());
+		lossy.calculateNodes();
+		assertSameGraph(lossy, CoverabilityGraph.get(pn));
+	}
+
+	@Test
+	public void testCycleWithCustomStore() throws Exception {
+		PetriNet pn = cycleGenerator.generateNet(10);
+		CoverabilityGraph exact = CoverabilityGraph.getReachabilityGraph(pn);
+		CoverabilityGraph other = CoverabilityGraph.getReachabilityGraph(pn, new HashCompactionMarkingStore());
+
+		int size = exact.calculateNodes();
+		assertThat(other.calculateNodes(), equalTo(size));
+		assertThat(other.toReachabilityLTS().getNodes(), hasSize(size));
+	}
+
+	private void assertSameGraph(CoverabilityGraph actual, CoverabilityGraph expected) {
+		Iterator<CoverabilityGraphNode> iter = expected.getNodes().iterator();
+		for (CoverabilityGraphNode node : actual.getNodes()) {
+			CoverabilityGraphNode expectedNode = iter.next();
+			assertThat(node.getIndex(), equalTo(expectedNode.getIndex()));
+			assertThat(node.getMarking(), equalTo(expectedNode.getMarking()));
+			assertThat(node.getFiringSequence(), equalTo(expectedNode.getFiringSequence()));
+
+			List<String> edges = new ArrayList<>();
+			for (CoverabilityGraphEdge edge : node.getPostsetEdges())
+				edges.add(edge.getTransition().getId() + "->" + edge.getTarget().getIndex());
+			List<String> expectedEdges = new ArrayList<>();
+			for (CoverabilityGraphEdge edge : expectedNode.getPostsetEdges())
+				expectedEdges.add(edge.getTransition().getId() + "->" + edge.getTarget().getIndex());
+			assertThat(edges, containsInAnyOrder(expectedEdges.toArray()));
+		}
+		assertFalse(iter.hasNext());
+	}
+
+	private PetriNet getIndependentCyclesNet(int cycles, int tokens) {
+		PetriNet pn = new PetriNet();
+		for (int i = 0; i < cycles; i++) {
+			Place p = pn.createPlace();
+			Place q = pn.createPlace();
+			Transition t = pn.createTransition();
+			Transition u = pn.createTransition();
+			pn.createFlow(p, t);
+			pn.createFlow(t, q);
+			pn.createFlow(q, u);
+			pn.createFlow(u, p);
+			p.setInitialToken(tokens);
+		}
+		return pn;
+	}
+
+	@Test
+	public void testParallel() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			PetriNet pn = getIndependentCyclesNet(5, 3);
+			CoverabilityGraph parallel = CoverabilityGraph.getReachabilityGraph(pn,
+					new PackedMarkingStore());
+			assertThat(parallel.calculateNodes(pool), equalTo(1024));
+			assertSameGraph(parallel, CoverabilityGraph.getReachabilityGraph(pn));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelAfterPartialExploration() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			PetriNet pn = getIndependentCyclesNet(3, 2);
+			CoverabilityGraph parallel = CoverabilityGraph.getReachabilityGraph(pn,
+					new PackedMarkingStore());
+			Iterator<CoverabilityGraphNode> iter = parallel.getNodes().iterator();
+			for (int i = 0; i < 5; i++)
+				iter.next();
+			assertThat(parallel.calculateNodes(pool), equalTo(27));
+			assertSameGraph(parallel, CoverabilityGraph.getReachabilityGraph(pn));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelAfterOutOfOrderExploration() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			PetriNet pn = getIndependentCyclesNet(3, 2);
+			CoverabilityGraph parallel = CoverabilityGraph.getReachabilityGraph(pn,
+					new PackedMarkingStore());
+			CoverabilityGraph sequential = CoverabilityGraph.getReachabilityGraph(pn,
+					new PackedMarkingStore());
+			exploreLastSuccessor(parallel);
+			exploreLastSuccessor(sequential);
+			assertThat(parallel.calculateNodes(pool), equalTo(27));
+			assertThat(sequential.calculateNodes(), equalTo(27));
+			assertSameGraph(parallel, sequential);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// Generate the postset of the last successor of the initial node before the postset of any other node
+	private void exploreLastSuccessor(CoverabilityGraph graph) {
+		CoverabilityGraphNode last = null;
+		for (CoverabilityGraphNode node : graph.getInitialNode().getPostset())
+			if (last == null || node.getIndex() > last.getIndex())
+				last = node;
+		last.getPostsetEdges();
+	}
+
+	@Test(dataProvider = "IntRange", dataProviderClass = IntRangeDataProvider.class)
+	@IntRangeParameter(start = 1, end = 10)
+	public void testParallelCycle(int size) {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			PetriNet pn = cycleGenerator.generateNet(size);
+			CoverabilityGraph parallel = CoverabilityGraph.getReachabilityGraph(pn,
+					new PackedMarkingStore());
+			parallel.calculateNodes(pool);
+			assertSameGraph(parallel, CoverabilityGraph.getReachabilityGraph(pn));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelCoverability() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			PetriNet pn = getTokenGeneratorNet();
+			CoverabilityGraph cov = CoverabilityGraph.get(pn, new PackedMarkingStore());
+			cov.calculateNodes(pool);
+			assertSameGraph(cov, CoverabilityGraph.get(pn));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Test
 	public void testEmptyNet() {
 		PetriNet pn = getEmptyNet();
@@ -0,0 +1,156 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.analysis.isomorphism.IsomorphismLogic;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+import uniol.apt.io.parser.impl.AptLTSParser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class ExternalReachabilityGraphTest {
+	private File directory;
+
+	@BeforeMethod
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("apt-test").toFile();
+	}
+
+	@AfterMethod
+	public void teardown() throws IOException {
+		assertThat(directory.list(), emptyArray());
+		Files.delete(directory.toPath());
+	}
+
+	@DataProvider(name = "boundedNets")
+	public Object[][] boundedNets() {
+		return new Object[][] {
+			{ getEmptyNet() },
+			{ getNoTransitionOnePlaceNet() },
+			{ getOneTransitionNoPlaceNet() },
+			{ getDeadlockNet() },
+			{ getNonPersistentNet() },
+			{ getPersistentBiCFNet() },
+			{ getConcurrentDiamondNet() },
+			{ getConflictingDiamondNet() },
+			{ getMultiArcNet() },
+			{ new TristatePhilNetGenerator().generateNet(3) },
+		};
+	}
+
+	@Test(dataProvider = "boundedNets")
+	public void testSameAsReachabilityGraph(PetriNet pn) throws Exception {
+		TransitionSystem expected = CoverabilityGraph.getReachabilityGraph(pn).toReachabilityLTS();
+		// A buffer size of one means that every marking ends up in its own run
+		for (int bufferSize : new int[] { 1, ExternalReachabilityGraph.DEFAULT_BUFFER_SIZE }) {
+			try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn, directory,
+						bufferSize)) {
+				assertThat(graph.isBounded(), is(true));
+				assertThat(graph.getStateCount(), equalTo((long) expected.getNodes().size()));
+				assertThat(graph.getMarking(0), equalTo(pn.getInitialMarking()));
+
+				StringWriter writer = new StringWriter();
+				graph.writeLTS(writer);
+				TransitionSystem actual = new AptLTSParser().parseString(writer.toString());
+				assertThat(actual.getName(), equalTo(expected.getName()));
+				assertThat(new IsomorphismLogic(actual, expected, true).isIsomorphic(), is(true));
+			}
+		}
+	}
+
+	@Test(dataProvider = "boundedNets")
+	public void testFiringSequences(PetriNet pn) throws Exception {
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn, directory, 2)) {
+			for (long state = 0; state < graph.getStateCount(); state++) {
+				List<Transition> sequence = graph.getFiringSequence(state);
+				assertThat(pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0])),
+						equalTo(graph.getMarking(state)));
+			}
+		}
+	}
+
+	@Test
+	public void testManyBlocks() throws Exception {
+		// The files of this graph are too large to be read as a single block
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(7);
+		TransitionSystem expected = CoverabilityGraph.getReachabilityGraph(pn).toReachabilityLTS();
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn, directory, 100)) {
+			assertThat(graph.getStateCount(), equalTo((long) expected.getNodes().size()));
+			for (long state = graph.getStateCount() - 1; state >= 0; state -= 97) {
+				List<Transition> sequence = graph.getFiringSequence(state);
+				assertThat(pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0])),
+						equalTo(graph.getMarking(state)));
+			}
+
+			StringWriter writer = new StringWriter();
+			graph.writeLTS(writer);
+			TransitionSystem actual = new AptLTSParser().parseString(writer.toString());
+			assertThat(new IsomorphismLogic(actual, expected, true).isIsomorphic(), is(true));
+		}
+	}
+
+	@Test
+	public void testUnbounded() throws Exception {
+		PetriNet pn = getABCLanguageNet();
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(pn, directory, 3)) {
+			assertThat(graph.isBounded(), is(false));
+
+			Marking covered = pn.getInitialMarking().fireTransitions(
+					graph.getFiringSequence(graph.getCoveredState()).toArray(new Transition[0]));
+			Marking covering = covered.fireTransitions(
+					graph.getFiringSequenceFromCoveredState().toArray(new Transition[0]));
+			assertThat(covered, equalTo(graph.getMarking(graph.getCoveredState())));
+			assertThat(covering, equalTo(graph.getMarking(graph.getCoveringState())));
+			assertThat(covering, not(equalTo(covered)));
+			for (Place place : pn.getPlaces())
+				assertThat(covering.getToken(place).getValue(),
+						greaterThanOrEqualTo(covered.getToken(place).getValue()));
+		}
+	}
+
+	@Test(expectedExceptions = UnboundedException.class)
+	public void testUnboundedLTS() throws Exception {
+		try (ExternalReachabilityGraph graph = ExternalReachabilityGraph.explore(getTokenGeneratorNet(),
+					directory)) {
+			graph.writeLTS(new StringWriter());
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
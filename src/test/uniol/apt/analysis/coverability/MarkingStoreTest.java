@@ -0,0 +1,87 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class MarkingStoreTest {
+	private void fill(MarkingStore store, int count) {
+		for (int i = 0; i < count; i++) {
+			assertThat(store.add(new long[] { i, i % 7, -1, 1L << 40 }), equalTo(i));
+			assertThat(store.size(), equalTo(i + 1));
+		}
+	}
+
+	@Test
+	public void testPackedRoundTrip() {
+		MarkingStore store = new PackedMarkingStore();
+		long[] big = new long[] { Long.MAX_VALUE - 1, 0, -1, 127, 128, 300 };
+		long[] omega = new long[] { -1, -1 };
+		long[] empty = new long[0];
+
+		assertThat(store.add(big), equalTo(0));
+		assertThat(store.add(omega), equalTo(1));
+		assertThat(store.add(empty), equalTo(2));
+		assertThat(store.add(big.clone()), equalTo(0));
+		assertThat(store.size(), equalTo(3));
+
+		assertThat(store.get(0), equalTo(big));
+		assertThat(store.get(1), equalTo(omega));
+		assertThat(store.get(2), equalTo(empty));
+		assertThat(store.lookup(new long[] { -1, -1 }), equalTo(1));
+		assertThat(store.lookup(new long[] { -1, 0 }), equalTo(-1));
+		assertThat(store.isExact(), is(true));
+		assertThat(store.canReproduceMarkings(), is(true));
+	}
+
+	@Test
+	public void testPackedGrowth() {
+		MarkingStore store = new PackedMarkingStore();
+		fill(store, 10000);
+		for (int i = 0; i < 10000; i++) {
+			long[] marking = new long[] { i, i % 7, -1, 1L << 40 };
+			assertThat(store.lookup(marking), equalTo(i));
+			assertThat(store.get(i), equalTo(marking));
+		}
+	}
+
+	@Test
+	public void testHashCompaction() {
+		MarkingStore store = new HashCompactionMarkingStore();
+		fill(store, 10000);
+		for (int i = 0; i < 10000; i++)
+			assertThat(store.lookup(new long[] { i, i % 7, -1, 1L << 40 }), equalTo(i));
+		assertThat(store.lookup(new long[] { 1, 2, 3 }), equalTo(-1));
+		assertThat(store.isExact(), is(false));
+		assertThat(store.canReproduceMarkings(), is(false));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testHashCompactionGet() {
+		MarkingStore store = new HashCompactionMarkingStore();
+		store.add(new long[] { 1 });
+		store.get(0);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,152 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Token;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class MinimalCoverabilitySetTest {
+	// The maximal markings of the coverability graph
+	static private List<Marking> getMaximalMarkings(PetriNet pn) {
+		List<Marking> markings = new ArrayList<>();
+		for (CoverabilityGraphNode node : CoverabilityGraph.get(pn).getNodes())
+			markings.add(node.getMarking());
+		List<Marking> result = new ArrayList<>();
+		for (Marking marking : markings) {
+			boolean maximal = true;
+			for (Marking other : markings)
+				if (!other.equals(marking) && covers(other, marking))
+					maximal = false;
+			if (maximal)
+				result.add(marking);
+		}
+		return result;
+	}
+
+	static private boolean covers(Marking big, Marking small) {
+		for (Place p : big.getNet().getPlaces()) {
+			Token b = big.getToken(p);
+			Token s = small.getToken(p);
+			if (!b.isOmega() && (s.isOmega() || s.getValue() > b.getValue()))
+				return false;
+		}
+		return true;
+	}
+
+	@Test
+	public void testAgreesWithCoverabilityGraph() {
+		for (PetriNet pn : new PetriNet[] { getEmptyNet(), getTokenGeneratorNet(), getDeadlockNet(),
+					getPersistentBiCFNet(), getABCLanguageNet(), getMultiArcNet(), getACBCCLoopNet(),
+					new TristatePhilNetGenerator().generateNet(3) }) {
+			List<Marking> expected = getMaximalMarkings(pn);
+			MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(pn);
+			assertThat(cover.getMarkings(), containsInAnyOrder(expected.toArray()));
+			assertThat(cover.size(), equalTo(expected.size()));
+		}
+	}
+
+	@Test
+	public void testBounded() {
+		MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(getPersistentBiCFNet());
+		assertThat(cover.isBounded(), is(true));
+		assertThat(cover.getUnboundedPlace(), nullValue());
+		assertThat(cover.getSequenceToCovered(), nullValue());
+		assertThat(cover.getCoveringSequence(), nullValue());
+	}
+
+	@Test
+	public void testUnbounded() {
+		PetriNet pn = getABCLanguageNet();
+		MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(pn);
+		assertThat(cover.isBounded(), is(false));
+		Place place = cover.getUnboundedPlace();
+		Marking covered = pn.getInitialMarking().fireTransitions(
+				cover.getSequenceToCovered().toArray(new Transition[0]));
+		Marking covering = covered.fireTransitions(cover.getCoveringSequence().toArray(new Transition[0]));
+		assertThat(covering.getToken(place).getValue(), greaterThan(covered.getToken(place).getValue()));
+		assertThat(covers(covering, covered), is(true));
+	}
+
+	@Test
+	public void testPruning() {
+		// Independent token generators: The coverability graph has a node for every subset of them
+		PetriNet pn = new PetriNet();
+		for (int i = 0; i < 10; i++)
+			pn.createFlow(pn.createTransition(), pn.createPlace());
+		MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(pn);
+		assertThat(cover.size(), equalTo(1));
+		assertThat(cover.getNodeCount(), lessThan(200));
+		assertThat(CoverabilityGraph.get(pn).calculateNodes(), equalTo(1024));
+		for (Place p : pn.getPlaces())
+			assertThat(cover.getMarkings().get(0).getToken(p), equalTo(Token.OMEGA));
+	}
+
+	@Test
+	public void testDeadTransitions() {
+		PetriNet pn = getDeadTransitionNet();
+		MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(pn);
+		for (Transition t : pn.getTransitions()) {
+			List<Transition> sequence = cover.getFiringSequenceEnabling(t);
+			assertThat(sequence == null, equalTo(cover.getDeadTransitions().contains(t)));
+			if (sequence != null)
+				assertThat(t.isFireable(pn.getInitialMarking().fireTransitions(
+								sequence.toArray(new Transition[0]))), is(true));
+		}
+		assertThat(cover.getDeadTransitions(), not(empty()));
+	}
+
+	@Test
+	public void testIsCoverable() {
+		PetriNet pn = getTokenGeneratorNet();
+		MinimalCoverabilitySet cover = MinimalCoverabilitySet.get(pn);
+		Marking marking = pn.getInitialMarking();
+		assertThat(cover.isCoverable(marking), is(true));
+		for (Place p : pn.getPlaces())
+			marking = marking.setTokenCount(p, 1000);
+		assertThat(cover.isCoverable(marking), is(true));
+
+		pn = getDeadlockNet();
+		marking = pn.getInitialMarking();
+		for (Place p : pn.getPlaces())
+			marking = marking.setTokenCount(p, 2);
+		assertThat(MinimalCoverabilitySet.get(pn).isCoverable(marking), is(false));
+	}
+
+	@Test
+	public void testCached() {
+		PetriNet pn = getABCLanguageNet();
+		assertThat(CoverabilityGraph.getMinimalCoverabilitySet(pn), sameInstance(MinimalCoverabilitySet.get(pn)));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
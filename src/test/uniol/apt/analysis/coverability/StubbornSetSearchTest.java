@@ -0,0 +1,124 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.coverability;
+
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.generator.bitnet.SimpleBitNetGenerator;
+import uniol.apt.generator.philnet.BistatePhilNetGenerator;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class StubbornSetSearchTest {
+	@DataProvider(name = "boundedNets")
+	public Object[][] boundedNets() {
+		return new Object[][] {
+			{ getEmptyNet() },
+			{ getNoTransitionOnePlaceNet() },
+			{ getOneTransitionNoPlaceNet() },
+			{ getDeadlockNet() },
+			{ getNonPersistentNet() },
+			{ getPersistentBiCFNet() },
+			{ getConcurrentDiamondNet() },
+			{ getConflictingDiamondNet() },
+			{ getDeadNet() },
+			{ getMultiArcNet() },
+			{ new TristatePhilNetGenerator().generateNet(3) },
+			{ new BistatePhilNetGenerator().generateNet(3) },
+			{ new SimpleBitNetGenerator().generateNet(3) },
+		};
+	}
+
+	private Marking fire(PetriNet pn, List<Transition> sequence) {
+		return pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0]));
+	}
+
+	@Test(dataProvider = "boundedNets")
+	public void testDeadlockSameAsFullGraph(PetriNet pn) {
+		boolean hasDeadlock = false;
+		for (CoverabilityGraphNode node : CoverabilityGraph.getReachabilityGraph(pn).getNodes())
+			if (node.getPostsetEdges().isEmpty())
+				hasDeadlock = true;
+
+		StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.deadlock(pn));
+		StubbornSetSearch.Outcome outcome = search.search();
+		assertThat(outcome, equalTo(hasDeadlock ? StubbornSetSearch.Outcome.FOUND
+					: StubbornSetSearch.Outcome.NOT_FOUND));
+		if (hasDeadlock) {
+			Marking dead = fire(pn, search.getFiringSequence());
+			assertThat(dead, equalTo(search.getReachedMarking()));
+			for (Transition t : pn.getTransitions())
+				assertThat(t.isFireable(dead), is(false));
+		}
+	}
+
+	@Test(dataProvider = "boundedNets")
+	public void testReachesEveryMarking(PetriNet pn) {
+		for (CoverabilityGraphNode node : CoverabilityGraph.getReachabilityGraph(pn).getNodes()) {
+			Marking target = node.getMarking();
+			StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.reaches(pn, target));
+			assertThat(search.search(), equalTo(StubbornSetSearch.Outcome.FOUND));
+			assertThat(fire(pn, search.getFiringSequence()), equalTo(target));
+		}
+	}
+
+	@Test
+	public void testUnreachableMarking() {
+		PetriNet pn = getDeadlockNet();
+		Marking target = CompiledPetriNet.get(pn).toMarking(new long[] { 5 });
+		StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.reaches(pn, target));
+		assertThat(search.search(), equalTo(StubbornSetSearch.Outcome.NOT_FOUND));
+		assertThat(search.getFiringSequence(), is(nullValue()));
+	}
+
+	@Test
+	public void testUnbounded() {
+		PetriNet pn = getTokenGeneratorNet();
+		StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.deadlock(pn));
+		assertThat(search.search(), equalTo(StubbornSetSearch.Outcome.UNBOUNDED));
+
+		Marking covered = fire(pn, search.getSequenceToCovered());
+		Marking covering = covered.fireTransitions(search.getCoveringSequence().toArray(new Transition[0]));
+		assertThat(covering.getToken(search.getUnboundedPlace()).getValue(),
+				greaterThan(covered.getToken(search.getUnboundedPlace()).getValue()));
+	}
+
+	@Test
+	public void testPhilNetReduction() {
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(8);
+		int full = CoverabilityGraph.getReachabilityGraph(pn).calculateNodes();
+
+		StubbornSetSearch search = new StubbornSetSearch(pn, StubbornSetSearch.deadlock(pn));
+		assertThat(search.search(), equalTo(StubbornSetSearch.Outcome.FOUND));
+		assertThat(search.getExploredStates() * 10, lessThan(full));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
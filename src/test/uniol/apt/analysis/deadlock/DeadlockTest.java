@@ -0,0 +1,69 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.deadlock;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.generator.philnet.BistatePhilNetGenerator;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class DeadlockTest {
+	@Test
+	public void testDeadlockNet() throws Exception {
+		PetriNet pn = getDeadlockNet();
+		List<Transition> sequence = Deadlock.findDeadlock(pn);
+		assertThat(sequence, hasSize(1));
+		Marking dead = pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0]));
+		for (Transition t : pn.getTransitions())
+			assertThat(t.isFireable(dead), is(false));
+	}
+
+	@Test
+	public void testDeadlockFree() throws Exception {
+		assertThat(Deadlock.isDeadlockFree(getPersistentBiCFNet()), is(true));
+		assertThat(Deadlock.isDeadlockFree(getOneTransitionNoPlaceNet()), is(true));
+		assertThat(Deadlock.isDeadlockFree(getEmptyNet()), is(false));
+	}
+
+	@Test
+	public void testPhilNet() throws Exception {
+		// Deadlock after every philosopher took the left fork
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(10);
+		assertThat(Deadlock.findDeadlock(pn), hasSize(10));
+		assertThat(Deadlock.isDeadlockFree(new BistatePhilNetGenerator().generateNet(5)), is(true));
+	}
+
+	@Test(expectedExceptions = UnboundedException.class)
+	public void testUnbounded() throws Exception {
+		Deadlock.findDeadlock(getTokenGeneratorNet());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,77 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2016  Uli Schlachter
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.language;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import uniol.apt.module.exception.ModuleException;
+import uniol.apt.module.impl.ModuleInvoker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.getABCLanguageNet;
+
+/** @author Uli Schlachter */
+public class WordInLanguageModuleTest {
+	private File wordFile;
+
+	@BeforeMethod
+	public void createWordFile() throws IOException {
+		wordFile = File.createTempFile("words", ".txt");
+	}
+
+	@AfterMethod
+	public void deleteWordFile() {
+		FileUtils.deleteQuietly(wordFile);
+	}
+
+	// Invoke the module and return the values of in_language, words_checked and words_in_language
+	private List<Object> invoke(Word word, String... lines) throws IOException, ModuleException {
+		FileUtils.writeLines(wordFile, "UTF-8", Arrays.asList(lines));
+		List<Object> values = new ModuleInvoker().invoke(new WordInLanguageModule(),
+				getABCLanguageNet(), word, wordFile.getPath());
+		return Arrays.asList(values.get(0), values.get(2), values.get(3));
+	}
+
+	@Test
+	public void testWordFileWithoutWord() throws Exception {
+		assertThat(invoke(new Word(), "a,a,b", "a a a b b c", "a"), contains((Object) true, 3, 3));
+	}
+
+	@Test
+	public void testWordFileWithWordNotInLanguage() throws Exception {
+		assertThat(invoke(new Word(), "a,a,b", "a;c", "a"), contains((Object) false, 3, 2));
+	}
+
+	@Test
+	public void testWordNotInLanguageWithWordFile() throws Exception {
+		assertThat(invoke(new Word(Arrays.asList("c")), "a,a,b"), contains((Object) false, 1, 1));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -122,6 +122,28 @@ public class WordInLanguageTest {
 		List<Transition> seq = test.checkWord(Arrays.asList("a", "a", "b", "b", "c", "a"));
 		assertNull(seq);
 	}
+
+	@Test
+	public void testManyWords() {
+		WordInLanguage test = new WordInLanguage(getABCLanguageNet());
+		String[][] words = {
+			{ "a", "a", "a", "b", "b", "c" },
+			{ "a", "a", "b", "b", "c", "a" },
+			{ "a", "a", "a", "b", "b" },
+			{},
+			{ "a", "a", "b", "b", "c" },
+			{ "b" },
+			{ "a", "a", "a", "b", "b", "c" },
+			{ "a", "d" },
+		};
+		for (int i = 0; i < 2; i++) {
+			for (String[] word : words) {
+				List<String> list = Arrays.asList(word);
+				boolean expected = test.checkWord(list) != null;
+				assertThat(list.toString(), test.isWordInLanguage(list), is(expected));
+			}
+		}
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
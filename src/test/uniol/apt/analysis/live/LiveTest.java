@@ -19,6 +19,8 @@
 
 package uniol.apt.analysis.live;
 
+import java.io.File;
+
 import org.testng.annotations.Test;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -28,6 +30,7 @@ import static org.hamcrest.Matchers.*;
 import static uniol.apt.TestNetCollection.*;
 import uniol.apt.adt.pn.PetriNet;
 import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.MinimalCoverabilitySet;
 import uniol.apt.analysis.exception.UnboundedException;
 import uniol.apt.generator.philnet.TristatePhilNetGenerator;
 
@@ -37,6 +40,7 @@ public class LiveTest {
 	private void testLiveness(PetriNet pn, Transition transition, boolean simply,
 		boolean weakly, boolean strongly) throws Exception {
 		assertThat(Live.checkSimplyLive(pn, transition) != null, equalTo(simply));
+		assertThat(Live.checkSimplyLive(MinimalCoverabilitySet.get(pn), transition) != null, equalTo(simply));
 		assertThat(Live.checkWeaklyLive(pn, transition), equalTo(weakly));
 		assertThat(Live.checkStronglyLive(pn, transition), equalTo(strongly));
 	}
@@ -102,6 +106,30 @@ public class LiveTest {
 		testLiveness(pn, pn.getTransition("tl"), true, true, true);
 		assertThat(Live.findKillingFireSequence(pn, pn.getTransition("td")), empty());
 	}
+
+	@Test
+	public void testFindDeadTransitionExternal() throws Exception {
+		File directory = new File(System.getProperty("java.io.tmpdir"));
+		PetriNet pn = getDeadTransitionNet();
+		assertThat(Live.findDeadTransition(pn, directory), is(pn.getTransition("td")));
+		assertThat(Live.findDeadTransition(getNonPersistentNet(), directory), is(nullValue()));
+		assertThat(Live.findDeadTransition(new TristatePhilNetGenerator().generateNet(3), directory),
+				is(nullValue()));
+	}
+
+	@Test
+	public void testFindDeadTransitionMinimalCoverabilitySet() throws Exception {
+		PetriNet pn = getDeadTransitionNet();
+		assertThat(Live.findDeadTransition(MinimalCoverabilitySet.get(pn)), is(pn.getTransition("td")));
+		assertThat(Live.findDeadTransition(MinimalCoverabilitySet.get(getTokenGeneratorNet())), is(nullValue()));
+		assertThat(Live.findDeadTransition(MinimalCoverabilitySet.get(
+						new TristatePhilNetGenerator().generateNet(3))), is(nullValue()));
+	}
+
+	@Test(expectedExceptions = UnboundedException.class)
+	public void testFindDeadTransitionExternalUnbounded() throws Exception {
+		Live.findDeadTransition(getTokenGeneratorNet(), new File(System.getProperty("java.io.tmpdir")));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,107 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.live;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.generator.philnet.BistatePhilNetGenerator;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class LivenessAnalysisTest {
+	static private Marking fire(PetriNet pn, List<Transition> sequence) {
+		return pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0]));
+	}
+
+	@Test
+	public void testLevels() throws Exception {
+		PetriNet pn = getDeadTransitionNet();
+		LivenessAnalysis liveness = LivenessAnalysis.get(pn);
+		assertThat(liveness.getLevel(pn.getTransition("td")), is(LivenessAnalysis.Level.DEAD));
+		assertThat(liveness.getLevel(pn.getTransition("tl")), is(LivenessAnalysis.Level.STRONGLY_LIVE));
+		assertThat(liveness.findDeadTransition(), is(pn.getTransition("td")));
+
+		pn = getDeadlockNet();
+		liveness = LivenessAnalysis.get(pn);
+		for (Transition t : pn.getTransitions())
+			assertThat(liveness.getLevel(t), is(LivenessAnalysis.Level.SIMPLY_LIVE));
+		assertThat(liveness.findDeadTransition(), nullValue());
+		assertThat(liveness.findNonWeaklyLiveTransition(), notNullValue());
+
+		pn = new TristatePhilNetGenerator().generateNet(4);
+		liveness = LivenessAnalysis.get(pn);
+		for (Transition t : pn.getTransitions())
+			assertThat(liveness.getLevel(t), is(LivenessAnalysis.Level.WEAKLY_LIVE));
+
+		pn = new BistatePhilNetGenerator().generateNet(4);
+		assertThat(LivenessAnalysis.get(pn).findNonStronglyLiveTransition(), nullValue());
+	}
+
+	@Test
+	public void testWitnesses() throws Exception {
+		for (PetriNet pn : new PetriNet[] { getDeadTransitionNet(), getDeadlockNet(), getNonPersistentNet(),
+					new TristatePhilNetGenerator().generateNet(3) }) {
+			LivenessAnalysis liveness = LivenessAnalysis.get(pn);
+			for (Transition t : pn.getTransitions()) {
+				List<Transition> sequence = liveness.getFiringSequence(t);
+				assertThat(sequence == null, is(liveness.getLevel(t) == LivenessAnalysis.Level.DEAD));
+				if (sequence != null) {
+					assertThat(sequence.get(sequence.size() - 1), is(t));
+					fire(pn, sequence);
+				}
+
+				List<Transition> killing = liveness.getKillingFiringSequence(t);
+				assertThat(killing == null, is(liveness.getLevel(t) == LivenessAnalysis.Level.STRONGLY_LIVE));
+				if (killing != null) {
+					PetriNet copy = copyWithMarking(pn, fire(pn, killing));
+					assertThat(Live.checkSimplyLive(copy, copy.getTransition(t.getId())), nullValue());
+				}
+			}
+		}
+	}
+
+	static private PetriNet copyWithMarking(PetriNet pn, Marking marking) {
+		PetriNet copy = new PetriNet(pn);
+		copy.setInitialMarking(new Marking(copy, marking));
+		return copy;
+	}
+
+	@Test
+	public void testCached() throws Exception {
+		PetriNet pn = getNonPersistentNet();
+		assertThat(LivenessAnalysis.get(pn), sameInstance(LivenessAnalysis.get(pn)));
+	}
+
+	@Test(expectedExceptions = UnboundedException.class)
+	public void testUnbounded() throws Exception {
+		LivenessAnalysis.get(getTokenGeneratorNet());
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,75 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.reversible;
+
+import java.io.File;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.analysis.exception.UnboundedException;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class ReversibleNetTest {
+	private void testReversible(PetriNet pn, boolean expected) throws Exception {
+		ReversibleNet inMemory = new ReversibleNet(pn);
+		inMemory.check();
+		ReversibleNet external = new ReversibleNet(pn);
+		external.check(new File(System.getProperty("java.io.tmpdir")));
+
+		assertThat(inMemory.isReversible(), is(expected));
+		assertThat(external.isReversible(), is(expected));
+		if (expected)
+			assertThat(external.getMarking(), is(nullValue()));
+		else
+			assertThat(external.getMarking(), is(notNullValue()));
+	}
+
+	@Test
+	public void testEmptyNet() throws Exception {
+		testReversible(getEmptyNet(), true);
+	}
+
+	@Test
+	public void testDeadlockNet() throws Exception {
+		testReversible(getDeadlockNet(), false);
+	}
+
+	@Test
+	public void testPersistentBiCFNet() throws Exception {
+		testReversible(getPersistentBiCFNet(), true);
+	}
+
+	@Test
+	public void testPhilNet() throws Exception {
+		testReversible(new TristatePhilNetGenerator().generateNet(3), false);
+	}
+
+	@Test(expectedExceptions = UnboundedException.class)
+	public void testUnbounded() throws Exception {
+		new ReversibleNet(getTokenGeneratorNet()).check(new File(System.getProperty("java.io.tmpdir")));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,73 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symbolic;
+
+import java.math.BigInteger;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DecisionDiagramTest {
+	@Test
+	public void testSingleton() {
+		DecisionDiagram diagram = new DecisionDiagram(new int[] { 2, 3 });
+		int node = diagram.singleton(new int[] { 1, 2 });
+		assertThat(diagram.getLevel(node), equalTo(2));
+		assertThat(diagram.count(node), equalTo(BigInteger.ONE));
+		assertThat(diagram.contains(node, new int[] { 1, 2 }), is(true));
+		assertThat(diagram.contains(node, new int[] { 0, 2 }), is(false));
+		assertThat(diagram.pick(node), equalTo(new int[] { 1, 2 }));
+		assertThat(diagram.singleton(new int[] { 1, 2 }), equalTo(node));
+	}
+
+	@Test
+	public void testSetOperations() {
+		DecisionDiagram diagram = new DecisionDiagram(new int[] { 2, 3 });
+		int a = diagram.singleton(new int[] { 0, 0 });
+		int b = diagram.singleton(new int[] { 1, 2 });
+		int all = diagram.atLeast(new int[] { 0, 0 });
+		int union = diagram.union(a, b);
+		assertThat(diagram.count(all), equalTo(BigInteger.valueOf(6)));
+		assertThat(diagram.count(union), equalTo(BigInteger.valueOf(2)));
+		assertThat(diagram.union(b, a), equalTo(union));
+		assertThat(diagram.intersection(union, b), equalTo(b));
+		assertThat(diagram.intersection(a, b), equalTo(DecisionDiagram.ZERO));
+		assertThat(diagram.difference(union, a), equalTo(b));
+		assertThat(diagram.difference(a, all), equalTo(DecisionDiagram.ZERO));
+		assertThat(diagram.count(diagram.difference(all, union)), equalTo(BigInteger.valueOf(4)));
+		assertThat(diagram.count(diagram.atLeast(new int[] { 1, 1 })), equalTo(BigInteger.valueOf(2)));
+	}
+
+	@Test
+	public void testEmptyNodeIsZero() {
+		DecisionDiagram diagram = new DecisionDiagram(new int[] { 2 });
+		assertThat(diagram.node(1, new int[] { DecisionDiagram.ZERO, DecisionDiagram.ZERO }),
+				equalTo(DecisionDiagram.ZERO));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testPickEmpty() {
+		new DecisionDiagram(new int[] { 2 }).pick(DecisionDiagram.ZERO);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
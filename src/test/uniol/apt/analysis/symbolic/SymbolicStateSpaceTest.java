@@ -0,0 +1,117 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symbolic;
+
+import java.math.BigInteger;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.live.Live;
+import uniol.apt.generator.bitnet.SimpleBitNetGenerator;
+import uniol.apt.generator.philnet.BistatePhilNetGenerator;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class SymbolicStateSpaceTest {
+	static private BigInteger countStates(PetriNet pn) {
+		return BigInteger.valueOf(CoverabilityGraph.getReachabilityGraph(pn).calculateNodes());
+	}
+
+	@Test
+	public void testBitNet() {
+		// Far too many states for an explicit exploration
+		SymbolicStateSpace space = SymbolicStateSpace.explore(new SimpleBitNetGenerator().generateNet(60));
+		assertThat(space.isKBounded(), is(true));
+		assertThat(space.getStateCount(), equalTo(BigInteger.ONE.shiftLeft(60)));
+		assertThat(space.getNodeCount(), lessThan(10000));
+		assertThat(space.isDeadlockFree(), is(true));
+		assertThat(space.findDeadTransition(), nullValue());
+		assertThat(space.findNonStronglyLiveTransition(), nullValue());
+	}
+
+	@Test
+	public void testPhilNets() throws Exception {
+		for (PetriNet pn : new PetriNet[] { new TristatePhilNetGenerator().generateNet(5),
+					new BistatePhilNetGenerator().generateNet(5) }) {
+			SymbolicStateSpace space = SymbolicStateSpace.explore(pn);
+			assertThat(space.isKBounded(), is(true));
+			assertThat(space.getStateCount(), equalTo(countStates(pn)));
+			assertThat(space.findDeadTransition() == null, equalTo(Live.findDeadTransition(pn) == null));
+			assertThat(space.findNonStronglyLiveTransition() == null,
+					equalTo(Live.findNonStronglyLiveTransition(pn) == null));
+		}
+	}
+
+	@Test
+	public void testDeadlock() {
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(10);
+		Marking dead = SymbolicStateSpace.explore(pn).findDeadMarking();
+		assertThat(dead, notNullValue());
+		for (Transition t : pn.getTransitions())
+			assertThat(t.isFireable(dead), is(false));
+		assertThat(SymbolicStateSpace.explore(new BistatePhilNetGenerator().generateNet(10)).isDeadlockFree(),
+				is(true));
+	}
+
+	@Test
+	public void testReachable() {
+		PetriNet pn = getPersistentBiCFNet();
+		SymbolicStateSpace space = SymbolicStateSpace.explore(pn, 2);
+		assertThat(space.isKBounded(), is(true));
+		assertThat(space.getStateCount(), equalTo(countStates(pn)));
+		assertThat(space.isReachable(pn.getInitialMarking()), is(true));
+		for (Transition t : pn.getTransitions())
+			if (t.isFireable(pn.getInitialMarking()))
+				assertThat(space.isReachable(t.fire(pn.getInitialMarking())), is(true));
+	}
+
+	@Test
+	public void testDeadNets() throws Exception {
+		for (PetriNet pn : new PetriNet[] { getDeadlockNet(), getDeadTransitionNet(), getDeadNet(),
+					getConcurrentDiamondNet(), getConflictingDiamondNet() }) {
+			SymbolicStateSpace space = SymbolicStateSpace.explore(pn, 3);
+			assertThat(space.getStateCount(), equalTo(countStates(pn)));
+			assertThat(space.findDeadTransition() == null, equalTo(Live.findDeadTransition(pn) == null));
+			assertThat(space.findNonStronglyLiveTransition() == null,
+					equalTo(Live.findNonStronglyLiveTransition(pn) == null));
+		}
+	}
+
+	@Test
+	public void testBoundExceeded() {
+		SymbolicStateSpace space = SymbolicStateSpace.explore(getTokenGeneratorNet(), 5);
+		assertThat(space.isKBounded(), is(false));
+		assertThat(SymbolicStateSpace.explore(getPersistentBiCFNet(), 0).isKBounded(), is(false));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testQueryUnbounded() {
+		SymbolicStateSpace.explore(getTokenGeneratorNet(), 5).getStateCount();
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,102 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symmetry;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Place;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.generator.bitnet.SimpleBitNetGenerator;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class SymmetriesTest {
+	@Test
+	public void testPhilNet() {
+		// The philosophers can only be rotated
+		Symmetries symmetries = Symmetries.compute(new TristatePhilNetGenerator().generateNet(5));
+		assertThat(symmetries.isGroupEnumerated(), is(true));
+		assertThat(symmetries.getGroupSize(), equalTo(5));
+	}
+
+	@Test
+	public void testBitNet() {
+		// The bits can be permuted arbitrarily
+		Symmetries symmetries = Symmetries.compute(new SimpleBitNetGenerator().generateNet(5));
+		assertThat(symmetries.getGroupSize(), equalTo(120));
+	}
+
+	@Test
+	public void testLargeGroup() {
+		Symmetries symmetries = Symmetries.compute(new SimpleBitNetGenerator().generateNet(8));
+		assertThat(symmetries.isGroupEnumerated(), is(false));
+		assertThat(symmetries.getGroupSize(), equalTo(-1));
+		assertThat(symmetries.getGenerators(), not(empty()));
+	}
+
+	@Test
+	public void testInitialMarkingBreaksSymmetry() {
+		PetriNet pn = new SimpleBitNetGenerator().generateNet(3);
+		pn.getPlace("bit0_state0").setInitialToken(2);
+		assertThat(Symmetries.compute(pn).getGroupSize(), equalTo(2));
+	}
+
+	@Test
+	public void testTrivialGroup() {
+		assertThat(Symmetries.compute(getEmptyNet()).getGroupSize(), equalTo(1));
+		assertThat(Symmetries.compute(getEmptyNet()).getGenerators(), empty());
+	}
+
+	@Test
+	public void testGeneratorsAreAutomorphisms() {
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(4);
+		Symmetries symmetries = Symmetries.compute(pn);
+		for (int[] generator : symmetries.getGenerators()) {
+			for (Transition t : pn.getTransitions()) {
+				Transition image = symmetries.apply(generator, t);
+				assertThat(image.getPreset(), hasSize(t.getPreset().size()));
+				for (Place p : t.getPreset().toArray(new Place[0]))
+					assertThat(image.getPreset(), hasItem(symmetries.apply(generator, p)));
+				for (Place p : t.getPostset().toArray(new Place[0]))
+					assertThat(image.getPostset(), hasItem(symmetries.apply(generator, p)));
+			}
+		}
+	}
+
+	@Test
+	public void testCanonicalize() {
+		PetriNet pn = new SimpleBitNetGenerator().generateNet(3);
+		CompiledPetriNet compiled = CompiledPetriNet.get(pn);
+		Symmetries symmetries = Symmetries.compute(pn);
+		long[] marking = compiled.getInitialMarkingVector();
+		long[] oneSet = compiled.fire(compiled.getTransitionIndex("set0"), marking);
+		long[] otherSet = compiled.fire(compiled.getTransitionIndex("set2"), marking);
+		assertThat(symmetries.canonicalize(oneSet), equalTo(symmetries.canonicalize(otherSet)));
+		assertThat(symmetries.canonicalize(marking), equalTo(marking));
+		assertThat(symmetries.canonicalize(oneSet), not(equalTo(marking)));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,138 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.symmetry;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.pn.CompiledPetriNet;
+import uniol.apt.adt.pn.Marking;
+import uniol.apt.adt.pn.PetriNet;
+import uniol.apt.adt.pn.Transition;
+import uniol.apt.analysis.bounded.Bounded;
+import uniol.apt.analysis.bounded.BoundedResult;
+import uniol.apt.analysis.coverability.CoverabilityGraph;
+import uniol.apt.analysis.live.Live;
+import uniol.apt.analysis.reversible.ReversibleNet;
+import uniol.apt.generator.bitnet.SimpleBitNetGenerator;
+import uniol.apt.generator.philnet.BistatePhilNetGenerator;
+import uniol.apt.generator.philnet.TristatePhilNetGenerator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uniol.apt.TestNetCollection.*;
+
+public class SymmetryReducedGraphTest {
+	static private int countStates(PetriNet pn) {
+		return CoverabilityGraph.getReachabilityGraph(pn).calculateNodes();
+	}
+
+	@Test
+	public void testPhilNet() {
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(5);
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn);
+		assertThat(graph.isBounded(), is(true));
+		// Only the initial marking and the deadlock are fixed by the rotations
+		assertThat(graph.getStateCount(), equalTo((countStates(pn) - 2) / 5 + 2));
+	}
+
+	@Test
+	public void testBitNet() {
+		PetriNet pn = new SimpleBitNetGenerator().generateNet(5);
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn);
+		// Only the number of set bits matters
+		assertThat(graph.getStateCount(), equalTo(6));
+	}
+
+	@Test
+	public void testLargeBitNet() throws Exception {
+		PetriNet pn = new SimpleBitNetGenerator().generateNet(10);
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn);
+		assertThat(graph.getStateCount(), lessThan(1024 / 10));
+		assertThat(Live.findDeadTransition(pn, Symmetries.compute(pn)), nullValue());
+	}
+
+	@Test
+	public void testFiringSequences() {
+		PetriNet pn = new TristatePhilNetGenerator().generateNet(4);
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn);
+		for (int state = 0; state < graph.getStateCount(); state++) {
+			List<Transition> sequence = graph.getFiringSequence(state);
+			Marking marking = pn.getInitialMarking().fireTransitions(sequence.toArray(new Transition[0]));
+			assertThat(marking, equalTo(graph.getMarking(state)));
+			assertThat(Symmetries.compute(pn).canonicalize(toVector(pn, marking)),
+					equalTo(toVector(pn, graph.getRepresentative(state))));
+		}
+	}
+
+	static private long[] toVector(PetriNet pn, Marking marking) {
+		return CompiledPetriNet.get(pn).toVector(marking);
+	}
+
+	@Test
+	public void testUnbounded() throws Exception {
+		PetriNet pn = getTokenGeneratorNet();
+		SymmetryReducedGraph graph = SymmetryReducedGraph.explore(pn);
+		assertThat(graph.isBounded(), is(false));
+		Marking covered = graph.getMarking(graph.getCoveredState());
+		Marking covering = covered.fireTransitions(graph.getFiringSequenceFromCoveredState()
+				.toArray(new Transition[0]));
+		assertThat(covering.getToken(graph.getUnboundedPlace()).getValue(),
+				greaterThan(covered.getToken(graph.getUnboundedPlace()).getValue()));
+	}
+
+	@Test
+	public void testBounded() {
+		for (PetriNet pn : new PetriNet[] { new TristatePhilNetGenerator().generateNet(4),
+					new SimpleBitNetGenerator().generateNet(4), getPersistentBiCFNet(), getABCLanguageNet(),
+					getTokenGeneratorNet() }) {
+			BoundedResult expected = Bounded.checkBounded(pn);
+			BoundedResult result = Bounded.checkBounded(pn, Symmetries.compute(pn));
+			assertThat(result.isBounded(), equalTo(expected.isBounded()));
+			assertThat(result.k, equalTo(expected.k));
+			if (result.isBounded() && result.unboundedPlace != null) {
+				Marking marking = pn.getInitialMarking().fireTransitions(
+						result.sequence.toArray(new Transition[0]));
+				assertThat(marking.getToken(result.unboundedPlace).getValue(), equalTo(result.k));
+			}
+		}
+	}
+
+	@Test
+	public void testLiveAndReversible() throws Exception {
+		for (PetriNet pn : new PetriNet[] { new TristatePhilNetGenerator().generateNet(4),
+					new BistatePhilNetGenerator().generateNet(4),
+					new SimpleBitNetGenerator().generateNet(4), getDeadlockNet(), getDeadTransitionNet(),
+					getPersistentBiCFNet() }) {
+			Symmetries symmetries = Symmetries.compute(pn);
+			assertThat(Live.findDeadTransition(pn, symmetries) == null,
+					equalTo(Live.findDeadTransition(pn) == null));
+
+			ReversibleNet expected = new ReversibleNet(pn);
+			expected.check();
+			ReversibleNet result = new ReversibleNet(pn);
+			result.check(symmetries);
+			assertThat(result.isReversible(), equalTo(expected.isReversible()));
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
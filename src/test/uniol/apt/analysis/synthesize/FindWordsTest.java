@@ -20,12 +20,21 @@
 package uniol.apt.analysis.synthesize;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -34,12 +43,27 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import uniol.apt.analysis.exception.PreconditionFailedException;
 
 /** @author Uli Schlachter */
 public class FindWordsTest {
+	private File directory;
+
+	@BeforeMethod
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("apt-test").toFile();
+	}
+
+	@AfterMethod
+	public void teardown() throws IOException {
+		FileUtils.deleteDirectory(directory);
+	}
+
 	private static void testWords(PNProperties properties, SortedSet<Character> alphabet,
 			final List<List<String>> solvableWords) throws PreconditionFailedException {
 		final Collection<String> solvable = new ArrayList<>();
@@ -138,6 +162,158 @@ public class FindWordsTest {
 		FindWords.generateList(properties, alphabet, true, wordCallback, lengthDoneCallback);
 	}
 
+	// Generate words with a checkpoint and return all words that were reported
+	private List<String> generateWithCheckpoint(PNProperties properties, SortedSet<Character> alphabet,
+			final List<Integer> lengthsDone) throws Exception {
+		return generateWithCheckpoint(properties, alphabet, true, lengthsDone);
+	}
+
+	private List<String> generateWithCheckpoint(PNProperties properties, SortedSet<Character> alphabet,
+			boolean quickFail, final List<Integer> lengthsDone) throws Exception {
+		final List<String> words = new ArrayList<>();
+		FindWords.WordCallback wordCallback = new FindWords.WordCallback() {
+			@Override
+			public void call(List<Character> wordAsList, String wordAsString, SynthesizePN synthesize) {
+				words.add(wordAsString);
+			}
+		};
+		FindWords.LengthDoneCallback lengthDoneCallback = new FindWords.LengthDoneCallback() {
+			@Override
+			public void call(int length) {
+				lengthsDone.add(length);
+			}
+		};
+		FindWords.generateList(properties, alphabet, quickFail, wordCallback, lengthDoneCallback, directory);
+		return words;
+	}
+
+	@Test
+	public void testCheckpointResume() throws Exception {
+		PNProperties properties = new PNProperties().requireSafe();
+		SortedSet<Character> alphabet = new TreeSet<>(Arrays.asList('a', 'b', 'c'));
+		List<Integer> lengthsDone = new ArrayList<>();
+		List<String> allWords = generateWithCheckpoint(properties, alphabet, lengthsDone);
+		assertThat(lengthsDone, contains(1, 2, 3, 4, 5, 6, 7, 8));
+		// No temporary files are left behind
+		assertThat(directory.list(), arrayWithSize(8));
+
+		// Everything is done, so nothing is reported again
+		lengthsDone.clear();
+		assertThat(generateWithCheckpoint(properties, alphabet, lengthsDone), empty());
+		assertThat(lengthsDone, empty());
+
+		// Simulate a run that was interrupted while writing the third result for length 5
+		File file = new File(directory, "words-5.txt");
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertThat(lines.size(), greaterThan(3));
+		FileUtils.writeStringToFile(file, lines.get(0) + "\n" + lines.get(1) + "\n" + lines.get(2) + "\nsolv",
+				"UTF-8");
+		for (int length = 6; length <= 8; length++)
+			assertThat(new File(directory, "words-" + length + ".txt").delete(), is(true));
+
+		List<String> expected = new ArrayList<>();
+		for (String word : allWords)
+			if (word.length() >= 5)
+				expected.add(word);
+		expected.remove(lines.get(1).substring(lines.get(1).indexOf(' ') + 1));
+		expected.remove(lines.get(2).substring(lines.get(2).indexOf(' ') + 1));
+		assertThat(expected, hasSize(allWords.size() - 2 - wordsShorterThan(allWords, 5)));
+
+		lengthsDone.clear();
+		assertThat(generateWithCheckpoint(properties, alphabet, lengthsDone),
+				containsInAnyOrder(expected.toArray()));
+		assertThat(lengthsDone, contains(5, 6, 7, 8));
+	}
+
+	@Test
+	public void testCheckpointTruncatedInWord() throws Exception {
+		PNProperties properties = new PNProperties().requireSafe();
+		SortedSet<Character> alphabet = new TreeSet<>(Arrays.asList('a', 'b'));
+		List<String> allWords = generateWithCheckpoint(properties, alphabet, new ArrayList<Integer>());
+
+		// Simulate a run that was interrupted while writing the last letter of the second result for length 3
+		File file = new File(directory, "words-3.txt");
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertThat(lines.size(), greaterThan(2));
+		String truncated = lines.get(2).substring(0, lines.get(2).length() - 1);
+		FileUtils.writeStringToFile(file, lines.get(0) + "\n" + lines.get(1) + "\n" + truncated, "UTF-8");
+
+		FindWordsCheckpoint checkpoint = new FindWordsCheckpoint(directory, properties, alphabet, true);
+		FindWordsCheckpoint.Level level = checkpoint.load(3);
+		String firstWord = lines.get(1).substring(lines.get(1).indexOf(' ') + 1);
+		assertThat(level.isComplete(), is(false));
+		assertThat(level.getResults().keySet(), contains(firstWord));
+
+		// The truncated word is checked again
+		int length = 4;
+		while (new File(directory, "words-" + length + ".txt").delete())
+			length++;
+		List<String> expected = new ArrayList<>();
+		for (String word : allWords)
+			if (word.length() >= 3)
+				expected.add(word);
+		expected.remove(firstWord);
+		assertThat(generateWithCheckpoint(properties, alphabet, new ArrayList<Integer>()),
+				containsInAnyOrder(expected.toArray()));
+	}
+
+	static private int wordsShorterThan(List<String> words, int length) {
+		int result = 0;
+		for (String word : words)
+			if (word.length() < length)
+				result++;
+		return result;
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void testCheckpointForDifferentProperties() throws Exception {
+		SortedSet<Character> alphabet = new TreeSet<>(Arrays.asList('a', 'b'));
+		generateWithCheckpoint(new PNProperties().requireSafe(), alphabet, new ArrayList<Integer>());
+		generateWithCheckpoint(new PNProperties().requireSafe().setPure(true), alphabet,
+				new ArrayList<Integer>());
+	}
+
+	@Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = ".*different operation.*")
+	public void testCheckpointForDifferentOperation() throws Exception {
+		PNProperties properties = new PNProperties().requireSafe();
+		SortedSet<Character> alphabet = new TreeSet<>(Arrays.asList('a', 'b'));
+		generateWithCheckpoint(properties, alphabet, true, new ArrayList<Integer>());
+		generateWithCheckpoint(properties, alphabet, false, new ArrayList<Integer>());
+	}
+
+	@Test
+	public void testRegionHintsKeepKMarking() throws Exception {
+		// Regions of shorter words are offered to longer words and must still satisfy k-marking there
+		final BigInteger k = BigInteger.valueOf(2);
+		PNProperties properties = new PNProperties().requireKBounded(4).requireKMarking(2);
+		SortedSet<Character> alphabet = new TreeSet<>(Arrays.asList('a', 'b'));
+		final int[] solvable = { 0 };
+		FindWords.WordCallback wordCallback = new FindWords.WordCallback() {
+			@Override
+			public void call(List<Character> wordAsList, String wordAsString, SynthesizePN synthesize) {
+				if (!synthesize.wasSuccessfullySeparated())
+					return;
+				solvable[0]++;
+				for (Region region : synthesize.getSeparatingRegions())
+					assertThat(region.toString(), region.getInitialMarking().mod(k),
+							equalTo(BigInteger.ZERO));
+			}
+		};
+		FindWords.LengthDoneCallback lengthDoneCallback = new FindWords.LengthDoneCallback() {
+			@Override
+			public void call(int length) {
+				if (length == 6)
+					throw new TestDoneException();
+			}
+		};
+		try {
+			FindWords.generateList(properties, alphabet, false, wordCallback, lengthDoneCallback);
+		} catch (TestDoneException e) {
+			// Expected
+		}
+		assertThat(solvable[0], greaterThan(5));
+	}
+
 	@Test(expectedExceptions = PreconditionFailedException.class)
 	public void testUnsupportedProperties() throws Exception {
 		PNProperties properties = new PNProperties().setPlain(true).requireKMarking(2);
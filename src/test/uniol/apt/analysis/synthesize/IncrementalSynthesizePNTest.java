@@ -0,0 +1,176 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.processmining.CreateLTS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class IncrementalSynthesizePNTest {
+	// s0 -a-> s1
+	static private TransitionSystem getSingleArcTS() {
+		TransitionSystem ts = new TransitionSystem();
+		ts.createStates("s0", "s1");
+		ts.setInitialState("s0");
+		ts.createArc("s0", "s1", "a");
+		return ts;
+	}
+
+	// s0 -a-> s1 -a-> s2
+	static private TransitionSystem getTwoArcsTS() {
+		TransitionSystem ts = getSingleArcTS();
+		ts.createState("s2");
+		ts.createArc("s1", "s2", "a");
+		return ts;
+	}
+
+	// A region on the given transition system which has weight -1 on event a
+	static private Region getConsumingRegion(TransitionSystem ts, int initialMarking) {
+		RegionUtility utility = new RegionUtility(ts);
+		return Region.Builder.createPure(utility, Collections.singletonList(BigInteger.ONE.negate()))
+			.withInitialMarking(BigInteger.valueOf(initialMarking));
+	}
+
+	@Test
+	public void testValidRegionIsKept() {
+		RegionUtility utility = new RegionUtility(getTwoArcsTS());
+		Region region = getConsumingRegion(getSingleArcTS(), 2);
+		Region copy = IncrementalSynthesizePN.carryOverRegion(utility, region, new PNProperties());
+
+		assertThat(copy.getRegionUtility(), sameInstance(utility));
+		assertThat(copy.getInitialMarking(), equalTo(BigInteger.valueOf(2)));
+		assertThat(copy.getWeight("a"), equalTo(BigInteger.ONE.negate()));
+	}
+
+	@Test
+	public void testPreventedArcIsRepaired() {
+		RegionUtility utility = new RegionUtility(getTwoArcsTS());
+		Region region = getConsumingRegion(getSingleArcTS(), 1);
+		Region copy = IncrementalSynthesizePN.carryOverRegion(utility, region, new PNProperties());
+
+		assertThat(copy.getInitialMarking(), equalTo(BigInteger.valueOf(2)));
+		assertThat(copy.getWeight("a"), equalTo(BigInteger.ONE.negate()));
+		assertThat(copy.findPreventedArc(), nullValue());
+	}
+
+	@Test
+	public void testRepairKeepsKMarking() {
+		RegionUtility utility = new RegionUtility(getTwoArcsTS());
+		Region region = getConsumingRegion(getSingleArcTS(), 0);
+		Region copy = IncrementalSynthesizePN.carryOverRegion(utility, region,
+				new PNProperties().requireKMarking(3));
+
+		assertThat(copy.getInitialMarking(), equalTo(BigInteger.valueOf(3)));
+	}
+
+	@Test
+	public void testRepairRespectsKBounded() {
+		RegionUtility utility = new RegionUtility(getTwoArcsTS());
+		Region region = getConsumingRegion(getSingleArcTS(), 1);
+
+		assertThat(IncrementalSynthesizePN.carryOverRegion(utility, region,
+					new PNProperties().requireKBounded(1)), nullValue());
+		assertThat(IncrementalSynthesizePN.carryOverRegion(utility, region,
+					new PNProperties().requireKBounded(2)), not(nullValue()));
+	}
+
+	@Test
+	public void testWrongEffectIsDropped() {
+		TransitionSystem ts = getSingleArcTS();
+		ts.createArc("s1", "s0", "a");
+		RegionUtility utility = new RegionUtility(ts);
+		Region region = getConsumingRegion(getSingleArcTS(), 1);
+
+		assertThat(IncrementalSynthesizePN.carryOverRegion(utility, region, new PNProperties()), nullValue());
+	}
+
+	@Test
+	public void testMissingEventIsDropped() {
+		TransitionSystem ts = new TransitionSystem();
+		ts.createStates("s0", "s1");
+		ts.setInitialState("s0");
+		ts.createArc("s0", "s1", "b");
+		RegionUtility utility = new RegionUtility(ts);
+		Region region = getConsumingRegion(getSingleArcTS(), 1);
+
+		assertThat(IncrementalSynthesizePN.carryOverRegion(utility, region, new PNProperties()), nullValue());
+	}
+
+	@Test
+	public void testBehaviouralPropertiesAreNotCarriedOver() {
+		RegionUtility utility = new RegionUtility(getTwoArcsTS());
+		Region region = getConsumingRegion(getSingleArcTS(), 2);
+
+		assertThat(IncrementalSynthesizePN.carryOverRegion(utility, region,
+					new PNProperties().setBehaviourallyConflictFree(true)), nullValue());
+	}
+
+	@DataProvider(name = "properties")
+	private Object[][] properties() {
+		return new Object[][] {
+			{ new PNProperties(), false },
+			{ new PNProperties().setPure(true), false },
+			{ new PNProperties().setPlain(true), false },
+			{ new PNProperties().requireKBounded(2), false },
+			{ new PNProperties(), true },
+		};
+	}
+
+	@Test(dataProvider = "properties")
+	public void testAgreesWithSynthesisFromScratch(PNProperties properties, boolean languageEquivalence)
+			throws Exception {
+		List<List<String>> words = Arrays.asList(
+				Arrays.asList("a", "b"),
+				Arrays.asList("b", "a"),
+				Arrays.asList("a", "b", "c"),
+				Arrays.asList("c", "a"),
+				Arrays.asList("a", "a"),
+				Arrays.asList("b", "c", "b"));
+		CreateLTS create = new CreateLTS();
+		IncrementalSynthesizePN incremental = new IncrementalSynthesizePN(properties, languageEquivalence);
+		for (List<String> word : words) {
+			create.addWord(word);
+			TransitionSystem ts = create.getTransitionSystem();
+			SynthesizePN result = incremental.synthesize(ts);
+			SynthesizePN.Builder builder = languageEquivalence
+				? SynthesizePN.Builder.createForLanguageEquivalence(ts)
+				: SynthesizePN.Builder.createForIsomorphicBehaviour(ts);
+			SynthesizePN expected = builder.setProperties(properties).build();
+
+			assertThat(word.toString(), result.wasSuccessfullySeparated(),
+					equalTo(expected.wasSuccessfullySeparated()));
+			assertThat(incremental.getRegions(), everyItem(isIn(result.getSeparatingRegions())));
+			for (Region region : result.getSeparatingRegions())
+				region.checkValidRegion();
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
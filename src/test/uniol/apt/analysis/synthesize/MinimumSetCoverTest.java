@@ -0,0 +1,139 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class MinimumSetCoverTest {
+	static private BitSet bits(int... indices) {
+		BitSet result = new BitSet();
+		for (int index : indices)
+			result.set(index);
+		return result;
+	}
+
+	// Candidates 0 and 1 form the minimal cover, but candidate 2 covers the most elements
+	static private MinimumSetCover getGreedyTrap() {
+		MinimumSetCover cover = new MinimumSetCover(3);
+		cover.addElement(bits(0, 2));
+		cover.addElement(bits(0, 2));
+		cover.addElement(bits(0));
+		cover.addElement(bits(1, 2));
+		cover.addElement(bits(1, 2));
+		cover.addElement(bits(1));
+		return cover;
+	}
+
+	@Test
+	public void testEmpty() {
+		MinimumSetCover cover = new MinimumSetCover(2);
+		for (MinimumSetCover.Strategy strategy : MinimumSetCover.Strategy.values())
+			assertThat(cover.solve(strategy), equalTo(new BitSet()));
+		assertThat(cover.getLowerBound(), equalTo(0));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testUncoverableElement() {
+		new MinimumSetCover(2).addElement(new BitSet());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testUnknownCandidate() {
+		new MinimumSetCover(2).addElement(bits(2));
+	}
+
+	@Test
+	public void testRedundantCandidatesAreRemoved() {
+		MinimumSetCover cover = getGreedyTrap();
+		for (MinimumSetCover.Strategy strategy : MinimumSetCover.Strategy.values())
+			assertThat(strategy.toString(), cover.solve(strategy), equalTo(bits(0, 1)));
+		assertThat(cover.getLowerBound(), equalTo(2));
+	}
+
+	// Candidates 0 and 1 cover the top and bottom row of elements. Candidates 2, 3 and 4 cover a column each, with the
+	// first column being the largest. The greedy strategy only picks the columns.
+	static private MinimumSetCover getRowsAndColumns() {
+		MinimumSetCover cover = new MinimumSetCover(5);
+		int[] columns = { 2, 2, 2, 2, 3, 3, 4 };
+		for (int row = 0; row < 2; row++)
+			for (int column : columns)
+				cover.addElement(bits(row, column));
+		return cover;
+	}
+
+	@Test
+	public void testGreedyIsNotMinimal() {
+		MinimumSetCover cover = getRowsAndColumns();
+		assertThat(cover.solveGreedy(), equalTo(bits(2, 3, 4)));
+		assertThat(cover.solve(MinimumSetCover.Strategy.BRANCH_AND_BOUND), equalTo(bits(0, 1)));
+		assertThat(cover.solve(MinimumSetCover.Strategy.SAT), equalTo(bits(0, 1)));
+	}
+
+	@Test
+	public void testNodeLimit() {
+		MinimumSetCover cover = getRowsAndColumns();
+		assertThat(cover.solveBranchAndBound(0), equalTo(bits(2, 3, 4)));
+	}
+
+	@Test
+	public void testRandomInstances() {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			int numberOfCandidates = 1 + random.nextInt(10);
+			int numberOfElements = random.nextInt(20);
+			MinimumSetCover cover = new MinimumSetCover(numberOfCandidates);
+			for (int element = 0; element < numberOfElements; element++) {
+				BitSet candidates = new BitSet();
+				candidates.set(random.nextInt(numberOfCandidates));
+				for (int candidate = 0; candidate < numberOfCandidates; candidate++)
+					if (random.nextInt(4) == 0)
+						candidates.set(candidate);
+				cover.addElement(candidates);
+			}
+
+			// Brute force the minimal size
+			int minimum = Integer.MAX_VALUE;
+			for (long mask = 0; mask < (1L << numberOfCandidates); mask++) {
+				BitSet candidates = BitSet.valueOf(new long[] { mask });
+				if (cover.covers(candidates))
+					minimum = Math.min(minimum, candidates.cardinality());
+			}
+
+			BitSet greedy = cover.solve(MinimumSetCover.Strategy.GREEDY);
+			BitSet exact = cover.solve(MinimumSetCover.Strategy.BRANCH_AND_BOUND);
+			BitSet sat = cover.solve(MinimumSetCover.Strategy.SAT);
+			assertThat(cover.covers(greedy), is(true));
+			assertThat(cover.covers(exact), is(true));
+			assertThat(cover.covers(sat), is(true));
+			assertThat(greedy.cardinality(), greaterThanOrEqualTo(minimum));
+			assertThat(exact.cardinality(), equalTo(minimum));
+			assertThat(sat.cardinality(), equalTo(minimum));
+			assertThat(cover.getLowerBound(), lessThanOrEqualTo(minimum));
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,255 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.synthesize;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uniol.apt.TestTSCollection;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.synthesize.separation.SeparationUtility;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RegionMarkingIndexTest {
+	@DataProvider(name = "transitionSystems")
+	private Object[][] transitionSystems() {
+		return new Object[][] {
+			{ TestTSCollection.getSingleStateTS() },
+			{ TestTSCollection.getPersistentTS() },
+			{ TestTSCollection.getNonPersistentTS() },
+			{ TestTSCollection.getReversibleTS() },
+			{ TestTSCollection.getDifferentCyclesTS() },
+			{ TestTSCollection.getPathTS() },
+			{ TestTSCollection.getTwoBThreeATS() },
+			{ TestTSCollection.getNotTotallyReachableTS() },
+		};
+	}
+
+	@Test(dataProvider = "transitionSystems")
+	public void testAgreesWithRegions(TransitionSystem ts) {
+		RegionUtility utility = new RegionUtility(ts);
+		List<Region> basis = utility.getRegionBasis();
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+
+		for (Region region : basis) {
+			for (State state : ts.getNodes()) {
+				for (String event : ts.getAlphabet())
+					assertThat(index.isSeparatingRegion(region, state, event), equalTo(
+								SeparationUtility.isSeparatingRegion(region, state, event)));
+				for (State otherState : ts.getNodes())
+					assertThat(index.isSeparatingRegion(region, state, otherState),
+							equalTo(SeparationUtility.isSeparatingRegion(region, state,
+									otherState)));
+			}
+		}
+	}
+
+	@Test(dataProvider = "transitionSystems")
+	public void testFindSeparatingRegion(TransitionSystem ts) {
+		RegionUtility utility = new RegionUtility(ts);
+		List<Region> basis = utility.getRegionBasis();
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		assertThat(index.getUnseparatedStates(), equalTo(ts.getNodes()));
+
+		for (Region added : basis) {
+			assertThat(index.addRegion(added), is(true));
+			assertThat(index.addRegion(added), is(false));
+			List<Region> regions = index.getRegions();
+
+			for (State state : ts.getNodes()) {
+				for (String event : ts.getAlphabet()) {
+					Region found = index.findSeparatingRegion(state, event);
+					boolean expected = false;
+					for (Region region : regions)
+						expected |= SeparationUtility.isSeparatingRegion(region, state, event);
+					assertThat(found != null, equalTo(expected));
+					if (found != null)
+						assertThat(SeparationUtility.isSeparatingRegion(found, state, event),
+								is(true));
+				}
+				for (State otherState : ts.getNodes()) {
+					Region found = index.findSeparatingRegion(state, otherState);
+					boolean expected = false;
+					for (Region region : regions)
+						expected |= SeparationUtility.isSeparatingRegion(region, state,
+								otherState);
+					assertThat(found != null, equalTo(expected));
+					if (found != null)
+						assertThat(SeparationUtility.isSeparatingRegion(found, state,
+									otherState), is(true));
+				}
+			}
+			assertThat(index.getUnseparatedStates(), equalTo(calculateUnseparatedStates(ts, regions)));
+			Set<State> inClasses = new HashSet<>();
+			for (List<State> family : index.getUnseparatedClasses()) {
+				assertThat(family, hasSize(greaterThan(1)));
+				inClasses.addAll(family);
+				// With unreachable states, all states form a single class
+				if (!utility.getSpanningTree().isTotallyReachable())
+					continue;
+				for (State state : family)
+					for (State otherState : family)
+						assertThat(index.isSeparated(state, otherState), is(false));
+			}
+			assertThat(inClasses, equalTo(index.getUnseparatedStates()));
+		}
+	}
+
+	static private Set<State> calculateUnseparatedStates(TransitionSystem ts, List<Region> regions) {
+		Set<State> result = new HashSet<>();
+		for (State state : ts.getNodes()) {
+			for (State otherState : ts.getNodes()) {
+				if (state == otherState)
+					continue;
+				boolean separated = false;
+				for (Region region : regions)
+					separated |= SeparationUtility.isSeparatingRegion(region, state, otherState);
+				if (!separated)
+					result.add(state);
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void testUnseparatedClasses() {
+		TransitionSystem ts = TestTSCollection.getPersistentTS();
+		RegionUtility utility = new RegionUtility(ts);
+		assertThat(utility.getEventList(), contains("a", "b"));
+		State s0 = ts.getNode("s0");
+		State l = ts.getNode("l");
+		State r = ts.getNode("r");
+		State s1 = ts.getNode("s1");
+
+		// Without regions, all states are in one class
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		assertThat(index.getUnseparatedClasses(), contains(contains(l, r, s0, s1)));
+		assertThat(index.isSeparated(s0, s1), is(false));
+
+		// This region counts how often 'a' occurred
+		index.addRegion(Region.Builder.createPure(utility, Arrays.asList(BigInteger.ONE, BigInteger.ZERO))
+				.withInitialMarking(BigInteger.ZERO));
+		assertThat(index.getUnseparatedClasses(),
+				equalTo(Arrays.asList(Arrays.asList(l, s1), Arrays.asList(r, s0))));
+		assertThat(index.isSeparated(s0, s1), is(true));
+		assertThat(index.isSeparated(l, s1), is(false));
+		assertThat(index.getUnseparatedStates(Arrays.asList(l, r, s0)), containsInAnyOrder(r, s0));
+
+		// This region counts how often 'b' occurred
+		index.addRegion(Region.Builder.createPure(utility, Arrays.asList(BigInteger.ZERO, BigInteger.ONE))
+				.withInitialMarking(BigInteger.ZERO));
+		assertThat(index.getUnseparatedClasses(), empty());
+		assertThat(index.isSeparated(l, s1), is(true));
+	}
+
+	@Test
+	public void testSharedMarkings() {
+		TransitionSystem ts = TestTSCollection.getPersistentTS();
+		RegionUtility utility = new RegionUtility(ts);
+		Region region = utility.getRegionBasis().get(0);
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		index.addRegion(region);
+
+		RegionMarkingIndex other = new RegionMarkingIndex(index);
+		assertThat(other.getRegions(), empty());
+		assertThat(other.findSeparatingRegion(ts.getNode("s0"), ts.getNode("s1")), nullValue());
+		assertThat(other.addRegion(region), is(true));
+		assertThat(other.getRegions(), contains(region));
+	}
+
+	@Test
+	public void testRetainMarkings() {
+		TransitionSystem ts = TestTSCollection.getPersistentTS();
+		RegionUtility utility = new RegionUtility(ts);
+		List<Region> basis = utility.getRegionBasis();
+		Region added = basis.get(0);
+		Region other = basis.get(1);
+		State s0 = ts.getNode("s0");
+		State s1 = ts.getNode("s1");
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		index.addRegion(added);
+		boolean separates = index.isSeparatingRegion(other, s0, s1);
+
+		// Forgetting the markings must not change any answer
+		index.retainMarkings(Collections.<Region>emptySet());
+		assertThat(index.getRegions(), contains(added));
+		assertThat(index.isSeparatingRegion(other, s0, s1), is(separates));
+		assertThat(index.isSeparatingRegion(added, s0, s1), is(index.isSeparated(s0, s1)));
+	}
+
+	@Test
+	public void testHugeMarkings() {
+		TransitionSystem ts = TestTSCollection.getPersistentTS();
+		RegionUtility utility = new RegionUtility(ts);
+		assertThat(utility.getEventList(), contains("a", "b"));
+
+		// Both regions have markings and weights which do not fit into a long
+		BigInteger huge = BigInteger.ONE.shiftLeft(80);
+		Region regionA = Region.Builder.createPure(utility, Arrays.asList(huge.negate(), BigInteger.ZERO))
+			.withInitialMarking(huge.add(huge));
+		Region regionB = Region.Builder.createPure(utility, Arrays.asList(BigInteger.ZERO, huge.negate()))
+			.withInitialMarking(huge);
+		RegionMarkingIndex index = new RegionMarkingIndex(utility, Arrays.asList(regionA, regionB));
+
+		State s0 = ts.getNode("s0");
+		State l = ts.getNode("l");
+		State r = ts.getNode("r");
+		State s1 = ts.getNode("s1");
+		assertThat(index.findSeparatingRegion(s0, "a"), nullValue());
+		assertThat(index.findSeparatingRegion(r, "b"), sameInstance(regionB));
+		assertThat(index.findSeparatingRegion(s1, "b"), sameInstance(regionB));
+		assertThat(index.findSeparatingRegion(s0, l), sameInstance(regionA));
+		assertThat(index.findSeparatingRegion(l, s1), sameInstance(regionB));
+		assertThat(index.getUnseparatedStates(), empty());
+	}
+
+	@Test
+	public void testUnreachableState() {
+		TransitionSystem ts = TestTSCollection.getNotTotallyReachableTS();
+		RegionUtility utility = new RegionUtility(ts);
+		RegionMarkingIndex index = new RegionMarkingIndex(utility, utility.getRegionBasis());
+		State fail = ts.getNode("fail");
+
+		Set<State> expected = new HashSet<>(ts.getNodes());
+		assertThat(index.getUnseparatedStates(), equalTo(expected));
+		assertThat(index.findSeparatingRegion(fail, "a"), nullValue());
+		assertThat(index.findSeparatingRegion(fail, ts.getNode("s0")), nullValue());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testForeignState() {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		index.findSeparatingRegion(TestTSCollection.getPersistentTS().getNode("s0"), "a");
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
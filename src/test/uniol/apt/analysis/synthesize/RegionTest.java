@@ -520,6 +520,55 @@ public class RegionTest {
 		assertThat(region.getMarkingForState(ts.getNode("v")), equalTo(BigInteger.valueOf(1)));
 		assertThat(region.getMarkingForState(ts.getNode("w")), equalTo(BigInteger.valueOf(0)));
 	}
+	@Test
+	public void testGetMarkingForStateHugeWeights() throws UnreachableException {
+		TransitionSystem ts = TestTSCollection.getPathTS();
+		RegionUtility utility = new RegionUtility(ts);
+
+		int a = utility.getEventIndex("a");
+		int b = utility.getEventIndex("b");
+		int c = utility.getEventIndex("c");
+
+		// The weights do not fit into an int
+		BigInteger huge = BigInteger.ONE.shiftLeft(62);
+		List<BigInteger> backward = new ArrayList<>(makeVector(a, 0, b, 0, c, 0));
+		List<BigInteger> forward = new ArrayList<>(makeVector(a, 0, b, 0, c, 0));
+		forward.set(a, huge);
+		backward.set(c, huge);
+		Region region = new Region.Builder(utility, backward, forward)
+				.withInitialMarking(BigInteger.valueOf(5));
+
+		BigInteger five = BigInteger.valueOf(5);
+		assertThat(region.getMarkingForState(ts.getNode("s")), equalTo(five));
+		assertThat(region.getMarkingForState(ts.getNode("t")), equalTo(five.add(huge)));
+		assertThat(region.getMarkingForState(ts.getNode("u")), equalTo(five.add(huge)));
+		assertThat(region.getMarkingForState(ts.getNode("v")), equalTo(five));
+		assertThat(region.getMarkingForState(ts.getNode("w")), equalTo(five.add(huge)));
+		assertThat(region.findArcWithWrongEffect(), nullValue());
+	}
+
+	@Test
+	public void testGetMarkingForStateHugeInitialMarking() throws UnreachableException {
+		TransitionSystem ts = TestTSCollection.getPathTS();
+		RegionUtility utility = new RegionUtility(ts);
+
+		int a = utility.getEventIndex("a");
+		int b = utility.getEventIndex("b");
+		int c = utility.getEventIndex("c");
+
+		// The initial marking does not fit into a long
+		BigInteger huge = BigInteger.ONE.shiftLeft(70);
+		Region region = new Region.Builder(utility, makeVector(a, 0, b, 0, c, 1), makeVector(a, 3, b, 0, c, 0))
+				.withInitialMarking(huge);
+
+		assertThat(region.getMarkingForState(ts.getNode("s")), equalTo(huge));
+		assertThat(region.getMarkingForState(ts.getNode("t")), equalTo(huge.add(BigInteger.valueOf(3))));
+		assertThat(region.getMarkingForState(ts.getNode("u")), equalTo(huge.add(BigInteger.valueOf(3))));
+		assertThat(region.getMarkingForState(ts.getNode("v")), equalTo(huge.add(BigInteger.valueOf(2))));
+		assertThat(region.getMarkingForState(ts.getNode("w")), equalTo(huge.add(BigInteger.valueOf(5))));
+		assertThat(region.findArcWithWrongEffect(), nullValue());
+		assertThat(region.findPreventedArc(), nullValue());
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
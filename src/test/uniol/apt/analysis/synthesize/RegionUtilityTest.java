@@ -240,6 +240,37 @@ public class RegionUtilityTest {
 					pureRegionWithWeights(Arrays.asList("a", "b"), asBigIntegerList(1, 0)),
 					pureRegionWithWeights(Arrays.asList("a", "b"), asBigIntegerList(0, 1))));
 	}
+	@Test
+	public void testParikhVectorArray() throws UnreachableException {
+		TransitionSystem ts = TestTSCollection.getPathTS();
+		RegionUtility utility = new RegionUtility(ts);
+		int a = utility.getEventIndex("a");
+		int b = utility.getEventIndex("b");
+		int c = utility.getEventIndex("c");
+
+		int[] expected = new int[3];
+		expected[a] = 2;
+		expected[b] = 1;
+		expected[c] = 1;
+		assertThat(utility.getReachingParikhVectorArray(ts.getNode("w")), equalTo(expected));
+		assertThat(utility.getReachingParikhVector(ts.getNode("w")), parikhVector(a, 2, b, 1, c, 1));
+	}
+
+	@Test
+	public void testLongPath() throws UnreachableException {
+		// A long path must not need deep recursion
+		TransitionSystem ts = new TransitionSystem();
+		State state = ts.createState();
+		ts.setInitialState(state);
+		for (int i = 0; i < 100000; i++) {
+			State next = ts.createState();
+			ts.createArc(state, next, i % 3 == 0 ? "a" : "b");
+			state = next;
+		}
+
+		RegionUtility utility = new RegionUtility(ts);
+		assertThat(utility.getReachingParikhVector(state), parikhVector(0, 33334, 1, 66666));
+	}
 }
 
 // vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
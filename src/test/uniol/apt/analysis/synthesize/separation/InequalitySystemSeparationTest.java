@@ -25,6 +25,7 @@ import java.util.List;
 
 import uniol.apt.analysis.synthesize.PNProperties;
 import uniol.apt.analysis.synthesize.RegionUtility;
+import uniol.apt.TestTSCollection;
 import uniol.apt.adt.ts.TransitionSystem;
 
 import org.testng.annotations.Test;
@@ -36,9 +37,11 @@ import static org.hamcrest.Matchers.*;
 public class InequalitySystemSeparationTest {
 	static public class InequalitySystemSeparationFactory implements SeparationTestHelper.SeparationFactory {
 		private final PNProperties properties;
+		private final boolean overBasis;
 
-		public InequalitySystemSeparationFactory(PNProperties properties) {
+		public InequalitySystemSeparationFactory(PNProperties properties, boolean overBasis) {
 			this.properties = properties;
+			this.overBasis = overBasis;
 		}
 
 		@Override
@@ -53,40 +56,49 @@ public class InequalitySystemSeparationTest {
 
 		@Override
 		public Separation createSeparation(RegionUtility utility, PNProperties props, String[] locationMap) {
-			return new InequalitySystemSeparation(utility, props, locationMap);
+			return new InequalitySystemSeparation(utility, props, locationMap, overBasis);
 		}
 	}
 
 	@Factory
 	public Object[] factory() {
+		List<Object> tests = new ArrayList<>();
+		tests.addAll(factory(true));
+		tests.addAll(factory(false));
+		return tests.toArray(new Object[tests.size()]);
+	}
+
+	private List<Object> factory(boolean overBasis) {
 		List<Object> tests = new ArrayList<>();
 		PNProperties properties;
 
 		properties = new PNProperties();
 		tests.addAll(Arrays.asList(SeparationTestHelper.factory(
-						new InequalitySystemSeparationFactory(properties))));
+						new InequalitySystemSeparationFactory(properties, overBasis))));
 
 		properties = new PNProperties().setPure(true);
 		tests.addAll(Arrays.asList(SeparationTestHelper.factory(
-						new InequalitySystemSeparationFactory(properties))));
+						new InequalitySystemSeparationFactory(properties, overBasis))));
 
 		properties = new PNProperties().requireKBounded(19);
 		tests.addAll(Arrays.asList(SeparationTestHelper.factory(
-						new InequalitySystemSeparationFactory(properties))));
+						new InequalitySystemSeparationFactory(properties, overBasis))));
 
 		properties = new PNProperties().setConflictFree(true);
 		tests.addAll(Arrays.asList(SeparationTestHelper.factory(
-						new InequalitySystemSeparationFactory(properties), false, true, false)));
+						new InequalitySystemSeparationFactory(properties, overBasis),
+						false, true, false)));
 
 		properties = new PNProperties().setHomogeneous(true);
 		tests.addAll(Arrays.asList(SeparationTestHelper.factory(
-						new InequalitySystemSeparationFactory(properties))));
+						new InequalitySystemSeparationFactory(properties, overBasis))));
 
 		properties = new PNProperties().setMergeFree(true);
 		tests.addAll(Arrays.asList(SeparationTestHelper.factory(
-						new InequalitySystemSeparationFactory(properties), true, false, true)));
+						new InequalitySystemSeparationFactory(properties, overBasis),
+						true, false, true)));
 
-		return tests.toArray(new Object[tests.size()]);
+		return tests;
 	}
 
 	/**
@@ -103,6 +115,19 @@ public class InequalitySystemSeparationTest {
 		return ts;
 	}
 
+	@Test
+	public void testUseRegionBasis() {
+		// Cycles restrict the regions, so the basis is smaller than the number of events
+		RegionUtility utility = new RegionUtility(TestTSCollection.getReversibleTS());
+		assertThat(utility.getRegionBasis(), hasSize(lessThan(utility.getNumberOfEvents())));
+		assertThat(InequalitySystemSeparation.useRegionBasis(utility), is(true));
+
+		// Without cycles, every event's effect can be chosen freely
+		utility = new RegionUtility(TestTSCollection.getThreeStatesTwoEdgesTS());
+		assertThat(utility.getRegionBasis(), hasSize(utility.getNumberOfEvents()));
+		assertThat(InequalitySystemSeparation.useRegionBasis(utility), is(false));
+	}
+
 	@Test
 	public void testMergingTSMergeFree() {
 		TransitionSystem ts = getMergingTS();
@@ -0,0 +1,168 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize.separation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+import uniol.apt.TestTSCollection;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.synthesize.PNProperties;
+import uniol.apt.analysis.synthesize.Region;
+import uniol.apt.analysis.synthesize.RegionMarkingIndex;
+import uniol.apt.analysis.synthesize.RegionUtility;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class IntegerProgramSeparationTest {
+	static public class IntegerProgramSeparationFactory implements SeparationTestHelper.SeparationFactory {
+		private final PNProperties properties;
+
+		public IntegerProgramSeparationFactory(PNProperties properties) {
+			this.properties = properties;
+		}
+
+		@Override
+		public Separation createSeparation(RegionUtility utility, String[] locationMap) {
+			try {
+				return createSeparation(utility, properties, locationMap);
+			} catch (UnsupportedPNPropertiesException e) {
+				throw new AssertionError(e);
+			}
+		}
+
+		@Override
+		public boolean supportsImpure() {
+			return !properties.isPure();
+		}
+
+		@Override
+		public Separation createSeparation(RegionUtility utility, PNProperties props, String[] locationMap)
+				throws UnsupportedPNPropertiesException {
+			return new IntegerProgramSeparation(utility, props, locationMap);
+		}
+	}
+
+	@Factory
+	public Object[] factory() {
+		List<Object> tests = new ArrayList<>();
+		PNProperties[] allProperties = new PNProperties[] {
+			new PNProperties(),
+			new PNProperties().setPure(true),
+			new PNProperties().requireKBounded(19),
+			new PNProperties().requireKBounded(19).setPure(true),
+		};
+		for (PNProperties properties : allProperties)
+			tests.addAll(Arrays.asList(SeparationTestHelper.factory(
+							new IntegerProgramSeparationFactory(properties))));
+		return tests.toArray(new Object[tests.size()]);
+	}
+
+	@Test(expectedExceptions = UnsupportedPNPropertiesException.class)
+	public void testUnsupportedProperties() throws Exception {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		new IntegerProgramSeparation(utility, new PNProperties().setMarkedGraph(true),
+				new String[utility.getNumberOfEvents()]);
+	}
+
+	@DataProvider(name = "problems")
+	private Object[][] problems() {
+		TransitionSystem[] systems = new TransitionSystem[] {
+			TestTSCollection.getPersistentTS(),
+			TestTSCollection.getNonPersistentTS(),
+			TestTSCollection.getReversibleTS(),
+			TestTSCollection.getDifferentCyclesTS(),
+			TestTSCollection.getPathTS(),
+			TestTSCollection.getTwoBThreeATS(),
+			TestTSCollection.getACBCCLoopTS(),
+			TestTSCollection.getStateSeparationFailureTS(),
+		};
+		PNProperties[] allProperties = new PNProperties[] {
+			new PNProperties().setPlain(true),
+			new PNProperties().setPlain(true).setPure(true),
+			new PNProperties().requireKBounded(2),
+			new PNProperties().requireKBounded(1).setPure(true),
+		};
+		List<Object[]> result = new ArrayList<>();
+		for (TransitionSystem ts : systems)
+			for (PNProperties properties : allProperties)
+				result.add(new Object[] { ts, properties });
+		return result.toArray(new Object[result.size()][]);
+	}
+
+	@Test(dataProvider = "problems")
+	public void testAgreesWithInequalitySystemSeparation(TransitionSystem ts, PNProperties properties)
+			throws Exception {
+		RegionUtility utility = new RegionUtility(ts);
+		String[] locationMap = new String[utility.getNumberOfEvents()];
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		IntegerProgramSeparation separation = new IntegerProgramSeparation(utility, properties, locationMap);
+		InequalitySystemSeparation expected = new InequalitySystemSeparation(utility, properties, locationMap);
+		try {
+			for (State state : ts.getNodes()) {
+				for (String event : ts.getAlphabet()) {
+					if (!state.getPostsetNodesByLabel(event).isEmpty())
+						continue;
+					Region region = separation.calculateSeparatingRegion(state, event);
+					Region other = expected.calculateSeparatingRegion(state, event);
+					assertThat(state + ", " + event, region == null, equalTo(other == null));
+					if (region != null)
+						assertThat(index.isSeparatingRegion(region, state, event), is(true));
+				}
+				for (State otherState : ts.getNodes()) {
+					if (state.equals(otherState))
+						continue;
+					Region region = separation.calculateSeparatingRegion(state, otherState);
+					Region other = expected.calculateSeparatingRegion(state, otherState);
+					assertThat(state + ", " + otherState, region == null, equalTo(other == null));
+					if (region != null)
+						assertThat(index.isSeparatingRegion(region, state, otherState),
+								is(true));
+				}
+			}
+		} finally {
+			separation.close();
+			expected.close();
+		}
+	}
+
+	@Test
+	public void testIsPreferred() {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		assertThat(IntegerProgramSeparation.isPreferred(utility, new PNProperties().setPure(true)), is(true));
+		assertThat(IntegerProgramSeparation.isPreferred(utility, new PNProperties().requireKBounded(3)),
+				is(true));
+		assertThat(IntegerProgramSeparation.isPreferred(utility, new PNProperties().setConflictFree(true)),
+				is(false));
+
+		// 101 arcs and 51 events are too large
+		utility = new RegionUtility(TestTSCollection.getOverflowTS(50));
+		assertThat(IntegerProgramSeparation.isPreferred(utility, new PNProperties().setPure(true)), is(false));
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
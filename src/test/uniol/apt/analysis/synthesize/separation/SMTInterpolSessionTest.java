@@ -0,0 +1,150 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.analysis.synthesize.separation;
+
+import java.math.BigInteger;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+
+import uniol.apt.TestTSCollection;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.synthesize.PNProperties;
+import uniol.apt.analysis.synthesize.Region;
+import uniol.apt.analysis.synthesize.RegionMarkingIndex;
+import uniol.apt.analysis.synthesize.RegionUtility;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SMTInterpolSessionTest {
+	private final PNProperties properties = new PNProperties();
+
+	@BeforeMethod
+	public void clearPool() {
+		SMTInterpolSession.clearPool();
+	}
+
+	private String[] getLocationMap(RegionUtility utility) throws Exception {
+		return SeparationUtility.getLocationMap(utility, properties);
+	}
+
+	@Test
+	public void testSessionIsReused() throws Exception {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		String[] locationMap = getLocationMap(utility);
+
+		SMTInterpolHelper helper = new SMTInterpolHelper(utility, properties, locationMap);
+		Script script = helper.getScript();
+		helper.close();
+
+		helper = new SMTInterpolHelper(utility, properties, locationMap);
+		assertThat(helper.getScript(), sameInstance(script));
+		helper.close();
+	}
+
+	@Test
+	public void testDefinitionIsKept() throws Exception {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		String[] locationMap = getLocationMap(utility);
+		new SMTInterpolHelper(utility, properties, locationMap).close();
+
+		SMTInterpolSession session = SMTInterpolSession.acquire(utility, properties, locationMap, false);
+		assertThat(session.hasDefinition(utility, properties, locationMap, false), is(true));
+		assertThat(session.hasDefinition(utility, properties.setPure(true), locationMap, false), is(false));
+		assertThat(session.hasDefinition(utility, properties, locationMap, true), is(false));
+		assertThat(session.hasDefinition(new RegionUtility(utility.getTransitionSystem()), properties,
+					locationMap, false), is(false));
+		session.release();
+	}
+
+	@Test
+	public void testDefinitionIsReplaced() throws Exception {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		String[] locationMap = getLocationMap(utility);
+		new SMTInterpolHelper(utility, properties, locationMap).close();
+
+		SMTInterpolSession session = SMTInterpolSession.acquire(utility, properties.setPure(true), locationMap,
+				false);
+		assertThat(session.hasDefinition(utility, properties, locationMap, false), is(false));
+		session.release();
+	}
+
+	@Test
+	public void testCallerLevelIsRemoved() throws Exception {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		String[] locationMap = getLocationMap(utility);
+
+		for (int i = 0; i < 2; i++) {
+			SMTInterpolHelper helper = new SMTInterpolHelper(utility, properties, locationMap);
+			Script script = helper.getScript();
+			// This would fail if the declaration from the previous iteration were still present
+			script.declareFun("m0", new Sort[0], script.sort("Int"));
+			script.assertTerm(script.term("=", script.term("m0"), script.numeral(BigInteger.valueOf(i))));
+			assertThat(script.checkSat(), is(Script.LBool.SAT));
+			helper.close();
+		}
+	}
+
+	@Test
+	public void testCloseTwice() throws Exception {
+		RegionUtility utility = new RegionUtility(TestTSCollection.getPersistentTS());
+		SMTInterpolHelper helper = new SMTInterpolHelper(utility, properties, getLocationMap(utility));
+		helper.close();
+		helper.close();
+	}
+
+	private void checkSeparation(TransitionSystem ts) throws Exception {
+		RegionUtility utility = new RegionUtility(ts);
+		RegionMarkingIndex index = new RegionMarkingIndex(utility);
+		String[] locationMap = getLocationMap(utility);
+		InequalitySystemSeparation separation = new InequalitySystemSeparation(utility, properties,
+				locationMap);
+		try {
+			for (State state : ts.getNodes()) {
+				for (String event : ts.getAlphabet()) {
+					if (!state.getPostsetNodesByLabel(event).isEmpty())
+						continue;
+					Region region = separation.calculateSeparatingRegion(state, event);
+					assertThat(region, not(nullValue()));
+					assertThat(index.isSeparatingRegion(region, state, event), is(true));
+				}
+			}
+		} finally {
+			separation.close();
+		}
+	}
+
+	@Test
+	public void testWarmSessionsSolveOtherTransitionSystems() throws Exception {
+		// All these are solvable. The later ones reuse sessions which were used for the earlier ones.
+		for (int i = 0; i < 2; i++) {
+			checkSeparation(TestTSCollection.getPersistentTS());
+			checkSeparation(TestTSCollection.getReversibleTS());
+			checkSeparation(TestTSCollection.getPersistentTS());
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
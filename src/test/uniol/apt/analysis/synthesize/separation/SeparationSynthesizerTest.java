@@ -0,0 +1,137 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2012-2013  Members of the project group APT
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+
+package uniol.apt.analysis.synthesize.separation;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import uniol.apt.TestTSCollection;
+import uniol.apt.adt.ts.State;
+import uniol.apt.adt.ts.TransitionSystem;
+import uniol.apt.analysis.synthesize.PNProperties;
+import uniol.apt.analysis.synthesize.Region;
+import uniol.apt.analysis.synthesize.RegionUtility;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SeparationSynthesizerTest {
+	@DataProvider(name = "transitionSystems")
+	private Object[][] transitionSystems() {
+		return new Object[][] {
+			{ TestTSCollection.getSingleStateTS() },
+			{ TestTSCollection.getNonDeterministicTS() },
+			{ TestTSCollection.getPersistentTS() },
+			{ TestTSCollection.getNonPersistentTS() },
+			{ TestTSCollection.getReversibleTS() },
+			{ TestTSCollection.getDifferentCyclesTS() },
+			{ TestTSCollection.getPathTS() },
+			{ TestTSCollection.getTwoBThreeATS() },
+			{ TestTSCollection.getACBCCLoopTS() },
+			{ TestTSCollection.getStateSeparationFailureTS() },
+			{ TestTSCollection.getNonDisjointCyclesTS() },
+		};
+	}
+
+	private SeparationSynthesizer synthesize(TransitionSystem ts, int numberOfThreads, boolean quickFail)
+			throws Exception {
+		final PNProperties properties = new PNProperties().setPure(true);
+		RegionUtility utility = new RegionUtility(ts);
+		Separation separation = SeparationUtility.createSeparationInstance(utility, properties);
+		SeparationSynthesizer.SeparationFactory factory = new SeparationSynthesizer.SeparationFactory() {
+			@Override
+			public Separation createSeparation(RegionUtility workerUtility) {
+				try {
+					return SeparationUtility.createSeparationInstance(workerUtility, properties);
+				} catch (Exception e) {
+					throw new AssertionError(e);
+				}
+			}
+		};
+		return new SeparationSynthesizer(utility, separation, factory, numberOfThreads, false, quickFail,
+				null);
+	}
+
+	static private Set<String> toStrings(Collection<?> collection) {
+		Set<String> result = new HashSet<>();
+		for (Object object : collection)
+			result.add(object.toString());
+		return result;
+	}
+
+	@Test(dataProvider = "transitionSystems")
+	public void testParallelIsDeterministic(TransitionSystem ts) throws Exception {
+		SeparationSynthesizer two = synthesize(ts, 2, false);
+		SeparationSynthesizer four = synthesize(ts, 4, false);
+
+		// Each run uses its own region utility, so compare the textual representation of the regions
+		assertThat(toStrings(two.getSeparatingRegions()), equalTo(toStrings(four.getSeparatingRegions())));
+		assertThat(two.getUnsolvableEventStateSeparationProblems().toString(),
+				equalTo(four.getUnsolvableEventStateSeparationProblems().toString()));
+		assertThat(toStrings(two.getUnsolvableStateSeparationProblems()),
+				equalTo(toStrings(four.getUnsolvableStateSeparationProblems())));
+	}
+
+	@Test(dataProvider = "transitionSystems")
+	public void testParallelMatchesSequential(TransitionSystem ts) throws Exception {
+		PNProperties properties = new PNProperties().setPure(true);
+		RegionUtility utility = new RegionUtility(ts);
+		SeparationSynthesizer sequential = new SeparationSynthesizer(ts,
+				SeparationUtility.createSeparationInstance(utility, properties), false, false, null);
+		SeparationSynthesizer parallel = synthesize(ts, 3, false);
+		assertThat(toStrings(parallel.getSeparatingRegions()),
+				equalTo(toStrings(sequential.getSeparatingRegions())));
+
+		boolean sequentialSuccess = sequential.getUnsolvableEventStateSeparationProblems().isEmpty()
+			&& sequential.getUnsolvableStateSeparationProblems().isEmpty();
+		boolean parallelSuccess = parallel.getUnsolvableEventStateSeparationProblems().isEmpty()
+			&& parallel.getUnsolvableStateSeparationProblems().isEmpty();
+		assertThat(parallelSuccess, equalTo(sequentialSuccess));
+		assertThat(parallel.getUnsolvableEventStateSeparationProblems().toString(),
+				equalTo(sequential.getUnsolvableEventStateSeparationProblems().toString()));
+
+		// All regions must belong to the original transition system
+		for (Region region : parallel.getSeparatingRegions())
+			assertThat(region.getTransitionSystem(), sameInstance(ts));
+	}
+
+	@Test
+	public void testQuickFail() throws Exception {
+		TransitionSystem ts = TestTSCollection.getNonDeterministicTS();
+		SeparationSynthesizer result = synthesize(ts, 4, true);
+
+		int failures = result.getUnsolvableStateSeparationProblems().size();
+		for (Set<State> states : result.getUnsolvableEventStateSeparationProblems().values())
+			failures += states.size();
+		assertThat(failures, equalTo(1));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNoThreads() throws Exception {
+		synthesize(TestTSCollection.getSingleStateTS(), 0, false);
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120
@@ -0,0 +1,486 @@
+/*-
+ * APT - Analysis of Petri Nets and labeled Transition systems
+ * Copyright (C) 2014-2015  Uli Schlachter
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package uniol.apt.util.equations;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import uniol.apt.util.interrupt.Interrupter;
+import uniol.apt.util.interrupt.InterrupterRegistry;
+import uniol.apt.util.interrupt.UncheckedInterruptedException;
+
+import org.testng.annotations.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BranchAndBoundSolverTest {
+	static private BigInteger bi(long num) {
+		return BigInteger.valueOf(num);
+	}
+
+	@Test
+	public void testSimpleSystem0() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=", 1, 0, 1);
+		system.addInequality(0, ">=", -1, 0, -1);
+		system.addInequality(0, ">=", 0, 1, 1);
+		system.addInequality(0, ">=", 0, -1, -1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(x.add(z), is(bi(0)));
+		assertThat(y.add(z), is(bi(0)));
+	}
+
+	@Test
+	public void testSimpleSystem1() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=", 2, 1, 3);
+		system.addInequality(0, ">=", 1, 1, 2);
+		system.addInequality(0, ">=", 1, 2, 3);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(bi(2).multiply(x).add(bi(1).multiply(y)).add(bi(3).multiply(z)), lessThanOrEqualTo(bi(0)));
+		assertThat(bi(1).multiply(x).add(bi(1).multiply(y)).add(bi(2).multiply(z)), lessThanOrEqualTo(bi(0)));
+		assertThat(bi(1).multiply(x).add(bi(2).multiply(y)).add(bi(3).multiply(z)), lessThanOrEqualTo(bi(0)));
+	}
+
+	@Test
+	public void testSimpleSystem2() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(1, ">=", 2, 1, 3);
+		system.addInequality(2, ">=", 1, 1, 2);
+		system.addInequality(3, ">=", 1, 2, 3);
+		system.addInequality(4, ">=", 3, 3, 6);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(bi(2).multiply(x).add(bi(1).multiply(y)).add(bi(3).multiply(z)), lessThanOrEqualTo(bi(1)));
+		assertThat(bi(1).multiply(x).add(bi(1).multiply(y)).add(bi(2).multiply(z)), lessThanOrEqualTo(bi(2)));
+		assertThat(bi(1).multiply(x).add(bi(2).multiply(y)).add(bi(3).multiply(z)), lessThanOrEqualTo(bi(3)));
+		assertThat(bi(3).multiply(x).add(bi(3).multiply(y)).add(bi(6).multiply(z)), lessThanOrEqualTo(bi(4)));
+	}
+
+	@Test
+	public void testSimpleSystem3() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=", 1, 2);
+		system.addInequality(0, ">=", 0, 1, 1);
+		system.addInequality(0, ">=", 1, 0, 1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(bi(1).multiply(x).add(bi(2).multiply(y)).add(bi(0).multiply(z)), lessThanOrEqualTo(bi(0)));
+		assertThat(bi(0).multiply(x).add(bi(1).multiply(y)).add(bi(1).multiply(z)), lessThanOrEqualTo(bi(0)));
+		assertThat(bi(1).multiply(x).add(bi(0).multiply(y)).add(bi(1).multiply(z)), lessThanOrEqualTo(bi(0)));
+	}
+
+	@Test
+	public void testSimpleSystem4() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(10, ">=", 4, 2, 6);
+		system.addInequality(10, ">=", 2, 2, 4);
+		system.addInequality(10, ">=", 2, 4, 6);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(bi(4).multiply(x).add(bi(2).multiply(y)).add(bi(6).multiply(z)), lessThanOrEqualTo(bi(10)));
+		assertThat(bi(2).multiply(x).add(bi(2).multiply(y)).add(bi(4).multiply(z)), lessThanOrEqualTo(bi(10)));
+		assertThat(bi(2).multiply(x).add(bi(4).multiply(y)).add(bi(6).multiply(z)), lessThanOrEqualTo(bi(10)));
+	}
+
+	@Test
+	public void testSimpleSystem5() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=", 4, 2, 5);
+		system.addInequality(0, ">=", 2, 2, 4);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(bi(4).multiply(x).add(bi(2).multiply(y)).add(bi(5).multiply(z)), lessThanOrEqualTo(bi(0)));
+		assertThat(bi(2).multiply(x).add(bi(2).multiply(y)).add(bi(4).multiply(z)), lessThanOrEqualTo(bi(0)));
+	}
+
+	@Test
+	public void testSimpleSystem6() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=", 0, 0);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(2));
+	}
+
+	@Test
+	public void testSimpleSystem7() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=", 0, 42);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(2));
+		BigInteger y = solution.get(1);
+		assertThat(y, lessThanOrEqualTo(bi(0)));
+	}
+
+	@Test
+	public void testSimpleSystem8() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(2, ">", 1, 1);
+		system.addInequality(1, "<=", 1, 1);
+		system.addInequality(1, "<", 1, 0, 1);
+		system.addInequality(1, "=", 0, 0, 1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(3));
+		BigInteger x = solution.get(0), y = solution.get(1), z = solution.get(2);
+		assertThat(x.add(y), is(bi(1)));
+		assertThat(x.add(z), greaterThan(bi(1)));
+		assertThat(z, is(bi(1)));
+	}
+
+	@Test
+	public void testSimpleSystemWithInequality0() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, "!=", 1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(1));
+		BigInteger x = solution.get(0);
+		assertThat(x, is(not(bi(0))));
+	}
+
+	@Test
+	public void testSimpleSystemWithInequality1() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(41, "<", 1);
+		system.addInequality(43, ">", 1);
+		system.addInequality(42, "!=", 1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, empty());
+	}
+
+	@Test
+	public void testEmptySystem1() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, ">=");
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, empty());
+	}
+
+	@Test
+	public void testEmptySystem2() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, empty());
+	}
+
+	@Test
+	public void testLotsOfTrivialInequalities() throws Exception {
+		InequalitySystem system = new InequalitySystem();
+		for (int i = 1; i <= 300; i++)
+			system.addInequality(-1, ">=", i);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(1));
+		BigInteger x = solution.get(0);
+		assertThat(x, lessThanOrEqualTo(bi(-1)));
+	}
+
+	@Test
+	public void testSystemWithIncorrectSolution() throws Exception {
+		// The following system was created while synthesizing the word b(ab^20)^10b. The solution found
+		// was x = (20, 0) which violates the first inequality: 0 > 1*x[1]. A correct solution is, for
+		// example, (201, -10) or (21, -1)
+		InequalitySystem system = new InequalitySystem();
+
+		system.addInequality(0, ">", 0, 1);
+		for (int i = 0; i < 200; i++)
+			system.addInequality(0, ">", -1 - (i / 20), -i);
+		system.addInequality(0, ">", -10, -200);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(2));
+
+		BigInteger x = solution.get(0), y = solution.get(1);
+		assertThat(x, greaterThan(bi(-20).multiply(y)));
+		assertThat(y, lessThan(bi(0)));
+		assertThat(system.fulfilledBy(solution), is(true));
+	}
+
+	@Test
+	public void testAnyOf() throws Exception {
+		InequalitySystem[] required = new InequalitySystem[] { new InequalitySystem() };
+		required[0].addInequality(42, "=", 1);
+
+		InequalitySystem[] anyOf = new InequalitySystem[] {
+			new InequalitySystem(), new InequalitySystem()
+		};
+		anyOf[0].addInequality(21, "=", 1);
+		anyOf[1].addInequality(21, "=", 1, -1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver()
+			.assertDisjunction(required)
+			.assertDisjunction(anyOf)
+			.findSolution();
+		assertThat(solution, hasSize(2));
+
+		BigInteger x = solution.get(0), y = solution.get(1);
+		assertThat(x, equalTo(bi(42)));
+		assertThat(y, equalTo(bi(21)));
+		assertThat(required[0].fulfilledBy(solution), is(true));
+		assertThat(anyOf[0].fulfilledBy(solution), is(false));
+		assertThat(anyOf[1].fulfilledBy(solution), is(true));
+	}
+
+	@Test
+	public void testAnyOfUnsat() throws Exception {
+		// x[0] is either 10 or 20
+		InequalitySystem[] first = new InequalitySystem[] {
+			new InequalitySystem(), new InequalitySystem()
+		};
+		first[0].addInequality(10, "=", 1);
+		first[1].addInequality(20, "=", 1);
+
+		// 0 = x[0] + x[1] or 0 = x[0] - x[1]
+		InequalitySystem[] second = new InequalitySystem[] {
+			new InequalitySystem(), new InequalitySystem()
+		};
+		second[0].addInequality(0, "=", 1, 1);
+		second[1].addInequality(0, "=", 1, -1);
+
+		// x[1] is either 1 or 2
+		InequalitySystem[] third = new InequalitySystem[] {
+			new InequalitySystem(), new InequalitySystem()
+		};
+		third[0].addInequality(1, "=", 0, 1);
+		third[1].addInequality(2, "=", 0, 1);
+
+		List<BigInteger> solution = new BranchAndBoundSolver()
+			.assertDisjunction(first)
+			.assertDisjunction(second)
+			.assertDisjunction(third)
+			.findSolution();
+		assertThat(solution, empty());
+	}
+
+	@Test
+	public void testAnyOfEmpty() throws Exception {
+		InequalitySystem[] required = new InequalitySystem[] { new InequalitySystem() };
+		required[0].addInequality(42, "=", 1);
+
+		InequalitySystem[] empty = new InequalitySystem[0];
+
+		List<BigInteger> solution = new BranchAndBoundSolver()
+			.assertDisjunction(empty)
+			.assertDisjunction(required)
+			.assertDisjunction(empty)
+			.findSolution();
+		assertThat(solution, hasSize(1));
+
+		BigInteger x = solution.get(0);
+		assertThat(x, equalTo(bi(42)));
+	}
+
+	@Test
+	public void testAnyOfEmpty2() throws Exception {
+		InequalitySystem[] required = new InequalitySystem[] { new InequalitySystem(), new InequalitySystem() };
+		required[0].addInequality(42, "=", 1);
+
+		InequalitySystem[] empty = new InequalitySystem[0];
+
+		List<BigInteger> solution = new BranchAndBoundSolver()
+			.assertDisjunction(empty)
+			.assertDisjunction(required)
+			.assertDisjunction(empty)
+			.findSolution();
+		assertThat(solution, hasSize(1));
+
+		BigInteger x = solution.get(0);
+		assertThat(x, equalTo(bi(42)));
+	}
+
+	@Test
+	public void testPushPop() throws Exception {
+		BranchAndBoundSolver solver = new BranchAndBoundSolver();
+
+		// x[0] is 42
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(42, "=", 1);
+		solver.assertDisjunction(system);
+		assertThat(solver.findSolution(), contains(bi(42)));
+
+		solver.push();
+
+		// x[0] == -x[1]
+		system = new InequalitySystem();
+		system.addInequality(0, "=", 1, 1);
+		solver.assertDisjunction(system);
+		assertThat(solver.findSolution(), contains(bi(42), bi(-42)));
+
+		solver.pop();
+
+		// x[0] == 2*x[1]
+		system = new InequalitySystem();
+		system.addInequality(0, "=", 2, -1);
+		solver.assertDisjunction(system);
+		assertThat(solver.findSolution(), contains(bi(42), bi(84)));
+	}
+
+	@Test(expectedExceptions = UncheckedInterruptedException.class)
+	public void testInterruption() throws Exception {
+		InterrupterRegistry.setCurrentThreadInterrupter(new Interrupter() {
+			@Override
+			public boolean isInterruptRequested() {
+				return true;
+			}
+		});
+		try {
+			InequalitySystem system = new InequalitySystem();
+			system.addInequality(0, ">=", 0, 0);
+
+			new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+			throw new AssertionError("This line should be unreachable");
+		} finally {
+			InterrupterRegistry.clearCurrentThreadInterrupter();
+		}
+	}
+	@Test
+	public void testScaledSolution() throws Exception {
+		// 2*x = 3*y and x > 0 only has solutions with x >= 3
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, "=", 2, -3);
+		system.addInequality(0, "<", 1, 0);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, hasSize(2));
+		BigInteger x = solution.get(0), y = solution.get(1);
+		assertThat(bi(2).multiply(x), equalTo(bi(3).multiply(y)));
+		assertThat(x, greaterThan(bi(0)));
+	}
+
+	private InequalitySystem getBoxSystem(int bound) {
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(0, "<=", 1, 0);
+		system.addInequality(bound, ">=", 1, 0);
+		system.addInequality(0, "<=", 0, 1);
+		system.addInequality(bound, ">=", 0, 1);
+		return system;
+	}
+
+	@Test
+	public void testBranching() throws Exception {
+		InequalitySystem system = getBoxSystem(3);
+		system.addInequality(7, "=", 2, 3);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, contains(bi(2), bi(1)));
+	}
+
+	@Test
+	public void testBranchingUnsat() throws Exception {
+		InequalitySystem system = getBoxSystem(3);
+		system.addInequality(7, "=", 2, 4);
+
+		List<BigInteger> solution = new BranchAndBoundSolver().assertDisjunction(system).findSolution();
+		assertThat(solution, empty());
+	}
+
+	@Test(expectedExceptions = BranchAndBoundSolver.LimitExceededException.class)
+	public void testLimitExceeded() throws Exception {
+		// Solvable over the rationals, but not over the integers. Since the variables are unbounded, branch
+		// and bound does not terminate.
+		InequalitySystem system = new InequalitySystem();
+		system.addInequality(1, "=", 2, 2);
+
+		new BranchAndBoundSolver(10, 1000).assertDisjunction(system).findSolution();
+	}
+
+	@Test
+	public void testWarmPushPop() throws Exception {
+		BranchAndBoundSolver solver = new BranchAndBoundSolver();
+		solver.assertDisjunction(getBoxSystem(5));
+
+		for (int i = 0; i <= 10; i++) {
+			// x[0] + x[1] = i
+			InequalitySystem system = new InequalitySystem();
+			system.addInequality(i, "=", 1, 1);
+			solver.push();
+			solver.assertDisjunction(system);
+			List<BigInteger> solution = solver.findSolution();
+			solver.pop();
+
+			assertThat(solution, hasSize(2));
+			assertThat(solution.get(0).add(solution.get(1)), equalTo(bi(i)));
+			assertThat(getBoxSystem(5).fulfilledBy(solution), is(true));
+		}
+	}
+
+	@Test
+	public void testRandomSystemsAgreeWithSMT() throws Exception {
+		final String[] comparators = { "<=", "<", "=", "!=", ">", ">=" };
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			InequalitySystem box = new InequalitySystem();
+			for (int variable = 0; variable < 3; variable++) {
+				int[] unit = new int[3];
+				unit[variable] = 1;
+				box.addInequality(-2, "<=", unit);
+				box.addInequality(2, ">=", unit);
+			}
+
+			InequalitySystem[] disjunction = new InequalitySystem[1 + random.nextInt(2)];
+			for (int i = 0; i < disjunction.length; i++) {
+				disjunction[i] = new InequalitySystem();
+				for (int j = 0; j < 3; j++) {
+					int[] coefficients = new int[3];
+					for (int k = 0; k < 3; k++)
+						coefficients[k] = random.nextInt(7) - 3;
+					disjunction[i].addInequality(random.nextInt(11) - 5,
+							comparators[random.nextInt(comparators.length)], coefficients);
+				}
+			}
+
+			List<BigInteger> expected = new InequalitySystemSolver()
+				.assertDisjunction(box).assertDisjunction(disjunction).findSolution();
+			List<BigInteger> solution = new BranchAndBoundSolver()
+				.assertDisjunction(box).assertDisjunction(disjunction).findSolution();
+			assertThat("Round " + round, solution.isEmpty(), equalTo(expected.isEmpty()));
+			if (!solution.isEmpty()) {
+				assertThat(box.fulfilledBy(solution), is(true));
+				boolean fulfilled = false;
+				for (InequalitySystem system : disjunction)
+					fulfilled |= system.fulfilledBy(solution);
+				assertThat(fulfilled, is(true));
+			}
+		}
+	}
+}
+
+// vim: ft=java:noet:sw=8:sts=8:ts=8:tw=120